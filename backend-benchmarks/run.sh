@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+#
+# Run the JMH benchmarks and keep the results as JSON, so two runs can be diffed (or loaded
+# into jmh.morethan.io).
+#
+#   backend-benchmarks/run.sh                       # everything
+#   backend-benchmarks/run.sh SignatureVerifier     # one class (any JMH regex / options)
+#   backend-benchmarks/run.sh JwtTokenProvider -f 2 -i 5
+#
+# Results land in backend-benchmarks/target/jmh/<yyyyMMdd-HHmmss>.json, with the console
+# output next to it as .txt. The jar is built from the root POM on first use; set REBUILD=1
+# to rebuild after changing backend code.
+#
+# Needs: JDK 21 and Maven on PATH.
+set -euo pipefail
+
+HERE="$(cd "$(dirname "$0")" && pwd)"
+ROOT="$(cd "$HERE/.." && pwd)"
+JAR="$HERE/target/benchmarks.jar"
+OUT="$HERE/target/jmh"
+
+if [[ ! -f "$JAR" || "${REBUILD:-0}" == "1" ]]; then
+  (cd "$ROOT" && mvn -B -q -DskipTests package)
+fi
+
+mkdir -p "$OUT"
+STAMP="$(date +%Y%m%d-%H%M%S)"
+java -jar "$JAR" -rf json -rff "$OUT/$STAMP.json" "$@" | tee "$OUT/$STAMP.txt"
+echo "Results: $OUT/$STAMP.json"
@@ -0,0 +1,159 @@
+package com.digitalseal.benchmarks;
+
+import com.digitalseal.service.BlockchainService;
+import com.digitalseal.service.DigitalSealAbiCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The ABI work in {@link BlockchainService}'s contract calls, through web3j's generic
+ * {@code FunctionEncoder}/{@code FunctionReturnDecoder} path as the service used to do it and
+ * through {@link DigitalSealAbiCodec} as it does now: building the {@code verify(uint256)} call
+ * and decoding its eight return values, a claim's {@code secureTransfer} and a 50-item
+ * {@code batchMintDigitalTwins}. The {@code eth_call} round trip is left out; the response is
+ * a canned one encoded the way the contract returns it.
+ *
+ * <p>Run with {@code -prof gc} to compare allocation per call as well as time.
+ *
+ * <pre>
+ * java -jar backend-benchmarks/target/benchmarks.jar BlockchainAbi -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockchainAbiBenchmark {
+
+    private static final long TOKEN_ID = 1042;
+    private static final String PLATFORM_WALLET = "0x5B38Da6a701c568545dCfcB03FcB875f56beddC4";
+    private static final String BUYER_WALLET = "0xAb8483F64d9C6d1EcF9b849Ae677dD3315835cb2";
+
+    private final String verifyResponse = FunctionEncoder.encodeConstructor(List.of(
+            new Bool(true),
+            new Utf8String("DS-HERMES-2024-000142"),
+            new Address("0x5b38da6a701c568545dcfcb03fcb875f56beddc4"),
+            new Address("0xab8483f64d9c6d1ecf9b849ae677dd3315835cb2"),
+            new Bool(true),
+            new Bool(false),
+            new Uint256(BigInteger.valueOf(1_718_000_000L)),
+            new Utf8String("ipfs://bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi/142.json")));
+
+    private final List<String> serials = IntStream.rangeClosed(1, 50)
+            .mapToObj(i -> "DS-HERMES-2024-%06d".formatted(i)).toList();
+    private final List<String> metadataURIs = IntStream.rangeClosed(1, 50)
+            .mapToObj(i -> "ipfs://bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi/%d.json".formatted(i)).toList();
+
+    /** Same shape as {@code BlockchainService.verify} built before the codec, once per call */
+    private static Function verifyFunction(long tokenId) {
+        List<Type> inputParameters = Collections.singletonList(
+            new Uint256(BigInteger.valueOf(tokenId))
+        );
+
+        List<TypeReference<?>> outputParameters = Arrays.asList(
+            new TypeReference<Bool>() {},
+            new TypeReference<Utf8String>() {},
+            new TypeReference<Address>() {},
+            new TypeReference<Address>() {},
+            new TypeReference<Bool>() {},
+            new TypeReference<Bool>() {},
+            new TypeReference<Uint256>() {},
+            new TypeReference<Utf8String>() {}
+        );
+
+        return new Function("verify", inputParameters, outputParameters);
+    }
+
+    // ── web3j ─────────────────────────────────────────────────────────────────
+
+    @Benchmark
+    public String encodeVerifyCall() {
+        return FunctionEncoder.encode(verifyFunction(TOKEN_ID));
+    }
+
+    @Benchmark
+    public BlockchainService.VerifyResult decodeVerifyResult() {
+        Function function = verifyFunction(TOKEN_ID);
+        List<Type> results = FunctionReturnDecoder.decode(verifyResponse, function.getOutputParameters());
+        return new BlockchainService.VerifyResult(
+                (Boolean) results.get(0).getValue(),
+                (String) results.get(1).getValue(),
+                (String) results.get(2).getValue(),
+                (String) results.get(3).getValue(),
+                (Boolean) results.get(4).getValue(),
+                (Boolean) results.get(5).getValue(),
+                ((BigInteger) results.get(6).getValue()).longValue(),
+                (String) results.get(7).getValue());
+    }
+
+    @Benchmark
+    public String encodeSecureTransfer() {
+        List<Type> inputParameters = Arrays.asList(
+            new Address(PLATFORM_WALLET),
+            new Address(BUYER_WALLET),
+            new Uint256(BigInteger.valueOf(TOKEN_ID))
+        );
+        return FunctionEncoder.encode(new Function("secureTransfer", inputParameters, Collections.emptyList()));
+    }
+
+    @Benchmark
+    public String encodeBatchMint() {
+        List<Type> inputParameters = Arrays.asList(
+            new DynamicArray<>(Address.class, serials.stream().map(s -> new Address(PLATFORM_WALLET)).toList()),
+            new DynamicArray<>(Utf8String.class, serials.stream().map(Utf8String::new).toList()),
+            new DynamicArray<>(Utf8String.class, metadataURIs.stream().map(Utf8String::new).toList())
+        );
+        List<TypeReference<?>> outputParameters = Collections.singletonList(
+            new TypeReference<DynamicArray<Uint256>>() {}
+        );
+        return FunctionEncoder.encode(new Function("batchMintDigitalTwins", inputParameters, outputParameters));
+    }
+
+    // ── DigitalSealAbiCodec ───────────────────────────────────────────────────
+
+    @Benchmark
+    public String codecEncodeVerifyCall() {
+        return DigitalSealAbiCodec.encodeVerify(TOKEN_ID);
+    }
+
+    @Benchmark
+    public BlockchainService.VerifyResult codecDecodeVerifyResult() {
+        return DigitalSealAbiCodec.decodeVerify(verifyResponse);
+    }
+
+    @Benchmark
+    public String codecEncodeSecureTransfer() {
+        return DigitalSealAbiCodec.encodeSecureTransfer(PLATFORM_WALLET, BUYER_WALLET, TOKEN_ID);
+    }
+
+    @Benchmark
+    public String codecEncodeBatchMint() {
+        return DigitalSealAbiCodec.encodeBatchMint(PLATFORM_WALLET, serials, metadataURIs);
+    }
+}
@@ -0,0 +1,139 @@
+package com.digitalseal.benchmarks;
+
+import com.digitalseal.devchain.ChainSimulatorServer;
+import com.digitalseal.devchain.ChainSimulatorSettings;
+import com.digitalseal.service.BlockchainService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.http.HttpService;
+import org.web3j.tx.gas.DefaultGasProvider;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * {@code BlockchainService} end to end — ABI encoding, signing, JSON-RPC over HTTP, receipt
+ * polling — against the in-process chain simulator, so no node is needed. Blocks are mined
+ * as transactions arrive; {@code rpcLatencyMillis} adds a node round trip to every call.
+ * Run with {@code -t 8} to see how the send lock serialises concurrent transactions.
+ *
+ * <pre>
+ * java -jar backend-benchmarks/target/benchmarks.jar BlockchainService
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockchainServiceBenchmark {
+
+    /** Hardhat / Anvil test account #0 */
+    private static final String PLATFORM_KEY = "0xac0974bec39a17e36ba4a6b4d238ff944bacb478cbed5efcae784d7bf4f2ff80";
+    private static final String BRAND_WALLET = "0x1111111111111111111111111111111111111111";
+    private static final int MINT_BATCH = 10;
+
+    @Param({"0", "20"})
+    public int rpcLatencyMillis;
+
+    private ChainSimulatorServer node;
+    private BlockchainService service;
+    private String platformWallet;
+    private final AtomicLong batches = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        ChainSimulatorSettings defaults = ChainSimulatorSettings.defaults();
+        try {
+            node = ChainSimulatorServer.start(new ChainSimulatorSettings(0, defaults.chainId(), defaults.contractAddress(),
+                    Duration.ZERO, defaults.blockGasLimit(), defaults.mintGasPerItem(), defaults.baseFeeWei(),
+                    Duration.ofMillis(rpcLatencyMillis), Duration.ZERO, 0, Map.of(), 0, 1, 1));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        Credentials credentials = Credentials.create(PLATFORM_KEY);
+        platformWallet = credentials.getAddress();
+        service = new BlockchainService(Web3j.build(new HttpService(node.url())), credentials,
+                new DefaultGasProvider(), new SimpleMeterRegistry());
+        set("contractAddress", defaults.contractAddress());
+        set("receiptPollIntervalMillis", 5L);
+        set("receiptTimeoutMillis", 30_000L);
+        set("probeIntervalMillis", 30_000L);
+        set("probeFailureThreshold", 3);
+        service.init();
+        awaitNode();
+
+        // Token 1 for verify and transfer
+        mintBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+        node.close();
+    }
+
+    /** {@code verify(tokenId)}: one eth_call */
+    @Benchmark
+    public BlockchainService.VerifyResult verify() {
+        return service.verify(1L);
+    }
+
+    /** {@code secureTransfer} of token 1 back to the platform wallet: nonce, send, receipt */
+    @Benchmark
+    public String transfer() {
+        return service.transferToken(1L, platformWallet, "BENCHMARK");
+    }
+
+    /** A ten-item {@code batchMintDigitalTwins}: totalSupply call, send, receipt */
+    @Benchmark
+    public BlockchainService.BatchMintResult batchMint() {
+        return mintBatch();
+    }
+
+    private BlockchainService.BatchMintResult mintBatch() {
+        long batch = batches.incrementAndGet();
+        List<String> serials = IntStream.range(0, MINT_BATCH).mapToObj(i -> "BENCH-" + batch + "-" + i).toList();
+        return service.batchPreMint(BRAND_WALLET, serials,
+                serials.stream().map(s -> "https://digitalseal.io/metadata/" + s).toList(), BigInteger.ONE);
+    }
+
+    /** {@code init()} only starts the background probe; the first answer switches the service on */
+    private void awaitNode() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!service.isAvailable()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Chain simulator did not answer the node probe");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void set(String name, Object value) {
+        Field field = ReflectionUtils.findField(BlockchainService.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, service, value);
+    }
+}
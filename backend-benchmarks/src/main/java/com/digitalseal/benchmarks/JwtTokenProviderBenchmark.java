@@ -0,0 +1,79 @@
+package com.digitalseal.benchmarks;
+
+import com.digitalseal.model.entity.AuthType;
+import com.digitalseal.model.entity.User;
+import com.digitalseal.model.entity.UserRole;
+import com.digitalseal.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access tokens: issuing one at login and the checks {@code JwtAuthenticationFilter} runs on
+ * every authenticated request ({@code validateToken}, then {@code getUserIdFromToken}).
+ *
+ * <pre>
+ * java -jar backend-benchmarks/target/benchmarks.jar JwtTokenProvider
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private final JwtTokenProvider provider = new JwtTokenProvider();
+
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // The defaults from application.yml; the provider reads them from @Value fields
+        set("jwtSecret", "your-256-bit-secret-key-change-this-in-production-12345678901234567890");
+        set("jwtExpiration", 86_400_000L);
+
+        user = User.builder()
+                .id(4711L)
+                .email("buyer@digitalseal.com")
+                .walletAddress("0x5b38da6a701c568545dcfcb03fcb875f56beddc4")
+                .authType(AuthType.EMAIL)
+                .role(UserRole.OWNER)
+                .build();
+        token = provider.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return provider.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public Long validateAndReadUserId() {
+        return provider.validateToken(token) ? provider.getUserIdFromToken(token) : null;
+    }
+
+    private void set(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtTokenProvider.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, provider, value);
+    }
+}
@@ -0,0 +1,91 @@
+package com.digitalseal.benchmarks;
+
+import com.digitalseal.security.PooledPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The login and registration hashing path: BCrypt on the calling thread, as before, against
+ * {@link PooledPasswordEncoder}, at the old fixed cost and at the calibration floor.
+ *
+ * <p>The pool here has one thread per core and a queue deep enough never to shed, so the
+ * difference is the hand-off. {@code *UnderContention} runs 8 callers at once: there the pool
+ * caps hashing at its thread count and callers queue, which is the point.
+ *
+ * <pre>
+ * java -jar backend-benchmarks/target/benchmarks.jar PasswordHashing
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "Correct-Horse-7!";
+
+    @Param({ "10", "12" })
+    private int strength;
+
+    private BCryptPasswordEncoder direct;
+    private PooledPasswordEncoder pooled;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        direct = new BCryptPasswordEncoder(strength);
+        pooled = new PooledPasswordEncoder(strength, Runtime.getRuntime().availableProcessors(), 1024,
+                Duration.ofMinutes(5), new SimpleMeterRegistry());
+        hash = direct.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pooled.destroy();
+    }
+
+    @Benchmark
+    public boolean matchesOnCallerThread() {
+        return direct.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean matchesOnPool() {
+        return pooled.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public String encodeOnPool() {
+        return pooled.encode(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean matchesOnCallerThreadUnderContention() {
+        return direct.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean matchesOnPoolUnderContention() {
+        return pooled.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,116 @@
+package com.digitalseal.benchmarks;
+
+import com.digitalseal.config.PlatformLoggingAspect;
+import com.digitalseal.model.entity.LogCategory;
+import com.digitalseal.model.entity.LogLevel;
+import com.digitalseal.model.entity.PlatformLog;
+import com.digitalseal.service.PlatformLogService;
+import com.digitalseal.service.RequestLatencyStats;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request work of the controller logging aspect, outside the database write: deriving
+ * the category and action key, recording the latency in {@link RequestLatencyStats}, and
+ * formatting the SLF4J line in {@link PlatformLogService}.
+ *
+ * <p>The three helpers are private, so they are reached through method handles held in static
+ * finals, which the JIT inlines like a direct call.
+ *
+ * <pre>
+ * java -jar backend-benchmarks/target/benchmarks.jar PlatformLogging
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlatformLoggingBenchmark {
+
+    private static final MethodHandle CATEGORY_FOR_CLASS;
+    private static final MethodHandle BUILD_ACTION;
+    private static final MethodHandle BUILD_LOG_LINE;
+
+    static {
+        try {
+            MethodHandles.Lookup aspect = MethodHandles.privateLookupIn(PlatformLoggingAspect.class, MethodHandles.lookup());
+            CATEGORY_FOR_CLASS = aspect.findVirtual(PlatformLoggingAspect.class, "categoryForClass",
+                    MethodType.methodType(LogCategory.class, String.class));
+            BUILD_ACTION = aspect.findVirtual(PlatformLoggingAspect.class, "buildAction",
+                    MethodType.methodType(String.class, String.class, String.class));
+            MethodHandles.Lookup service = MethodHandles.privateLookupIn(PlatformLogService.class, MethodHandles.lookup());
+            BUILD_LOG_LINE = service.findVirtual(PlatformLogService.class, "buildLogLine",
+                    MethodType.methodType(String.class, PlatformLog.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** A path with IDs to normalise, and one without */
+    @Param({"/api/v1/orders/1042/items/77/ship", "/api/v1/marketplace/products"})
+    public String path;
+
+    private final PlatformLoggingAspect aspect = new PlatformLoggingAspect(null, null);
+    private final PlatformLogService logService = new PlatformLogService(null, null, null, Tracer.NOOP);
+    private final RequestLatencyStats latencyStats = new RequestLatencyStats(500);
+
+    // Falls through every prefix but the last; a field so the JIT cannot fold the lookup
+    private String controllerClass = "PlatformLogController";
+    private PlatformLog entry;
+
+    @Setup
+    public void setUp() {
+        entry = PlatformLog.builder()
+                .level(LogLevel.INFO)
+                .category(LogCategory.ORDER)
+                .action("POST /orders/{id}/items/{id}/ship")
+                .userId(42L)
+                .userEmail("buyer@digitalseal.com")
+                .entityType("ORDER")
+                .entityId("1042")
+                .httpMethod("POST")
+                .requestPath(path)
+                .ipAddress("203.0.113.7")
+                .durationMs(120L)
+                .success(true)
+                .details("Order ORD-1042 shipped")
+                .build();
+    }
+
+    @Benchmark
+    public LogCategory categoryForClass() throws Throwable {
+        return (LogCategory) CATEGORY_FOR_CLASS.invokeExact(aspect, controllerClass);
+    }
+
+    @Benchmark
+    public String buildAction() throws Throwable {
+        return (String) BUILD_ACTION.invokeExact(aspect, "POST", path);
+    }
+
+    @Benchmark
+    public void recordLatency() {
+        latencyStats.record(entry.getAction(), 1_234_567, true);
+    }
+
+    @Benchmark
+    public String buildLogLine() throws Throwable {
+        return (String) BUILD_LOG_LINE.invokeExact(logService, entry);
+    }
+}
@@ -0,0 +1,233 @@
+package com.digitalseal.benchmarks;
+
+import com.digitalseal.DigitalSealApplication;
+import com.digitalseal.dto.response.ProductResponse;
+import com.digitalseal.model.entity.Brand;
+import com.digitalseal.model.entity.Collection;
+import com.digitalseal.model.entity.Product;
+import com.digitalseal.model.entity.ProductCategory;
+import com.digitalseal.model.entity.ProductStatus;
+import com.digitalseal.model.entity.User;
+import com.digitalseal.model.entity.UserRole;
+import com.digitalseal.repository.BrandRepository;
+import com.digitalseal.repository.CollectionRepository;
+import com.digitalseal.repository.ProductRepository;
+import com.digitalseal.repository.UserRepository;
+import com.digitalseal.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping in {@link ProductService#mapToResponse}, for one product and for a
+ * marketplace page of 20. The entities are detached and fully initialised, so this is the
+ * mapping alone; lazy-loading cost shows up in the load tests, not here.
+ *
+ * <p>The {@code brandPage*} cases read a brand's 20 products from the database both ways: the
+ * JPQL DTO projection the list endpoints use, and entities (brand and collection fetch-joined,
+ * the best case for that path) mapped by the same {@code mapToResponse}. They run against the
+ * backend on an in-memory H2 database ({@link Database}), so they compare the two read paths,
+ * not MySQL round trips.
+ *
+ * <pre>
+ * java -jar backend-benchmarks/target/benchmarks.jar ProductMapping
+ * java -jar backend-benchmarks/target/benchmarks.jar "ProductMappingBenchmark.brandPage" -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMappingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    // Repositories and collaborators are not touched by the mapping
+    private final ProductService productService = new ProductService(null, null, null, null, null, null, null);
+
+    private final List<Product> page = new ArrayList<>(PAGE_SIZE);
+
+    @Setup
+    public void setUp() {
+        Brand brand = Brand.builder().id(7L).brandName("Maison Example").build();
+        Collection collection = Collection.builder().id(3L).brand(brand).collectionName("Autumn 2024").build();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(Product.builder()
+                    .id(1000L + i)
+                    .brand(brand)
+                    .collection(i % 2 == 0 ? collection : null)
+                    .productName("Leather tote " + i)
+                    .description("Hand-stitched calfskin tote with palladium hardware.")
+                    .category(ProductCategory.HANDBAG)
+                    .sku("MX-TOTE-" + i)
+                    .serialNumber("DS-MX-2024-" + (100_000 + i))
+                    .imageUrl("ipfs://bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi/" + i + ".png")
+                    .price(new BigDecimal("1250.00"))
+                    .totalQuantity(50)
+                    .availableQuantity(12)
+                    .contractAddress("0xd9145cce52d386f254917e481eb44e9943f39138")
+                    .metadataBaseUri("ipfs://bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi/")
+                    .status(ProductStatus.LISTED)
+                    .listedAt(now)
+                    .listingDeadline(now.plusDays(30))
+                    .premintedAt(now)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public ProductResponse mapOne() {
+        return productService.mapToResponse(page.get(0));
+    }
+
+    @Benchmark
+    public List<ProductResponse> mapPage() {
+        List<ProductResponse> responses = new ArrayList<>(PAGE_SIZE);
+        for (Product product : page) {
+            responses.add(productService.mapToResponse(product));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ProductResponse> brandPageProjection(Database database) {
+        return database.readOnlyTx.execute(status ->
+                database.productRepository.findProductResponsesByBrand(database.brandId, null, null));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ProductResponse> brandPageEntityMapping(Database database) {
+        return database.readOnlyTx.execute(status -> {
+            List<Product> products = database.entityManager.createQuery(
+                            "SELECT p FROM Product p JOIN FETCH p.brand LEFT JOIN FETCH p.collection " +
+                            "WHERE p.brand.id = :brandId", Product.class)
+                    .setParameter("brandId", database.brandId)
+                    .getResultList();
+            List<ProductResponse> responses = new ArrayList<>(products.size());
+            for (Product product : products) {
+                responses.add(productService.mapToResponse(product));
+            }
+            return responses;
+        });
+    }
+
+    /**
+     * The backend (no web server) on an in-memory H2 database in MySQL mode, holding one brand
+     * with a page of listed products, half of them in a collection.
+     */
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        private ConfigurableApplicationContext context;
+        private ProductRepository productRepository;
+        private EntityManager entityManager;
+        private TransactionTemplate readOnlyTx;
+        private Long brandId;
+
+        @Setup(Level.Trial)
+        public void start() {
+            // Arguments, so they win over the backend's application.yml
+            context = new SpringApplicationBuilder(DigitalSealApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                            "--spring.datasource.username=sa",
+                            "--spring.datasource.password=",
+                            "--spring.datasource.driver-class-name=org.h2.Driver",
+                            "--spring.jpa.hibernate.ddl-auto=create-drop",
+                            "--spring.jpa.show-sql=false",
+                            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                            "--spring.flyway.enabled=false",
+                            "--app.password-hashing.strength=4",
+                            "--app.mail.outbox.enabled=false",
+                            "--app.lookup-filter.enabled=false",
+                            "--app.search.enabled=false",
+                            "--web3.rpc.url=http://127.0.0.1:1",
+                            "--management.tracing.sampling.probability=0.0",
+                            "--logging.file.name=");
+            productRepository = context.getBean(ProductRepository.class);
+            entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                    context.getBean(EntityManagerFactory.class));
+            readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            readOnlyTx.setReadOnly(true);
+
+            TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            brandId = tx.execute(status -> seed(context));
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        private static Long seed(ConfigurableApplicationContext context) {
+            User owner = context.getBean(UserRepository.class).save(User.builder()
+                    .email("owner@benchmarks.digitalseal")
+                    .firstName("Bench")
+                    .lastName("Mark")
+                    .role(UserRole.BRAND)
+                    .build());
+            Brand brand = context.getBean(BrandRepository.class).save(Brand.builder()
+                    .user(owner)
+                    .brandName("Maison Example")
+                    .build());
+            Collection collection = context.getBean(CollectionRepository.class).save(Collection.builder()
+                    .brand(brand)
+                    .collectionName("Autumn 2024")
+                    .build());
+            ProductRepository products = context.getBean(ProductRepository.class);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                products.save(Product.builder()
+                        .brand(brand)
+                        .collection(i % 2 == 0 ? collection : null)
+                        .productName("Leather tote " + i)
+                        .description("Hand-stitched calfskin tote with palladium hardware.")
+                        .category(ProductCategory.HANDBAG)
+                        .sku("MX-TOTE-" + i)
+                        .serialNumber("DS-MX-2024-" + (100_000 + i))
+                        .imageUrl("ipfs://bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi/" + i + ".png")
+                        .price(new BigDecimal("1250.00"))
+                        .totalQuantity(50)
+                        .availableQuantity(12)
+                        .contractAddress("0xd9145cce52d386f254917e481eb44e9943f39138")
+                        .metadataBaseUri("ipfs://bafybeigdyrzt5sfp7udm7hu76uh7y26nf3efuylqabf3oclgtqy55fbzdi/")
+                        .status(ProductStatus.LISTED)
+                        .listedAt(now)
+                        .listingDeadline(now.plusDays(30))
+                        .premintedAt(now)
+                        .build());
+            }
+            return brand.getId();
+        }
+    }
+}
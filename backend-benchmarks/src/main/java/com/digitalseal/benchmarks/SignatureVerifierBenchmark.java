@@ -0,0 +1,165 @@
+package com.digitalseal.benchmarks;
+
+import com.digitalseal.util.SignatureVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.Sign;
+import org.web3j.utils.Numeric;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wallet signature verifications per second: {@link SignatureVerifier} against the
+ * implementation it replaced ({@link Legacy}), on a valid signature and on one from the wrong
+ * wallet, plus a 100-entry {@link SignatureVerifier#verifyAll} batch.
+ *
+ * <p>The legacy verifier hashed the EIP-191 prefix twice, so it only accepted signatures made
+ * over that double hash; its inputs are signed that way so both sides do the same work.
+ *
+ * <pre>
+ * java -jar backend-benchmarks/target/benchmarks.jar SignatureVerifier
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignatureVerifierBenchmark {
+
+    private static final String MESSAGE = """
+            localhost:8081 wants you to sign in with your Ethereum account:
+            0x0000000000000000000000000000000000000000
+
+            Sign in to Digital Seal.
+
+            Nonce: 9ad71f37026e3d69da8bb977f7c853a2""";
+
+    private final SignatureVerifier verifier = new SignatureVerifier();
+    private final Legacy legacy = new Legacy();
+
+    private String address;
+    private String otherAddress;
+    private String signature;
+    private String compactSignature;
+    private String legacySignature;
+    private List<SignatureVerifier.SignedMessage> batch;
+
+    @Setup
+    public void setUp() throws Exception {
+        ECKeyPair keys = Keys.createEcKeyPair();
+        address = "0x" + Keys.getAddress(keys);
+        otherAddress = "0x" + Keys.getAddress(Keys.createEcKeyPair());
+
+        Sign.SignatureData sig = Sign.signPrefixedMessage(MESSAGE.getBytes(StandardCharsets.UTF_8), keys);
+        signature = hex(sig);
+        byte[] yParityAndS = sig.getS().clone();
+        yParityAndS[0] |= (byte) ((sig.getV()[0] - 27) << 7);
+        compactSignature = Numeric.toHexString(concat(sig.getR(), yParityAndS));
+
+        String prefix = "\u0019Ethereum Signed Message:\n" + MESSAGE.length();
+        byte[] legacyHash = Hash.sha3((prefix + MESSAGE).getBytes(StandardCharsets.UTF_8));
+        legacySignature = hex(Sign.signPrefixedMessage(legacyHash, keys));
+
+        batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new SignatureVerifier.SignedMessage(address, MESSAGE, signature));
+        }
+        if (!verifier.verifySignature(address, MESSAGE, signature)
+                || !verifier.verifySignature(address, MESSAGE, compactSignature)
+                || !legacy.verifySignature(address, MESSAGE, legacySignature)) {
+            throw new IllegalStateException("Benchmark signatures do not verify");
+        }
+    }
+
+    @Benchmark
+    public boolean current() {
+        return verifier.verifySignature(address, MESSAGE, signature);
+    }
+
+    @Benchmark
+    public boolean currentCompact() {
+        return verifier.verifySignature(address, MESSAGE, compactSignature);
+    }
+
+    @Benchmark
+    public boolean currentWrongWallet() {
+        return verifier.verifySignature(otherAddress, MESSAGE, signature);
+    }
+
+    @Benchmark
+    public boolean[] currentBatchOf100() {
+        return verifier.verifyAll(batch);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        return legacy.verifySignature(address, MESSAGE, legacySignature);
+    }
+
+    @Benchmark
+    public boolean legacyWrongWallet() {
+        return legacy.verifySignature(otherAddress, MESSAGE, legacySignature);
+    }
+
+    private static String hex(Sign.SignatureData sig) {
+        return Numeric.toHexString(concat(concat(sig.getR(), sig.getS()), sig.getV()));
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] out = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+
+    /** SignatureVerifier before the rewrite, minus its per-call logging */
+    static final class Legacy {
+        private static final String PERSONAL_MESSAGE_PREFIX = "\u0019Ethereum Signed Message:\n";
+
+        boolean verifySignature(String address, String message, String signature) {
+            try {
+                String prefix = PERSONAL_MESSAGE_PREFIX + message.length();
+                byte[] msgHash = Hash.sha3((prefix + message).getBytes(StandardCharsets.UTF_8));
+                byte[] signatureBytes = Numeric.hexStringToByteArray(signature);
+                if (signatureBytes.length != 65) {
+                    return false;
+                }
+                byte v = signatureBytes[64];
+                if (v < 27) {
+                    v += 27;
+                }
+                Sign.SignatureData sd = new Sign.SignatureData(v,
+                        Arrays.copyOfRange(signatureBytes, 0, 32),
+                        Arrays.copyOfRange(signatureBytes, 32, 64));
+                String recoveredAddress = null;
+                for (int i = 0; i < 4; i++) {
+                    try {
+                        recoveredAddress = "0x" + Keys.getAddress(Sign.signedPrefixedMessageToKey(msgHash, sd));
+                        break;
+                    } catch (Exception e) {
+                        // Try next recovery id
+                    }
+                }
+                return recoveredAddress != null && recoveredAddress.equalsIgnoreCase(address);
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+}
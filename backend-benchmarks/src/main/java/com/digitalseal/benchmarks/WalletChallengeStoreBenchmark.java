@@ -0,0 +1,63 @@
+package com.digitalseal.benchmarks;
+
+import com.digitalseal.security.WalletChallengeStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent wallet sign-in challenges: 8 threads issuing a challenge and redeeming it, as a
+ * nonce request followed by a login would, plus the refusal path for a replayed message.
+ * {@code shards=1} shows what the sharding buys under contention.
+ *
+ * <pre>
+ * java -jar backend-benchmarks/target/benchmarks.jar WalletChallengeStore
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class WalletChallengeStoreBenchmark {
+
+    private static final String WALLET = "0x742d35Cc6634C0532925a3b844Bc9e7595f0bEb0";
+
+    @Param({ "1", "16" })
+    private int shards;
+
+    private WalletChallengeStore store;
+    private String replayed;
+
+    @Setup
+    public void setUp() {
+        store = new WalletChallengeStore(new SimpleMeterRegistry(), 300, 1_000_000, shards,
+                "localhost:8081", "http://localhost:8081", 80002);
+        replayed = store.issue(WALLET).message();
+        store.redeem(WALLET, replayed);
+    }
+
+    @Benchmark
+    public boolean issueAndRedeem() {
+        return store.redeem(WALLET, store.issue(WALLET).message());
+    }
+
+    @Benchmark
+    public boolean redeemReplayed() {
+        return store.redeem(WALLET, replayed);
+    }
+}
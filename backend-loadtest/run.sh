@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+#
+# Run the product-drop load test against a backend that is already up, e.g.
+#
+#   cd backend && mvn spring-boot:run -Dspring-boot.run.profiles=chain-sim
+#
+# Any -Dname=value is passed on to the simulation (see DropSettings):
+#
+#   backend-loadtest/run.sh                                  # defaults: 200 items, 1000 buyers
+#   backend-loadtest/run.sh -Dbuyers=5000 -DscanRate=200
+#   backend-loadtest/run.sh -DbaseUrl=http://staging:8080/api/v1 -DjdbcUrl=jdbc:mysql://staging:3306/digital_seal
+#
+# The HTML report (percentiles and errors per endpoint) lands in backend-loadtest/target/gatling/.
+# The run fails if the p99 or error-rate assertions do.
+#
+# Needs: JDK 21 and Maven on PATH.
+set -euo pipefail
+
+HERE="$(cd "$(dirname "$0")" && pwd)"
+cd "$HERE"
+mvn -B -q gatling:test "$@"
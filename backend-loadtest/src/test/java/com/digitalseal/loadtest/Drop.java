@@ -0,0 +1,75 @@
+package com.digitalseal.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The product drop the scenarios share: set up once by the brand, then read by buyers,
+ * scanners and fulfilment. Gatling sessions are per virtual user, so this lives outside them.
+ */
+final class Drop {
+
+    private volatile String brandToken;
+    private volatile long brandId;
+    private volatile long productId;
+    private volatile String sku;
+
+    /** Item serial → claim code, as printed on the QR label in the box */
+    private final Map<String, String> labels = new ConcurrentHashMap<>();
+
+    void open(String brandToken, long brandId, long productId, String sku) {
+        this.brandToken = brandToken;
+        this.brandId = brandId;
+        this.productId = productId;
+        this.sku = sku;
+    }
+
+    String brandToken() {
+        return brandToken;
+    }
+
+    long brandId() {
+        return brandId;
+    }
+
+    long productId() {
+        return productId;
+    }
+
+    /** Serial of the {@code index}-th item (1-based), the way pre-minting numbers them */
+    String serial(int index) {
+        return sku + "-" + String.format("%04d", index);
+    }
+
+    String claimCode(String serial) {
+        return labels.get(serial);
+    }
+
+    /**
+     * Loads the claim codes of the drop's items. The API never returns them — in production they
+     * only exist on the printed labels — so the "print shop" reads them straight from the database.
+     */
+    void printLabels(DropSettings settings, long productId) {
+        String sql = "SELECT item_serial, claim_code FROM product_items WHERE product_id = ? AND claim_code IS NOT NULL";
+        try (Connection connection = DriverManager.getConnection(settings.jdbcUrl(), settings.jdbcUser(), settings.jdbcPassword());
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, productId);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    labels.put(rows.getString(1), rows.getString(2));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read claim codes from " + settings.jdbcUrl(), e);
+        }
+    }
+
+    int labelCount() {
+        return labels.size();
+    }
+}
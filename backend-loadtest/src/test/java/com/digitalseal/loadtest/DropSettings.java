@@ -0,0 +1,72 @@
+package com.digitalseal.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Knobs of a {@link ProductDropSimulation} run, read from system properties
+ * ({@code mvn gatling:test -Dbuyers=5000 -DscanRate=200 ...}).
+ *
+ * @param baseUrl           backend base URL, context path included
+ * @param stock             items in the drop; buyers beyond this find it sold out
+ * @param buyers            users who register, order, pay and claim
+ * @param shoppers          users who only browse the marketplace
+ * @param rampUp            buyers and shoppers arrive evenly over this window
+ * @param scanRate          public {@code /verify/serial} scans per second
+ * @param counterfeitShare  share of scans for serials that were never minted
+ * @param duration          how long scans and brand fulfilment keep running
+ * @param fulfilmentEvery   pause between the brand's process-and-ship passes
+ * @param shipWaitTimeout   how long a buyer waits for their order to ship before giving up
+ * @param jdbcUrl           database of the backend, for the claim codes on the labels
+ * @param jdbcUser          its user
+ * @param jdbcPassword      its password
+ * @param maxP99Millis      assertion: 99th percentile response time of every request
+ * @param maxFailedPercent  assertion: share of failed requests
+ */
+record DropSettings(String baseUrl,
+                    int stock,
+                    int buyers,
+                    int shoppers,
+                    Duration rampUp,
+                    double scanRate,
+                    double counterfeitShare,
+                    Duration duration,
+                    Duration fulfilmentEvery,
+                    Duration shipWaitTimeout,
+                    String jdbcUrl,
+                    String jdbcUser,
+                    String jdbcPassword,
+                    int maxP99Millis,
+                    double maxFailedPercent) {
+
+    static DropSettings fromSystemProperties() {
+        return new DropSettings(
+                string("baseUrl", "http://localhost:8080/api/v1"),
+                Integer.getInteger("stock", 200),
+                Integer.getInteger("buyers", 1000),
+                Integer.getInteger("shoppers", 2000),
+                seconds("rampUpSeconds", 60),
+                number("scanRate", 50),
+                number("counterfeitShare", 0.1),
+                seconds("durationSeconds", 300),
+                seconds("fulfilmentEverySeconds", 5),
+                seconds("shipWaitTimeoutSeconds", 180),
+                string("jdbcUrl", "jdbc:mysql://localhost:3306/digital_seal?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC"),
+                string("jdbcUser", System.getenv().getOrDefault("DB_USERNAME", "root")),
+                string("jdbcPassword", System.getenv().getOrDefault("DB_PASSWORD", "password")),
+                Integer.getInteger("maxP99Millis", 2000),
+                number("maxFailedPercent", 1));
+    }
+
+    private static String string(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+
+    private static double number(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    private static Duration seconds(String name, long defaultValue) {
+        return Duration.ofSeconds(Long.getLong(name, defaultValue));
+    }
+}
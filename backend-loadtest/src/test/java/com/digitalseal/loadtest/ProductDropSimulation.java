@@ -0,0 +1,226 @@
+package com.digitalseal.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * A product drop on one backend node:
+ * <ol>
+ *   <li>a brand signs up, creates a product, publishes, pre-mints and lists it;</li>
+ *   <li>then, at once: shoppers browse the marketplace; buyers browse, sign up, order, pay,
+ *       wait for their parcel and claim it with the code on the label; the public scans serials
+ *       on {@code /verify/serial}, a share of them counterfeit; and the brand processes and
+ *       ships paid orders in bulk passes.</li>
+ * </ol>
+ * Requests are named after their endpoint, so the report has latency percentiles and errors
+ * per endpoint. A drop sells out by design: buyers past the stock get a 400 and leave, which
+ * is not counted as an error.
+ *
+ * <p>Start the backend with the {@code chain-sim} profile (minting and claim transfers then go
+ * to the in-process chain simulator), then {@code backend-loadtest/run.sh}. See {@link DropSettings}
+ * for the knobs.
+ */
+public class ProductDropSimulation extends Simulation {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductDropSimulation.class);
+
+    /** Meets the registration rules: upper, lower, digit, special */
+    private static final String PASSWORD = "LoadTest#2024";
+    private static final String AUTHORIZATION = "Bearer #{token}";
+
+    private final DropSettings settings = DropSettings.fromSystemProperties();
+    private final Drop drop = new Drop();
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(settings.baseUrl())
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json")
+            .userAgentHeader("digital-seal-loadtest");
+
+    // ── Shared steps ──────────────────────────────────────────────────────────
+
+    private ChainBuilder signUp(String kind) {
+        return exec(session -> session
+                .set("email", kind + "-" + UUID.randomUUID() + "@loadtest.digitalseal.io")
+                .set("wallet", randomHex(20)))
+                // Past the password-hashing bulkhead a sign-up gets a 503 "retry in a moment"; each retry is reported
+                .tryMax(3).on(http("POST /auth/register").post("/auth/register")
+                        .body(StringBody("{\"email\":\"#{email}\",\"password\":\"" + PASSWORD + "\"}"))
+                        .check(status().is(201), jmesPath("data.accessToken").saveAs("token")))
+                .exitHereIfFailed();
+    }
+
+    private ChainBuilder browse() {
+        return exec(http("GET /marketplace").get("/marketplace?page=0&size=20")
+                        .check(status().is(200)))
+                .pause(1, 3)
+                .exec(http("GET /products/{productId}").get(session -> "/products/" + drop.productId())
+                        .check(status().is(200)))
+                .pause(1, 3);
+    }
+
+    // ── Scenarios ─────────────────────────────────────────────────────────────
+
+    /** The brand: sign up, create the product, publish, pre-mint, print the labels, list */
+    private ScenarioBuilder launch() {
+        return scenario("Brand launches the drop")
+                .exec(signUp("brand"))
+                .exec(http("POST /brands").post("/brands")
+                        .header("Authorization", AUTHORIZATION)
+                        .body(StringBody("{\"brandName\":\"Load Test #{email}\",\"companyWalletAddress\":\"#{wallet}\"}"))
+                        .check(status().is(201), jmesPath("data.id").ofLong().saveAs("brandId")))
+                .exec(session -> session.set("sku", "DROP-" + Long.toString(System.currentTimeMillis(), 36).toUpperCase()))
+                .exec(http("POST /brands/{brandId}/products").post("/brands/#{brandId}/products")
+                        .header("Authorization", AUTHORIZATION)
+                        .body(StringBody("{\"productName\":\"Drop #{sku}\",\"category\":\"SNEAKERS\",\"sku\":\"#{sku}\","
+                                + "\"price\":0.5,\"currency\":\"MATIC\",\"totalQuantity\":" + settings.stock() + "}"))
+                        .check(status().is(201), jmesPath("data.id").ofLong().saveAs("productId")))
+                .exec(http("POST /brands/{brandId}/products/{productId}/publish")
+                        .post("/brands/#{brandId}/products/#{productId}/publish")
+                        .header("Authorization", AUTHORIZATION)
+                        .body(StringBody("{\"price\":0.5,\"totalQuantity\":" + settings.stock() + "}"))
+                        .check(status().is(200)))
+                .exec(http("POST /brands/{brandId}/products/{productId}/premint")
+                        .post("/brands/#{brandId}/products/#{productId}/premint")
+                        .header("Authorization", AUTHORIZATION)
+                        .check(status().is(200)))
+                .exec(session -> {
+                    drop.printLabels(settings, session.getLong("productId"));
+                    return session;
+                })
+                .exec(http("POST /brands/{brandId}/products/{productId}/list")
+                        .post("/brands/#{brandId}/products/#{productId}/list")
+                        .header("Authorization", AUTHORIZATION)
+                        .check(status().is(200)))
+                .exitHereIfFailed()
+                .exec(session -> {
+                    drop.open(session.getString("token"), session.getLong("brandId"),
+                            session.getLong("productId"), session.getString("sku"));
+                    log.info("Drop {} listed: product {}, {} items, {} labels", session.getString("sku"),
+                            drop.productId(), settings.stock(), drop.labelCount());
+                    return session;
+                });
+    }
+
+    /** Window shopping: marketplace, the drop, its category and brand, a search */
+    private ScenarioBuilder shoppers() {
+        return scenario("Shopper")
+                .exitHereIf(session -> drop.productId() == 0)
+                .exec(browse())
+                .exec(http("GET /marketplace/category/{category}").get("/marketplace/category/SNEAKERS")
+                        .check(status().is(200)))
+                .pause(1, 3)
+                .exec(http("GET /marketplace/brand/{brandId}").get(session -> "/marketplace/brand/" + drop.brandId())
+                        .check(status().is(200)))
+                .pause(1, 3)
+                .exec(http("GET /marketplace/search").get("/marketplace/search?q=drop")
+                        .check(status().is(200)));
+    }
+
+    /** Browse, sign up, order, pay, wait for the parcel, scan its label to claim, check the seal */
+    private ScenarioBuilder buyers() {
+        return scenario("Buyer")
+                .exitHereIf(session -> drop.productId() == 0)
+                .exec(browse())
+                .exec(signUp("buyer"))
+                .exec(http("POST /orders/products/{productId}").post(session -> "/orders/products/" + drop.productId())
+                        .header("Authorization", AUTHORIZATION)
+                        .body(StringBody("{\"buyerWallet\":\"#{wallet}\",\"shippingAddress\":\"1 Load Test Way\"}"))
+                        // 400: sold out, the expected end of a drop
+                        .check(status().in(201, 400),
+                                jmesPath("data.id").ofLong().optional().saveAs("orderId"),
+                                jmesPath("data.itemSerial").optional().saveAs("itemSerial")))
+                .exitHereIf(session -> !session.contains("orderId"))
+                // Signing the payment in a wallet
+                .pause(2, 10)
+                .exec(http("POST /orders/{orderId}/confirm-payment").post("/orders/#{orderId}/confirm-payment")
+                        .header("Authorization", AUTHORIZATION)
+                        .body(StringBody(session -> "{\"paymentTxHash\":\"" + randomHex(32) + "\"}"))
+                        .check(status().is(200), jmesPath("data.status").saveAs("orderStatus")))
+                .asLongAsDuring(session -> !"SHIPPED".equals(session.getString("orderStatus")), settings.shipWaitTimeout())
+                .on(pause(settings.fulfilmentEvery())
+                        .exec(http("GET /orders/{orderId}").get("/orders/#{orderId}")
+                                .header("Authorization", AUTHORIZATION)
+                                .check(status().is(200), jmesPath("data.status").saveAs("orderStatus"))))
+                // Unboxing. A parcel that never shipped fails here, with the reason in the report.
+                .pause(5, 30)
+                .exec(session -> session.set("claimCode", drop.claimCode(session.getString("itemSerial"))))
+                .exec(http("POST /claim").post("/claim")
+                        .header("Authorization", AUTHORIZATION)
+                        .body(StringBody("{\"claimCode\":\"#{claimCode}\"}"))
+                        .check(status().is(200)))
+                .pause(1, 3)
+                .exec(http("GET /verify/serial/{serial}").get("/verify/serial/#{itemSerial}")
+                        .check(status().is(200)));
+    }
+
+    /** Public scans of item serials; a share are serials that were never minted */
+    private ScenarioBuilder scanners() {
+        return scenario("Scanner")
+                .exitHereIf(session -> drop.productId() == 0)
+                .exec(session -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    boolean counterfeit = random.nextDouble() < settings.counterfeitShare();
+                    return session
+                            .set("serial", counterfeit ? "FAKE-" + randomHex(6) : drop.serial(random.nextInt(settings.stock()) + 1))
+                            .set("expectedStatus", counterfeit ? 404 : 200);
+                })
+                .exec(http("GET /verify/serial/{serial}").get("/verify/serial/#{serial}")
+                        .check(status().is(session -> session.getInt("expectedStatus"))));
+    }
+
+    /** The brand's warehouse: every few seconds, process and ship whatever has been paid */
+    private ScenarioBuilder fulfilment() {
+        return scenario("Brand fulfils orders")
+                .exitHereIf(session -> drop.productId() == 0)
+                .exec(session -> session.set("token", drop.brandToken()))
+                .during(settings.duration()).on(
+                        exec(session -> session.set("page", 0).set("pages", 1))
+                        .asLongAs(session -> session.getInt("page") < session.getInt("pages")).on(
+                                exec(http("GET /orders/product/{productId}")
+                                        .get(session -> "/orders/product/" + drop.productId() + "?size=100&page=" + session.getInt("page"))
+                                        .header("Authorization", AUTHORIZATION)
+                                        .check(status().is(200),
+                                                jmesPath("data.totalPages").ofInt().saveAs("pages"),
+                                                jmesPath("data.content[?status=='PAYMENT_RECEIVED'].id").ofList().saveAs("paid")))
+                                .foreach("#{paid}", "orderId").on(
+                                        exec(http("POST /orders/{orderId}/process").post("/orders/#{orderId}/process")
+                                                .header("Authorization", AUTHORIZATION)
+                                                .check(status().is(200)))
+                                        .exec(http("POST /orders/{orderId}/ship").post("/orders/#{orderId}/ship")
+                                                .header("Authorization", AUTHORIZATION)
+                                                .body(StringBody("{\"trackingNumber\":\"LT#{orderId}\"}"))
+                                                .check(status().is(200))))
+                                .exec(session -> session.set("page", session.getInt("page") + 1)))
+                        .pause(settings.fulfilmentEvery()));
+    }
+
+    {
+        setUp(launch().injectOpen(atOnceUsers(1)).andThen(
+                shoppers().injectOpen(rampUsers(settings.shoppers()).during(settings.rampUp())),
+                buyers().injectOpen(rampUsers(settings.buyers()).during(settings.rampUp())),
+                scanners().injectOpen(constantUsersPerSec(settings.scanRate()).during(settings.duration())),
+                fulfilment().injectOpen(atOnceUsers(1))))
+                .protocols(httpProtocol)
+                .assertions(
+                        global().responseTime().percentile(99.0).lt(settings.maxP99Millis()),
+                        global().failedRequests().percent().lte(settings.maxFailedPercent()));
+    }
+
+    private static String randomHex(int bytes) {
+        byte[] random = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(random);
+        return "0x" + HexFormat.of().formatHex(random);
+    }
+}
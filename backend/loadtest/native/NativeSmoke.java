@@ -0,0 +1,181 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Smoke suite for a freshly built backend, native image or jar. Each check goes through a path
+ * that depends on build-time metadata in a native image and fails loudly there if some is missing:
+ * JWT issue and parse (jjwt), JSON request and response DTOs (Jackson on Lombok types), Hibernate
+ * inserts and lazy associations, the Lucene search index, springdoc, Micrometer, and with
+ * {@code --chain true} Web3j signing, JSON-RPC and ABI decoding against the chain simulator.
+ *
+ * <p>Creates its own user, brand and product, so it only needs a migrated database. Prints one line
+ * per check, writes a key=value summary to {@code --out} and exits non-zero if any check failed.
+ *
+ * <pre>
+ * java NativeSmoke.java --base http://localhost:8080/api/v1 --chain true --label native --out native-smoke.txt
+ * </pre>
+ */
+public class NativeSmoke {
+
+    private static final String PASSWORD = "Smoke#Test2024";
+
+    private final String base;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<String> failures = new ArrayList<>();
+    private int checks;
+    private String token;
+
+    NativeSmoke(String base) {
+        this.base = base;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "base", "http://localhost:8080/api/v1",
+                "chain", "false",
+                "label", "run"));
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+
+        NativeSmoke smoke = new NativeSmoke(options.get("base"));
+        smoke.run(Boolean.parseBoolean(options.get("chain")));
+
+        List<String> lines = new ArrayList<>();
+        lines.add("label=" + options.get("label"));
+        lines.add("smoke.checks=" + smoke.checks);
+        lines.add("smoke.failed=" + smoke.failures.size());
+        lines.add("smoke.failures=" + String.join(",", smoke.failures));
+        if (options.containsKey("out")) {
+            Path out = Path.of(options.get("out"));
+            if (out.getParent() != null) {
+                Files.createDirectories(out.getParent());
+            }
+            Files.write(out, lines);
+        }
+        System.out.printf("%d checks, %d failed%n", smoke.checks, smoke.failures.size());
+        System.exit(smoke.failures.isEmpty() ? 0 : 1);
+    }
+
+    // ── Checks ────────────────────────────────────────────────────────────────
+
+    private void run(boolean chain) throws InterruptedException {
+        check("health", get("/actuator/health"), 200, "\"status\":\"UP\"");
+        check("openapi", get("/v3/api-docs"), 200, "\"openapi\"");
+
+        String email = "smoke-" + UUID.randomUUID() + "@smoke.digitalseal.io";
+        String registered = check("register", post("/auth/register",
+                "{\"email\":\"%s\",\"password\":\"%s\"}".formatted(email, PASSWORD)), 201, "\"accessToken\"");
+        token = field(registered, "accessToken");
+        if (token == null) {
+            return; // everything below is authenticated
+        }
+        check("users/me", get("/users/me"), 200, email);
+
+        String sku = "SMOKE-" + Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+        String brandId = field(check("brands/create", post("/brands",
+                "{\"brandName\":\"Smoke %s\",\"companyWalletAddress\":\"0x%s\"}"
+                        .formatted(sku, "5a".repeat(20))), 201, "\"id\""), "id");
+        String productId = field(check("products/create", post("/brands/" + brandId + "/products",
+                ("{\"productName\":\"Smoke %s\",\"category\":\"WATCH\",\"sku\":\"%s\","
+                        + "\"price\":0.5,\"currency\":\"MATIC\",\"totalQuantity\":2}").formatted(sku, sku)), 201, "\"id\""), "id");
+        String products = "/brands/" + brandId + "/products/" + productId;
+        check("products/publish", post(products + "/publish", "{\"price\":0.5,\"totalQuantity\":2}"), 200, "PUBLISHED");
+        check("products/premint", post(products + "/premint", ""), 200, "PREMINTED");
+        String items = check("products/items", get(products + "/items"), 200, sku + "-0001");
+        check("products/list", post(products + "/list", ""), 200, "LISTED");
+
+        // Public reads; the product's brand and collection are lazy associations
+        check("products/get", get("/products/" + productId), 200, "\"brandName\":\"Smoke " + sku + "\"");
+        check("marketplace", get("/marketplace?page=0&size=20"), 200, "\"content\"");
+        check("marketplace/search", get("/marketplace/search?q=smoke"), 200, "\"success\":true");
+        check("verify/serial", get("/verify/serial/" + sku + "-0001"), 200, sku + "-0001");
+        check("verify/serial unknown", get("/verify/serial/" + sku + "-9999"), 404, "\"success\":false");
+
+        if (chain) {
+            check("blockchain/status", get("/blockchain/status"), 200, "\"available\":true");
+            // Pre-minting is best effort on the chain; a token ID on the item means the mint went through
+            String tokenId = field(items, "tokenId");
+            if (tokenId == null || "null".equals(tokenId)) {
+                fail("blockchain/mint", "no token ID on " + sku + "-0001");
+            } else {
+                check("blockchain/verify", get("/blockchain/verify/" + tokenId), 200, "\"exists\":true");
+            }
+        }
+
+        check("prometheus", get("/actuator/prometheus"), 200, "digitalseal_");
+    }
+
+    // ── HTTP ──────────────────────────────────────────────────────────────────
+
+    private HttpRequest.Builder get(String path) {
+        return authorized(HttpRequest.newBuilder(URI.create(base + path)).GET());
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return authorized(HttpRequest.newBuilder(URI.create(base + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+        return token == null ? request : request.header("Authorization", "Bearer " + token);
+    }
+
+    /** Sends the request and records whether status and body are as expected; returns the body */
+    private String check(String name, HttpRequest.Builder request, int status, String expected)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            fail(name, e.toString());
+            return "";
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        String body = response.body();
+        if (response.statusCode() != status || !body.contains(expected)) {
+            fail(name, "HTTP " + response.statusCode() + " " + abbreviate(body));
+        } else {
+            checks++;
+            System.out.printf("ok    %-24s %4d ms%n", name, millis);
+        }
+        return body;
+    }
+
+    private void fail(String name, String reason) {
+        checks++;
+        failures.add(name);
+        System.out.printf("FAIL  %-24s %s%n", name, reason);
+    }
+
+    /** First value of a top-level or nested JSON field, unquoted; good enough for our own responses */
+    private static String field(String json, String name) {
+        Matcher value = Pattern.compile("\"" + Pattern.quote(name) + "\"\\s*:\\s*(\"([^\"]*)\"|[^,}\\]]+)").matcher(json);
+        if (!value.find()) {
+            return null;
+        }
+        return value.group(2) != null ? value.group(2) : value.group(1).trim();
+    }
+
+    private static String abbreviate(String body) {
+        return body.length() > 300 ? body.substring(0, 300) + "..." : body;
+    }
+}
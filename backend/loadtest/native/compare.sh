@@ -0,0 +1,133 @@
+#!/usr/bin/env bash
+#
+# JVM jar vs native image: startup time, memory and steady-state throughput.
+#
+# For each runtime: reseed the thread-modes fixture, start the build with the same Spring
+# profiles, time it to its first healthy response, note its RSS, run the smoke suite
+# (NativeSmoke) and stop if anything fails, run the thread-modes verify/claim load
+# (ClaimVerifyLoad) with a warm-up, note RSS again, stop it and report.
+#
+# Needs: JDK 21 on PATH, GraalVM for JDK 21 in GRAALVM_HOME to build the image, and the MySQL
+# from docker-compose.yml with the schema migrated (start the app once). Both builds are made on
+# demand: the jar with `mvn package`, kept aside before `mvn -Pnative native:compile` replaces
+# target/ classes with AOT-processed, Hibernate-enhanced ones. Building the jar cleans target/,
+# so it brings a fresh image with it; REBUILD=1 rebuilds both.
+# The default profiles include chain-sim, so minting and on-chain verify are in the smoke suite.
+#
+# Results land in backend/target/loadtest-native/:
+#   <runtime>.txt          startup, RSS, throughput, errors, latency percentiles per endpoint
+#   <runtime>-smoke.txt    smoke checks and failures
+#   <runtime>-app.log      app output
+#
+# Settings (environment): PROFILES=fast-start,chain-sim ITEMS=20000 CONCURRENCY=200 DURATION=60
+#                         WARMUP=15 PORT=8080 JAVA_OPTS= MYSQL=...
+set -euo pipefail
+
+HERE="$(cd "$(dirname "$0")" && pwd)"
+BACKEND="$(cd "$HERE/../.." && pwd)"
+THREAD_MODES="$BACKEND/loadtest/thread-modes"
+OUT="$BACKEND/target/loadtest-native"
+
+PROFILES=${PROFILES:-fast-start,chain-sim}
+ITEMS=${ITEMS:-20000}
+CONCURRENCY=${CONCURRENCY:-200}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+PORT=${PORT:-8080}
+MYSQL=${MYSQL:-"docker compose -f $BACKEND/docker-compose.yml exec -T mysql mysql -uroot -p${DB_PASSWORD:-password} digital_seal"}
+
+JAR="$OUT/backend-jvm.jar"
+IMAGE="$OUT/backend-native"
+if [ "${REBUILD:-0}" = 1 ]; then
+    rm -f "$JAR" "$IMAGE"
+fi
+if [ ! -f "$JAR" ]; then
+    (cd "$BACKEND" && mvn -B -q -DskipTests clean package)
+    mkdir -p "$OUT"
+    cp "$(ls "$BACKEND"/target/backend-*-exec.jar | head -n 1)" "$JAR"
+fi
+if [ ! -f "$IMAGE" ]; then
+    (cd "$BACKEND" && JAVA_HOME="${GRAALVM_HOME:?GRAALVM_HOME must point at GraalVM for JDK 21}" \
+        mvn -B -q -Pnative -DskipTests -Dnative.profiles="$PROFILES" native:compile)
+    cp "$BACKEND/target/backend" "$IMAGE"
+fi
+mkdir -p "$OUT"
+
+rss_mb() {
+    awk -v field="$2:" '$1 == field { printf "%.1f", $2 / 1024 }' "/proc/$1/status"
+}
+
+run_runtime() {
+    local runtime=$1 command=()
+    if [ "$runtime" = native ]; then
+        command=("$IMAGE")
+    else
+        # shellcheck disable=SC2206
+        command=(java ${JAVA_OPTS:-} -jar "$JAR")
+    fi
+
+    echo "== $runtime: seeding $ITEMS items"
+    { echo "SET @items = $ITEMS;"; cat "$THREAD_MODES/seed.sql"; } | $MYSQL
+
+    echo "== $runtime: starting $(basename "${command[-1]}")"
+    local started
+    started=$(date +%s%N)
+    "${command[@]}" \
+        --server.port="$PORT" \
+        --spring.profiles.active="$PROFILES" \
+        --logging.level.com.digitalseal=WARN \
+        > "$OUT/$runtime-app.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    # Polled finely: the native image is up in well under a second
+    until curl -sf "http://localhost:$PORT/api/v1/actuator/health/liveness" > /dev/null; do
+        if ! kill -0 $pid 2>/dev/null; then
+            echo "app exited during startup — see $OUT/$runtime-app.log" >&2
+            exit 1
+        fi
+        if (( ($(date +%s%N) - started) / 1000000000 > 180 )); then
+            echo "app not healthy after 180s — see $OUT/$runtime-app.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    local ready_ms=$(( ($(date +%s%N) - started) / 1000000 ))
+    sleep 2
+    local rss_idle
+    rss_idle=$(rss_mb $pid VmRSS)
+
+    if ! java "$HERE/NativeSmoke.java" \
+            --base "http://localhost:$PORT/api/v1" \
+            --chain "$([[ $PROFILES == *chain-sim* ]] && echo true || echo false)" \
+            --label "$runtime" --out "$OUT/$runtime-smoke.txt"; then
+        echo "$runtime failed the smoke suite — see $OUT/$runtime-smoke.txt and $OUT/$runtime-app.log" >&2
+        exit 1
+    fi
+
+    java "$THREAD_MODES/ClaimVerifyLoad.java" \
+        --base "http://localhost:$PORT/api/v1" \
+        --items "$ITEMS" --concurrency "$CONCURRENCY" \
+        --duration "$DURATION" --warmup "$WARMUP" \
+        --label "$runtime" --out "$OUT/$runtime.txt"
+
+    {
+        echo "startup.ready_ms=$ready_ms"
+        echo "rss.idle_mb=$rss_idle"
+        echo "rss.after_load_mb=$(rss_mb $pid VmRSS)"
+        echo "rss.peak_mb=$(rss_mb $pid VmHWM)"
+    } >> "$OUT/$runtime.txt"
+
+    kill $pid
+    wait $pid || true
+    trap - EXIT
+}
+
+run_runtime jvm
+run_runtime native
+
+echo
+echo "== jvm vs native ($PROFILES; $CONCURRENCY clients, ${DURATION}s per endpoint)"
+join -t= <(sort "$OUT/jvm.txt") <(sort "$OUT/native.txt") \
+    | grep -v '^label=' \
+    | awk -F= '{ printf "%-28s %14s %14s\n", $1, $2, $3 }'
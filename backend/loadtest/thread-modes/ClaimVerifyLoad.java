@@ -0,0 +1,232 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load against the verify and claim endpoints, for comparing thread modes.
+ *
+ * <p>Runs against the fixture from seed.sql: {@code concurrency} clients each send one request
+ * after another. Verify picks serials at random from a fixed seed; claim walks the claim codes
+ * in order and stops when they run out, since each can be claimed once. Prints throughput,
+ * error counts and latency percentiles, and writes them as key=value lines to {@code --out}.
+ *
+ * <pre>
+ * java ClaimVerifyLoad.java --base http://localhost:8080/api/v1 --items 20000 \
+ *      --concurrency 200 --duration 60 --warmup 15 --label virtual --out virtual.txt
+ * </pre>
+ */
+public class ClaimVerifyLoad {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final String base;
+    private final int items;
+    private final int concurrency;
+    private final HttpClient client;
+
+    ClaimVerifyLoad(String base, int items, int concurrency) {
+        this.base = base;
+        this.items = items;
+        this.concurrency = concurrency;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "base", "http://localhost:8080/api/v1",
+                "items", "20000",
+                "concurrency", "200",
+                "duration", "60",
+                "warmup", "15",
+                "label", "run",
+                "email", "loadtest@digitalseal.local",
+                "password", "LoadTest123!"));
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+
+        ClaimVerifyLoad load = new ClaimVerifyLoad(options.get("base"),
+                Integer.parseInt(options.get("items")), Integer.parseInt(options.get("concurrency")));
+        int duration = Integer.parseInt(options.get("duration"));
+        String token = load.login(options.get("email"), options.get("password"));
+
+        load.verify(Integer.parseInt(options.get("warmup")), 1L); // JIT, pools, provenance rows
+        Result verify = load.verify(duration, 42L);
+        Result claim = load.claim(duration, token);
+
+        List<String> lines = new ArrayList<>();
+        lines.add("label=" + options.get("label"));
+        lines.add("concurrency=" + options.get("concurrency"));
+        lines.addAll(verify.lines("verify"));
+        lines.addAll(claim.lines("claim"));
+        lines.forEach(System.out::println);
+        if (options.containsKey("out")) {
+            Path out = Path.of(options.get("out"));
+            if (out.getParent() != null) {
+                Files.createDirectories(out.getParent());
+            }
+            Files.write(out, lines);
+        }
+        System.exit(0); // the client's virtual-thread executor would otherwise keep idle connections
+    }
+
+    // ── Scenarios ─────────────────────────────────────────────────────────────
+
+    private Result verify(int seconds, long seed) throws InterruptedException {
+        return run(seconds, worker -> {
+            SplittableRandom random = new SplittableRandom(seed + worker);
+            return () -> {
+                String serial = "LT-SER-%06d".formatted(1 + random.nextInt(items));
+                return HttpRequest.newBuilder(URI.create(base + "/verify/serial/" + serial)).GET();
+            };
+        });
+    }
+
+    private Result claim(int seconds, String token) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        return run(seconds, worker -> () -> {
+            int n = next.incrementAndGet();
+            if (n > items) {
+                return null;
+            }
+            String body = "{\"claimCode\":\"LT-CLAIM-%06d\"}".formatted(n);
+            return HttpRequest.newBuilder(URI.create(base + "/claim"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        });
+    }
+
+    private String login(String email, String password) throws IOException, InterruptedException {
+        String body = "{\"email\":\"%s\",\"password\":\"%s\"}".formatted(email, password);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher token = ACCESS_TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !token.find()) {
+            throw new IllegalStateException("Login failed (" + response.statusCode() + "): " + response.body());
+        }
+        return token.group(1);
+    }
+
+    // ── Driver ────────────────────────────────────────────────────────────────
+
+    interface RequestSource {
+        /** The next request, or null when the scenario has nothing left to send. */
+        HttpRequest.Builder next();
+    }
+
+    interface Workload {
+        RequestSource forWorker(int worker);
+    }
+
+    private Result run(int seconds, Workload workload) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofSeconds(seconds).toNanos();
+        Recorder[] recorders = new Recorder[concurrency];
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                Recorder recorder = recorders[w] = new Recorder();
+                RequestSource source = workload.forWorker(w);
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest.Builder request = source.next();
+                        if (request == null) {
+                            return;
+                        }
+                        long sent = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request.timeout(Duration.ofSeconds(60)).build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        recorder.record(status, System.nanoTime() - sent);
+                    }
+                });
+            }
+        }
+        return Result.of(recorders, System.nanoTime() - start);
+    }
+
+    static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+        void record(int status, long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            statuses.merge(status, 1, Integer::sum);
+        }
+    }
+
+    record Result(long requests, long errors, double seconds, long[] sortedNanos, Map<Integer, Integer> statuses) {
+
+        static Result of(Recorder[] recorders, long elapsedNanos) {
+            long[] all = new long[Arrays.stream(recorders).mapToInt(r -> r.count).sum()];
+            Map<Integer, Integer> statuses = new TreeMap<>();
+            int offset = 0;
+            for (Recorder recorder : recorders) {
+                System.arraycopy(recorder.latencies, 0, all, offset, recorder.count);
+                offset += recorder.count;
+                recorder.statuses.forEach((status, n) -> statuses.merge(status, n, Integer::sum));
+            }
+            Arrays.sort(all);
+            long errors = statuses.entrySet().stream()
+                    .filter(e -> e.getKey() < 200 || e.getKey() >= 300)
+                    .mapToLong(Map.Entry::getValue).sum();
+            return new Result(all.length, errors, elapsedNanos / 1e9, all, statuses);
+        }
+
+        double percentileMillis(double p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1e6;
+        }
+
+        List<String> lines(String scenario) {
+            List<String> lines = new ArrayList<>();
+            lines.add("%s.requests=%d".formatted(scenario, requests));
+            lines.add("%s.errors=%d".formatted(scenario, errors));
+            lines.add("%s.throughput_rps=%.1f".formatted(scenario, requests / seconds));
+            for (double p : new double[] { 50, 90, 99, 99.9 }) {
+                lines.add("%s.p%s_ms=%.1f".formatted(scenario, p == (int) p ? String.valueOf((int) p) : String.valueOf(p),
+                        percentileMillis(p)));
+            }
+            lines.add("%s.max_ms=%.1f".formatted(scenario, percentileMillis(100)));
+            lines.add("%s.statuses=%s".formatted(scenario, statuses));
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+#
+# Platform threads vs virtual threads on the verify and claim endpoints.
+#
+# For each mode: reseed the fixture (seed.sql), start the packaged app with
+# VIRTUAL_THREADS_ENABLED set, run ClaimVerifyLoad against it under a JFR recording, stop it
+# and report. Both runs see the same data, request mix and random serials.
+#
+# Needs: JDK 21 on PATH, the MySQL from docker-compose.yml with the schema migrated (start the
+# app once), and `mvn package` (built on demand). The blockchain node is optional — leave
+# WEB3_RPC_URL unreachable to measure the app and database alone, or point it at a node to
+# include NFT transfers in the claim path.
+#
+# Results land in backend/target/loadtest/:
+#   <mode>.txt          throughput, errors, latency percentiles per endpoint
+#   <mode>.jfr          flight recording — jdk.VirtualThreadPinned events are the pinning audit
+#   <mode>-app.log      app output; in virtual mode, stacks of threads blocking while pinned
+#
+# Settings (environment): ITEMS=20000 CONCURRENCY=200 DURATION=60 WARMUP=15 PORT=8080 MYSQL=...
+set -euo pipefail
+
+HERE="$(cd "$(dirname "$0")" && pwd)"
+BACKEND="$(cd "$HERE/../.." && pwd)"
+OUT="$BACKEND/target/loadtest"
+
+ITEMS=${ITEMS:-20000}
+CONCURRENCY=${CONCURRENCY:-200}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+PORT=${PORT:-8080}
+MYSQL=${MYSQL:-"docker compose -f $BACKEND/docker-compose.yml exec -T mysql mysql -uroot -p${DB_PASSWORD:-password} digital_seal"}
+
+JAR="$(ls "$BACKEND"/target/backend-*-exec.jar 2>/dev/null | head -n 1 || true)"
+if [ -z "$JAR" ]; then
+    (cd "$BACKEND" && mvn -B -q -DskipTests package)
+    JAR="$(ls "$BACKEND"/target/backend-*-exec.jar | head -n 1)"
+fi
+mkdir -p "$OUT"
+
+run_mode() {
+    local mode=$1 virtual=false jvm_opts=()
+    if [ "$mode" = virtual ]; then
+        virtual=true
+        jvm_opts+=(-Djdk.tracePinnedThreads=short)
+    fi
+
+    echo "== $mode: seeding $ITEMS items"
+    { echo "SET @items = $ITEMS;"; cat "$HERE/seed.sql"; } | $MYSQL
+
+    echo "== $mode: starting $(basename "$JAR")"
+    VIRTUAL_THREADS_ENABLED=$virtual java "${jvm_opts[@]}" \
+        -XX:StartFlightRecording=filename="$OUT/$mode.jfr",settings=profile,dumponexit=true \
+        -jar "$JAR" \
+        --server.port="$PORT" \
+        --spring.jpa.show-sql=false \
+        --logging.level.com.digitalseal=WARN \
+        > "$OUT/$mode-app.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    for _ in $(seq 1 120); do
+        if curl -sf "http://localhost:$PORT/api/v1/actuator/health/liveness" > /dev/null; then
+            break
+        fi
+        if ! kill -0 $pid 2>/dev/null; then
+            echo "app exited during startup — see $OUT/$mode-app.log" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+
+    java "$HERE/ClaimVerifyLoad.java" \
+        --base "http://localhost:$PORT/api/v1" \
+        --items "$ITEMS" --concurrency "$CONCURRENCY" \
+        --duration "$DURATION" --warmup "$WARMUP" \
+        --label "$mode" --out "$OUT/$mode.txt"
+
+    kill $pid
+    wait $pid || true
+    trap - EXIT
+
+    local pinned
+    pinned=$(jfr print --events jdk.VirtualThreadPinned "$OUT/$mode.jfr" | grep -c 'jdk.VirtualThreadPinned' || true)
+    echo "pinned.events_over_20ms=$pinned" >> "$OUT/$mode.txt"
+}
+
+run_mode platform
+run_mode virtual
+
+echo
+echo "== platform vs virtual ($CONCURRENCY clients, ${DURATION}s per endpoint)"
+join -t= <(sort "$OUT/platform.txt") <(sort "$OUT/virtual.txt") \
+    | grep -v '^label=' \
+    | awk -F= '{ printf "%-28s %14s %14s\n", $1, $2, $3 }'
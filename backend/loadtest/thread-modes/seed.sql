@@ -0,0 +1,36 @@
+-- Load-test fixture for compare.sh: one brand owner who also claims, one listed product and
+-- @items PRE_MINTED items (serials LT-SER-nnnnnn, claim codes LT-CLAIM-nnnnnn).
+-- Deleting the user cascades to everything below it, so each run starts from the same state.
+-- Login: loadtest@digitalseal.local / LoadTest123!
+
+SET SESSION cte_max_recursion_depth = 1000000;
+
+DELETE FROM users WHERE id = 900001;
+
+INSERT INTO users (id, email, password_hash, first_name, last_name, auth_type, role,
+                   is_active, email_verified, wallet_verified, is_locked, failed_login_attempts,
+                   wallet_address)
+VALUES (900001, 'loadtest@digitalseal.local',
+        '$2a$10$7FMeL9OBpdbCUYTz0rGGWOtkNav7VmSYmzyPdh49FIAeKpk5WOp7G',
+        'Load', 'Test', 'EMAIL', 'BRAND', TRUE, TRUE, FALSE, FALSE, 0,
+        '0x742d35Cc6634C0532925a3b844Bc9e7595f0bEb0');
+
+INSERT INTO brands (id, user_id, brand_name, verified, version)
+VALUES (900001, 900001, 'Load Test Atelier', TRUE, 0);
+
+INSERT INTO collections (id, brand_id, collection_name, is_limited_edition, version)
+VALUES (900001, 900001, 'Load Test Collection', FALSE, 0);
+
+INSERT INTO products (id, brand_id, collection_id, product_name, sku, category, status,
+                      price, currency, total_quantity, available_quantity, version, listed_at)
+VALUES (900001, 900001, 900001, 'Load Test Watch', 'LT-WATCH', 'WATCH', 'LISTED',
+        1.0, 'MATIC', @items, @items, 0, NOW());
+
+INSERT INTO product_items (product_id, item_serial, item_index, claim_code, seal_status, version)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1
+    UNION ALL
+    SELECT n + 1 FROM seq WHERE n < @items
+)
+SELECT 900001, CONCAT('LT-SER-', LPAD(n, 6, '0')), n, CONCAT('LT-CLAIM-', LPAD(n, 6, '0')), 'PRE_MINTED', 0
+FROM seq;
@@ -1,17 +1,26 @@
 package com.digitalseal;
 
+import com.digitalseal.config.NativeRuntimeHints;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
 @EnableJpaAuditing
 @EnableAsync
+@EnableScheduling
 @EnableTransactionManagement
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class DigitalSealApplication {
+
+    /** Comfortably more steps than one startup records */
+    private static final int STARTUP_STEPS = 20_000;
     
     public static void main(String[] args) {
         // Load .env file
@@ -24,6 +33,9 @@ public class DigitalSealApplication {
             System.setProperty(entry.getKey(), entry.getValue())
         );
         
-        SpringApplication.run(DigitalSealApplication.class, args);
+        SpringApplication application = new SpringApplication(DigitalSealApplication.class);
+        // Record startup steps for StartupTimingReport (drained once it has logged them)
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        application.run(args);
     }
 }
@@ -0,0 +1,133 @@
+package com.digitalseal.config;
+
+import io.micrometer.tracing.CurrentTraceContext;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.aot.BeanRegistrationAotContribution;
+import org.springframework.beans.factory.aot.BeanRegistrationAotProcessor;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+
+/**
+ * Executors behind {@code @Async}.
+ *
+ * <p>The default executor follows {@code spring.threads.virtual.enabled}: a bounded platform
+ * pool ({@code spring.task.execution.pool.*}) or one virtual thread per task, capped by
+ * {@code spring.task.execution.simple.concurrency-limit}. It is declared here because Spring
+ * Boot stops auto-configuring it as soon as any other executor bean exists.
+ *
+ * <p>Work that should not compete with other work names its own executor: each
+ * {@code app.async.executors.<workload>} entry becomes a bounded, instrumented
+ * {@link WorkloadTaskExecutor} bean called {@code <workload>TaskExecutor}, for use as
+ * {@code @Async(AsyncConfig.LOGGING_EXECUTOR)}.
+ */
+@Configuration
+@Slf4j
+public class AsyncConfig {
+
+    public static final String LOGGING_EXECUTOR = "loggingTaskExecutor";
+    public static final String EMAIL_EXECUTOR = "emailTaskExecutor";
+
+    @Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor applicationTaskExecutorVirtualThreads(SimpleAsyncTaskExecutorBuilder builder) {
+        log.info("Virtual threads enabled for request handling, @Async and @Scheduled work");
+        return builder.build();
+    }
+
+    @Bean
+    public static WorkloadExecutorRegistrar workloadExecutorRegistrar(Environment environment) {
+        return new WorkloadExecutorRegistrar(environment);
+    }
+
+    /**
+     * Async tasks start without the caller's security or request context and leave none behind.
+     *
+     * <p>Both holders are thread-bound: a platform pool thread would otherwise carry whatever
+     * an earlier task set into the next one, and the servlet request is recycled once the
+     * response is sent. Callers capture what they need on the request thread and pass it as
+     * arguments, as {@link PlatformLoggingAspect} does.
+     *
+     * <p>The one thing carried over is the caller's trace context, so spans the task creates —
+     * the log insert, an email send — join the request's trace. The context, not the caller's
+     * observation: a log written as the request ends is inserted after its span has closed.
+     */
+    @Bean
+    public TaskDecorator asyncContextIsolation(Tracer tracer) {
+        CurrentTraceContext traces = tracer.currentTraceContext();
+        return task -> {
+            TraceContext trace = traces.context();
+            return () -> {
+                SecurityContextHolder.clearContext();
+                RequestContextHolder.resetRequestAttributes();
+                try (CurrentTraceContext.Scope scope = traces.maybeScope(trace)) {
+                    task.run();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            };
+        };
+    }
+
+    /**
+     * Registers one {@link WorkloadTaskExecutor} per {@code app.async.executors} entry. A post
+     * processor because the set of beans comes from configuration. The definitions name a
+     * factory method rather than carrying an instance supplier, so Spring AOT can compile them.
+     */
+    static class WorkloadExecutorRegistrar implements BeanDefinitionRegistryPostProcessor, BeanRegistrationAotProcessor {
+
+        private final Environment environment;
+
+        WorkloadExecutorRegistrar(Environment environment) {
+            this.environment = environment;
+        }
+
+        /** Left out of AOT output: the executors it registered are compiled in already */
+        @Override
+        public BeanRegistrationAotContribution processAheadOfTime(RegisteredBean registeredBean) {
+            return null;
+        }
+
+        @Override
+        public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) throws BeansException {
+            Map<String, WorkloadTaskExecutor.Spec> executors = Binder.get(environment)
+                    .bind("app.async.executors", Bindable.mapOf(String.class, WorkloadTaskExecutor.Spec.class))
+                    .orElse(Map.of());
+            executors.keySet().forEach(workload -> {
+                RootBeanDefinition definition = new RootBeanDefinition(WorkloadTaskExecutor.class);
+                definition.setFactoryMethodName("create");
+                definition.getConstructorArgumentValues().addIndexedArgumentValue(0, workload);
+                definition.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+                registry.registerBeanDefinition(workload + "TaskExecutor", definition);
+            });
+        }
+    }
+}
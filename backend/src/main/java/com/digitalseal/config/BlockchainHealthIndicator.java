@@ -0,0 +1,35 @@
+package com.digitalseal.config;
+
+import com.digitalseal.service.BlockchainService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * The background node probe's verdict, as the {@code blockchain} health component (part of the
+ * readiness group). Reads the state the probe last set; never calls the node itself.
+ *
+ * <p>UP once the node answers and DOWN once the probe has marked it unavailable, so an instance
+ * whose claims and purchases would skip their on-chain transfers stops receiving traffic. Before
+ * the first answer, and without a contract address, the status is UNKNOWN, which does not
+ * change the aggregate.
+ */
+@Component
+@RequiredArgsConstructor
+public class BlockchainHealthIndicator implements HealthIndicator {
+
+    private final BlockchainService blockchainService;
+
+    @Override
+    public Health health() {
+        BlockchainService.NodeState state = blockchainService.getNodeState();
+        Health.Builder health = switch (state) {
+            case UP -> Health.up();
+            case DOWN -> Health.down()
+                    .withDetail("consecutiveProbeFailures", blockchainService.getConsecutiveProbeFailures());
+            case NOT_PROBED, DISABLED -> Health.unknown();
+        };
+        return health.withDetail("node", state).build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.digitalseal.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a public GET handler as a versioned resource with a cache policy.
+ *
+ * <p>{@link ConditionalGetSupport} resolves the resource's current ETag from the path variable
+ * before the handler runs and answers 304 when the request's {@code If-None-Match} matches
+ * ({@code If-Modified-Since} is ignored). Successful responses get {@code ETag} and a
+ * {@code Cache-Control} built from the attributes below.
+ * All marked resources are public, so shared caches (the CDN) may store them.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalGet {
+
+    Resource value();
+
+    /**
+     * Seconds clients may reuse the response without revalidating; 0 sends {@code no-cache}.
+     */
+    long maxAge() default 0;
+
+    /**
+     * Seconds a stale response may be served while revalidating in the background; 0 = none.
+     */
+    long staleWhileRevalidate() default 0;
+
+    /**
+     * The versioned resources and the path variable identifying each.
+     */
+    enum Resource {
+        BRAND("brandId"),
+        BRAND_COLLECTIONS("brandId"),
+        COLLECTION("collectionId"),
+        COLLECTION_PRODUCTS("collectionId"),
+        PRODUCT("productId"),
+        PRODUCT_CATEGORIES(null),
+        PROVENANCE_BY_ITEM("itemId"),
+        PROVENANCE_BY_SERIAL("serial");
+
+        private final String pathVariable;
+
+        Resource(String pathVariable) {
+            this.pathVariable = pathVariable;
+        }
+
+        public String pathVariable() {
+            return pathVariable;
+        }
+    }
+}
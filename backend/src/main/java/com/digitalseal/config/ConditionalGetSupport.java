@@ -0,0 +1,187 @@
+package com.digitalseal.config;
+
+import com.digitalseal.service.ResourceVersionService;
+import com.digitalseal.service.ResourceVersionService.ResourceVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conditional GET for handlers marked {@link ConditionalGet}.
+ *
+ * <p>As an interceptor (registered in {@link WebMvcConfig}) it resolves the resource version
+ * before the handler runs: when the request's {@code If-None-Match} matches, it answers 304 with
+ * the caching headers and the handler — entity loads, DTO mapping, serialisation — is skipped.
+ * The version is read before the body is built, so a body is never older than the ETag sent
+ * with it.
+ *
+ * <p>The ETag is the only validator. {@code updated_at} has one-second precision, so a
+ * {@code Last-Modified} date could not tell apart two edits made within the same second and
+ * {@code If-Modified-Since} would answer 304 for the second one; neither is sent nor honoured.
+ *
+ * <p>As body advice it adds {@code ETag} and {@code Cache-Control} to successful responses only;
+ * errors (404 etc.) stay uncacheable. Spring Security leaves {@code Cache-Control} alone once
+ * the application has set it.
+ */
+@ControllerAdvice
+@Slf4j
+public class ConditionalGetSupport implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private static final String VERSION_ATTRIBUTE = ConditionalGetSupport.class.getName() + ".version";
+
+    private final ResourceVersionService resourceVersionService;
+    private final boolean enabled;
+
+    private final Counter notModified;
+    private final Counter modified;
+    private final Counter unversioned;
+
+    public ConditionalGetSupport(ResourceVersionService resourceVersionService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.http-cache.enabled:true}") boolean enabled) {
+        this.resourceVersionService = resourceVersionService;
+        this.enabled = enabled;
+        this.notModified = counter(meterRegistry, "not_modified");
+        this.modified = counter(meterRegistry, "modified");
+        this.unversioned = counter(meterRegistry, "unversioned");
+    }
+
+    // ── Before the handler: 304 short-circuit ─────────────────────────────────
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod method)
+                || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return true;
+        }
+        ConditionalGet policy = method.getMethodAnnotation(ConditionalGet.class);
+        if (policy == null) {
+            return true;
+        }
+
+        ResourceVersion version = resolve(policy.value(), request).orElse(null);
+        if (version == null) {
+            unversioned.increment();
+            return true;
+        }
+        request.setAttribute(VERSION_ATTRIBUTE, version);
+
+        // Without a response, checkNotModified only evaluates the request's preconditions; with no
+        // last-modified time it ignores If-Modified-Since
+        ServletWebRequest preconditions = new ServletWebRequest(request);
+        if (!preconditions.checkNotModified(version.eTag())) {
+            modified.increment();
+            return true;
+        }
+
+        notModified.increment();
+        response.setStatus(HttpStatus.NOT_MODIFIED.value());
+        HttpHeaders headers = cachingHeaders(policy, version);
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        return false;
+    }
+
+    // ── After the handler: caching headers on success ─────────────────────────
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled && returnType.hasMethodAnnotation(ConditionalGet.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && HttpStatusCode.valueOf(servletResponse.getServletResponse().getStatus()).is2xxSuccessful()) {
+            ConditionalGet policy = returnType.getMethodAnnotation(ConditionalGet.class);
+            ResourceVersion version = (ResourceVersion) servletRequest.getServletRequest().getAttribute(VERSION_ATTRIBUTE);
+            HttpHeaders headers = cachingHeaders(policy, version);
+            // An ETag from a ResponseEntity was already written by Spring's own 304 check —
+            // keep that one, and don't let it be written a second time
+            if (servletResponse.getServletResponse().containsHeader(HttpHeaders.ETAG)) {
+                headers.remove(HttpHeaders.ETAG);
+                response.getHeaders().remove(HttpHeaders.ETAG);
+            }
+            response.getHeaders().putAll(headers);
+        }
+        return body;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private Optional<ResourceVersion> resolve(ConditionalGet.Resource resource, HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String key = resource.pathVariable() == null || variables == null ? null : variables.get(resource.pathVariable());
+        try {
+            return switch (resource) {
+                case BRAND -> resourceVersionService.brand(Long.valueOf(key));
+                case BRAND_COLLECTIONS -> resourceVersionService.brandCollections(Long.valueOf(key));
+                case COLLECTION -> resourceVersionService.collection(Long.valueOf(key));
+                case COLLECTION_PRODUCTS -> resourceVersionService.collectionProducts(Long.valueOf(key));
+                case PRODUCT -> resourceVersionService.product(Long.valueOf(key));
+                case PRODUCT_CATEGORIES -> resourceVersionService.categories();
+                case PROVENANCE_BY_ITEM -> resourceVersionService.provenanceByItemId(Long.valueOf(key));
+                case PROVENANCE_BY_SERIAL -> resourceVersionService.provenanceBySerial(key);
+            };
+        } catch (NumberFormatException e) {
+            return Optional.empty(); // the handler rejects the path variable
+        } catch (RuntimeException e) {
+            // Serving the full response is always correct
+            log.warn("Conditional GET: could not resolve {} '{}': {}", resource, key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static HttpHeaders cachingHeaders(ConditionalGet policy, ResourceVersion version) {
+        CacheControl cacheControl = policy.maxAge() > 0
+                ? CacheControl.maxAge(policy.maxAge(), TimeUnit.SECONDS)
+                : CacheControl.noCache();
+        cacheControl = cacheControl.cachePublic();
+        if (policy.staleWhileRevalidate() > 0) {
+            cacheControl = cacheControl.staleWhileRevalidate(policy.staleWhileRevalidate(), TimeUnit.SECONDS);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(cacheControl);
+        if (version != null) {
+            headers.setETag(version.eTag());
+        }
+        return headers;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("digitalseal.http.conditional.requests")
+                .tag("result", result)
+                .description("GET requests to versioned resources, by revalidation outcome")
+                .register(meterRegistry);
+    }
+}
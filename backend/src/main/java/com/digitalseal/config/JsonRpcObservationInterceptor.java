@@ -0,0 +1,72 @@
+package com.digitalseal.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Observes each JSON-RPC call Web3j makes: a client span named after the RPC method, a
+ * {@code digitalseal.blockchain.rpc} timer tagged with it, and a {@code traceparent} header
+ * on the outgoing request so a node that understands it can join the trace.
+ */
+class JsonRpcObservationInterceptor implements Interceptor {
+
+    private static final String OBSERVATION_NAME = "digitalseal.blockchain.rpc";
+    private static final Pattern METHOD = Pattern.compile("\"method\"\\s*:\\s*\"([A-Za-z0-9_]+)\"");
+
+    private final ObservationRegistry observationRegistry;
+
+    JsonRpcObservationInterceptor(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String method = rpcMethod(request.body());
+
+        RequestReplySenderContext<Request.Builder, Response> context =
+                new RequestReplySenderContext<>((builder, key, value) -> builder.header(key, value));
+        Request.Builder builder = request.newBuilder();
+        context.setCarrier(builder);
+        context.setRemoteServiceName("ethereum-node");
+
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, () -> context, observationRegistry)
+                .contextualName(method)
+                .lowCardinalityKeyValue("rpc.method", method)
+                // Starting the observation writes traceparent into the builder
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            Response response = chain.proceed(builder.build());
+            context.setResponse(response);
+            observation.lowCardinalityKeyValue("outcome", response.isSuccessful() ? "success" : "http_error");
+            return response;
+        } catch (IOException | RuntimeException e) {
+            observation.lowCardinalityKeyValue("outcome", "error");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /** The JSON-RPC method of a Web3j request body, or "unknown" */
+    private static String rpcMethod(RequestBody body) throws IOException {
+        if (body == null) {
+            return "unknown";
+        }
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        Matcher matcher = METHOD.matcher(buffer.readUtf8());
+        return matcher.find() ? matcher.group(1) : "unknown";
+    }
+}
@@ -0,0 +1,121 @@
+package com.digitalseal.config;
+
+import com.digitalseal.devchain.ChainSimulator;
+import com.digitalseal.devchain.ChainSimulatorSettings;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.boot.context.properties.bind.BindableRuntimeHintsRegistrar;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint160;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.protocol.core.methods.response.EthChainId;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+
+import java.util.stream.Stream;
+
+/**
+ * Reflection and resources a native image needs beyond what Spring AOT derives from the bean
+ * definitions and what the GraalVM reachability metadata repository ships for our libraries
+ * (OkHttp, MySQL Connector/J, Flyway, Hibernate, Bouncy Castle). Only read when the image is
+ * built ({@code mvn -Pnative native:compile}); on the JVM these hints are never consulted.
+ *
+ * <p>Lombok builders, getters and constructors are plain bytecode by the time AOT runs, so the
+ * DTOs need nothing here: the controller signatures already register them for Jackson.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        registerWeb3j(hints);
+        registerJjwt(hints);
+        registerBoundTypes(hints);
+        registerSecondLevelCache(hints);
+
+        // Listing pages are serialised to JSON for the page cache as PageImpl, not through a controller
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                PageImpl.class, PageRequest.class, Sort.class, Sort.Order.class);
+    }
+
+    private static void registerWeb3j(RuntimeHints hints) {
+        // BlockchainService encodes its hot calls with DigitalSealAbiCodec; the chain simulator still
+        // decodes through web3j, whose TypeReference reads its type argument from the generic
+        // superclass of each anonymous subclass, which a native image only keeps for classes
+        // registered for reflection. Registered by binary name: the Class-based overload drops
+        // classes without a canonical name.
+        Stream.concat(Stream.of(ChainSimulator.class.getNestMembers()),
+                        Stream.of(org.web3j.abi.TypeReference.class.getNestMembers()))
+                .filter(org.web3j.abi.TypeReference.class::isAssignableFrom)
+                .forEach(type -> hints.reflection().registerType(TypeReference.of(type.getName())));
+
+        // The ABI decoder loads result types by name and builds numbers through their
+        // (BigInteger) constructor; Address is decoded as a Uint160. authorizeBrand still encodes
+        // through FunctionEncoder
+        Stream.of(Address.class, Bool.class, Utf8String.class, DynamicBytes.class, DynamicArray.class,
+                        Uint160.class, Uint256.class)
+                .forEach(type -> hints.reflection().registerType(type,
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        // JSON-RPC envelopes, mapped by Web3j's own ObjectMapper: the calls BlockchainService
+        // makes, plus what RawTransactionManager sends for nonces and raw transactions
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Request.class, Response.class, Response.Error.class, Transaction.class,
+                Web3ClientVersion.class, EthCall.class, EthChainId.class, EthGetTransactionCount.class,
+                EthSendTransaction.class, EthGetTransactionReceipt.class, TransactionReceipt.class, Log.class);
+
+        hints.resources().registerPattern("okhttp3/internal/publicsuffix/*");
+    }
+
+    private static void registerJjwt(RuntimeHints hints) {
+        // jjwt-api finds its implementation by class name; the JSON codec comes from a ServiceLoader
+        Stream.of("io.jsonwebtoken.impl.DefaultJwtBuilder",
+                        "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                        "io.jsonwebtoken.impl.DefaultJwtParser",
+                        "io.jsonwebtoken.impl.DefaultClaims",
+                        "io.jsonwebtoken.impl.DefaultHeader",
+                        "io.jsonwebtoken.impl.DefaultJwsHeader",
+                        "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                        "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                        "io.jsonwebtoken.jackson.io.JacksonDeserializer")
+                .forEach(name -> hints.reflection().registerType(TypeReference.of(name),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+    }
+
+    /**
+     * Types bound with {@code Binder} rather than through {@code @ConfigurationProperties} beans,
+     * which AOT would have covered: executor specs, replica pools, the chain simulator's settings,
+     * second-level cache regions
+     */
+    private static void registerBoundTypes(RuntimeHints hints) {
+        BindableRuntimeHintsRegistrar.forTypes(WorkloadTaskExecutor.Spec.class, HikariDataSource.class,
+                ChainSimulatorSettings.class, SecondLevelCacheConfig.Region.class).registerHints(hints);
+    }
+
+    private static void registerSecondLevelCache(RuntimeHints hints) {
+        // Hibernate instantiates the region factory it finds under the short name "jcache" reflectively;
+        // Caffeine's cache manager reads its defaults from Typesafe Config's reference.conf
+        hints.reflection().registerType(TypeReference.of("org.hibernate.cache.jcache.internal.JCacheRegionFactory"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("reference.conf");
+    }
+}
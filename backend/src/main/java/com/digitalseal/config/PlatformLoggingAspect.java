@@ -3,6 +3,7 @@ package com.digitalseal.config;
 import com.digitalseal.model.entity.LogCategory;
 import com.digitalseal.model.entity.LogLevel;
 import com.digitalseal.service.PlatformLogService;
+import com.digitalseal.service.RequestLatencyStats;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,13 @@ import org.springframework.web.context.request.ServletRequestAttributes;
  *
  * <p>The log records: who called it, what path/method, how long it took,
  * whether it succeeded, and the error message if it failed.
+ *
+ * <p>Request and caller details come from thread-bound holders, so they are read here on the
+ * request thread and handed to {@link PlatformLogService} as plain values — never looked up
+ * from the thread that writes the entry.
+ *
+ * <p>Each call's latency also goes to {@link RequestLatencyStats}, which backs the in-memory
+ * percentiles on the admin stats endpoint.
  */
 @Aspect
 @Component
@@ -29,6 +37,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 public class PlatformLoggingAspect {
 
     private final PlatformLogService platformLogService;
+    private final RequestLatencyStats requestLatencyStats;
 
     /**
      * Intercept all public methods inside any {@code @RestController} in the
@@ -37,7 +46,7 @@ public class PlatformLoggingAspect {
     @Around("execution(* com.digitalseal.controller.*.*(..))")
     public Object logControllerCall(ProceedingJoinPoint pjp) throws Throwable {
 
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
 
         // ── HTTP context ──────────────────────────────────────────────────
         String httpMethod   = "UNKNOWN";
@@ -79,8 +88,10 @@ public class PlatformLoggingAspect {
             caught = t;
             throw t;
         } finally {
-            long durationMs = System.currentTimeMillis() - start;
+            long durationNanos = System.nanoTime() - start;
+            long durationMs = durationNanos / 1_000_000;
             boolean success = caught == null;
+            requestLatencyStats.record(action, durationNanos, success);
             LogLevel level  = success ? LogLevel.INFO : levelForException(caught);
             String errorMsg = caught != null ? caught.getClass().getSimpleName() + ": " + caught.getMessage() : null;
 
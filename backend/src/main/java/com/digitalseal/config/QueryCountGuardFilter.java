@@ -0,0 +1,106 @@
+package com.digitalseal.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Per-request SQL statement budget.
+ *
+ * <p>Resets {@link SqlStatementCounter} when a request starts and logs a warning when it
+ * finishes over {@code app.query-guard.max-statements}. With {@code app.query-guard.expose-header}
+ * the count is also returned as {@value #HEADER} so tests and load scripts can assert on it.
+ *
+ * <p>A development and test aid: off unless {@code app.query-guard.enabled} is set.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class QueryCountGuardFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Query-Count";
+
+    @Value("${app.query-guard.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.query-guard.max-statements:20}")
+    private int maxStatements;
+
+    @Value("${app.query-guard.expose-header:false}")
+    private boolean exposeHeader;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            if (exposeHeader) {
+                // Header must be set before the body is committed
+                response = new CountingResponseWrapper(response);
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            int count = SqlStatementCounter.count();
+            if (count > maxStatements) {
+                log.warn("[QUERY-GUARD] {} {} executed {} SQL statements (budget {}) — possible N+1",
+                        request.getMethod(), request.getRequestURI(), count, maxStatements);
+            }
+            SqlStatementCounter.clear();
+        }
+    }
+
+    /**
+     * Writes the running statement count just before the response is committed.
+     */
+    private static final class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+        private boolean written;
+
+        CountingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void writeHeader() {
+            if (!written && !isCommitted()) {
+                written = true;
+                setHeader(HEADER, Integer.toString(SqlStatementCounter.count()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.digitalseal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas ({@code app.datasource.replicas.enabled}).
+ *
+ * <p>Replaces the auto-configured pool with a primary pool and one pool per replica URL, each
+ * with its own Hikari metrics ({@code hikaricp.*}, tagged {@code pool=primary / replica-N}).
+ * Transactions marked {@code readOnly} go to a replica via {@link ReplicaRoutingDataSource};
+ * everything else — and any read that must see the latest commit — runs on the primary.
+ * Replicas default to the primary's credentials. Any JDBC URL works, so two local MySQL
+ * instances or H2 files can stand in (with an empty {@code lag-query} for H2).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replicas.pool-size:10}") int poolSize,
+            @Value("${app.datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMillis,
+            @Value("${app.datasource.replicas.max-lag-seconds:5}") double maxLagSeconds,
+            @Value("${app.datasource.replicas.probe-interval-ms:2000}") long probeIntervalMillis,
+            @Value("${app.datasource.replicas.lag-query:SHOW REPLICA STATUS}") String lagQuery) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Fall back to the primary quickly rather than queue behind a struggling replica
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            // A replica that is down at startup must not stop the application
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(metrics);
+            replicas.add(replica);
+        }
+        log.info("Read replicas enabled: {} replica pool(s), max lag {}s", replicas.size(), maxLagSeconds);
+        return new ReplicaRoutingDataSource(primary, replicas, lagQuery, maxLagSeconds, probeIntervalMillis,
+                meterRegistry);
+    }
+
+    /**
+     * The application's DataSource. The lazy proxy defers fetching a physical connection until
+     * the first statement, after the transaction (and its read-only flag) has started.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Spring holds a Hibernate session's connection until the session closes — with open-in-view,
+     * the whole request. Release it after each transaction so every transaction is routed on
+     * its own and a write after a read in the same request does not land on a replica.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReplicaAffinityFilter replicaAffinityFilter() {
+        return new ReplicaAffinityFilter();
+    }
+
+    /**
+     * Pins each request's reads to one replica (see {@link ReplicaRoutingDataSource}).
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    static class ReplicaAffinityFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request,
+                                        HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            boolean started = ReplicaRoutingDataSource.beginAffinity();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (started) {
+                    ReplicaRoutingDataSource.endAffinity();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.digitalseal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * <p>Routing is decided when a transaction first needs a connection, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} (see
+ * {@link ReadReplicaConfig}). Replicas are probed on their own thread every
+ * {@code probe-interval-ms}: a replica is used only while it answers, its reported lag is within
+ * {@code max-lag-seconds} and the last probe is recent. With no usable replica — or when a
+ * replica connection fails — reads go to the primary.
+ *
+ * <p>Within an HTTP request, reads stick to one replica ({@link #beginAffinity}), so data read
+ * later in the request is never older than data read earlier — the conditional GET version
+ * lookup and the body it validates come from the same replica.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final ThreadLocal<Replica[]> AFFINITY = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final long probeIntervalMillis;
+    private final ScheduledExecutorService prober;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools, String lagQuery,
+                             double maxLagSeconds, long probeIntervalMillis, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.probeIntervalMillis = probeIntervalMillis;
+
+        this.replicaReads = Counter.builder("digitalseal.datasource.reads")
+                .tag("target", "replica")
+                .description("Read-only transactions by the pool that served them")
+                .register(meterRegistry);
+        this.primaryReads = Counter.builder("digitalseal.datasource.reads")
+                .tag("target", "primary")
+                .description("Read-only transactions by the pool that served them")
+                .register(meterRegistry);
+        for (Replica replica : replicas) {
+            Gauge.builder("digitalseal.datasource.replica.available", replica, r -> r.usable() ? 1 : 0)
+                    .tag("replica", replica.name())
+                    .description("1 while the replica receives reads")
+                    .register(meterRegistry);
+            Gauge.builder("digitalseal.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.name())
+                    .description("Replication lag reported by the last probe (seconds)")
+                    .register(meterRegistry);
+        }
+
+        probeReplicas(); // route reads from the first request on
+        this.prober = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(this::probeReplicas, probeIntervalMillis, probeIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start replica affinity on this thread: read-only transactions until {@link #endAffinity}
+     * use the same replica for as long as it stays usable. Returns false if already started.
+     */
+    static boolean beginAffinity() {
+        if (AFFINITY.get() != null) {
+            return false;
+        }
+        AFFINITY.set(new Replica[1]);
+        return true;
+    }
+
+    static void endAffinity() {
+        AFFINITY.remove();
+    }
+
+    // ── Routing ───────────────────────────────────────────────────────────────
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        Replica replica = pickReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.pool.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                // Down since the last probe — take it out now instead of failing the request
+                replica.markDown("connection failed: " + e.getMessage());
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    private Replica pickReplica() {
+        Replica[] pinned = AFFINITY.get();
+        if (pinned != null && pinned[0] != null && pinned[0].usable()) {
+            return pinned[0];
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (candidate.usable()) {
+                if (pinned != null) {
+                    pinned[0] = candidate;
+                }
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // ── Health ────────────────────────────────────────────────────────────────
+
+    private void probeReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                double lag = lagQuery == null ? 0 : readLag(connection);
+                replica.lagSeconds = lag;
+                if (lag > maxLagSeconds) {
+                    replica.markDown(String.format("lag %.1fs over %.1fs", lag, maxLagSeconds));
+                } else {
+                    replica.markUp();
+                }
+            } catch (Exception e) {
+                replica.lagSeconds = Double.NaN;
+                replica.markDown("probe failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lag in seconds from {@code lag-query}: the Seconds_Behind_Source (or _Master) column of
+     * SHOW REPLICA STATUS, or else the first column of the first row. No row means the server
+     * is not replicating (a local stand-in) and counts as no lag; a NULL lag means replication
+     * is stopped.
+     */
+    private double readLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return 0;
+            }
+            Object lag = null;
+            boolean found = false;
+            for (String column : new String[] { "Seconds_Behind_Source", "Seconds_Behind_Master" }) {
+                try {
+                    lag = rs.getObject(rs.findColumn(column));
+                    found = true;
+                    break;
+                } catch (SQLException e) {
+                    // column not in this server version's output
+                }
+            }
+            if (!found) {
+                lag = rs.getObject(1);
+            }
+            if (lag == null) {
+                throw new SQLException("replication is not running");
+            }
+            return Double.parseDouble(lag.toString());
+        }
+    }
+
+    @Override
+    public void close() {
+        prober.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile Boolean up; // null until the first probe
+        private volatile long checkedAtMillis;
+        private volatile double lagSeconds = Double.NaN;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        String name() {
+            return pool.getPoolName();
+        }
+
+        boolean usable() {
+            // A stalled prober must not keep a replica in rotation on old data
+            return Boolean.TRUE.equals(up) && System.currentTimeMillis() - checkedAtMillis < 3 * probeIntervalMillis;
+        }
+
+        void markUp() {
+            checkedAtMillis = System.currentTimeMillis();
+            if (!Boolean.TRUE.equals(up)) {
+                up = true;
+                log.info("Read replica {} is available", name());
+            }
+        }
+
+        void markDown(String reason) {
+            if (!Boolean.FALSE.equals(up)) {
+                log.warn("Read replica {} is not receiving reads: {}", name(), reason);
+            }
+            up = false;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.digitalseal.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hibernate second-level cache ({@code app.second-level-cache}) for rows that nearly every request
+ * reads and few change: brands, collections, users (role, active and lock flags, read on every
+ * authenticated request) and the per-brand collection list query.
+ *
+ * <p>Regions live in this node's heap, in Caffeine behind JCache, each with its own entry cap and
+ * time to live ({@code regions.<name>}). Entities use the read-write strategy, so Hibernate updates
+ * or drops an entry when a transaction that changed the row commits, and drops cached query
+ * results whenever a table they read from changes. Writes made on another node, or straight to the
+ * database, are only picked up when the entry expires, so a region's TTL is how stale a node may
+ * be. A region Hibernate asks for that is not configured fails startup instead of growing without
+ * bounds.
+ *
+ * <p>Per region, tagged {@code region}: {@code digitalseal.hibernate.cache.requests} (hit / miss),
+ * {@code digitalseal.hibernate.cache.evictions} and {@code digitalseal.hibernate.cache.hit.ratio}
+ * since startup, all read from the region's JCache statistics.
+ */
+@Configuration
+@Slf4j
+public class SecondLevelCacheConfig {
+
+    /**
+     * One cache region.
+     *
+     * @param maxEntries entries kept; least recently / frequently used ones go first beyond this
+     * @param ttl        how long an entry lives after it was written; zero for no expiry
+     */
+    public record Region(@DefaultValue("10000") long maxEntries,
+                         @DefaultValue("10m") Duration ttl) {
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.second-level-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager hibernateCacheManager(Environment environment, MeterRegistry meterRegistry) {
+        Map<String, Region> regions = Binder.get(environment)
+                .bind("app.second-level-cache.regions", Bindable.mapOf(String.class, Region.class))
+                .orElse(Map.of());
+
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        regions.forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.maxEntries()));
+            if (!region.ttl().isZero()) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+            }
+            // Hibernate caches disassembled, immutable entry state: copying it on every get and put
+            // (JCache's default store-by-value) would only add serialization
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+            registerMetrics(meterRegistry, cacheManager, name, statistics(cacheManager, name));
+        });
+        log.info("Second-level cache regions: {}", regions);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(ObjectProvider<CacheManager> hibernateCacheManager) {
+        return properties -> {
+            CacheManager cacheManager = hibernateCacheManager.getIfAvailable();
+            // Set either way: with hibernate-jcache on the classpath, Hibernate would otherwise pick it
+            // up on its own and create every region unbounded
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, cacheManager != null);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, cacheManager != null);
+            if (cacheManager == null) {
+                return;
+            }
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    // ── Metrics ───────────────────────────────────────────────────────────────
+
+    /** The statistics MXBean the provider registers for a cache created with statistics enabled */
+    private static CacheStatisticsMXBean statistics(CacheManager cacheManager, String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            Set<ObjectName> names = server.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + name + ",*"), null);
+            if (names.size() != 1) {
+                throw new IllegalStateException("No statistics registered for cache region " + name
+                        + " of " + cacheManager.getURI());
+            }
+            return JMX.newMXBeanProxy(server, names.iterator().next(), CacheStatisticsMXBean.class);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Unusable cache region name: " + name, e);
+        }
+    }
+
+    /**
+     * Meters hold their state object weakly, so they are tied to the cache manager, which lives as
+     * long as the context, rather than to the MXBean proxy, which nothing else references.
+     */
+    private static void registerMetrics(MeterRegistry meterRegistry, CacheManager cacheManager, String region,
+                                        CacheStatisticsMXBean statistics) {
+        FunctionCounter.builder("digitalseal.hibernate.cache.requests", cacheManager,
+                        manager -> statistics.getCacheHits())
+                .tag("region", region)
+                .tag("result", "hit")
+                .description("Second-level cache lookups")
+                .register(meterRegistry);
+        FunctionCounter.builder("digitalseal.hibernate.cache.requests", cacheManager,
+                        manager -> statistics.getCacheMisses())
+                .tag("region", region)
+                .tag("result", "miss")
+                .description("Second-level cache lookups")
+                .register(meterRegistry);
+        FunctionCounter.builder("digitalseal.hibernate.cache.evictions", cacheManager,
+                        manager -> statistics.getCacheEvictions())
+                .tag("region", region)
+                .description("Second-level cache entries dropped to stay within max-entries or on expiry")
+                .register(meterRegistry);
+        ToDoubleFunction<CacheManager> hitRatio = manager -> {
+            long hits = statistics.getCacheHits();
+            long lookups = hits + statistics.getCacheMisses();
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        };
+        Gauge.builder("digitalseal.hibernate.cache.hit.ratio", cacheManager, hitRatio)
+                .tag("region", region)
+                .description("Share of second-level cache lookups answered from the cache since startup")
+                .register(meterRegistry);
+    }
+}
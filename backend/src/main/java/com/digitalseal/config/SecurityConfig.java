@@ -1,7 +1,10 @@
 package com.digitalseal.config;
 
 import com.digitalseal.security.JwtAuthenticationFilter;
+import com.digitalseal.security.PooledPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,11 +13,11 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -56,8 +59,24 @@ public class SecurityConfig {
         return http.build();
     }
     
+    /**
+     * BCrypt on its own bounded pool. The cost is {@code app.password-hashing.strength} when
+     * set, otherwise calibrated at startup to the highest cost that hashes within
+     * {@code target-ms} here (never below {@code min-strength}).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PooledPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.password-hashing.strength:0}") int strength,
+            @Value("${app.password-hashing.target-ms:250}") long targetMs,
+            @Value("${app.password-hashing.min-strength:10}") int minStrength,
+            @Value("${app.password-hashing.max-strength:14}") int maxStrength,
+            @Value("${app.password-hashing.threads:0}") int threads,
+            @Value("${app.password-hashing.queue-capacity:16}") int queueCapacity,
+            @Value("${app.password-hashing.max-wait-ms:5000}") long maxWaitMs) {
+        int cost = strength > 0 ? strength : PooledPasswordEncoder.calibrate(Duration.ofMillis(targetMs), minStrength, maxStrength);
+        // Half the cores by default: a login storm cannot take the rest from other endpoints
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new PooledPasswordEncoder(cost, poolSize, queueCapacity, Duration.ofMillis(maxWaitMs), meterRegistry);
     }
 }
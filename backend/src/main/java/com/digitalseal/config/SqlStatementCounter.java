@@ -0,0 +1,52 @@
+package com.digitalseal.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * <p>Registered as the session factory's {@link StatementInspector}; statements pass through
+ * unchanged. {@link QueryCountGuardFilter} resets the count per request and flags requests
+ * that exceed the configured budget — the usual symptom of an N+1 over a LAZY association.
+ * Tests and load scripts can use {@link #reset()} / {@link #count()} the same way to assert
+ * a maximum query count for an endpoint.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    /**
+     * Statements prepared on this thread since the last {@link #reset()}.
+     */
+    public static int count() {
+        return COUNT.get()[0];
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * Drop the thread-local entirely (pooled threads outlive requests).
+     */
+    public static void clear() {
+        COUNT.remove();
+    }
+}
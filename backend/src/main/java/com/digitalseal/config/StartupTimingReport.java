@@ -0,0 +1,88 @@
+package com.digitalseal.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs where startup went once the application is ready: total time, JVM time before Spring
+ * started, and the beans that took longest to create. A bean's own time excludes the beans it
+ * pulled in as dependencies, so the list points at the bean doing the slow work, not at its
+ * callers. Needs the {@link BufferingApplicationStartup} that {@code DigitalSealApplication}
+ * installs; the buffer is drained afterwards so the steps are not kept for the process lifetime.
+ */
+@Component
+@Slf4j
+public class StartupTimingReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+
+    @Value("${app.startup-report.top-beans:15}")
+    private int topBeans;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        StartupTimeline timeline = buffering.drainBufferedTimeline();
+        if (topBeans <= 0) {
+            return;
+        }
+
+        // Own time = step duration minus the steps nested directly inside it
+        Map<Long, Duration> nested = new HashMap<>();
+        for (StartupTimeline.TimelineEvent step : timeline.getEvents()) {
+            Long parent = step.getStartupStep().getParentId();
+            if (parent != null) {
+                nested.merge(parent, step.getDuration(), Duration::plus);
+            }
+        }
+        List<BeanTiming> beans = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent step : timeline.getEvents()) {
+            StartupStep startupStep = step.getStartupStep();
+            if (BEAN_STEP.equals(startupStep.getName())) {
+                Duration own = step.getDuration().minus(nested.getOrDefault(startupStep.getId(), Duration.ZERO));
+                beans.add(new BeanTiming(beanName(startupStep), own, step.getDuration()));
+            }
+        }
+        beans.sort(Comparator.comparing(BeanTiming::own).reversed());
+
+        long jvmMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        StringBuilder report = new StringBuilder()
+                .append("Startup: ready in ").append(event.getTimeTaken().toMillis()).append(" ms")
+                .append(" (JVM up ").append(jvmMillis).append(" ms), ")
+                .append(beans.size()).append(" beans created. Slowest, own / with dependencies:");
+        beans.stream().limit(topBeans).forEach(bean -> report
+                .append("\n  ").append(String.format("%6d / %6d ms  ", bean.own().toMillis(), bean.total().toMillis()))
+                .append(bean.name()));
+        log.info(report.toString());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private record BeanTiming(String name, Duration own, Duration total) {
+    }
+}
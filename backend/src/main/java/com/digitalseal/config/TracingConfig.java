@@ -0,0 +1,69 @@
+package com.digitalseal.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Request tracing. Spring Boot's Micrometer Tracing auto-configuration does the heavy lifting:
+ * W3C {@code traceparent} in and out, a span per HTTP request, parent-based ratio sampling
+ * ({@code management.tracing.sampling.probability}) and export to every {@code SpanExporter}
+ * bean — here {@link com.digitalseal.service.TraceBuffer}. datasource-micrometer adds a span
+ * per JDBC statement. This class adds spans for {@code @Observed} services and tells clients
+ * the trace ID; {@link JsonRpcObservationInterceptor} covers Web3j calls and
+ * {@link AsyncConfig#asyncContextIsolation} carries the trace into {@code @Async} work.
+ */
+@Configuration
+public class TracingConfig {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    /** A span (and a {@code digitalseal.service} timer) per public method of {@code @Observed} classes */
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    @Bean
+    public TraceIdResponseFilter traceIdResponseFilter(Tracer tracer) {
+        return new TraceIdResponseFilter(tracer);
+    }
+
+    /**
+     * Adds the trace ID to every response, sampled or not, so a client can quote it and an admin
+     * can find the request's log entries and, if sampled, its spans. Runs just inside the
+     * HTTP server observation filter, which has opened the request span by then.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    static class TraceIdResponseFilter extends OncePerRequestFilter {
+
+        private final Tracer tracer;
+
+        TraceIdResponseFilter(Tracer tracer) {
+            this.tracer = tracer;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request,
+                                        HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            Span span = tracer.currentSpan();
+            if (span != null) {
+                response.setHeader(TRACE_ID_HEADER, span.context().traceId());
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.digitalseal.config;
 
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +13,8 @@ import org.web3j.protocol.http.HttpService;
 import org.web3j.tx.gas.DefaultGasProvider;
 import org.web3j.tx.gas.ContractGasProvider;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @Slf4j
 public class Web3jConfig {
@@ -20,17 +25,21 @@ public class Web3jConfig {
     @Value("${web3.private.key:}")
     private String privateKey;
 
+    @Value("${web3.http.max-idle-connections:32}")
+    private int maxIdleConnections;
+
     @Bean
-    public Web3j web3j() {
-        log.info("Connecting to blockchain node: {}", rpcUrl);
-        Web3j web3j = Web3j.build(new HttpService(rpcUrl));
-        try {
-            String clientVersion = web3j.web3ClientVersion().send().getWeb3ClientVersion();
-            log.info("Connected to blockchain node: {}", clientVersion);
-        } catch (Exception e) {
-            log.warn("Could not connect to blockchain node at {}. Blockchain features will be unavailable.", rpcUrl);
-        }
-        return web3j;
+    public Web3j web3j(ObservationRegistry observationRegistry) {
+        // No call to the node here: BlockchainService probes it in the background, so a slow or
+        // unreachable node never holds up startup
+        log.info("Blockchain node: {}", rpcUrl);
+        // Calls are synchronous on the request thread; keep enough connections alive that
+        // concurrent claims and verifies reuse them instead of reconnecting
+        OkHttpClient httpClient = HttpService.getOkHttpClientBuilder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, 5, TimeUnit.MINUTES))
+                .addInterceptor(new JsonRpcObservationInterceptor(observationRegistry))
+                .build();
+        return Web3j.build(new HttpService(rpcUrl, httpClient));
     }
 
     @Bean
@@ -0,0 +1,189 @@
+package com.digitalseal.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * A bounded pool for one kind of {@code @Async} work — {@code app.async.executors.<workload>},
+ * registered by {@link AsyncConfig} as {@code <workload>TaskExecutor}.
+ *
+ * <p>Each workload gets its own threads and queue, so a slow SMTP server backs up mail and
+ * nothing else. When both are full the configured {@link RejectionPolicy} applies. Metrics,
+ * tagged {@code executor=<workload>}: queue depth and capacity, active threads, time tasks wait
+ * in the queue, run time, and rejections.
+ *
+ * <p>On shutdown the pool drains once the web server has stopped taking requests, while the
+ * database and mail sender are still up: queued tasks run, for up to {@code drain-timeout}.
+ */
+@Slf4j
+public class WorkloadTaskExecutor extends ThreadPoolTaskExecutor {
+
+    /** After the web server's graceful shutdown and stop phases. */
+    private static final int DRAIN_PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    public enum RejectionPolicy {
+        /** Fail the submitting call. */
+        ABORT(new ThreadPoolExecutor.AbortPolicy()),
+        /** Run the task on the submitting thread — back-pressure instead of loss. */
+        CALLER_RUNS(new ThreadPoolExecutor.CallerRunsPolicy()),
+        /** Drop the new task. */
+        DISCARD(new ThreadPoolExecutor.DiscardPolicy()),
+        /** Drop the longest-queued task and queue the new one. */
+        DISCARD_OLDEST(new ThreadPoolExecutor.DiscardOldestPolicy());
+
+        private final RejectedExecutionHandler handler;
+
+        RejectionPolicy(RejectedExecutionHandler handler) {
+            this.handler = handler;
+        }
+    }
+
+    /**
+     * One {@code app.async.executors.<workload>} entry. {@code virtualThreads} unset follows
+     * {@code spring.threads.virtual.enabled}.
+     */
+    public record Spec(@DefaultValue("2") int coreSize,
+                       @DefaultValue("4") int maxSize,
+                       @DefaultValue("1000") int queueCapacity,
+                       @DefaultValue("CALLER_RUNS") RejectionPolicy rejectionPolicy,
+                       @DefaultValue("30s") Duration drainTimeout,
+                       Boolean virtualThreads) {
+    }
+
+    private final String workload;
+    private final RejectionPolicy rejectionPolicy;
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+    private final Timer runTimer;
+    private final Counter rejected;
+
+    /**
+     * The bean {@link AsyncConfig} registers for {@code workload}. Only the name is fixed in the
+     * bean definition; the spec is bound here, so pool sizes stay runtime configuration even when
+     * the definitions were compiled ahead of time.
+     */
+    static WorkloadTaskExecutor create(String workload, Environment environment, MeterRegistry meterRegistry,
+                                       ObjectProvider<TaskDecorator> contextDecorator) {
+        Spec spec = Binder.get(environment).bindOrCreate("app.async.executors." + workload, Spec.class);
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        return new WorkloadTaskExecutor(workload, spec, virtualThreads, meterRegistry, contextDecorator.getIfUnique());
+    }
+
+    WorkloadTaskExecutor(String workload, Spec spec, boolean virtualThreadsByDefault,
+                         MeterRegistry meterRegistry, TaskDecorator contextDecorator) {
+        this.workload = workload;
+        this.rejectionPolicy = spec.rejectionPolicy();
+        this.meterRegistry = meterRegistry;
+
+        this.waitTimer = Timer.builder("digitalseal.async.task.wait")
+                .tag("executor", workload)
+                .description("Time @Async tasks spent queued before a thread picked them up")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("digitalseal.async.task.duration")
+                .tag("executor", workload)
+                .description("Time @Async tasks spent running")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("digitalseal.async.rejected")
+                .tag("executor", workload)
+                .tag("policy", spec.rejectionPolicy().name())
+                .description("@Async tasks refused because the pool and queue were full")
+                .register(meterRegistry);
+
+        setCorePoolSize(spec.coreSize());
+        setMaxPoolSize(spec.maxSize());
+        setQueueCapacity(spec.queueCapacity());
+        setThreadNamePrefix(workload + "-");
+        if (spec.virtualThreads() != null ? spec.virtualThreads() : virtualThreadsByDefault) {
+            // Still bounded by max-size: the limit protects what the tasks talk to, not the threads
+            setThreadFactory(Thread.ofVirtual().name(workload + "-", 1).factory());
+        }
+        setWaitForTasksToCompleteOnShutdown(true);
+        setAwaitTerminationMillis(spec.drainTimeout().toMillis());
+        setPhase(DRAIN_PHASE);
+        setTaskDecorator(task -> {
+            Runnable decorated = contextDecorator != null ? contextDecorator.decorate(task) : task;
+            long queuedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(Duration.ofNanos(startedAt - queuedAt));
+                try {
+                    decorated.run();
+                } finally {
+                    runTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+                }
+            };
+        });
+        setRejectedExecutionHandler((task, executor) -> {
+            rejected.increment();
+            if (rejected.count() % 100 == 1) {
+                log.warn("{} executor is full ({} queued): {} — {} rejection(s) so far",
+                        workload, executor.getQueue().size(), rejectionPolicy, (long) rejected.count());
+            }
+            rejectionPolicy.handler.rejectedExecution(task, executor);
+        });
+    }
+
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory,
+                                                 RejectedExecutionHandler rejectedExecutionHandler) {
+        ExecutorService executor = super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+        Gauge.builder("digitalseal.async.queue.depth", this, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("executor", workload)
+                .description("@Async tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("digitalseal.async.queue.capacity", this, ThreadPoolTaskExecutor::getQueueCapacity)
+                .tag("executor", workload)
+                .description("Queued tasks beyond which the rejection policy applies")
+                .register(meterRegistry);
+        Gauge.builder("digitalseal.async.active", this, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("executor", workload)
+                .description("Threads currently running @Async tasks")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    // ── Shutdown ──────────────────────────────────────────────────────────────
+
+    // Spring itself waits for queued tasks only when the bean is destroyed, which may be after
+    // the DataSource those tasks write to.
+
+    @Override
+    public void stop() {
+        drain();
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        drain();
+        callback.run();
+    }
+
+    private void drain() {
+        int queued = getQueueSize();
+        int running = getActiveCount();
+        if (queued + running > 0) {
+            log.info("Draining {} executor: {} queued, {} running", workload, queued, running);
+        }
+        shutdown(); // waits up to drain-timeout
+        ThreadPoolExecutor executor = getThreadPoolExecutor();
+        if (!executor.isTerminated()) {
+            log.warn("{} executor did not drain in time: {} task(s) still queued", workload, executor.getQueue().size());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.digitalseal.controller;
 
+import com.digitalseal.config.ConditionalGet;
 import com.digitalseal.dto.request.CreateBrandRequest;
 import com.digitalseal.dto.request.UpdateBrandRequest;
 import com.digitalseal.dto.response.ApiResponse;
@@ -102,6 +103,7 @@ public class BrandController {
             )
     })
     @GetMapping("/{brandId}")
+    @ConditionalGet(value = ConditionalGet.Resource.BRAND, maxAge = 60, staleWhileRevalidate = 300)
     public ResponseEntity<ApiResponse<BrandResponse>> getBrandById(@PathVariable Long brandId) {
         BrandResponse response = brandService.getBrandById(brandId);
         return ResponseEntity.ok(ApiResponse.success(response, "Brand retrieved successfully"));
@@ -1,5 +1,6 @@
 package com.digitalseal.controller;
 
+import com.digitalseal.config.ConditionalGet;
 import com.digitalseal.dto.request.CreateCollectionRequest;
 import com.digitalseal.dto.request.UpdateCollectionRequest;
 import com.digitalseal.dto.response.ApiResponse;
@@ -80,6 +81,7 @@ public class CollectionController {
             )
     })
     @GetMapping
+    @ConditionalGet(value = ConditionalGet.Resource.BRAND_COLLECTIONS, maxAge = 60, staleWhileRevalidate = 300)
     public ResponseEntity<ApiResponse<List<CollectionResponse>>> getCollections(@PathVariable Long brandId) {
         List<CollectionResponse> collections = collectionService.getCollectionsByBrand(brandId);
         return ResponseEntity.ok(ApiResponse.success(collections, "Collections retrieved successfully"));
@@ -101,6 +103,7 @@ public class CollectionController {
             )
     })
     @GetMapping("/{collectionId}")
+    @ConditionalGet(value = ConditionalGet.Resource.COLLECTION, maxAge = 60, staleWhileRevalidate = 300)
     public ResponseEntity<ApiResponse<CollectionResponse>> getCollection(
             @PathVariable Long brandId,
             @PathVariable Long collectionId) {
@@ -2,6 +2,7 @@ package com.digitalseal.controller;
 
 import com.digitalseal.dto.response.ApiResponse;
 import com.digitalseal.dto.response.MarketplaceListingResponse;
+import com.digitalseal.dto.response.SearchResultPage;
 import com.digitalseal.model.entity.ProductCategory;
 import com.digitalseal.service.MarketplaceService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -57,14 +58,20 @@ public class MarketplaceController {
         return ResponseEntity.ok(ApiResponse.success(listings, "Brand listings retrieved"));
     }
     
-    @Operation(summary = "Search marketplace", description = "Search listed products by name.")
+    @Operation(summary = "Search marketplace",
+               description = "Full-text search over listed products (name, description, brand, collection) with " +
+                             "prefix and typo tolerance. Returns facet counts by category, brand and price band.")
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<Page<MarketplaceListingResponse>>> searchListings(
-            @Parameter(description = "Search query") @RequestParam String q,
+    public ResponseEntity<ApiResponse<SearchResultPage>> searchListings(
+            @Parameter(description = "Search query (blank matches every listing)") @RequestParam String q,
+            @Parameter(description = "Filter by category") @RequestParam(required = false) ProductCategory category,
+            @Parameter(description = "Filter by brand ID") @RequestParam(required = false) Long brandId,
+            @Parameter(description = "Filter by price band, as returned in facets.priceBand", example = "10-100")
+            @RequestParam(required = false) String priceBand,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         Pageable pageable = PageRequest.of(page, Math.min(size, 100));
-        Page<MarketplaceListingResponse> listings = marketplaceService.searchListings(q, pageable);
+        SearchResultPage listings = marketplaceService.searchListings(q, category, brandId, priceBand, pageable);
         return ResponseEntity.ok(ApiResponse.success(listings, "Search results retrieved"));
     }
 }
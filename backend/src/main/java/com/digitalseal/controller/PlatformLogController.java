@@ -92,15 +92,21 @@ public class PlatformLogController {
 
     @Operation(
         summary = "Platform log statistics",
-        description = "Dashboard summary: event counts by level and category, top error actions, " +
-                      "and the latest 20 error entries — all within the last N hours (default 24).")
+        description = "Dashboard summary: per-action latency percentiles (p50/p90/p99/max, µs) and error " +
+                      "rates over the last 1m / 5m / 1h, served from memory on this node. With `hours`, " +
+                      "also event counts by level and category, top error actions and the latest 20 " +
+                      "error entries from the log table for that longer window.")
     @GetMapping("/stats")
     @PreAuthorize("hasAnyRole('BRAND', 'OWNER')")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getStats(
-            @Parameter(description = "Rolling window in hours (default 24)")
-            @RequestParam(defaultValue = "24") int hours) {
-
-        Map<String, Object> stats = platformLogService.getStats(hours);
+            @Parameter(description = "Also include log-table history for this many hours (omit for in-memory stats only)")
+            @RequestParam(required = false) Integer hours) {
+
+        Map<String, Object> stats = platformLogService.getStats();
+        if (hours != null) {
+            // Separate call so the read-only transaction on getHistory applies
+            stats.putAll(platformLogService.getHistory(hours));
+        }
         return ResponseEntity.ok(ApiResponse.success(stats, "Stats retrieved"));
     }
 
@@ -1,5 +1,6 @@
 package com.digitalseal.controller;
 
+import com.digitalseal.config.ConditionalGet;
 import com.digitalseal.dto.request.CreateProductRequest;
 import com.digitalseal.dto.request.PublishProductRequest;
 import com.digitalseal.dto.request.UpdateProductRequest;
@@ -177,6 +178,8 @@ public class ProductController {
     
     @Operation(summary = "Get product by ID", description = "Publicly accessible.")
     @GetMapping("/products/{productId}")
+    // Short max-age: available quantity moves with every order
+    @ConditionalGet(value = ConditionalGet.Resource.PRODUCT, maxAge = 10, staleWhileRevalidate = 60)
     public ResponseEntity<ApiResponse<ProductResponse>> getProduct(@PathVariable Long productId) {
         ProductResponse response = productService.getProductById(productId);
         return ResponseEntity.ok(ApiResponse.success(response, "Product retrieved successfully"));
@@ -184,6 +187,7 @@ public class ProductController {
     
     @Operation(summary = "Get products in a collection", description = "Publicly accessible.")
     @GetMapping("/collections/{collectionId}/products")
+    @ConditionalGet(value = ConditionalGet.Resource.COLLECTION_PRODUCTS, maxAge = 10, staleWhileRevalidate = 60)
     public ResponseEntity<ApiResponse<List<ProductResponse>>> getProductsByCollection(@PathVariable Long collectionId) {
         List<ProductResponse> products = productService.getProductsByCollection(collectionId);
         return ResponseEntity.ok(ApiResponse.success(products, "Products retrieved successfully"));
@@ -191,6 +195,7 @@ public class ProductController {
     
     @Operation(summary = "Get all product categories", description = "Publicly accessible.")
     @GetMapping("/products/categories")
+    @ConditionalGet(value = ConditionalGet.Resource.PRODUCT_CATEGORIES, maxAge = 86400)
     public ResponseEntity<ApiResponse<ProductCategory[]>> getCategories() {
         ProductCategory[] categories = productService.getCategories();
         return ResponseEntity.ok(ApiResponse.success(categories, "Categories retrieved successfully"));
@@ -0,0 +1,55 @@
+package com.digitalseal.controller;
+
+import com.digitalseal.dto.response.ApiResponse;
+import com.digitalseal.exception.ResourceNotFoundException;
+import com.digitalseal.service.TraceBuffer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/traces")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Request Traces", description = "Recent request traces held in memory on this node (BRAND / OWNER role required)")
+public class TraceController {
+
+    private final TraceBuffer traceBuffer;
+
+    @Operation(
+        summary = "Recent traces",
+        description = "Newest sampled traces first: root span name, start, duration (µs), status and span count. " +
+                      "Only traces whose root span is still buffered are listed.")
+    @GetMapping
+    @PreAuthorize("hasAnyRole('BRAND', 'OWNER')")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getRecentTraces(
+            @Parameter(description = "Number of traces (max 200)")
+            @RequestParam(defaultValue = "50") int limit) {
+
+        List<Map<String, Object>> traces = traceBuffer.recentTraces(Math.min(limit, 200));
+        return ResponseEntity.ok(ApiResponse.success(traces, "Traces retrieved"));
+    }
+
+    @Operation(
+        summary = "Spans of one trace",
+        description = "Every buffered span of the trace in start order — HTTP, service, JDBC and JSON-RPC. " +
+                      "The trace ID is in each response's X-Trace-Id header and on the request's platform log entries.")
+    @GetMapping("/{traceId}")
+    @PreAuthorize("hasAnyRole('BRAND', 'OWNER')")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getTrace(@PathVariable String traceId) {
+        List<Map<String, Object>> spans = traceBuffer.findTrace(traceId);
+        if (spans.isEmpty()) {
+            throw new ResourceNotFoundException("Trace not found (not sampled, or no longer buffered)");
+        }
+        return ResponseEntity.ok(ApiResponse.success(spans, "Trace retrieved"));
+    }
+}
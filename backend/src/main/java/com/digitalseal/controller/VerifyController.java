@@ -1,9 +1,12 @@
 package com.digitalseal.controller;
 
+import com.digitalseal.config.ConditionalGet;
 import com.digitalseal.dto.response.ApiResponse;
 import com.digitalseal.dto.response.OwnershipHistoryResponse;
 import com.digitalseal.dto.response.VerificationResponse;
+import com.digitalseal.model.entity.ItemProvenance;
 import com.digitalseal.service.ProductItemService;
+import com.digitalseal.service.ProvenanceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -22,21 +25,22 @@ import java.util.List;
 public class VerifyController {
     
     private final ProductItemService productItemService;
+    private final ProvenanceService provenanceService;
     
-    @Operation(summary = "Verify item by ID", description = "Verify a product item's digital seal authenticity by item ID. Returns full provenance chain.")
+    @Operation(summary = "Verify item by ID", description = "Verify a product item's digital seal authenticity by item ID. Returns full provenance chain. " +
+            "Supports If-None-Match revalidation (304 Not Modified).")
     @GetMapping("/item/{itemId}")
+    @ConditionalGet(ConditionalGet.Resource.PROVENANCE_BY_ITEM)
     public ResponseEntity<ApiResponse<VerificationResponse>> verifyItem(@PathVariable Long itemId) {
-        VerificationResponse response = productItemService.verifyItem(itemId);
-        return ResponseEntity.ok(ApiResponse.success(response, 
-                response.getAuthentic() ? "Item is authentic" : "Item authenticity could not be verified"));
+        return provenanceResponse(productItemService.getProvenance(itemId));
     }
     
-    @Operation(summary = "Verify item by serial", description = "Verify a product item by its serial number.")
+    @Operation(summary = "Verify item by serial", description = "Verify a product item by its serial number. " +
+            "Supports If-None-Match revalidation (304 Not Modified).")
     @GetMapping("/serial/{serial}")
+    @ConditionalGet(ConditionalGet.Resource.PROVENANCE_BY_SERIAL)
     public ResponseEntity<ApiResponse<VerificationResponse>> verifyBySerial(@PathVariable String serial) {
-        VerificationResponse response = productItemService.verifyItemBySerial(serial);
-        return ResponseEntity.ok(ApiResponse.success(response,
-                response.getAuthentic() ? "Item is authentic" : "Item authenticity could not be verified"));
+        return provenanceResponse(productItemService.getProvenanceBySerial(serial));
     }
     
     @Operation(summary = "Get ownership history", description = "Get the full ownership/transfer history of a product item.")
@@ -45,4 +49,17 @@ public class VerifyController {
         List<OwnershipHistoryResponse> history = productItemService.getOwnershipHistory(itemId);
         return ResponseEntity.ok(ApiResponse.success(history, "Ownership history retrieved"));
     }
+    
+    /**
+     * Return the document with its ETag. Revalidation (304) and Cache-Control are handled by
+     * {@link ConditionalGet} — no-cache, since ownership can change at any time; the ETag here
+     * covers the first request, when the document is built after the version lookup.
+     */
+    private ResponseEntity<ApiResponse<VerificationResponse>> provenanceResponse(ItemProvenance provenance) {
+        VerificationResponse response = provenanceService.toVerificationResponse(provenance);
+        return ResponseEntity.ok()
+                .eTag(provenance.getETag())
+                .body(ApiResponse.success(response,
+                        response.getAuthentic() ? "Item is authentic" : "Item authenticity could not be verified"));
+    }
 }
@@ -0,0 +1,665 @@
+package com.digitalseal.devchain;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.Utils;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.security.SignatureException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An in-memory Ethereum chain holding the Digital Seal contract's token state, answering the
+ * JSON-RPC methods the backend and its tools use. {@link ChainSimulatorServer} puts it behind
+ * HTTP; this class knows nothing of transport, latency or injected failures.
+ *
+ * <p>Modelled contract functions, with the selectors {@code BlockchainService} encodes:
+ * {@code batchMintDigitalTwins(address[],string[],string[])}, {@code secureTransfer(address,
+ * address,uint256)} and {@code authorizeBrand(address,bool)} as transactions, and
+ * {@code verify(uint256)} and {@code totalSupply()} as calls. Mints and transfers emit ERC-721
+ * {@code Transfer} logs, brand changes {@code BrandAuthorized}. The brand of a token is the
+ * account that minted it; its first transfer away counts as the claim. Anything else sent
+ * to the contract reverts.
+ *
+ * <p>Transactions are checked for chain ID and nonce when sent and executed when mined. With a
+ * zero block time every transaction is mined into its own block as it arrives; otherwise
+ * {@link #mine()} is called on a timer and fills a block up to the block gas limit. Each block
+ * keeps an undo log, so {@link #reorg(int)} can drop the newest blocks: their state changes are
+ * undone, their receipts disappear, and their transactions go back to the front of the pool
+ * to be mined again. Gas is a fixed schedule per operation, not EVM execution.
+ *
+ * <p>Block hashes and timestamps derive from the chain's content, and every random choice
+ * comes from one seeded {@link Random}, so the same sequence of requests gives the same chain.
+ * All state is guarded by one lock.
+ */
+@Slf4j
+public class ChainSimulator {
+
+    static final String ZERO_ADDRESS = "0x0000000000000000000000000000000000000000";
+    static final String ZERO_HASH = "0x" + "0".repeat(64);
+    private static final String EMPTY_BLOOM = "0x" + "0".repeat(512);
+    private static final long GENESIS_TIMESTAMP = 1_700_000_000L;
+
+    private static final String BATCH_MINT = selector("batchMintDigitalTwins(address[],string[],string[])");
+    private static final String SECURE_TRANSFER = selector("secureTransfer(address,address,uint256)");
+    private static final String AUTHORIZE_BRAND = selector("authorizeBrand(address,bool)");
+    private static final String VERIFY = selector("verify(uint256)");
+    private static final String TOTAL_SUPPLY = selector("totalSupply()");
+    private static final String TRANSFER_TOPIC = Hash.sha3String("Transfer(address,address,uint256)");
+    private static final String BRAND_AUTHORIZED_TOPIC = Hash.sha3String("BrandAuthorized(address,bool)");
+
+    // Gas schedule
+    private static final long TX_BASE_GAS = 21_000;
+    private static final long TRANSFER_GAS = 60_000;
+    private static final long AUTHORIZE_GAS = 30_000;
+
+    private final ChainSimulatorSettings settings;
+    private final String contract;
+    private final Random random;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // ── Contract state ──
+    private final Map<BigInteger, Token> tokens = new HashMap<>();
+    private final Map<String, BigInteger> serials = new HashMap<>();
+    private final Map<String, Boolean> authorizedBrands = new HashMap<>();
+    private BigInteger totalSupply = BigInteger.ZERO;
+
+    // ── Chain state ──
+    private final Map<String, Long> nonces = new HashMap<>();
+    private final List<Block> blocks = new ArrayList<>();
+    private final Map<String, Map<String, Object>> receipts = new HashMap<>();
+    private final ArrayDeque<PendingTx> pool = new ArrayDeque<>();
+    private int reorgs;
+
+    public ChainSimulator(ChainSimulatorSettings settings) {
+        this.settings = settings;
+        this.contract = settings.contractAddress().toLowerCase();
+        this.random = new Random(settings.seed());
+        blocks.add(new Block(0, ZERO_HASH, ZERO_HASH, GENESIS_TIMESTAMP, List.of(), List.of(), List.of(), 0, List.of()));
+    }
+
+    // ── JSON-RPC ──────────────────────────────────────────────────────────────
+
+    /** The result of one JSON-RPC call, ready for Jackson; throws {@link RpcException} for an error response */
+    public Object handle(String method, JsonNode params) {
+        lock.lock();
+        try {
+            return switch (method) {
+                case "web3_clientVersion" -> "DigitalSeal-ChainSimulator/1.0";
+                case "net_version" -> Long.toString(settings.chainId());
+                case "eth_chainId" -> quantity(settings.chainId());
+                case "eth_blockNumber" -> quantity(head().number());
+                case "eth_gasPrice" -> quantity(settings.baseFeeWei());
+                case "eth_getTransactionCount" -> quantity(transactionCount(address(params.path(0)),
+                        params.path(1).asText("latest")));
+                case "eth_call" -> call(params.path(0));
+                case "eth_sendRawTransaction" -> sendRawTransaction(params.path(0).asText());
+                case "eth_getTransactionReceipt" -> receipts.get(params.path(0).asText().toLowerCase());
+                case "eth_getLogs" -> logs(params.path(0));
+                case "eth_feeHistory" -> feeHistory(params.path(0), params.path(1), params.path(2));
+                case "eth_getBlockByNumber" -> blockByNumber(params.path(0));
+                case "evm_mine" -> quantity(mineLocked());
+                case "sim_reorg" -> quantity(reorgLocked(params.path(0).asInt(1)));
+                default -> throw new RpcException(-32601, "Method not found: " + method);
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Mines pending transactions into one block; the new head number (unchanged if none were pending) */
+    public long mine() {
+        lock.lock();
+        try {
+            return mineLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the newest {@code depth} blocks (never the genesis block) and puts their transactions
+     * back in the pool; returns how many blocks were dropped.
+     */
+    public int reorg(int depth) {
+        lock.lock();
+        try {
+            return reorgLocked(depth);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long blockNumber() {
+        lock.lock();
+        try {
+            return head().number();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public BigInteger totalSupply() {
+        lock.lock();
+        try {
+            return totalSupply;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ── Transactions ──────────────────────────────────────────────────────────
+
+    private String sendRawTransaction(String raw) {
+        RawTransaction decoded;
+        String from;
+        try {
+            decoded = TransactionDecoder.decode(raw);
+            if (!(decoded instanceof SignedRawTransaction signed)) {
+                throw new RpcException(-32000, "transaction is not signed");
+            }
+            Long chainId = signed.getChainId();
+            if (chainId == null || chainId != settings.chainId()) {
+                throw new RpcException(-32000, "invalid chain id " + chainId + ", expected " + settings.chainId());
+            }
+            from = signed.getFrom().toLowerCase();
+        } catch (SignatureException | RuntimeException e) {
+            if (e instanceof RpcException rpc) {
+                throw rpc;
+            }
+            throw new RpcException(-32000, "invalid transaction: " + e.getMessage());
+        }
+
+        long expected = transactionCount(from, "pending");
+        long nonce = decoded.getNonce().longValueExact();
+        if (nonce != expected) {
+            throw new RpcException(-32000, "nonce too " + (nonce < expected ? "low" : "high")
+                    + ": got " + nonce + ", expected " + expected);
+        }
+        String hash = Hash.sha3(raw).toLowerCase();
+        String to = decoded.getTo() == null ? null : decoded.getTo().toLowerCase();
+        pool.addLast(new PendingTx(hash, from, to, nonce, decoded.getData(),
+                decoded.getGasLimit().longValue(), decoded.getGasPrice() == null ? settings.baseFeeWei()
+                        : decoded.getGasPrice().longValue()));
+        if (settings.blockTime().isZero()) {
+            mineLocked();
+        }
+        return hash;
+    }
+
+    private long transactionCount(String address, String block) {
+        long confirmed = nonces.getOrDefault(address, 0L);
+        if (!"pending".equals(block)) {
+            return confirmed;
+        }
+        return confirmed + pool.stream().filter(tx -> tx.from().equals(address)).count();
+    }
+
+    // ── Mining ────────────────────────────────────────────────────────────────
+
+    private long mineLocked() {
+        if (pool.isEmpty()) {
+            return head().number();
+        }
+        mineBlock();
+        if (settings.reorgRate() > 0 && random.nextDouble() < settings.reorgRate()) {
+            reorgLocked(1 + random.nextInt(Math.max(1, settings.maxReorgDepth())));
+            // Without a block timer nothing else would mine the returned transactions
+            while (settings.blockTime().isZero() && !pool.isEmpty()) {
+                mineBlock();
+            }
+        }
+        return head().number();
+    }
+
+    private void mineBlock() {
+        Block parent = head();
+        long number = parent.number() + 1;
+        long timestamp = GENESIS_TIMESTAMP + number * Math.max(1, settings.blockTime().toSeconds());
+        List<PendingTx> included = new ArrayList<>();
+        long gasBudget = settings.blockGasLimit();
+        while (!pool.isEmpty() && (included.isEmpty() || pool.peekFirst().gasLimit() <= gasBudget)) {
+            PendingTx tx = pool.pollFirst();
+            gasBudget -= tx.gasLimit();
+            included.add(tx);
+        }
+        String hash = Hash.sha3String(parent.hash() + "/" + number + "/" + reorgs + "/"
+                + String.join(",", included.stream().map(PendingTx::hash).toList()));
+
+        List<Runnable> undo = new ArrayList<>();
+        List<Map<String, Object>> blockLogs = new ArrayList<>();
+        List<String> txHashes = new ArrayList<>();
+        long cumulativeGas = 0;
+        for (int index = 0; index < included.size(); index++) {
+            PendingTx tx = included.get(index);
+            Execution result = execute(tx, timestamp, undo);
+            cumulativeGas += result.gasUsed();
+
+            List<Map<String, Object>> txLogs = new ArrayList<>();
+            for (LogEntry entry : result.logs()) {
+                Map<String, Object> log = new LinkedHashMap<>();
+                log.put("removed", false);
+                log.put("logIndex", quantity(blockLogs.size()));
+                log.put("transactionIndex", quantity(index));
+                log.put("transactionHash", tx.hash());
+                log.put("blockHash", hash);
+                log.put("blockNumber", quantity(number));
+                log.put("address", contract);
+                log.put("data", entry.data());
+                log.put("topics", entry.topics());
+                txLogs.add(log);
+                blockLogs.add(log);
+            }
+
+            Map<String, Object> receipt = new LinkedHashMap<>();
+            receipt.put("transactionHash", tx.hash());
+            receipt.put("transactionIndex", quantity(index));
+            receipt.put("blockHash", hash);
+            receipt.put("blockNumber", quantity(number));
+            receipt.put("from", tx.from());
+            receipt.put("to", tx.to());
+            receipt.put("cumulativeGasUsed", quantity(cumulativeGas));
+            receipt.put("gasUsed", quantity(result.gasUsed()));
+            receipt.put("effectiveGasPrice", quantity(tx.gasPrice()));
+            receipt.put("contractAddress", null);
+            receipt.put("logs", txLogs);
+            receipt.put("logsBloom", EMPTY_BLOOM);
+            receipt.put("status", result.success() ? "0x1" : "0x0");
+            receipt.put("type", "0x0");
+            if (result.revertReason() != null) {
+                receipt.put("revertReason", result.revertReason());
+            }
+            receipts.put(tx.hash(), receipt);
+            txHashes.add(tx.hash());
+        }
+        blocks.add(new Block(number, hash, parent.hash(), timestamp, included, txHashes, blockLogs, cumulativeGas, undo));
+    }
+
+    private int reorgLocked(int depth) {
+        int dropped = 0;
+        List<PendingTx> requeue = new ArrayList<>();
+        while (dropped < depth && blocks.size() > 1) {
+            Block block = blocks.remove(blocks.size() - 1);
+            for (int i = block.undo().size() - 1; i >= 0; i--) {
+                block.undo().get(i).run();
+            }
+            block.txHashes().forEach(receipts::remove);
+            requeue.addAll(0, block.txs());
+            dropped++;
+        }
+        for (int i = requeue.size() - 1; i >= 0; i--) {
+            pool.addFirst(requeue.get(i));
+        }
+        if (dropped > 0) {
+            reorgs++;
+            log.info("Chain simulator reorg: dropped {} block(s), {} transaction(s) back in the pool; head is now {}",
+                    dropped, requeue.size(), head().number());
+        }
+        return dropped;
+    }
+
+    /** Runs one transaction; a revert undoes its own changes but still uses the nonce and the gas */
+    private Execution execute(PendingTx tx, long timestamp, List<Runnable> blockUndo) {
+        long previousNonce = nonces.getOrDefault(tx.from(), 0L);
+        nonces.put(tx.from(), previousNonce + 1);
+        blockUndo.add(() -> nonces.put(tx.from(), previousNonce));
+
+        if (!contract.equals(tx.to())) {
+            return new Execution(true, TX_BASE_GAS, List.of(), null);
+        }
+        List<Runnable> txUndo = new ArrayList<>();
+        List<LogEntry> logs = new ArrayList<>();
+        String data = Numeric.cleanHexPrefix(tx.data() == null ? "" : tx.data());
+        String selector = data.length() >= 8 ? "0x" + data.substring(0, 8) : "";
+        String args = data.length() > 8 ? "0x" + data.substring(8) : "0x";
+        long gas;
+        String failure;
+        try {
+            if (BATCH_MINT.equals(selector)) {
+                List<Type> in = decode(args, new TypeReference<DynamicArray<Address>>() {},
+                        new TypeReference<DynamicArray<Utf8String>>() {}, new TypeReference<DynamicArray<Utf8String>>() {});
+                List<?> recipients = ((DynamicArray<?>) in.get(0)).getValue();
+                gas = TX_BASE_GAS + recipients.size() * settings.mintGasPerItem();
+                failure = gas > tx.gasLimit() ? "out of gas"
+                        : mint(tx.from(), recipients, (DynamicArray<?>) in.get(1), (DynamicArray<?>) in.get(2),
+                                timestamp, txUndo, logs);
+            } else if (SECURE_TRANSFER.equals(selector)) {
+                List<Type> in = decode(args, new TypeReference<Address>() {}, new TypeReference<Address>() {},
+                        new TypeReference<Uint256>() {});
+                gas = TX_BASE_GAS + TRANSFER_GAS;
+                failure = gas > tx.gasLimit() ? "out of gas"
+                        : transfer(tx.from(), value(in.get(0)), value(in.get(1)), (BigInteger) in.get(2).getValue(),
+                                txUndo, logs);
+            } else if (AUTHORIZE_BRAND.equals(selector)) {
+                List<Type> in = decode(args, new TypeReference<Address>() {}, new TypeReference<Bool>() {});
+                gas = TX_BASE_GAS + AUTHORIZE_GAS;
+                failure = gas > tx.gasLimit() ? "out of gas"
+                        : authorize(value(in.get(0)), (Boolean) in.get(1).getValue(), txUndo, logs);
+            } else {
+                gas = TX_BASE_GAS;
+                failure = "unknown function selector " + selector;
+            }
+        } catch (RuntimeException e) {
+            gas = TX_BASE_GAS;
+            failure = "malformed call data";
+        }
+
+        if (failure != null) {
+            for (int i = txUndo.size() - 1; i >= 0; i--) {
+                txUndo.get(i).run();
+            }
+            return new Execution(false, Math.min(gas, tx.gasLimit()), List.of(), failure);
+        }
+        blockUndo.addAll(txUndo);
+        return new Execution(true, gas, logs, null);
+    }
+
+    private String mint(String brand, List<?> recipients, DynamicArray<?> serialArray, DynamicArray<?> uriArray,
+                        long timestamp, List<Runnable> undo, List<LogEntry> logs) {
+        List<?> serialValues = serialArray.getValue();
+        List<?> uriValues = uriArray.getValue();
+        if (recipients.isEmpty() || recipients.size() != serialValues.size() || recipients.size() != uriValues.size()) {
+            return "array length mismatch";
+        }
+        BigInteger supplyBefore = totalSupply;
+        undo.add(() -> totalSupply = supplyBefore);
+        for (int i = 0; i < recipients.size(); i++) {
+            String to = value((Type<?>) recipients.get(i));
+            String serial = (String) ((Type<?>) serialValues.get(i)).getValue();
+            if (serials.containsKey(serial)) {
+                return "serial number already exists";
+            }
+            BigInteger tokenId = totalSupply.add(BigInteger.ONE);
+            totalSupply = tokenId;
+            tokens.put(tokenId, new Token(serial, brand, to, false, timestamp, (String) ((Type<?>) uriValues.get(i)).getValue()));
+            serials.put(serial, tokenId);
+            undo.add(() -> {
+                tokens.remove(tokenId);
+                serials.remove(serial);
+            });
+            logs.add(new LogEntry(List.of(TRANSFER_TOPIC, topic(ZERO_ADDRESS), topic(to), topic(tokenId)), "0x"));
+        }
+        return null;
+    }
+
+    private String transfer(String sender, String from, String to, BigInteger tokenId,
+                            List<Runnable> undo, List<LogEntry> logs) {
+        Token token = tokens.get(tokenId);
+        if (token == null) {
+            return "token does not exist";
+        }
+        if (!token.owner().equals(from)) {
+            return "transfer from incorrect owner";
+        }
+        if (!sender.equals(from)) {
+            return "caller is not owner nor approved";
+        }
+        tokens.put(tokenId, token.transferredTo(to));
+        undo.add(() -> tokens.put(tokenId, token));
+        logs.add(new LogEntry(List.of(TRANSFER_TOPIC, topic(from), topic(to), topic(tokenId)), "0x"));
+        return null;
+    }
+
+    private String authorize(String brand, boolean authorized, List<Runnable> undo, List<LogEntry> logs) {
+        Boolean before = authorizedBrands.put(brand, authorized);
+        undo.add(() -> {
+            if (before == null) {
+                authorizedBrands.remove(brand);
+            } else {
+                authorizedBrands.put(brand, before);
+            }
+        });
+        logs.add(new LogEntry(List.of(BRAND_AUTHORIZED_TOPIC, topic(brand)),
+                FunctionEncoder.encodeConstructor(List.of(new Bool(authorized)))));
+        return null;
+    }
+
+    // ── Calls ─────────────────────────────────────────────────────────────────
+
+    private String call(JsonNode tx) {
+        String to = tx.path("to").asText("").toLowerCase();
+        String data = Numeric.cleanHexPrefix(tx.hasNonNull("input") ? tx.get("input").asText() : tx.path("data").asText(""));
+        if (!contract.equals(to)) {
+            return "0x";
+        }
+        String selector = data.length() >= 8 ? "0x" + data.substring(0, 8) : "";
+        if (TOTAL_SUPPLY.equals(selector)) {
+            return "0x" + FunctionEncoder.encodeConstructor(List.of(new Uint256(totalSupply)));
+        }
+        if (VERIFY.equals(selector)) {
+            BigInteger tokenId;
+            try {
+                tokenId = (BigInteger) decode("0x" + data.substring(8), new TypeReference<Uint256>() {}).get(0).getValue();
+            } catch (RuntimeException e) {
+                throw new RpcException(3, "execution reverted: malformed call data");
+            }
+            Token token = tokens.get(tokenId);
+            List<Type> out = token == null
+                    ? List.of(new Bool(false), new Utf8String(""), new Address(ZERO_ADDRESS), new Address(ZERO_ADDRESS),
+                            new Bool(false), new Bool(false), new Uint256(0), new Utf8String(""))
+                    : List.of(new Bool(true), new Utf8String(token.serial()), new Address(token.brand()),
+                            new Address(token.owner()), new Bool(false), new Bool(token.claimed()),
+                            new Uint256(token.mintedAt()), new Utf8String(token.uri()));
+            return "0x" + FunctionEncoder.encodeConstructor(out);
+        }
+        throw new RpcException(3, "execution reverted: unknown function selector " + selector);
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    private List<Map<String, Object>> logs(JsonNode filter) {
+        long from = blockNumber(filter.path("fromBlock"), head().number());
+        long to = blockNumber(filter.path("toBlock"), head().number());
+        List<String> addresses = new ArrayList<>();
+        JsonNode address = filter.path("address");
+        if (address.isArray()) {
+            address.forEach(a -> addresses.add(a.asText().toLowerCase()));
+        } else if (address.isTextual()) {
+            addresses.add(address.asText().toLowerCase());
+        }
+        JsonNode topics = filter.path("topics");
+
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (long n = Math.max(0, from); n <= Math.min(to, head().number()); n++) {
+            for (Map<String, Object> log : blocks.get((int) n).logs()) {
+                if ((addresses.isEmpty() || addresses.contains((String) log.get("address")))
+                        && topicsMatch(topics, (List<?>) log.get("topics"))) {
+                    out.add(log);
+                }
+            }
+        }
+        return out;
+    }
+
+    /** Position-wise: null matches anything, a string that topic, an array any of its topics */
+    private static boolean topicsMatch(JsonNode filter, List<?> topics) {
+        if (!filter.isArray()) {
+            return true;
+        }
+        for (int i = 0; i < filter.size(); i++) {
+            JsonNode wanted = filter.get(i);
+            if (wanted.isNull()) {
+                continue;
+            }
+            if (i >= topics.size()) {
+                return false;
+            }
+            String topic = (String) topics.get(i);
+            boolean match = false;
+            if (wanted.isArray()) {
+                for (JsonNode option : wanted) {
+                    match |= option.asText().equalsIgnoreCase(topic);
+                }
+            } else {
+                match = wanted.asText().equalsIgnoreCase(topic);
+            }
+            if (!match) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Base fee is {@code base-fee-wei} throughout; rewards are percentiles of the priority fee
+     * (gas price over the base fee) the block's transactions paid, zero for an empty block.
+     */
+    private Map<String, Object> feeHistory(JsonNode countParam, JsonNode newestParam, JsonNode percentiles) {
+        long count = countParam.isNumber() ? countParam.asLong() : Numeric.decodeQuantity(countParam.asText("0x1")).longValue();
+        long newest = blockNumber(newestParam, head().number());
+        long oldest = Math.max(0, newest - Math.max(1, count) + 1);
+
+        List<String> baseFees = new ArrayList<>();
+        List<Double> gasUsedRatio = new ArrayList<>();
+        List<List<String>> rewards = new ArrayList<>();
+        for (long n = oldest; n <= newest; n++) {
+            Block block = blocks.get((int) n);
+            baseFees.add(quantity(settings.baseFeeWei()));
+            gasUsedRatio.add((double) block.gasUsed() / settings.blockGasLimit());
+            List<Long> tips = block.txs().stream()
+                    .map(tx -> Math.max(0, tx.gasPrice() - settings.baseFeeWei()))
+                    .sorted().toList();
+            List<String> blockRewards = new ArrayList<>();
+            for (JsonNode p : percentiles) {
+                int index = tips.isEmpty() ? -1 : (int) Math.min(tips.size() - 1, Math.floor(p.asDouble() / 100 * tips.size()));
+                blockRewards.add(quantity(index < 0 ? 0 : tips.get(index)));
+            }
+            rewards.add(blockRewards);
+        }
+        baseFees.add(quantity(settings.baseFeeWei()));
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("oldestBlock", quantity(oldest));
+        out.put("baseFeePerGas", baseFees);
+        out.put("gasUsedRatio", gasUsedRatio);
+        if (percentiles.isArray() && !percentiles.isEmpty()) {
+            out.put("reward", rewards);
+        }
+        return out;
+    }
+
+    private Map<String, Object> blockByNumber(JsonNode numberParam) {
+        long number = blockNumber(numberParam, head().number());
+        if (number > head().number()) {
+            return null;
+        }
+        Block block = blocks.get((int) number);
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("number", quantity(block.number()));
+        out.put("hash", block.hash());
+        out.put("parentHash", block.parentHash());
+        out.put("timestamp", quantity(block.timestamp()));
+        out.put("gasLimit", quantity(settings.blockGasLimit()));
+        out.put("gasUsed", quantity(block.gasUsed()));
+        out.put("baseFeePerGas", quantity(settings.baseFeeWei()));
+        out.put("miner", ZERO_ADDRESS);
+        out.put("logsBloom", EMPTY_BLOOM);
+        out.put("transactions", block.txHashes());
+        return out;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private Block head() {
+        return blocks.get(blocks.size() - 1);
+    }
+
+    private static long blockNumber(JsonNode tag, long head) {
+        if (tag.isMissingNode() || tag.isNull()) {
+            return head;
+        }
+        return switch (tag.asText()) {
+            case "latest", "pending", "safe", "finalized" -> head;
+            case "earliest" -> 0;
+            default -> Numeric.decodeQuantity(tag.asText()).longValueExact();
+        };
+    }
+
+    private static String address(JsonNode node) {
+        return node.asText("").toLowerCase();
+    }
+
+    @SafeVarargs
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Type> decode(String args, TypeReference<? extends Type>... types) {
+        List<TypeReference<Type>> refs = Utils.convert((List) List.of(types));
+        List<Type> decoded = FunctionReturnDecoder.decode(args, refs);
+        if (decoded.size() != types.length) {
+            throw new IllegalArgumentException("expected " + types.length + " arguments");
+        }
+        return decoded;
+    }
+
+    private static String value(Type<?> address) {
+        return address.toString().toLowerCase();
+    }
+
+    private static String topic(String address) {
+        return Numeric.toHexStringWithPrefixZeroPadded(Numeric.toBigInt(address), 64);
+    }
+
+    private static String topic(BigInteger value) {
+        return Numeric.toHexStringWithPrefixZeroPadded(value, 64);
+    }
+
+    /** "0x" + the first four bytes of keccak256(signature) */
+    private static String selector(String signature) {
+        return Hash.sha3String(signature).substring(0, 10);
+    }
+
+    static String quantity(long value) {
+        return "0x" + Long.toHexString(value);
+    }
+
+    // ── Types ─────────────────────────────────────────────────────────────────
+
+    /** A JSON-RPC error response */
+    public static class RpcException extends RuntimeException {
+        private final int code;
+
+        public RpcException(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+
+        public int code() {
+            return code;
+        }
+    }
+
+    private record Token(String serial, String brand, String owner, boolean claimed, long mintedAt, String uri) {
+        Token transferredTo(String newOwner) {
+            return new Token(serial, brand, newOwner, true, mintedAt, uri);
+        }
+    }
+
+    private record PendingTx(String hash, String from, String to, long nonce, String data, long gasLimit, long gasPrice) {}
+
+    private record LogEntry(List<String> topics, String data) {}
+
+    private record Execution(boolean success, long gasUsed, List<LogEntry> logs, String revertReason) {}
+
+    private record Block(long number, String hash, String parentHash, long timestamp, List<PendingTx> txs,
+                         List<String> txHashes, List<Map<String, Object>> logs, long gasUsed, List<Runnable> undo) {}
+}
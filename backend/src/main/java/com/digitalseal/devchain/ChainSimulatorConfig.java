@@ -0,0 +1,36 @@
+package com.digitalseal.devchain;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+
+/**
+ * With the {@code chain-sim} profile the backend talks to an in-process {@link ChainSimulator}
+ * instead of a node: claims, transfers and mints run offline and reproducibly.
+ * {@code application-chain-sim.yml} points {@code web3.*} at it.
+ */
+@Configuration
+@Profile("chain-sim")
+public class ChainSimulatorConfig {
+
+    @Bean(destroyMethod = "close")
+    public ChainSimulatorServer chainSimulatorServer(Environment environment) throws IOException {
+        return ChainSimulatorServer.start(Binder.get(environment)
+                .bindOrCreate("app.chain-sim", ChainSimulatorSettings.class));
+    }
+
+    /** Web3j checks the node while it is created, so the simulator has to be listening first */
+    @Bean
+    public static BeanFactoryPostProcessor web3jAfterChainSimulator() {
+        return beanFactory -> {
+            if (beanFactory.containsBeanDefinition("web3j")) {
+                beanFactory.getBeanDefinition("web3j").setDependsOn("chainSimulatorServer");
+            }
+        };
+    }
+}
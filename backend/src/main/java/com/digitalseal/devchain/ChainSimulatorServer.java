@@ -0,0 +1,185 @@
+package com.digitalseal.devchain;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves a {@link ChainSimulator} as a JSON-RPC endpoint on the loopback interface, adding the
+ * configured latency and injected errors. Single and batch requests are accepted; each request
+ * runs on its own virtual thread, so latency costs nothing but time.
+ *
+ * <p>Embeddable — a benchmark or load test can run one without Spring:
+ * <pre>{@code
+ * try (ChainSimulatorServer node = ChainSimulatorServer.start(ChainSimulatorSettings.defaults())) {
+ *     Web3j web3j = Web3j.build(new HttpService(node.url()));
+ *     ...
+ * }
+ * }</pre>
+ */
+@Slf4j
+public final class ChainSimulatorServer implements AutoCloseable {
+
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+
+    static {
+        // The JDK server writes headers and body separately; with Nagle on, each response
+        // waits out the client's delayed ACK (~40 ms). Read once, when the first server starts.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ChainSimulatorSettings settings;
+    private final ChainSimulator chain;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    /** Latency jitter and injected errors; reorgs draw from the chain's own generator */
+    private final Random random;
+    private final HttpServer server;
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService blockTimer;
+
+    private ChainSimulatorServer(ChainSimulatorSettings settings) throws IOException {
+        this.settings = settings;
+        this.chain = new ChainSimulator(settings);
+        this.random = new Random(settings.seed() * 31 + 17);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), settings.port()), 0);
+        server.createContext("/", this::serve);
+        server.setExecutor(requestExecutor);
+
+        if (settings.blockTime().isZero()) {
+            this.blockTimer = null;
+        } else {
+            this.blockTimer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("chain-sim-blocks").daemon().factory());
+            long period = settings.blockTime().toMillis();
+            blockTimer.scheduleAtFixedRate(chain::mine, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public static ChainSimulatorServer start(ChainSimulatorSettings settings) throws IOException {
+        ChainSimulatorServer node = new ChainSimulatorServer(settings);
+        node.server.start();
+        log.info("Chain simulator listening on {} (chain {}, contract {}, block time {}, latency {}+{}, error rate {}, reorg rate {})",
+                node.url(), settings.chainId(), settings.contractAddress(), settings.blockTime(),
+                settings.latency(), settings.latencyJitter(), settings.errorRate(), settings.reorgRate());
+        return node;
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public ChainSimulator chain() {
+        return chain;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        requestExecutor.shutdownNow();
+        if (blockTimer != null) {
+            blockTimer.shutdownNow();
+        }
+    }
+
+    // ── HTTP ──────────────────────────────────────────────────────────────────
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            } catch (IOException e) {
+                respond(exchange, error(JSON.nullNode(), -32700, "Parse error"));
+                return;
+            }
+            delay();
+
+            JsonNode response;
+            if (request.isArray()) {
+                ArrayNode responses = JSON.arrayNode();
+                request.forEach(call -> responses.add(dispatch(call)));
+                response = responses;
+            } else {
+                response = dispatch(request);
+            }
+            respond(exchange, response);
+        }
+    }
+
+    private JsonNode dispatch(JsonNode call) {
+        JsonNode id = call.path("id").isMissingNode() ? JSON.nullNode() : call.get("id");
+        String method = call.path("method").asText("");
+        double errorRate = settings.errorRate(method);
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            return error(id, -32000, "chain-sim: injected failure");
+        }
+        try {
+            ObjectNode response = JSON.objectNode();
+            response.put("jsonrpc", "2.0");
+            response.set("id", id);
+            response.set("result", objectMapper.valueToTree(chain.handle(method, call.path("params"))));
+            return response;
+        } catch (ChainSimulator.RpcException e) {
+            return error(id, e.code(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Chain simulator failed on {}: {}", method, e.toString());
+            return error(id, -32603, "Internal error: " + e.getMessage());
+        }
+    }
+
+    private void delay() {
+        long millis = settings.latency().toMillis();
+        long jitter = settings.latencyJitter().toMillis();
+        if (jitter > 0) {
+            millis += random.nextLong(jitter + 1);
+        }
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange, JsonNode response) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static ObjectNode error(JsonNode id, int code, String message) {
+        ObjectNode response = JSON.objectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", id);
+        ObjectNode error = response.putObject("error");
+        error.put("code", code);
+        error.put("message", message);
+        return response;
+    }
+}
@@ -0,0 +1,55 @@
+package com.digitalseal.devchain;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * {@code app.chain-sim.*}: how the simulated chain and its RPC endpoint behave.
+ *
+ * @param port              HTTP port of the JSON-RPC endpoint (0: any free port)
+ * @param chainId           chain ID transactions must be signed for
+ * @param contractAddress   address the Digital Seal contract answers at
+ * @param blockTime         interval between blocks; zero mines each transaction as it arrives
+ * @param blockGasLimit     gas limits of the transactions in one block add up to at most this
+ * @param mintGasPerItem    gas per token in {@code batchMintDigitalTwins}, on top of 21000
+ * @param baseFeeWei        base fee reported by {@code eth_feeHistory} and {@code eth_gasPrice}
+ * @param latency           added to every response
+ * @param latencyJitter     up to this much more, uniformly
+ * @param errorRate         share of requests answered with an injected JSON-RPC error
+ * @param errorRateByMethod per-method override of {@code errorRate}
+ * @param reorgRate         chance that a new block triggers a reorg
+ * @param maxReorgDepth     a reorg drops between 1 and this many blocks
+ * @param seed              seed for jitter, injected errors and reorgs
+ */
+public record ChainSimulatorSettings(@DefaultValue("8545") int port,
+                                     @DefaultValue("31337") long chainId,
+                                     @DefaultValue("0x5FbDB2315678afecb367f032d93F642f64180aa3") String contractAddress,
+                                     @DefaultValue("0s") Duration blockTime,
+                                     @DefaultValue("30000000") long blockGasLimit,
+                                     @DefaultValue("60000") long mintGasPerItem,
+                                     @DefaultValue("1000000000") long baseFeeWei,
+                                     @DefaultValue("0s") Duration latency,
+                                     @DefaultValue("0s") Duration latencyJitter,
+                                     @DefaultValue("0") double errorRate,
+                                     Map<String, Double> errorRateByMethod,
+                                     @DefaultValue("0") double reorgRate,
+                                     @DefaultValue("1") int maxReorgDepth,
+                                     @DefaultValue("1") long seed) {
+
+    public ChainSimulatorSettings {
+        errorRateByMethod = errorRateByMethod == null ? Map.of() : Map.copyOf(errorRateByMethod);
+    }
+
+    /** The defaults above on any free port: instant mining, no latency, errors or reorgs */
+    public static ChainSimulatorSettings defaults() {
+        return new ChainSimulatorSettings(0, 31337, "0x5FbDB2315678afecb367f032d93F642f64180aa3",
+                Duration.ZERO, 30_000_000, 60_000, 1_000_000_000, Duration.ZERO, Duration.ZERO,
+                0, Map.of(), 0, 1, 1);
+    }
+
+    public double errorRate(String method) {
+        return errorRateByMethod.getOrDefault(method, errorRate);
+    }
+}
@@ -0,0 +1,24 @@
+package com.digitalseal.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One facet value and the number of matching listings")
+public class FacetCountResponse {
+    
+    @Schema(description = "Value to pass back as a search filter", example = "HANDBAG")
+    private String value;
+    
+    @Schema(description = "Display label", example = "Handbag")
+    private String label;
+    
+    @Schema(description = "Matching listings", example = "42")
+    private Long count;
+}
@@ -59,6 +59,10 @@ public class PlatformLogResponse {
     @Schema(example = "145")
     private Long durationMs;
 
+    @Schema(description = "Trace of the request that wrote this entry — see /admin/traces/{traceId}",
+            example = "4bf92f3577b34da6a3ce929d0e0e4736")
+    private String traceId;
+
     @Schema(example = "true")
     private Boolean success;
 
@@ -81,6 +85,7 @@ public class PlatformLogResponse {
                 .httpMethod(log.getHttpMethod())
                 .requestPath(log.getRequestPath())
                 .durationMs(log.getDurationMs())
+                .traceId(log.getTraceId())
                 .success(log.getSuccess())
                 .build();
     }
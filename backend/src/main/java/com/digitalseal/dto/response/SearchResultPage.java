@@ -0,0 +1,36 @@
+package com.digitalseal.dto.response;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of marketplace search hits plus facet counts over the whole result set.
+ * Serialises like any other page, with an extra {@code facets} object keyed by
+ * dimension ({@code category}, {@code brand}, {@code priceBand}).
+ *
+ * <p>Spring Data's PageImpl serialiser writes only the base page properties; the plain bean
+ * serialiser is restored here so {@code facets} is included.
+ */
+@JsonSerialize(using = JsonSerializer.None.class)
+@Schema(description = "Marketplace search results with facet counts")
+public class SearchResultPage extends PageImpl<MarketplaceListingResponse> {
+    
+    private final Map<String, List<FacetCountResponse>> facets;
+    
+    public SearchResultPage(List<MarketplaceListingResponse> content, Pageable pageable, long total,
+                            Map<String, List<FacetCountResponse>> facets) {
+        super(content, pageable, total);
+        this.facets = facets;
+    }
+    
+    @Schema(description = "Facet counts per dimension; each dimension ignores its own filter")
+    public Map<String, List<FacetCountResponse>> getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,7 @@
+package com.digitalseal.event;
+
+/**
+ * Published when a brand's public details (name, logo) or one of its collections change,
+ * or the brand is deleted.
+ */
+public record BrandChangedEvent(Long brandId) {}
@@ -0,0 +1,7 @@
+package com.digitalseal.event;
+
+/**
+ * Published when an email is written to the outbox; the sender picks it up once the
+ * transaction commits.
+ */
+public record EmailQueuedEvent(Long outboxId) {}
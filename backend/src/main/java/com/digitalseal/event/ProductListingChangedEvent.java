@@ -0,0 +1,30 @@
+package com.digitalseal.event;
+
+import com.digitalseal.model.entity.Product;
+import com.digitalseal.model.entity.ProductCategory;
+
+/**
+ * Published when something a marketplace listing shows about a product changes.
+ * Listeners that cache or index listings react after the publishing transaction commits.
+ *
+ * @param membershipChanged true if the product entered or left the LISTED set
+ *                          (list, delist, archive, sold out, back in stock);
+ *                          false if only its available quantity changed
+ */
+public record ProductListingChangedEvent(
+        Long productId,
+        Long brandId,
+        ProductCategory category,
+        boolean membershipChanged,
+        Integer availableQuantity) {
+
+    public static ProductListingChangedEvent membership(Product product) {
+        return new ProductListingChangedEvent(product.getId(), product.getBrand().getId(),
+                product.getCategory(), true, product.getAvailableQuantity());
+    }
+
+    public static ProductListingChangedEvent quantity(Product product) {
+        return new ProductListingChangedEvent(product.getId(), product.getBrand().getId(),
+                product.getCategory(), false, product.getAvailableQuantity());
+    }
+}
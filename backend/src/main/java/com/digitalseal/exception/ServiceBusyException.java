@@ -0,0 +1,10 @@
+package com.digitalseal.exception;
+
+/**
+ * A bounded resource is saturated; the client should retry shortly (503).
+ */
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -9,6 +9,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -19,6 +21,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// Second-level cache: read for every product page and collection list (see SecondLevelCacheConfig)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "collections")
 @EntityListeners(AuditingEntityListener.class)
 public class Collection {
     
@@ -53,6 +57,11 @@ public class Collection {
     @OneToMany(mappedBy = "collection", cascade = CascadeType.ALL)
     private List<Product> products = new ArrayList<>();
     
+    // Bumped on every update (updated_at only has one-second precision)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
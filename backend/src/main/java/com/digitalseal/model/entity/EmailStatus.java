@@ -0,0 +1,8 @@
+package com.digitalseal.model.entity;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
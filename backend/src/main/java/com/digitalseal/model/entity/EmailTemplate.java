@@ -0,0 +1,6 @@
+package com.digitalseal.model.entity;
+
+public enum EmailTemplate {
+    EMAIL_VERIFICATION,
+    PASSWORD_RESET
+}
@@ -0,0 +1,65 @@
+package com.digitalseal.model.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Denormalised, versioned provenance document for a product item.
+ * Holds the serialised verification result so public verify requests are a single read.
+ * Brand fields are not frozen into the document: they are read with it, live, and carried here
+ * as transient fields (see ProvenanceService).
+ */
+@Entity
+@Table(name = "item_provenance")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemProvenance {
+
+    @Id
+    @Column(name = "product_item_id")
+    private Long productItemId;
+
+    @Column(name = "item_serial", nullable = false, unique = true, length = 150)
+    private String itemSerial;
+
+    // Bumped by Hibernate on every write — part of the ETag
+    @Version
+    @Column(name = "document_version", nullable = false)
+    private Long documentVersion;
+
+    // Serialised VerificationResponse (verifiedAt is filled in per request)
+    @Column(name = "document", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String document;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Live brand fields, filled in when the document is read
+    @Transient
+    private String brandName;
+
+    @Transient
+    private Boolean brandVerified;
+
+    @Transient
+    private Long brandVersion;
+
+    /**
+     * Strong entity tag for this document version as served with the current brand fields.
+     */
+    public String getETag() {
+        return eTag(productItemId, documentVersion, brandVersion, brandVerified);
+    }
+
+    // The verified flag is set outside the application, without bumping the brand version
+    public static String eTag(Long productItemId, Long documentVersion, Long brandVersion, Boolean brandVerified) {
+        return "\"prov-" + productItemId + "-" + documentVersion + "-b" + brandVersion
+                + (Boolean.TRUE.equals(brandVerified) ? "v" : "") + "\"";
+    }
+}
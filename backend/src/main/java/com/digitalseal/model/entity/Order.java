@@ -103,6 +103,11 @@ public class Order {
     @Column(name = "cancellation_reason", length = 500)
     private String cancellationReason;
     
+    // Optimistic locking
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
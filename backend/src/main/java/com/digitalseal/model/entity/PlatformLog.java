@@ -93,6 +93,10 @@ public class PlatformLog {
     @Column(name = "duration_ms")
     private Long durationMs;
 
+    /** W3C trace ID of the request or job that wrote this entry */
+    @Column(name = "trace_id", length = 32)
+    private String traceId;
+
     /** false when the operation threw an exception or ended in an error state */
     @Column(name = "success", nullable = false)
     @Builder.Default
@@ -82,6 +82,11 @@ public class ProductItem {
     @Column(name = "claimed_at")
     private LocalDateTime claimedAt;
     
+    // Optimistic locking — also bumped by the conditional claim UPDATE
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -8,6 +8,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -18,6 +20,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// Second-level cache: role and active / lock flags are read on every authenticated request (see SecondLevelCacheConfig)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @EntityListeners(AuditingEntityListener.class)
 public class User {
     
@@ -34,9 +38,6 @@ public class User {
     @Column(name = "wallet_address", unique = true, length = 42)
     private String walletAddress;
     
-    @Column(name = "wallet_nonce")
-    private String walletNonce;
-    
     @Column(name = "first_name")
     private String firstName;
     
@@ -94,21 +95,6 @@ public class User {
     @Column(name = "last_login_at")
     private LocalDateTime lastLoginAt;
     
-    @PrePersist
-    protected void onCreate() {
-        if (walletNonce == null) {
-            walletNonce = generateNonce();
-        }
-    }
-    
-    public void regenerateNonce() {
-        this.walletNonce = generateNonce();
-    }
-    
-    private String generateNonce() {
-        return "nonce_" + System.currentTimeMillis() + "_" + Math.random();
-    }
-    
     public void incrementFailedAttempts() {
         this.failedLoginAttempts++;
         this.lastFailedLoginAt = LocalDateTime.now();
@@ -1,10 +1,14 @@
 package com.digitalseal.repository;
 
+import com.digitalseal.dto.response.BrandResponse;
 import com.digitalseal.model.entity.Brand;
 import com.digitalseal.model.entity.User;
+import jakarta.persistence.Tuple;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -17,4 +21,20 @@ public interface BrandRepository extends JpaRepository<Brand, Long> {
     Boolean existsByBrandNameIgnoreCase(String brandName);
     
     Boolean existsByCompanyWalletAddress(String companyWalletAddress);
+    
+    // Read-only DTO projection for "my brands". ownerName = "first last", trimmed, null if blank
+    @Query("SELECT new com.digitalseal.dto.response.BrandResponse(" +
+           "b.id, b.brandName, b.companyEmail, b.companyAddress, b.companyWalletAddress, b.logo, " +
+           "b.description, b.verified, u.id, " +
+           "NULLIF(TRIM(CONCAT(COALESCE(u.firstName, ''), ' ', COALESCE(u.lastName, ''))), ''), " +
+           "b.createdAt, b.updatedAt) " +
+           "FROM Brand b JOIN b.user u WHERE u.id = :userId")
+    List<BrandResponse> findBrandResponsesByUserId(@Param("userId") Long userId);
+    
+    // Version stamp for conditional GET (ResourceVersionService). Users are not versioned,
+    // so the owner's name is part of the stamp itself
+    @Query("SELECT b.version AS version, u.firstName AS ownerFirstName, u.lastName AS ownerLastName, " +
+           "b.updatedAt AS updatedAt, u.updatedAt AS ownerUpdatedAt " +
+           "FROM Brand b JOIN b.user u WHERE b.id = :brandId")
+    Optional<Tuple> findVersionStamp(@Param("brandId") Long brandId);
 }
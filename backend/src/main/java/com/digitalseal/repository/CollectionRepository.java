@@ -1,17 +1,48 @@
 package com.digitalseal.repository;
 
 import com.digitalseal.model.entity.Collection;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.Tuple;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CollectionRepository extends JpaRepository<Collection, Long> {
     
+    // Query cache: Hibernate drops the cached lists whenever the collections or brands table changes
+    @EntityGraph(attributePaths = "brand")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "collections-by-brand")
+    })
     List<Collection> findByBrandId(Long brandId);
     
     Optional<Collection> findByIdAndBrandId(Long id, Long brandId);
     
     Boolean existsByCollectionNameIgnoreCaseAndBrandId(String collectionName, Long brandId);
+    
+    // ── Version stamps (conditional GET, see ResourceVersionService) ──────────
+    // No timestamps: product counts change without touching the collection row
+    
+    @Query("SELECT c.version AS version, b.version AS brandVersion, " +
+           "(SELECT COUNT(p) FROM Product p WHERE p.collection = c) AS products " +
+           "FROM Collection c JOIN c.brand b WHERE c.id = :collectionId")
+    Optional<Tuple> findVersionStamp(@Param("collectionId") Long collectionId);
+    
+    // Product version sum catches products moving between the brand's collections
+    @Query("SELECT b.version AS brandVersion, " +
+           "(SELECT COUNT(c) FROM Collection c WHERE c.brand = b) AS collections, " +
+           "(SELECT MAX(c.id) FROM Collection c WHERE c.brand = b) AS lastCollection, " +
+           "(SELECT SUM(c.version) FROM Collection c WHERE c.brand = b) AS collectionVersions, " +
+           "(SELECT COUNT(p) FROM Product p WHERE p.collection.brand = b) AS products, " +
+           "(SELECT SUM(p.version) FROM Product p WHERE p.collection.brand = b) AS productVersions " +
+           "FROM Brand b WHERE b.id = :brandId")
+    Optional<Tuple> findBrandCollectionsVersionStamp(@Param("brandId") Long brandId);
 }
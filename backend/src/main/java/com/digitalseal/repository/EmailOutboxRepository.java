@@ -0,0 +1,72 @@
+package com.digitalseal.repository;
+
+import com.digitalseal.model.entity.EmailOutbox;
+import com.digitalseal.model.entity.EmailStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // ── Claiming ──────────────────────────────────────────────────────────
+
+    /**
+     * Lock up to {@code limit} emails that are due: pending ones whose retry time has come, and
+     * claimed ones whose sender stopped before finishing. Rows locked by another node's claim
+     * are skipped rather than waited for. Call inside a transaction.
+     */
+    @Query(value = "SELECT id FROM email_outbox " +
+                   "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /** Mark locked rows as being sent until {@code claimedUntil} and count the attempt */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EmailOutbox e SET e.status = com.digitalseal.model.entity.EmailStatus.SENDING, " +
+           "e.nextAttemptAt = :claimedUntil, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    // ── Outcomes ──────────────────────────────────────────────────────────
+
+    /** Sent — the variables (verification codes) are no longer needed */
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.digitalseal.model.entity.EmailStatus.SENT, " +
+           "e.sentAt = :at, e.variables = NULL, e.lastError = NULL WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.digitalseal.model.entity.EmailStatus.PENDING, " +
+           "e.nextAttemptAt = :nextAttemptAt, e.lastError = :error WHERE e.id = :id")
+    int reschedule(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+
+    /** Put claimed rows back without counting the attempt — they were never handed to the server */
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.digitalseal.model.entity.EmailStatus.PENDING, " +
+           "e.nextAttemptAt = :nextAttemptAt, e.attempts = e.attempts - 1, e.lastError = :error " +
+           "WHERE e.id IN :ids")
+    int release(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.digitalseal.model.entity.EmailStatus.FAILED, " +
+           "e.variables = NULL, e.lastError = :error WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    // ── Housekeeping ──────────────────────────────────────────────────────
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status IN :statuses AND e.createdAt < :before")
+    int deleteFinishedBefore(@Param("statuses") Collection<EmailStatus> statuses,
+                             @Param("before") LocalDateTime before);
+
+    long countByStatus(EmailStatus status);
+}
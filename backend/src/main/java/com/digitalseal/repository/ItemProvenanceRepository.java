@@ -0,0 +1,44 @@
+package com.digitalseal.repository;
+
+import com.digitalseal.model.entity.ItemProvenance;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Tuple;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ItemProvenanceRepository extends JpaRepository<ItemProvenance, Long> {
+
+    // Document with the brand fields it is served with, read live in the same query
+    @Query("SELECT p AS provenance, b.brandName AS brandName, b.verified AS brandVerified, b.version AS brandVersion " +
+           "FROM ItemProvenance p JOIN ProductItem pi ON pi.id = p.productItemId JOIN pi.product pr JOIN pr.brand b " +
+           "WHERE p.productItemId = :itemId")
+    Optional<Tuple> findWithBrandByItemId(@Param("itemId") Long itemId);
+
+    @Query("SELECT p AS provenance, b.brandName AS brandName, b.verified AS brandVerified, b.version AS brandVersion " +
+           "FROM ItemProvenance p JOIN ProductItem pi ON pi.id = p.productItemId JOIN pi.product pr JOIN pr.brand b " +
+           "WHERE p.itemSerial = :serial")
+    Optional<Tuple> findWithBrandBySerial(@Param("serial") String serial);
+
+    // Locking read (FOR UPDATE): the latest committed document, not the transaction's snapshot
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ItemProvenance p WHERE p.productItemId = :itemId")
+    Optional<ItemProvenance> findForUpdate(@Param("itemId") Long itemId);
+
+    // Version stamps for conditional GET — the document itself is not loaded
+    @Query("SELECT p.productItemId AS itemId, p.documentVersion AS documentVersion, " +
+           "b.version AS brandVersion, b.verified AS brandVerified " +
+           "FROM ItemProvenance p JOIN ProductItem pi ON pi.id = p.productItemId JOIN pi.product pr JOIN pr.brand b " +
+           "WHERE p.productItemId = :itemId")
+    Optional<Tuple> findVersionStampByItemId(@Param("itemId") Long itemId);
+
+    @Query("SELECT p.productItemId AS itemId, p.documentVersion AS documentVersion, " +
+           "b.version AS brandVersion, b.verified AS brandVerified " +
+           "FROM ItemProvenance p JOIN ProductItem pi ON pi.id = p.productItemId JOIN pi.product pr JOIN pr.brand b " +
+           "WHERE p.itemSerial = :serial")
+    Optional<Tuple> findVersionStampBySerial(@Param("serial") String serial);
+}
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,14 +15,19 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     Optional<Order> findByOrderNumber(String orderNumber);
     
+    // Order responses carry product name and item serial
+    @EntityGraph(attributePaths = {"product", "productItem"})
     List<Order> findByBuyerId(Long buyerId);
     
+    @EntityGraph(attributePaths = {"product", "productItem"})
     Page<Order> findByBuyerId(Long buyerId, Pageable pageable);
     
     List<Order> findByBuyerIdAndStatus(Long buyerId, OrderStatus status);
     
+    @EntityGraph(attributePaths = {"product", "productItem"})
     List<Order> findByProductId(Long productId);
     
+    @EntityGraph(attributePaths = {"product", "productItem"})
     Page<Order> findByProductId(Long productId, Pageable pageable);
     
     List<Order> findByProductIdAndStatus(Long productId, OrderStatus status);
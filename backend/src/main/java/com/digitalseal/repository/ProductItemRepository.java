@@ -1,17 +1,30 @@
 package com.digitalseal.repository;
 
+import com.digitalseal.dto.response.ProductItemResponse;
 import com.digitalseal.model.entity.ProductItem;
 import com.digitalseal.model.entity.SealStatus;
+import com.digitalseal.model.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface ProductItemRepository extends JpaRepository<ProductItem, Long> {
     
+    @EntityGraph(attributePaths = "product")
     List<ProductItem> findByProductId(Long productId);
     
     List<ProductItem> findByProductIdAndSealStatus(Long productId, SealStatus sealStatus);
@@ -24,12 +37,59 @@ public interface ProductItemRepository extends JpaRepository<ProductItem, Long>
     
     Optional<ProductItem> findByIdAndProductId(Long id, Long productId);
     
+    // Row lock (FOR UPDATE) taken before any write to the item's provenance document
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pi FROM ProductItem pi WHERE pi.id = :id")
+    Optional<ProductItem> findByIdForUpdate(@Param("id") Long id);
+    
+    @EntityGraph(attributePaths = "product")
     List<ProductItem> findByCurrentOwnerId(Long userId);
     
+    // Read-only DTO projection for "my items" — constructor order matches ProductItemResponse
+    @Query("SELECT new com.digitalseal.dto.response.ProductItemResponse(" +
+           "pi.id, p.id, p.productName, pi.itemSerial, pi.itemIndex, pi.tokenId, pi.metadataUri, " +
+           "pi.mintTxHash, pi.sealStatus, pi.currentOwnerWallet, pi.currentOwner.id, pi.mintedAt, " +
+           "pi.soldAt, pi.claimedAt, pi.createdAt) " +
+           "FROM ProductItem pi JOIN pi.product p WHERE pi.currentOwner.id = :userId")
+    List<ProductItemResponse> findItemResponsesByOwnerId(@Param("userId") Long userId);
+    
     long countByProductId(Long productId);
     
     long countByProductIdAndSealStatus(Long productId, SealStatus sealStatus);
     
     @Query("SELECT pi FROM ProductItem pi WHERE pi.product.id = :productId AND pi.sealStatus = 'PRE_MINTED' ORDER BY pi.itemIndex ASC LIMIT 1")
     Optional<ProductItem> findFirstAvailableItem(@Param("productId") Long productId);
+    
+    /**
+     * Claim a purchased (RESERVED) item in one conditional UPDATE. Consumes the claim code;
+     * returns 0 if the code was already used or the item is no longer RESERVED.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductItem pi SET pi.sealStatus = com.digitalseal.model.entity.SealStatus.REALIZED, " +
+           "pi.currentOwner = :owner, pi.currentOwnerWallet = :wallet, pi.soldAt = :at, pi.claimCode = NULL, " +
+           "pi.version = pi.version + 1, pi.updatedAt = :at " +
+           "WHERE pi.claimCode = :claimCode AND pi.sealStatus = com.digitalseal.model.entity.SealStatus.RESERVED")
+    int claimReserved(@Param("claimCode") String claimCode, @Param("owner") User owner,
+                      @Param("wallet") String wallet, @Param("at") LocalDateTime at);
+    
+    /**
+     * Claim a standalone (PRE_MINTED) item in one conditional UPDATE. Consumes the claim code;
+     * returns 0 if the code was already used or the item is no longer PRE_MINTED.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductItem pi SET pi.sealStatus = com.digitalseal.model.entity.SealStatus.REALIZED, " +
+           "pi.currentOwner = :owner, pi.currentOwnerWallet = :wallet, pi.claimedAt = :at, pi.claimCode = NULL, " +
+           "pi.version = pi.version + 1, pi.updatedAt = :at " +
+           "WHERE pi.claimCode = :claimCode AND pi.sealStatus = com.digitalseal.model.entity.SealStatus.PRE_MINTED")
+    int claimPreMinted(@Param("claimCode") String claimCode, @Param("owner") User owner,
+                       @Param("wallet") String wallet, @Param("at") LocalDateTime at);
+    
+    // Streamed (MySQL row-by-row) projections used to build the lookup filters at startup
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT pi.itemSerial FROM ProductItem pi")
+    Stream<String> streamAllItemSerials();
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT pi.claimCode FROM ProductItem pi WHERE pi.claimCode IS NOT NULL")
+    Stream<String> streamActiveClaimCodes();
 }
@@ -1,28 +1,35 @@
 package com.digitalseal.repository;
 
+import com.digitalseal.dto.response.MarketplaceListingResponse;
+import com.digitalseal.dto.response.ProductResponse;
 import com.digitalseal.model.entity.Product;
 import com.digitalseal.model.entity.ProductCategory;
 import com.digitalseal.model.entity.ProductStatus;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.Tuple;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
+    // List endpoints map brand + collection names — fetch them in the same query
+    @EntityGraph(attributePaths = {"brand", "collection"})
     List<Product> findByBrandId(Long brandId);
     
-    List<Product> findByBrandIdAndCategory(Long brandId, ProductCategory category);
-    
-    List<Product> findByBrandIdAndStatus(Long brandId, ProductStatus status);
-    
-    List<Product> findByBrandIdAndCategoryAndStatus(Long brandId, ProductCategory category, ProductStatus status);
-    
+    @EntityGraph(attributePaths = {"brand", "collection"})
     List<Product> findByCollectionId(Long collectionId);
     
     Optional<Product> findByIdAndBrandId(Long id, Long brandId);
@@ -33,16 +40,86 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     long countByCollectionId(Long collectionId);
     
-    // Marketplace queries — Listed products only
-    @Query("SELECT p FROM Product p WHERE p.status = 'LISTED' ORDER BY p.listedAt DESC")
-    Page<Product> findListedProducts(Pageable pageable);
+    // ── Read-only DTO projections ─────────────────────────────────────────────
+    // Select just the columns the list responses need — no managed entities, no dirty-checking
+    // snapshots. Constructor argument order must match the response's field order.
+    
+    String LISTING_SELECT =
+            "SELECT new com.digitalseal.dto.response.MarketplaceListingResponse(" +
+            "p.id, p.productName, p.description, p.imageUrl, p.category, p.price, p.currency, " +
+            "p.availableQuantity, p.totalQuantity, b.id, b.brandName, b.logo, c.collectionName, " +
+            "p.status, p.listedAt, p.listingDeadline, b.verified) " +
+            "FROM Product p JOIN p.brand b LEFT JOIN p.collection c " +
+            "WHERE p.status = com.digitalseal.model.entity.ProductStatus.LISTED ";
+    
+    @Query(value = LISTING_SELECT +
+                   "AND (:category IS NULL OR p.category = :category) " +
+                   "AND (:brandId  IS NULL OR b.id = :brandId) " +
+                   "AND (:query    IS NULL OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :query, '%'))) " +
+                   "ORDER BY p.listedAt DESC",
+           countQuery = "SELECT COUNT(p) FROM Product p " +
+                        "WHERE p.status = com.digitalseal.model.entity.ProductStatus.LISTED AND " +
+                        "(:category IS NULL OR p.category = :category) AND " +
+                        "(:brandId  IS NULL OR p.brand.id = :brandId) AND " +
+                        "(:query    IS NULL OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :query, '%')))")
+    Page<MarketplaceListingResponse> findListings(
+            @Param("category") ProductCategory category,
+            @Param("brandId") Long brandId,
+            @Param("query") String query,
+            Pageable pageable);
+    
+    // Search index feed (ProductSearchService): full build streams every listing, incremental
+    // updates re-read one product or one brand's listings after a change commits
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(LISTING_SELECT)
+    Stream<MarketplaceListingResponse> streamAllListings();
+    
+    @Query(LISTING_SELECT + "AND p.id = :id")
+    Optional<MarketplaceListingResponse> findListingById(@Param("id") Long id);
+    
+    @Query(LISTING_SELECT + "AND b.id = :brandId")
+    List<MarketplaceListingResponse> findListingsByBrandId(@Param("brandId") Long brandId);
+    
+    String PRODUCT_RESPONSE_SELECT =
+            "SELECT new com.digitalseal.dto.response.ProductResponse(" +
+            "p.id, b.id, b.brandName, c.id, c.collectionName, p.productName, p.description, p.category, " +
+            "p.sku, p.serialNumber, p.imageUrl, p.price, p.currency, p.totalQuantity, p.availableQuantity, " +
+            "p.contractAddress, p.metadataBaseUri, p.status, p.listedAt, p.listingDeadline, p.premintedAt, " +
+            "p.createdAt, p.updatedAt) " +
+            "FROM Product p JOIN p.brand b LEFT JOIN p.collection c ";
+    
+    @Query(PRODUCT_RESPONSE_SELECT +
+           "WHERE b.id = :brandId AND " +
+           "(:category IS NULL OR p.category = :category) AND " +
+           "(:status   IS NULL OR p.status   = :status)")
+    List<ProductResponse> findProductResponsesByBrand(
+            @Param("brandId") Long brandId,
+            @Param("category") ProductCategory category,
+            @Param("status") ProductStatus status);
+    
+    @Query(PRODUCT_RESPONSE_SELECT + "WHERE c.id = :collectionId")
+    List<ProductResponse> findProductResponsesByCollection(@Param("collectionId") Long collectionId);
+    
+    // ── Version stamps (conditional GET, see ResourceVersionService) ──────────
+    
+    // Product row plus the versions of the brand / collection whose names the response shows
+    @Query("SELECT p.version AS version, b.version AS brandVersion, c.version AS collectionVersion, " +
+           "p.updatedAt AS updatedAt, b.updatedAt AS brandUpdatedAt, c.updatedAt AS collectionUpdatedAt " +
+           "FROM Product p JOIN p.brand b LEFT JOIN p.collection c WHERE p.id = :productId")
+    Optional<Tuple> findVersionStamp(@Param("productId") Long productId);
     
-    @Query("SELECT p FROM Product p WHERE p.status = 'LISTED' AND p.category = :category ORDER BY p.listedAt DESC")
-    Page<Product> findListedProductsByCategory(@Param("category") ProductCategory category, Pageable pageable);
+    // Versions only increase, so count + max id + version sum changes whenever any member does
+    @Query("SELECT c.version AS collectionVersion, b.version AS brandVersion, " +
+           "(SELECT COUNT(p) FROM Product p WHERE p.collection = c) AS products, " +
+           "(SELECT MAX(p.id) FROM Product p WHERE p.collection = c) AS lastProduct, " +
+           "(SELECT SUM(p.version) FROM Product p WHERE p.collection = c) AS productVersions " +
+           "FROM Collection c JOIN c.brand b WHERE c.id = :collectionId")
+    Optional<Tuple> findCollectionProductsVersionStamp(@Param("collectionId") Long collectionId);
     
-    @Query("SELECT p FROM Product p WHERE p.status = 'LISTED' AND p.brand.id = :brandId ORDER BY p.listedAt DESC")
-    Page<Product> findListedProductsByBrand(@Param("brandId") Long brandId, Pageable pageable);
+    // ── Inventory gauges (see CommerceMetrics) ────────────────────────────────
     
-    @Query("SELECT p FROM Product p WHERE p.status = 'LISTED' AND LOWER(p.productName) LIKE LOWER(CONCAT('%', :query, '%')) ORDER BY p.listedAt DESC")
-    Page<Product> searchListedProducts(@Param("query") String query, Pageable pageable);
+    @Query("SELECT p.id AS id, p.availableQuantity AS available FROM Product p " +
+           "WHERE p.status IN :statuses ORDER BY p.id DESC")
+    List<Tuple> findInventoryByStatusIn(@Param("statuses") Collection<ProductStatus> statuses, Pageable page);
 }
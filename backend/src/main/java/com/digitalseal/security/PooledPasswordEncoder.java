@@ -0,0 +1,190 @@
+package com.digitalseal.security;
+
+import com.digitalseal.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a small dedicated pool, so a login storm is limited to that pool's cores instead
+ * of taking every request thread's.
+ *
+ * <p>The calling thread hands the hash to one of {@code threads} workers and waits. When the
+ * queue in front of them is full, or the result is not ready within {@code maxWait}, the call
+ * fails fast with {@link ServiceBusyException} (503) rather than every endpoint slowing down.
+ *
+ * <p>{@link #upgradeEncoding} is true for any stored hash whose cost differs from the current
+ * one, so hashes follow the configured or calibrated cost as users log in.
+ */
+@Slf4j
+public class PooledPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final int strength;
+    private final long maxWaitNanos;
+    private final ThreadPoolExecutor pool;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public PooledPasswordEncoder(int strength, int threads, int queueCapacity, Duration maxWait,
+                                 MeterRegistry meterRegistry) {
+        this.bcrypt = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.maxWaitNanos = maxWait.toNanos();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    // Platform threads even in virtual-thread mode: the work is pure CPU
+                    Thread thread = new Thread(task, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.pool.prestartAllCoreThreads();
+
+        this.encodeTimer = Timer.builder("digitalseal.password.hash")
+                .tag("operation", "encode")
+                .description("Time to hash a password, including the wait for a hashing thread")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("digitalseal.password.hash")
+                .tag("operation", "matches")
+                .description("Time to hash a password, including the wait for a hashing thread")
+                .register(meterRegistry);
+        this.queueFull = Counter.builder("digitalseal.password.hash.rejected")
+                .tag("reason", "queue_full")
+                .description("Password hashes refused with 503 because the hashing pool was saturated")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("digitalseal.password.hash.rejected")
+                .tag("reason", "timeout")
+                .description("Password hashes refused with 503 because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("digitalseal.password.hash.queue.depth", pool, p -> p.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("digitalseal.password.hash.cost", () -> strength)
+                .description("BCrypt cost (log2 rounds) used for new hashes")
+                .register(meterRegistry);
+
+        log.info("Password hashing: bcrypt cost {}, {} thread(s), queue {}, max wait {} ms",
+                strength, threads, queueCapacity, maxWait.toMillis());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> submit(() -> bcrypt.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false; // wallet-only accounts — nothing to hash against
+        }
+        return matchesTimer.record(() -> submit(() -> bcrypt.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> hash) {
+        Future<T> result;
+        try {
+            result = pool.submit(hash);
+        } catch (RejectedExecutionException e) {
+            queueFull.increment();
+            throw new ServiceBusyException("Too many password requests right now. Please retry in a moment.");
+        }
+        try {
+            return result.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(false); // drops it if still queued; a running hash cannot be stopped
+            timedOut.increment();
+            throw new ServiceBusyException("Too many password requests right now. Please retry in a moment.");
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // ── Cost ──────────────────────────────────────────────────────────────────
+
+    /** Cost of a stored BCrypt hash, or -1 if it is not one */
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return -1;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * The highest cost in {@code [minStrength, maxStrength]} whose hash takes no longer than
+     * {@code target} on this machine, never below {@code minStrength}.
+     *
+     * <p>Times a few hashes at the minimum cost after one warm-up, and extrapolates: each step
+     * up doubles the work.
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        String sample = "calibration-" + System.nanoTime();
+        probe.encode(sample); // JIT warm-up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode(sample);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        double estimate = best;
+        while (strength < maxStrength && estimate * 2 <= target.toNanos()) {
+            strength++;
+            estimate *= 2;
+        }
+        log.info("Password hashing calibrated: cost {} ≈ {} ms (cost {} measured at {} ms, target {} ms)",
+                strength, Math.round(estimate / 1e6), minStrength, Math.round(best / 1e6), target.toMillis());
+        return strength;
+    }
+}
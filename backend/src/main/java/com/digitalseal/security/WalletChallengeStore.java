@@ -0,0 +1,220 @@
+package com.digitalseal.security;
+
+import com.digitalseal.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single-use sign-in challenges for wallet login and registration, held in memory.
+ *
+ * <p>{@link #issue} returns an EIP-4361 (Sign-In with Ethereum) message carrying a fresh
+ * 128-bit nonce; {@link #redeem} consumes it atomically, so a signed message logs in at most
+ * once and only within {@code ttl-seconds}. Nothing is written to the user row.
+ *
+ * <p>Challenges are spread over independently locked shards by nonce. Every challenge lives
+ * for the same TTL, so each shard's insertion order is its expiry order: expired entries are
+ * swept from the head of the shard on every issue and on a fixed delay, without scanning.
+ *
+ * <p>The store is local to this node — behind a load balancer, the nonce request and the
+ * login must reach the same node (sticky sessions), or the login fails and the client asks
+ * for a new challenge.
+ */
+@Component
+@Slf4j
+public class WalletChallengeStore {
+
+    private static final Pattern NONCE_LINE = Pattern.compile("^Nonce: ([0-9a-f]{32})$", Pattern.MULTILINE);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Shard[] shards;
+    private final SecureRandom[] randoms;
+    private final long ttlNanos;
+    private final Duration ttl;
+    private final int maxPerShard;
+    private final String domain;
+    private final String uri;
+    private final long chainId;
+
+    private final Counter issued;
+    private final Counter redeemed;
+    private final Counter rejectedUnknown;
+    private final Counter rejectedMismatch;
+
+    public WalletChallengeStore(MeterRegistry meterRegistry,
+                                @Value("${app.wallet-auth.ttl-seconds:300}") long ttlSeconds,
+                                @Value("${app.wallet-auth.max-challenges:100000}") int maxChallenges,
+                                @Value("${app.wallet-auth.shards:16}") int shardCount,
+                                @Value("${app.wallet-auth.domain:localhost:8081}") String domain,
+                                @Value("${app.wallet-auth.uri:http://localhost:8081}") String uri,
+                                @Value("${app.wallet-auth.chain-id:80002}") long chainId) {
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.ttlNanos = ttl.toNanos();
+        this.shards = new Shard[shardCount];
+        this.randoms = new SecureRandom[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+            randoms[i] = new SecureRandom();
+        }
+        this.maxPerShard = Math.max(1, maxChallenges / shardCount);
+        this.domain = domain;
+        this.uri = uri;
+        this.chainId = chainId;
+
+        this.issued = Counter.builder("digitalseal.wallet.challenges.issued")
+                .description("Wallet sign-in challenges handed out")
+                .register(meterRegistry);
+        this.redeemed = Counter.builder("digitalseal.wallet.challenges.redeemed")
+                .description("Wallet sign-in challenges consumed by a login or registration")
+                .register(meterRegistry);
+        this.rejectedUnknown = Counter.builder("digitalseal.wallet.challenges.rejected")
+                .tag("reason", "unknown_or_expired")
+                .description("Signed messages refused because their challenge was not redeemable")
+                .register(meterRegistry);
+        this.rejectedMismatch = Counter.builder("digitalseal.wallet.challenges.rejected")
+                .tag("reason", "mismatch")
+                .description("Signed messages refused because their challenge was not redeemable")
+                .register(meterRegistry);
+        Gauge.builder("digitalseal.wallet.challenges.active", this, WalletChallengeStore::size)
+                .description("Wallet sign-in challenges waiting to be redeemed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create a challenge for {@code walletAddress}.
+     *
+     * @throws ServiceBusyException if this node already holds {@code max-challenges}
+     */
+    public Challenge issue(String walletAddress) {
+        byte[] bytes = new byte[16];
+        randoms[ThreadLocalRandom.current().nextInt(randoms.length)].nextBytes(bytes);
+        String nonce = HEX.formatHex(bytes);
+
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        String message = domain + " wants you to sign in with your Ethereum account:\n" +
+                walletAddress + "\n\n" +
+                "Sign in to Digital Seal. This request will not trigger a blockchain transaction or cost any gas fees.\n\n" +
+                "URI: " + uri + "\n" +
+                "Version: 1\n" +
+                "Chain ID: " + chainId + "\n" +
+                "Nonce: " + nonce + "\n" +
+                "Issued At: " + issuedAt + "\n" +
+                "Expiration Time: " + issuedAt.plus(ttl);
+        Challenge challenge = new Challenge(nonce, walletAddress, message, System.nanoTime() + ttlNanos);
+
+        Shard shard = shardFor(nonce);
+        shard.lock.lock();
+        try {
+            shard.sweep(System.nanoTime());
+            if (shard.challenges.size() >= maxPerShard) {
+                throw new ServiceBusyException("Too many pending wallet sign-ins. Please retry in a moment.");
+            }
+            shard.challenges.put(nonce, challenge);
+        } finally {
+            shard.lock.unlock();
+        }
+        issued.increment();
+        return challenge;
+    }
+
+    /**
+     * Consume the challenge behind a signed message. True only once per challenge, only before
+     * it expires, and only when the message and wallet are exactly what was issued.
+     */
+    public boolean redeem(String walletAddress, String message) {
+        Matcher nonceLine = NONCE_LINE.matcher(message);
+        if (!nonceLine.find()) {
+            rejectedUnknown.increment();
+            return false;
+        }
+        String nonce = nonceLine.group(1);
+
+        Shard shard = shardFor(nonce);
+        Challenge challenge;
+        shard.lock.lock();
+        try {
+            challenge = shard.challenges.get(nonce);
+            if (challenge == null || challenge.expiresAtNanos() - System.nanoTime() <= 0) {
+                challenge = null;
+            } else if (challenge.walletAddress().equalsIgnoreCase(walletAddress) && challenge.message().equals(message)) {
+                shard.challenges.remove(nonce);
+            } else {
+                // Left in place: a wrong wallet must not be able to burn someone else's challenge
+                rejectedMismatch.increment();
+                return false;
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+        if (challenge == null) {
+            rejectedUnknown.increment();
+            return false;
+        }
+        redeemed.increment();
+        return true;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                size += shard.challenges.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /** Free expired challenges even when no new ones are issued */
+    @Scheduled(fixedDelayString = "${app.wallet-auth.sweep-interval-ms:30000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                shard.sweep(now);
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    private Shard shardFor(String nonce) {
+        return shards[Math.floorMod(nonce.hashCode(), shards.length)];
+    }
+
+    public record Challenge(String nonce, String walletAddress, String message, long expiresAtNanos) {}
+
+    private static final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        // Insertion order = expiry order, since every challenge has the same TTL
+        final LinkedHashMap<String, Challenge> challenges = new LinkedHashMap<>();
+
+        /** Drop expired challenges from the head; caller holds the lock */
+        void sweep(long now) {
+            Iterator<Map.Entry<String, Challenge>> oldest = challenges.entrySet().iterator();
+            while (oldest.hasNext() && oldest.next().getValue().expiresAtNanos() - now <= 0) {
+                oldest.remove();
+            }
+        }
+    }
+}
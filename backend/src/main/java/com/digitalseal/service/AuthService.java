@@ -12,6 +12,7 @@ import com.digitalseal.dto.response.UserResponse;
 import com.digitalseal.exception.AccountLockedException;
 import com.digitalseal.exception.InvalidCredentialsException;
 import com.digitalseal.exception.InvalidSignatureException;
+import com.digitalseal.exception.ServiceBusyException;
 import com.digitalseal.exception.UserAlreadyExistsException;
 import com.digitalseal.model.entity.AuthType;
 import com.digitalseal.model.entity.RefreshToken;
@@ -20,7 +21,9 @@ import com.digitalseal.model.entity.UserRole;
 import com.digitalseal.model.entity.VerificationType;
 import com.digitalseal.repository.UserRepository;
 import com.digitalseal.security.JwtTokenProvider;
+import com.digitalseal.security.WalletChallengeStore;
 import com.digitalseal.util.SignatureVerifier;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,6 +33,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 
 @Service
+@Observed(name = "digitalseal.service")
 @Slf4j
 @RequiredArgsConstructor
 public class AuthService {
@@ -38,6 +42,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final SignatureVerifier signatureVerifier;
+    private final WalletChallengeStore walletChallengeStore;
     private final RefreshTokenService refreshTokenService;
     private final EmailService emailService;
     private final VerificationService verificationService;
@@ -114,6 +119,11 @@ public class AuthService {
             throw new InvalidCredentialsException("Invalid email or password");
         }
         
+        // Re-hash at the current cost while the plain password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            rehashPassword(user, request.getPassword());
+        }
+        
         // Reset failed attempts
         user.resetFailedAttempts();
         user.setLastLoginAt(LocalDateTime.now());
@@ -135,35 +145,16 @@ public class AuthService {
     }
     
     /**
-     * Get nonce for wallet authentication
+     * Issue a single-use sign-in message for wallet authentication
      */
     public AuthResponse getWalletNonce(String walletAddress) {
         log.info("Nonce request for wallet: {}", walletAddress);
         
-        User user = userRepository.findByWalletAddress(walletAddress)
-                .orElse(null);
-        
-        String nonce;
-        if (user != null) {
-            nonce = user.getWalletNonce();
-        } else {
-            nonce = "nonce_" + System.currentTimeMillis() + "_" + Math.random();
-        }
-        
-        String message = String.format(
-            "Sign this message to authenticate with Digital Seal:\n\n" +
-            "Wallet: %s\n" +
-            "Nonce: %s\n" +
-            "Timestamp: %s\n\n" +
-            "This request will not trigger a blockchain transaction or cost any gas fees.",
-            walletAddress,
-            nonce,
-            LocalDateTime.now()
-        );
+        WalletChallengeStore.Challenge challenge = walletChallengeStore.issue(walletAddress);
         
         return AuthResponse.builder()
-                .nonce(nonce)
-                .message(message)
+                .nonce(challenge.nonce())
+                .message(challenge.message())
                 .build();
     }
     
@@ -190,6 +181,11 @@ public class AuthService {
             throw new InvalidSignatureException("Invalid wallet signature");
         }
         
+        // Consume the challenge — a signed message works once, and only before it expires
+        if (!walletChallengeStore.redeem(request.getWalletAddress(), request.getMessage())) {
+            throw new InvalidSignatureException("Sign-in message expired or already used. Please request a new one.");
+        }
+        
         // Create user
         User user = User.builder()
                 .walletAddress(request.getWalletAddress())
@@ -243,9 +239,13 @@ public class AuthService {
             throw new InvalidSignatureException("Invalid wallet signature");
         }
         
+        // Consume the challenge — a signed message works once, and only before it expires
+        if (!walletChallengeStore.redeem(request.getWalletAddress(), request.getMessage())) {
+            throw new InvalidSignatureException("Sign-in message expired or already used. Please request a new one.");
+        }
+        
         // Update user
         user.setLastLoginAt(LocalDateTime.now());
-        user.regenerateNonce(); // Generate new nonce for next login
         userRepository.save(user);
         
         log.info("User logged in with wallet: {}", user.getWalletAddress());
@@ -380,4 +380,17 @@ public class AuthService {
         
         log.info("Password reset successful for user ID: {}", user.getId());
     }
+    
+    /**
+     * Replace a hash made at another cost. Best effort: under load the login goes ahead with
+     * the old hash and the upgrade waits for a later login.
+     */
+    private void rehashPassword(User user, String rawPassword) {
+        try {
+            user.setPasswordHash(passwordEncoder.encode(rawPassword));
+            log.info("Re-hashed password for user ID {} at the current cost", user.getId());
+        } catch (ServiceBusyException e) {
+            log.debug("Skipped password re-hash for user ID {}: {}", user.getId(), e.getMessage());
+        }
+    }
 }
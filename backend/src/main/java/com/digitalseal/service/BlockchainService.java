@@ -2,15 +2,18 @@ package com.digitalseal.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.web3j.abi.FunctionEncoder;
-import org.web3j.abi.FunctionReturnDecoder;
-import org.web3j.abi.TypeReference;
 import org.web3j.abi.datatypes.*;
-import org.web3j.abi.datatypes.generated.Uint256;
 import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameterName;
@@ -21,19 +24,47 @@ import org.web3j.tx.TransactionManager;
 import org.web3j.tx.gas.ContractGasProvider;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contract calls and transactions against the Digital Seal contract.
+ *
+ * <p>Metrics, tagged by contract function (or JSON-RPC method for RPC errors), never by token
+ * or transaction: {@code digitalseal.blockchain.tx.send} (sign + submit, including the wait for
+ * the send lock), {@code .receipt.wait} (outcome mined, reverted or timeout),
+ * {@code .gas.used}, {@code .reverts} and {@code .rpc.errors}.
+ */
 @Service
+@Observed(name = "digitalseal.service")
 @Slf4j
 public class BlockchainService {
 
+    /** Error detail for platform-log entries of transfers skipped while the node is marked unavailable */
+    public static final String UNAVAILABLE_ERROR = "Blockchain node marked unavailable by the probe; transfer skipped";
+
     private final Web3j web3j;
     private final Credentials credentials;
     private final ContractGasProvider gasProvider;
+    private final TransactionManager txManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Held while a transaction is signed and sent. The nonce is read from the node's pending
+     * count, so two concurrent sends would otherwise pick the same one. A lock rather than
+     * {@code synchronized}: the send is an HTTP call, and a virtual thread blocked inside a
+     * monitor keeps its carrier thread.
+     */
+    private final ReentrantLock sendLock = new ReentrantLock();
 
     @Value("${web3.contract.address:}")
     private String contractAddress;
@@ -41,31 +72,99 @@ public class BlockchainService {
     @Value("${web3.rpc.url:}")
     private String rpcUrl;
 
-    private boolean blockchainAvailable = false;
+    @Value("${web3.receipt.poll-interval-ms:1000}")
+    private long receiptPollIntervalMillis;
+
+    @Value("${web3.receipt.timeout-ms:30000}")
+    private long receiptTimeoutMillis;
 
-    public BlockchainService(Web3j web3j, Credentials credentials, ContractGasProvider gasProvider) {
+    @Value("${web3.probe.interval-ms:30000}")
+    private long probeIntervalMillis;
+
+    @Value("${web3.probe.failure-threshold:3}")
+    private int probeFailureThreshold;
+
+    /** Set by the node probe; {@link NodeState#NOT_PROBED} until its first answer */
+    private volatile NodeState nodeState = NodeState.DISABLED;
+    private volatile int consecutiveProbeFailures;
+    private ScheduledExecutorService prober;
+
+    public BlockchainService(Web3j web3j, Credentials credentials, ContractGasProvider gasProvider,
+                             MeterRegistry meterRegistry) {
         this.web3j = web3j;
         this.credentials = credentials;
         this.gasProvider = gasProvider;
+        this.txManager = new RawTransactionManager(web3j, credentials, 31337L);
+        this.meterRegistry = meterRegistry;
     }
 
+    /**
+     * Starts probing the node on its own thread instead of calling it here: startup never waits
+     * on the RPC node. Until the first probe answers, calls are attempted (and fail on their own
+     * if the node is down); a first failed probe marks the node unavailable. A node that goes
+     * away later is marked unavailable after {@code web3.probe.failure-threshold} failed probes
+     * in a row, and back on the next success. {@code BlockchainHealthIndicator} publishes the
+     * state for the readiness probe.
+     */
     @PostConstruct
     public void init() {
+        if (contractAddress == null || contractAddress.isBlank()) {
+            log.warn("No contract address configured. Blockchain features disabled.");
+            return;
+        }
+        nodeState = NodeState.NOT_PROBED;
+        Gauge.builder("digitalseal.blockchain.node.available", this, s -> s.nodeState == NodeState.UP ? 1 : 0)
+                .description("1 while the last node probes succeed")
+                .register(meterRegistry);
+        prober = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "blockchain-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(this::probeNode, 0, probeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+
+    private void probeNode() {
         try {
-            if (contractAddress != null && !contractAddress.isBlank()) {
-                web3j.web3ClientVersion().send();
-                blockchainAvailable = true;
-                log.info("Blockchain service initialized. Contract: {}", contractAddress);
-            } else {
-                log.warn("No contract address configured. Blockchain features disabled.");
+            String clientVersion = web3j.web3ClientVersion().send().getWeb3ClientVersion();
+            consecutiveProbeFailures = 0;
+            if (nodeState != NodeState.UP) {
+                nodeState = NodeState.UP;
+                log.info("Blockchain node available ({}). Contract: {}", clientVersion, contractAddress);
             }
         } catch (Exception e) {
-            log.warn("Blockchain node not available: {}. Blockchain features disabled.", e.getMessage());
+            consecutiveProbeFailures++;
+            if (nodeState == NodeState.UP && consecutiveProbeFailures >= probeFailureThreshold) {
+                nodeState = NodeState.DOWN;
+                log.warn("Blockchain node unavailable after {} failed probes: {}. Blockchain features disabled.",
+                        consecutiveProbeFailures, e.getMessage());
+            } else if (nodeState == NodeState.NOT_PROBED) {
+                nodeState = NodeState.DOWN;
+                log.warn("Blockchain node not available: {}. Blockchain features disabled until it answers.",
+                        e.getMessage());
+            }
         }
     }
 
+    /** True unless no contract is configured or the probe has marked the node unavailable */
     public boolean isAvailable() {
-        return blockchainAvailable;
+        NodeState state = nodeState;
+        return state == NodeState.UP || state == NodeState.NOT_PROBED;
+    }
+
+    public NodeState getNodeState() {
+        return nodeState;
+    }
+
+    public int getConsecutiveProbeFailures() {
+        return consecutiveProbeFailures;
     }
 
     // ========== BATCH PRE-MINT ==========
@@ -80,7 +179,7 @@ public class BlockchainService {
      * @return BatchMintResult containing txHash and startTokenId
      */
     public BatchMintResult batchPreMint(String brandWallet, List<String> serials, List<String> metadataURIs, BigInteger priceWei) {
-        if (!blockchainAvailable) {
+        if (!isAvailable()) {
             log.warn("Blockchain not available. Skipping batch premint.");
             return null;
         }
@@ -92,36 +191,17 @@ public class BlockchainService {
             // Mint to the platform wallet (credentials address) so the platform can transfer on claim.
             String platformWallet = credentials.getAddress();
             log.info("Minting {} items to platform wallet: {}", serials.size(), platformWallet);
-            List<Address> recipientAddresses = serials.stream()
-                    .map(s -> new Address(platformWallet))
-                    .toList();
-
-            List<Type> inputParameters = Arrays.asList(
-                new DynamicArray<>(Address.class, recipientAddresses),
-                new DynamicArray<>(Utf8String.class, serials.stream().map(Utf8String::new).toList()),
-                new DynamicArray<>(Utf8String.class, metadataURIs.stream().map(Utf8String::new).toList())
-            );
-
-            List<TypeReference<?>> outputParameters = Collections.singletonList(
-                new TypeReference<DynamicArray<Uint256>>() {}
-            );
-
-            Function function = new Function("batchMintDigitalTwins", inputParameters, outputParameters);
-            String encodedFunction = FunctionEncoder.encode(function);
+            String encodedFunction = DigitalSealAbiCodec.encodeBatchMint(platformWallet, serials, metadataURIs);
 
             // Capture current totalSupply before minting to compute startTokenId
             // Tokens start from 1, so first new token = totalSupply + 1
             BigInteger totalSupplyBefore = getTotalSupply();
             log.info("totalSupply before mint: {}", totalSupplyBefore);
 
-            TransactionManager txManager = new RawTransactionManager(web3j, credentials, 31337L);
-
-            EthSendTransaction txResponse = txManager.sendTransaction(
-                gasProvider.getGasPrice("batchMintDigitalTwins"),
+            EthSendTransaction txResponse = sendTransaction(
+                "batchMintDigitalTwins",
                 BigInteger.valueOf(5_000_000), // gas limit for batch mint
-                contractAddress,
-                encodedFunction,
-                BigInteger.ZERO
+                encodedFunction
             );
 
             if (txResponse.hasError()) {
@@ -132,21 +212,10 @@ public class BlockchainService {
             String txHash = txResponse.getTransactionHash();
             log.info("Batch premint tx sent: {}", txHash);
 
-            // Wait for receipt
-            EthGetTransactionReceipt receiptResponse = web3j.ethGetTransactionReceipt(txHash).send();
-            TransactionReceipt receipt = receiptResponse.getTransactionReceipt().orElse(null);
-
-            // Poll for receipt if not immediately available
-            int attempts = 0;
-            while (receipt == null && attempts < 30) {
-                Thread.sleep(1000);
-                receiptResponse = web3j.ethGetTransactionReceipt(txHash).send();
-                receipt = receiptResponse.getTransactionReceipt().orElse(null);
-                attempts++;
-            }
+            TransactionReceipt receipt = pollReceipt("batchMintDigitalTwins", txHash);
 
             if (receipt == null) {
-                log.warn("Transaction receipt not available after 30s. TxHash: {}", txHash);
+                log.warn("Transaction receipt not available after {}ms. TxHash: {}", receiptTimeoutMillis, txHash);
                 return new BatchMintResult(txHash, null, null);
             }
 
@@ -190,7 +259,7 @@ public class BlockchainService {
      * @param context  Human-readable reason, e.g. "PURCHASE" or "CLAIM".
      */
     public String transferToken(Long tokenId, String toWallet, String context) {
-        if (!blockchainAvailable) {
+        if (!isAvailable()) {
             log.warn("Blockchain not available. Skipping token transfer.");
             return null;
         }
@@ -198,24 +267,12 @@ public class BlockchainService {
         try {
             log.info("Transferring tokenId={} to {} (context: {})", tokenId, toWallet, context);
 
-            String fromWallet = credentials.getAddress();
-            List<Type> inputParameters = Arrays.asList(
-                new Address(fromWallet),
-                new Address(toWallet),
-                new Uint256(BigInteger.valueOf(tokenId))
-            );
-
-            Function function = new Function("secureTransfer", inputParameters, Collections.emptyList());
-            String encodedFunction = FunctionEncoder.encode(function);
-
-            TransactionManager txManager = new RawTransactionManager(web3j, credentials, 31337L);
+            String encodedFunction = DigitalSealAbiCodec.encodeSecureTransfer(credentials.getAddress(), toWallet, tokenId);
 
-            EthSendTransaction txResponse = txManager.sendTransaction(
-                gasProvider.getGasPrice("secureTransfer"),
+            EthSendTransaction txResponse = sendTransaction(
+                "secureTransfer",
                 BigInteger.valueOf(1_000_000),
-                contractAddress,
-                encodedFunction,
-                BigInteger.ZERO
+                encodedFunction
             );
 
             if (txResponse.hasError()) {
@@ -225,7 +282,7 @@ public class BlockchainService {
             String txHash = txResponse.getTransactionHash();
             log.info("Token transfer tx sent: {}", txHash);
 
-            waitForReceipt(txHash);
+            waitForReceipt("secureTransfer", txHash);
 
             return txHash;
 
@@ -243,54 +300,13 @@ public class BlockchainService {
      * Verify a token on-chain (read-only call).
      */
     public VerifyResult verify(Long tokenId) {
-        if (!blockchainAvailable) {
+        if (!isAvailable()) {
             return null;
         }
 
         try {
-            List<Type> inputParameters = Collections.singletonList(
-                new Uint256(BigInteger.valueOf(tokenId))
-            );
-
-            List<TypeReference<?>> outputParameters = Arrays.asList(
-                new TypeReference<Bool>() {},
-                new TypeReference<Utf8String>() {},
-                new TypeReference<Address>() {},
-                new TypeReference<Address>() {},
-                new TypeReference<Bool>() {},
-                new TypeReference<Bool>() {},
-                new TypeReference<Uint256>() {},
-                new TypeReference<Utf8String>() {}
-            );
-
-            Function function = new Function("verify", inputParameters, outputParameters);
-            String encodedFunction = FunctionEncoder.encode(function);
-
-            EthCall response = web3j.ethCall(
-                Transaction.createEthCallTransaction(
-                    credentials.getAddress(),
-                    contractAddress,
-                    encodedFunction
-                ),
-                DefaultBlockParameterName.LATEST
-            ).send();
-
-            List<Type> results = FunctionReturnDecoder.decode(response.getValue(), function.getOutputParameters());
-
-            if (results.isEmpty()) {
-                return null;
-            }
-
-            boolean exists = (Boolean) results.get(0).getValue();
-            String serial = (String) results.get(1).getValue();
-            String brand = (String) results.get(2).getValue();
-            String currentOwner = (String) results.get(3).getValue();
-            boolean isSold = (Boolean) results.get(4).getValue();
-            boolean isClaimed = (Boolean) results.get(5).getValue();
-            BigInteger mintedAt = (BigInteger) results.get(6).getValue();
-            String metadataURI = (String) results.get(7).getValue();
-
-            return new VerifyResult(exists, serial, brand, currentOwner, isSold, isClaimed, mintedAt.longValue(), metadataURI);
+            EthCall response = call(DigitalSealAbiCodec.encodeVerify(tokenId));
+            return DigitalSealAbiCodec.decodeVerify(response.getValue());
 
         } catch (Exception e) {
             log.error("Blockchain verify error: {}", e.getMessage(), e);
@@ -301,7 +317,7 @@ public class BlockchainService {
     // ========== AUTHORIZE BRAND ==========
 
     public String authorizeBrand(String brandWallet, boolean authorized) {
-        if (!blockchainAvailable) {
+        if (!isAvailable()) {
             return null;
         }
 
@@ -314,14 +330,10 @@ public class BlockchainService {
             Function function = new Function("authorizeBrand", inputParameters, Collections.emptyList());
             String encodedFunction = FunctionEncoder.encode(function);
 
-            TransactionManager txManager = new RawTransactionManager(web3j, credentials, 31337L);
-
-            EthSendTransaction txResponse = txManager.sendTransaction(
-                gasProvider.getGasPrice("authorizeBrand"),
+            EthSendTransaction txResponse = sendTransaction(
+                "authorizeBrand",
                 BigInteger.valueOf(100_000),
-                contractAddress,
-                encodedFunction,
-                BigInteger.ZERO
+                encodedFunction
             );
 
             if (txResponse.hasError()) {
@@ -329,7 +341,7 @@ public class BlockchainService {
             }
 
             String txHash = txResponse.getTransactionHash();
-            waitForReceipt(txHash);
+            waitForReceipt("authorizeBrand", txHash);
             log.info("Brand {} authorized={} tx: {}", brandWallet, authorized, txHash);
             return txHash;
 
@@ -342,40 +354,145 @@ public class BlockchainService {
     // ========== HELPERS ==========
 
     private BigInteger getTotalSupply() throws Exception {
-        Function function = new Function("totalSupply", Collections.emptyList(),
-            Collections.singletonList(new TypeReference<Uint256>() {}));
+        return DigitalSealAbiCodec.decodeUint256(call(DigitalSealAbiCodec.TOTAL_SUPPLY_CALL).getValue());
+    }
 
-        String encoded = FunctionEncoder.encode(function);
+    private EthCall call(String data) throws IOException {
+        try {
+            EthCall response = web3j.ethCall(
+                Transaction.createEthCallTransaction(credentials.getAddress(), contractAddress, data),
+                DefaultBlockParameterName.LATEST
+            ).send();
+            if (response.hasError()) {
+                rpcError("eth_call");
+            }
+            return response;
+        } catch (IOException e) {
+            rpcError("eth_call");
+            throw e;
+        }
+    }
 
-        EthCall response = web3j.ethCall(
-            Transaction.createEthCallTransaction(credentials.getAddress(), contractAddress, encoded),
-            DefaultBlockParameterName.LATEST
-        ).send();
+    private EthSendTransaction sendTransaction(String functionName, BigInteger gasLimit, String data)
+            throws IOException {
+        long start = System.nanoTime();
+        String outcome = "error";
+        sendLock.lock();
+        try {
+            EthSendTransaction response = txManager.sendTransaction(
+                gasProvider.getGasPrice(functionName), gasLimit, contractAddress, data, BigInteger.ZERO);
+            outcome = response.hasError() ? "rejected" : "sent";
+            return response;
+        } finally {
+            sendLock.unlock();
+            if (!"sent".equals(outcome)) {
+                rpcError("eth_sendRawTransaction");
+            }
+            Timer.builder("digitalseal.blockchain.tx.send")
+                    .description("Time to sign and submit a contract transaction, including the wait for the send lock")
+                    .tag("function", functionName)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
 
-        List<Type> results = FunctionReturnDecoder.decode(response.getValue(), function.getOutputParameters());
-        return (BigInteger) results.get(0).getValue();
+    private TransactionReceipt waitForReceipt(String functionName, String txHash) throws Exception {
+        TransactionReceipt receipt = pollReceipt(functionName, txHash);
+        if (receipt == null) {
+            log.warn("Receipt not available after {}ms for tx: {}", receiptTimeoutMillis, txHash);
+            return null;
+        }
+        if (!receipt.isStatusOK()) {
+            throw new RuntimeException("Transaction reverted. TxHash: " + txHash);
+        }
+        return receipt;
     }
 
-    private TransactionReceipt waitForReceipt(String txHash) throws Exception {
-        int attempts = 0;
-        while (attempts < 30) {
-            EthGetTransactionReceipt receiptResponse = web3j.ethGetTransactionReceipt(txHash).send();
-            if (receiptResponse.getTransactionReceipt().isPresent()) {
-                TransactionReceipt receipt = receiptResponse.getTransactionReceipt().get();
-                if (!receipt.isStatusOK()) {
-                    throw new RuntimeException("Transaction reverted. TxHash: " + txHash);
+    /**
+     * Polls for the receipt until {@code web3.receipt.timeout-ms}; null if it never arrives.
+     * The caller's thread sleeps between polls — cheap on a virtual thread, a held request
+     * worker on a platform one.
+     */
+    private TransactionReceipt pollReceipt(String functionName, String txHash) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + receiptTimeoutMillis;
+        TransactionReceipt receipt = null;
+        try {
+            while (true) {
+                EthGetTransactionReceipt receiptResponse;
+                try {
+                    receiptResponse = web3j.ethGetTransactionReceipt(txHash).send();
+                } catch (IOException e) {
+                    rpcError("eth_getTransactionReceipt");
+                    throw e;
+                }
+                if (receiptResponse.hasError()) {
+                    rpcError("eth_getTransactionReceipt");
+                }
+                if (receiptResponse.getTransactionReceipt().isPresent()) {
+                    receipt = receiptResponse.getTransactionReceipt().get();
+                    return receipt;
                 }
-                return receipt;
+                if (System.currentTimeMillis() >= deadline) {
+                    return null;
+                }
+                Thread.sleep(receiptPollIntervalMillis);
             }
-            Thread.sleep(1000);
-            attempts++;
+        } finally {
+            recordReceipt(functionName, receipt, System.nanoTime() - start);
+        }
+    }
+
+    // ── Metrics ───────────────────────────────────────────────────────────────
+
+    private void recordReceipt(String functionName, TransactionReceipt receipt, long waitedNanos) {
+        String outcome = receipt == null ? "timeout" : receipt.isStatusOK() ? "mined" : "reverted";
+        Timer.builder("digitalseal.blockchain.receipt.wait")
+                .description("Time from submitting a transaction until its receipt, or until giving up")
+                .tag("function", functionName)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(waitedNanos, TimeUnit.NANOSECONDS);
+        if (receipt == null) {
+            return;
+        }
+        if (receipt.getGasUsedRaw() != null) {
+            DistributionSummary.builder("digitalseal.blockchain.gas.used")
+                    .description("Gas used per mined transaction, reverted ones included")
+                    .baseUnit("gas")
+                    .tag("function", functionName)
+                    .register(meterRegistry)
+                    .record(receipt.getGasUsed().doubleValue());
         }
-        log.warn("Receipt not available after 30s for tx: {}", txHash);
-        return null;
+        if (!receipt.isStatusOK()) {
+            Counter.builder("digitalseal.blockchain.reverts")
+                    .description("Transactions mined with a failed status")
+                    .tag("function", functionName)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private void rpcError(String method) {
+        Counter.builder("digitalseal.blockchain.rpc.errors")
+                .description("JSON-RPC calls that failed in transport or returned an error")
+                .tag("method", method)
+                .register(meterRegistry)
+                .increment();
     }
 
     // ========== RESULT RECORDS ==========
 
+    public enum NodeState {
+        /** No contract address configured */
+        DISABLED,
+        /** Probing started, no answer yet: calls are attempted */
+        NOT_PROBED,
+        UP,
+        DOWN
+    }
+
     public record BatchMintResult(String txHash, BigInteger blockNumber, BigInteger startTokenId) {}
 
     public record VerifyResult(
@@ -3,27 +3,31 @@ package com.digitalseal.service;
 import com.digitalseal.dto.request.CreateBrandRequest;
 import com.digitalseal.dto.request.UpdateBrandRequest;
 import com.digitalseal.dto.response.BrandResponse;
+import com.digitalseal.event.BrandChangedEvent;
 import com.digitalseal.exception.UserAlreadyExistsException;
 import com.digitalseal.model.entity.Brand;
 import com.digitalseal.model.entity.User;
 import com.digitalseal.model.entity.UserRole;
 import com.digitalseal.repository.BrandRepository;
 import com.digitalseal.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "digitalseal.service")
 @Slf4j
 @RequiredArgsConstructor
 public class BrandService {
     
     private final BrandRepository brandRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Register a new brand under the authenticated user
@@ -70,16 +74,16 @@ public class BrandService {
     /**
      * Get all brands owned by the authenticated user
      */
+    @Transactional(readOnly = true)
     public List<BrandResponse> getMyBrands(Long userId) {
-        User user = findUserById(userId);
-        return brandRepository.findByUser(user).stream()
-                .map(this::mapToBrandResponse)
-                .collect(Collectors.toList());
+        findUserById(userId);
+        return brandRepository.findBrandResponsesByUserId(userId);
     }
     
     /**
      * Get a specific brand by ID (public)
      */
+    @Transactional(readOnly = true)
     public BrandResponse getBrandById(Long brandId) {
         Brand brand = brandRepository.findById(brandId)
                 .orElseThrow(() -> new RuntimeException("Brand not found"));
@@ -131,6 +135,7 @@ public class BrandService {
         
         Brand updatedBrand = brandRepository.save(brand);
         log.info("Brand '{}' updated by user ID: {}", updatedBrand.getBrandName(), userId);
+        eventPublisher.publishEvent(new BrandChangedEvent(brandId));
         
         return mapToBrandResponse(updatedBrand);
     }
@@ -147,6 +152,7 @@ public class BrandService {
         
         brandRepository.delete(brand);
         log.info("Brand '{}' deleted by user ID: {}", brand.getBrandName(), userId);
+        eventPublisher.publishEvent(new BrandChangedEvent(brandId));
         
         // If user has no more brands, revert role to OWNER
         List<Brand> remainingBrands = brandRepository.findByUser(user);
@@ -0,0 +1,58 @@
+package com.digitalseal.service;
+
+import com.digitalseal.dto.response.MarketplaceListingResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A marketplace listing page held by {@link ListingPageCache}.
+ *
+ * <p>Behaves like any {@link PageImpl}, but serialises itself by writing JSON that was rendered
+ * once when the page was cached — a hit skips both the database and per-field serialisation.
+ * The JSON is produced from an equivalent plain {@code PageImpl}, so responses are identical.
+ */
+final class CachedListingPage extends PageImpl<MarketplaceListingResponse> implements JsonSerializable {
+
+    private final transient SerializedString json;
+    private final long cachedAtMillis;
+
+    CachedListingPage(List<MarketplaceListingResponse> content, Pageable pageable, long total,
+                      String json, long cachedAtMillis) {
+        super(content, pageable, total);
+        this.json = new SerializedString(json);
+        this.json.asUnquotedUTF8(); // encode once, up front
+        this.cachedAtMillis = cachedAtMillis;
+    }
+
+    long cachedAtMillis() {
+        return cachedAtMillis;
+    }
+
+    boolean containsProduct(Long productId) {
+        for (MarketplaceListingResponse listing : getContent()) {
+            if (listing.getId().equals(productId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
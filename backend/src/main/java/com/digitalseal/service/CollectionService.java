@@ -4,14 +4,17 @@ import com.digitalseal.dto.request.CreateCollectionRequest;
 import com.digitalseal.dto.request.UpdateCollectionRequest;
 import com.digitalseal.dto.response.CollectionResponse;
 import com.digitalseal.exception.UserAlreadyExistsException;
+import com.digitalseal.event.BrandChangedEvent;
 import com.digitalseal.model.entity.Brand;
 import com.digitalseal.model.entity.Collection;
 import com.digitalseal.repository.BrandRepository;
 import com.digitalseal.repository.CollectionRepository;
 import com.digitalseal.repository.ProductRepository;
 import com.digitalseal.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +22,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "digitalseal.service")
 @Slf4j
 @RequiredArgsConstructor
 public class CollectionService {
@@ -27,6 +31,7 @@ public class CollectionService {
     private final BrandRepository brandRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Create a new collection under a brand
@@ -59,6 +64,7 @@ public class CollectionService {
     /**
      * Get all collections for a brand (public)
      */
+    @Transactional(readOnly = true)
     public List<CollectionResponse> getCollectionsByBrand(Long brandId) {
         // Verify brand exists
         brandRepository.findById(brandId)
@@ -72,6 +78,7 @@ public class CollectionService {
     /**
      * Get a specific collection by ID (public)
      */
+    @Transactional(readOnly = true)
     public CollectionResponse getCollectionById(Long collectionId) {
         Collection collection = collectionRepository.findById(collectionId)
                 .orElseThrow(() -> new RuntimeException("Collection not found"));
@@ -116,6 +123,7 @@ public class CollectionService {
         
         Collection updated = collectionRepository.save(collection);
         log.info("Collection '{}' updated by user ID: {}", updated.getCollectionName(), userId);
+        eventPublisher.publishEvent(new BrandChangedEvent(brandId)); // listings show collection names
         
         long productCount = productRepository.countByCollectionId(collectionId);
         return mapToResponse(updated, productCount);
@@ -134,6 +142,7 @@ public class CollectionService {
         // Products FK has ON DELETE SET NULL, so they'll become standalone
         collectionRepository.delete(collection);
         log.info("Collection '{}' deleted by user ID: {}", collection.getCollectionName(), userId);
+        eventPublisher.publishEvent(new BrandChangedEvent(brandId)); // listings show collection names
     }
     
     /**
@@ -0,0 +1,133 @@
+package com.digitalseal.service;
+
+import com.digitalseal.model.entity.Order;
+import com.digitalseal.model.entity.OrderStatus;
+import com.digitalseal.model.entity.ProductStatus;
+import com.digitalseal.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.Tuple;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters for the order and claim flows, and per-product inventory gauges.
+ *
+ * <ul>
+ *   <li>{@code digitalseal.order.transition} — time to handle one order state change, tagged
+ *       {@code from} / {@code to} ({@code from=none} on creation)</li>
+ *   <li>{@code digitalseal.order.lifetime} — order creation to completion or cancellation,
+ *       tagged by the final status</li>
+ *   <li>{@code digitalseal.claim} — a QR claim end to end, NFT transfer included, tagged
+ *       {@code type} (purchased / standalone) and {@code outcome} (claimed / rejected / error)</li>
+ *   <li>{@code digitalseal.inventory.available} — available quantity per LISTED or SOLD_OUT
+ *       product, tagged {@code product} (id), refreshed on a fixed delay and capped at
+ *       {@code app.metrics.inventory.max-products}, newest first</li>
+ * </ul>
+ *
+ * Tags are enum names only, apart from the product id on the capped inventory gauge.
+ * Histogram buckets come from {@code management.metrics.distribution.slo}.
+ */
+@Component
+@Slf4j
+public class CommerceMetrics {
+
+    private static final List<ProductStatus> INVENTORY_STATUSES = List.of(ProductStatus.LISTED, ProductStatus.SOLD_OUT);
+
+    private final MeterRegistry meterRegistry;
+    private final ProductRepository productRepository;
+    private final int maxInventoryProducts;
+
+    private final MultiGauge inventory;
+    private final AtomicInteger trackedProducts = new AtomicInteger();
+
+    public CommerceMetrics(MeterRegistry meterRegistry,
+                           ProductRepository productRepository,
+                           @Value("${app.metrics.inventory.max-products:500}") int maxInventoryProducts) {
+        this.meterRegistry = meterRegistry;
+        this.productRepository = productRepository;
+        this.maxInventoryProducts = maxInventoryProducts;
+
+        this.inventory = MultiGauge.builder("digitalseal.inventory.available")
+                .description("Items still available per listed product")
+                .baseUnit("items")
+                .register(meterRegistry);
+        Gauge.builder("digitalseal.inventory.products", trackedProducts, AtomicInteger::get)
+                .description("Listed or sold-out products with an inventory gauge")
+                .register(meterRegistry);
+    }
+
+    // ── Orders ────────────────────────────────────────────────────────────────
+
+    /**
+     * Records a state change handled since {@code startNanos} ({@link System#nanoTime()}).
+     * {@code from} is null for a new order.
+     */
+    public void orderTransition(OrderStatus from, OrderStatus to, long startNanos) {
+        Timer.builder("digitalseal.order.transition")
+                .description("Time to handle an order state change")
+                .tag("from", from == null ? "none" : from.name())
+                .tag("to", to.name())
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Records how long a completed or cancelled order took from creation */
+    public void orderClosed(Order order) {
+        if (order.getCreatedAt() == null) {
+            return;
+        }
+        Duration lifetime = Duration.between(order.getCreatedAt(), LocalDateTime.now());
+        Timer.builder("digitalseal.order.lifetime")
+                .description("Time from order creation to completion or cancellation")
+                .tag("status", order.getStatus().name())
+                .register(meterRegistry)
+                .record(lifetime.isNegative() ? Duration.ZERO : lifetime);
+    }
+
+    // ── Claims ────────────────────────────────────────────────────────────────
+
+    /**
+     * Records a claim attempt started at {@code startNanos}. {@code type} is "purchased",
+     * "standalone" or "unknown" (rejected before the item was found).
+     */
+    public void claim(String type, String outcome, long startNanos) {
+        Timer.builder("digitalseal.claim")
+                .description("Time to claim an item by QR code, NFT transfer included")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ── Inventory ─────────────────────────────────────────────────────────────
+
+    @Scheduled(fixedDelayString = "${app.metrics.inventory.refresh-ms:60000}")
+    public void refreshInventory() {
+        try {
+            List<Tuple> rows = productRepository.findInventoryByStatusIn(
+                    INVENTORY_STATUSES, PageRequest.of(0, maxInventoryProducts));
+            inventory.register(rows.stream()
+                    .<MultiGauge.Row<?>>map(row -> MultiGauge.Row.of(
+                            Tags.of("product", String.valueOf(row.get("id", Long.class))),
+                            row.get("available", Integer.class)))
+                    .toList(), true);
+            trackedProducts.set(rows.size());
+        } catch (RuntimeException e) {
+            // Keep the last values; the next refresh retries
+            log.warn("Inventory gauge refresh failed: {}", e.getMessage());
+        }
+    }
+}
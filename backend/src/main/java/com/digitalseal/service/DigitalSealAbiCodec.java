@@ -0,0 +1,363 @@
+package com.digitalseal.service;
+
+import org.web3j.crypto.Hash;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * ABI encoding and decoding for the Digital Seal contract calls {@link BlockchainService} makes
+ * on every verify, claim and pre-mint. web3j's generic path builds a {@code Function} of
+ * {@code Type} objects per call, decodes through {@code TypeReference} reflection and goes via
+ * intermediate hex strings for every word. Here each call has a fixed layout: selectors are
+ * hashed once, calldata is sized up front and its hex digits written straight into one byte
+ * array, and {@code verify} results are read from the response hex into a {@code VerifyResult}
+ * without building {@code Type} objects.
+ *
+ * <p>The output is byte for byte what {@code FunctionEncoder} produces, with one exception:
+ * web3j 4.10 places the elements of a {@code string[]} by {@code String.length()} rather than by
+ * UTF-8 byte length, so a batch mint with non-ASCII serials or URIs came out with overlapping
+ * offsets. Here they follow the ABI spec. Decoding accepts what {@code FunctionReturnDecoder}
+ * accepts for these signatures. Malformed input throws {@link IllegalArgumentException}.
+ */
+public final class DigitalSealAbiCodec {
+
+    private static final int WORD_DIGITS = 64;
+    private static final int SELECTOR_DIGITS = 8;
+    private static final int ADDRESS_DIGITS = 40;
+    private static final byte[] DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] BATCH_MINT = selector("batchMintDigitalTwins(address[],string[],string[])");
+    private static final byte[] SECURE_TRANSFER = selector("secureTransfer(address,address,uint256)");
+    private static final byte[] VERIFY = selector("verify(uint256)");
+
+    /** {@code totalSupply()} takes no arguments, so its calldata is the selector alone */
+    public static final String TOTAL_SUPPLY_CALL = "0x" + new String(selector("totalSupply()"), StandardCharsets.US_ASCII);
+
+    /** Return values of {@code verify(uint256)}: bool, string, address, address, bool, bool, uint256, string */
+    private static final int VERIFY_RESULT_WORDS = 8;
+
+    private DigitalSealAbiCodec() {
+    }
+
+    // ── Calls ─────────────────────────────────────────────────────────────────
+
+    /** {@code verify(uint256 tokenId)} */
+    public static String encodeVerify(long tokenId) {
+        byte[] out = calldata(1);
+        int at = writeSelector(out, VERIFY);
+        writeUint(out, at, tokenId);
+        return ascii(out);
+    }
+
+    /** {@code secureTransfer(address from, address to, uint256 tokenId)} */
+    public static String encodeSecureTransfer(String from, String to, long tokenId) {
+        byte[] out = calldata(3);
+        int at = writeSelector(out, SECURE_TRANSFER);
+        at = writeAddress(out, at, from);
+        at = writeAddress(out, at, to);
+        writeUint(out, at, tokenId);
+        return ascii(out);
+    }
+
+    /**
+     * {@code batchMintDigitalTwins(address[] recipients, string[] serialNumbers, string[] ipfsUris)},
+     * minting every item to the same {@code recipient}: its word is encoded once and copied.
+     */
+    public static String encodeBatchMint(String recipient, List<String> serials, List<String> metadataURIs) {
+        int count = serials.size();
+        int recipientsWords = 1 + count;
+        int serialsWords = stringArrayWords(serials);
+        int urisWords = stringArrayWords(metadataURIs);
+        byte[] out = calldata(3 + recipientsWords + serialsWords + urisWords);
+
+        int at = writeSelector(out, BATCH_MINT);
+        // Head: where each array starts, in bytes from the start of the arguments
+        at = writeUint(out, at, 3 * 32L);
+        at = writeUint(out, at, (3L + recipientsWords) * 32);
+        at = writeUint(out, at, (3L + recipientsWords + serialsWords) * 32);
+
+        at = writeUint(out, at, count);
+        if (count > 0) {
+            int first = at;
+            at = writeAddress(out, at, recipient);
+            for (int i = 1; i < count; i++) {
+                System.arraycopy(out, first, out, at, WORD_DIGITS);
+                at += WORD_DIGITS;
+            }
+        }
+        at = writeStringArray(out, at, serials);
+        writeStringArray(out, at, metadataURIs);
+        return ascii(out);
+    }
+
+    // ── Results ───────────────────────────────────────────────────────────────
+
+    /**
+     * The return values of {@code verify(uint256)}; null for an empty result ({@code 0x}), which is
+     * what a node answers when there is no contract at the address.
+     */
+    public static BlockchainService.VerifyResult decodeVerify(String result) {
+        int base = payloadStart(result);
+        if (result.length() == base) {
+            return null;
+        }
+        requireLength(result, base, VERIFY_RESULT_WORDS * WORD_DIGITS);
+        return new BlockchainService.VerifyResult(
+                readBool(result, word(base, 0)),
+                readString(result, base, word(base, 1)),
+                readAddress(result, word(base, 2)),
+                readAddress(result, word(base, 3)),
+                readBool(result, word(base, 4)),
+                readBool(result, word(base, 5)),
+                readLowLong(result, word(base, 6)),
+                readString(result, base, word(base, 7)));
+    }
+
+    /** A single {@code uint256} result, such as {@code totalSupply()}'s */
+    public static BigInteger decodeUint256(String result) {
+        int base = payloadStart(result);
+        requireLength(result, base, WORD_DIGITS);
+        int significant = base;
+        while (significant < base + WORD_DIGITS && result.charAt(significant) == '0') {
+            significant++;
+        }
+        if (base + WORD_DIGITS - significant < 16) {
+            return BigInteger.valueOf(readLowLong(result, base));
+        }
+        return new BigInteger(result.substring(base, base + WORD_DIGITS), 16);
+    }
+
+    // ── Encoding ──────────────────────────────────────────────────────────────
+
+    /** "0x", the selector and {@code words} argument words, as ASCII hex digits */
+    private static byte[] calldata(int words) {
+        long digits = 2L + SELECTOR_DIGITS + (long) words * WORD_DIGITS;
+        if (digits > Integer.MAX_VALUE - 16) {
+            throw new IllegalArgumentException("Calldata too large: " + words + " words");
+        }
+        byte[] out = new byte[(int) digits];
+        out[0] = '0';
+        out[1] = 'x';
+        return out;
+    }
+
+    private static int writeSelector(byte[] out, byte[] selector) {
+        System.arraycopy(selector, 0, out, 2, SELECTOR_DIGITS);
+        return 2 + SELECTOR_DIGITS;
+    }
+
+    private static int writeUint(byte[] out, int at, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative uint256: " + value);
+        }
+        int end = at + WORD_DIGITS;
+        for (int i = end - 1; i >= at; i--) {
+            out[i] = DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return end;
+    }
+
+    /** Left-padded like any uint160; accepts addresses with or without 0x, in any case */
+    private static int writeAddress(byte[] out, int at, String address) {
+        int start = address.startsWith("0x") || address.startsWith("0X") ? 2 : 0;
+        int digits = address.length() - start;
+        if (digits == 0 || digits > ADDRESS_DIGITS) {
+            throw new IllegalArgumentException("Not an address: " + address);
+        }
+        int end = at + WORD_DIGITS;
+        int pad = end - digits;
+        for (int i = at; i < pad; i++) {
+            out[i] = '0';
+        }
+        for (int i = 0; i < digits; i++) {
+            out[pad + i] = DIGITS[digit(address, start + i)];
+        }
+        return end;
+    }
+
+    /** Length, offsets relative to the first offset, then each string as length and padded bytes */
+    private static int writeStringArray(byte[] out, int at, List<String> values) {
+        int count = values.size();
+        at = writeUint(out, at, count);
+        long offset = (long) count * 32;
+        for (String value : values) {
+            at = writeUint(out, at, offset);
+            offset += 32 + paddedLength(utf8Length(value));
+        }
+        for (String value : values) {
+            int length = utf8Length(value);
+            at = writeUint(out, at, length);
+            int end = at + paddedLength(length) * 2;
+            at = writeUtf8(out, at, value);
+            while (at < end) {
+                out[at++] = '0';
+            }
+        }
+        return at;
+    }
+
+    private static int stringArrayWords(List<String> values) {
+        int words = 1 + values.size();
+        for (String value : values) {
+            words += 1 + paddedLength(utf8Length(value)) / 32;
+        }
+        return words;
+    }
+
+    private static int paddedLength(int bytes) {
+        return (bytes + 31) & ~31;
+    }
+
+    /** What {@code value.getBytes(UTF_8)} would produce, lone surrogates included (as '?') */
+    private static int utf8Length(String value) {
+        int bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes += 1;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static int writeUtf8(byte[] out, int at, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                at = writeByte(out, at, c);
+            } else if (c < 0x800) {
+                at = writeByte(out, at, 0xC0 | (c >> 6));
+                at = writeByte(out, at, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                at = writeByte(out, at, 0xF0 | (codePoint >> 18));
+                at = writeByte(out, at, 0x80 | ((codePoint >> 12) & 0x3F));
+                at = writeByte(out, at, 0x80 | ((codePoint >> 6) & 0x3F));
+                at = writeByte(out, at, 0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                at = writeByte(out, at, '?');
+            } else {
+                at = writeByte(out, at, 0xE0 | (c >> 12));
+                at = writeByte(out, at, 0x80 | ((c >> 6) & 0x3F));
+                at = writeByte(out, at, 0x80 | (c & 0x3F));
+            }
+        }
+        return at;
+    }
+
+    private static int writeByte(byte[] out, int at, int b) {
+        out[at] = DIGITS[(b >> 4) & 0xF];
+        out[at + 1] = DIGITS[b & 0xF];
+        return at + 2;
+    }
+
+    private static String ascii(byte[] digits) {
+        return new String(digits, StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] selector(String signature) {
+        // Hash.sha3String returns "0x" and 64 lower-case digits; the selector is the first four bytes
+        return Hash.sha3String(signature).substring(2, 2 + SELECTOR_DIGITS).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // ── Decoding ──────────────────────────────────────────────────────────────
+
+    private static int payloadStart(String result) {
+        if (result == null) {
+            throw new IllegalArgumentException("No result");
+        }
+        return result.startsWith("0x") || result.startsWith("0X") ? 2 : 0;
+    }
+
+    private static void requireLength(String result, int from, long digits) {
+        if (result.length() - from < digits) {
+            throw new IllegalArgumentException("Result too short: " + (result.length() - from) + " hex digits");
+        }
+    }
+
+    private static int word(int base, int index) {
+        return base + index * WORD_DIGITS;
+    }
+
+    /** True only for exactly 1, as web3j decodes a bool */
+    private static boolean readBool(String result, int at) {
+        for (int i = at; i < at + WORD_DIGITS - 1; i++) {
+            if (result.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return result.charAt(at + WORD_DIGITS - 1) == '1';
+    }
+
+    /** The low 64 bits, as {@code BigInteger.longValue()} would give */
+    private static long readLowLong(String result, int at) {
+        long value = 0;
+        for (int i = at + WORD_DIGITS - 16; i < at + WORD_DIGITS; i++) {
+            value = (value << 4) | digit(result, i);
+        }
+        return value;
+    }
+
+    private static String readAddress(String result, int at) {
+        for (int i = at; i < at + WORD_DIGITS - ADDRESS_DIGITS; i++) {
+            if (result.charAt(i) != '0') {
+                throw new IllegalArgumentException("Address word wider than 160 bits at digit " + at);
+            }
+        }
+        byte[] address = new byte[2 + ADDRESS_DIGITS];
+        address[0] = '0';
+        address[1] = 'x';
+        int from = at + WORD_DIGITS - ADDRESS_DIGITS;
+        for (int i = 0; i < ADDRESS_DIGITS; i++) {
+            address[2 + i] = DIGITS[digit(result, from + i)];
+        }
+        return ascii(address);
+    }
+
+    /** A dynamic string: the head word holds its offset from {@code base} in bytes */
+    private static String readString(String result, int base, int headAt) {
+        int start = base + toIndex(readLowLong(result, headAt)) * 2;
+        requireLength(result, start, WORD_DIGITS);
+        int length = toIndex(readLowLong(result, start));
+        int from = start + WORD_DIGITS;
+        requireLength(result, from, (long) length * 2);
+        byte[] utf8 = new byte[length];
+        for (int i = 0; i < length; i++) {
+            utf8[i] = (byte) (digit(result, from + 2 * i) << 4 | digit(result, from + 2 * i + 1));
+        }
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int toIndex(long value) {
+        if (value < 0 || value > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException("Offset or length out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    private static int digit(String hex, int at) {
+        char c = hex.charAt(at);
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        throw new IllegalArgumentException("Not a hex digit at " + at + ": '" + c + "'");
+    }
+}
@@ -0,0 +1,326 @@
+package com.digitalseal.service;
+
+import com.digitalseal.config.AsyncConfig;
+import com.digitalseal.event.EmailQueuedEvent;
+import com.digitalseal.model.entity.EmailOutbox;
+import com.digitalseal.model.entity.EmailStatus;
+import com.digitalseal.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers the {@code email_outbox}.
+ *
+ * <p>Each round claims a batch of due emails (skipping rows another node has locked), splits
+ * it across up to {@code app.mail.pool.max-connections} pooled SMTP connections on the email
+ * executor, and records each outcome. A round starts as soon as a queued email commits and
+ * again every {@code poll-interval-ms} for retries; rounds on one node never overlap, so
+ * emails queued while one runs are sent together in the next.
+ *
+ * <p>A refused or failed email is retried with exponential backoff until {@code max-attempts};
+ * a permanent refusal (SMTP 5xx) fails it at once. If a node stops mid-round, its claimed rows
+ * become due again after {@code claim-timeout-ms}.
+ */
+@Service
+@Slf4j
+public class EmailOutboxSender {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final SmtpTransportPool transportPool;
+    private final Executor executor;
+    private final TransactionTemplate tx;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration claimTimeout;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer roundTimer;
+
+    private final AtomicBoolean sending = new AtomicBoolean(false);
+    private final AtomicBoolean roundRequested = new AtomicBoolean(false);
+    private final AtomicBoolean roundSubmitted = new AtomicBoolean(false);
+
+    public EmailOutboxSender(EmailOutboxRepository outboxRepository,
+                             EmailService emailService,
+                             SmtpTransportPool transportPool,
+                             @Qualifier(AsyncConfig.EMAIL_EXECUTOR) Executor executor,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.mail.outbox.enabled:true}") boolean enabled,
+                             @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                             @Value("${app.mail.outbox.claim-timeout-ms:300000}") long claimTimeoutMs,
+                             @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+                             @Value("${app.mail.outbox.initial-backoff-ms:30000}") long initialBackoffMs,
+                             @Value("${app.mail.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                             @Value("${app.mail.outbox.retention-days:7}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.transportPool = transportPool;
+        this.executor = executor;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.retention = Duration.ofDays(retentionDays);
+
+        this.sent = Counter.builder("digitalseal.mail.sent")
+                .description("Emails accepted by the SMTP server")
+                .register(meterRegistry);
+        this.retried = Counter.builder("digitalseal.mail.failures")
+                .tag("outcome", "retry")
+                .description("Email delivery attempts that failed")
+                .register(meterRegistry);
+        this.failed = Counter.builder("digitalseal.mail.failures")
+                .tag("outcome", "failed")
+                .description("Email delivery attempts that failed")
+                .register(meterRegistry);
+        this.roundTimer = Timer.builder("digitalseal.mail.outbox.round")
+                .description("Time to claim, send and record one batch of queued emails")
+                .register(meterRegistry);
+    }
+
+    // ── Triggers ──────────────────────────────────────────────────────────────
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmailQueued(EmailQueuedEvent event) {
+        requestRound();
+    }
+
+    /**
+     * Retries, emails queued on other nodes, and claims abandoned by a stopped node.
+     */
+    @Scheduled(initialDelayString = "${app.mail.outbox.poll-interval-ms:5000}",
+               fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        transportPool.evictIdle();
+        requestRound();
+    }
+
+    @Scheduled(initialDelayString = "${app.mail.outbox.purge-interval-ms:3600000}",
+               fixedDelayString = "${app.mail.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        Integer deleted = tx.execute(status -> outboxRepository.deleteFinishedBefore(
+                List.of(EmailStatus.SENT, EmailStatus.FAILED), LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Email outbox: purged {} finished email(s) older than {} days", deleted, retention.toDays());
+        }
+    }
+
+    /** Run rounds on the email executor; at most one submission waits there at a time. */
+    private void requestRound() {
+        if (!enabled) {
+            return;
+        }
+        roundRequested.set(true);
+        if (roundSubmitted.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                roundSubmitted.set(false);
+                sendDue();
+            });
+        }
+    }
+
+    private void sendDue() {
+        // A request that lands just as the running loop exits is picked up by re-checking the flag
+        while (roundRequested.get() && sending.compareAndSet(false, true)) {
+            try {
+                int claimed;
+                do {
+                    roundRequested.set(false);
+                    claimed = roundTimer.record(this::sendRound);
+                } while (claimed == batchSize || roundRequested.get());
+            } catch (RuntimeException e) {
+                log.error("[SYSTEM][EMAIL_OUTBOX_FAILED] {}", e.getMessage(), e);
+            } finally {
+                sending.set(false);
+            }
+        }
+    }
+
+    // ── Rounds ────────────────────────────────────────────────────────────────
+
+    /** Claim, send and record one batch; returns how many emails were claimed */
+    private int sendRound() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = tx.execute(status -> {
+            List<Long> ids = outboxRepository.lockDueIds(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.<EmailOutbox>of();
+            }
+            outboxRepository.claim(ids, now.plus(claimTimeout));
+            return outboxRepository.findAllById(ids);
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        int connections = Math.min(transportPool.maxConnections(), batch.size());
+        int perConnection = (batch.size() + connections - 1) / connections;
+        List<CompletableFuture<Void>> others = new ArrayList<>();
+        for (int from = perConnection; from < batch.size(); from += perConnection) {
+            List<EmailOutbox> slice = batch.subList(from, Math.min(from + perConnection, batch.size()));
+            others.add(CompletableFuture.runAsync(() -> sendAndRecord(slice), executor));
+        }
+        sendAndRecord(batch.subList(0, perConnection));
+        CompletableFuture.allOf(others.toArray(CompletableFuture[]::new)).join();
+        return batch.size();
+    }
+
+    /** Send emails over one connection, then record every outcome in one transaction */
+    private void sendAndRecord(List<EmailOutbox> emails) {
+        Outcomes outcomes = new Outcomes();
+        int next = 0;
+        try (SmtpTransportPool.Connection connection = transportPool.borrow()) {
+            try {
+                for (; next < emails.size(); next++) {
+                    send(connection, emails.get(next), outcomes);
+                }
+            } catch (MessagingException e) {
+                // The connection failed: this email counts as attempted, the rest were never offered
+                connection.discard();
+                outcomes.retry(emails.get(next), e);
+                List<EmailOutbox> untried = emails.subList(next + 1, emails.size());
+                untried.forEach(email -> outcomes.release.add(email.getId()));
+                log.warn("SMTP connection failed after {} of {} email(s): {}", next, emails.size(), e.getMessage());
+            }
+        } catch (MessagingException e) {
+            // Could not connect or log in — back off every email in this slice
+            emails.forEach(email -> outcomes.retry(email, e));
+            log.warn("Could not open SMTP connection: {}", e.getMessage());
+        } finally {
+            record(outcomes);
+        }
+    }
+
+    private void send(SmtpTransportPool.Connection connection, EmailOutbox email, Outcomes outcomes)
+            throws MessagingException {
+        MimeMessage message;
+        try {
+            message = emailService.buildMessage(email);
+        } catch (MessagingException e) {
+            outcomes.fail(email, e);
+            return;
+        }
+        try {
+            connection.send(message);
+            outcomes.sent.add(email.getId());
+        } catch (SendFailedException e) {
+            if (isPermanent(e)) {
+                outcomes.fail(email, e);
+            } else {
+                outcomes.retry(email, e);
+            }
+        }
+    }
+
+    private void record(Outcomes outcomes) {
+        LocalDateTime now = LocalDateTime.now();
+        tx.executeWithoutResult(status -> {
+            if (!outcomes.sent.isEmpty()) {
+                outboxRepository.markSent(outcomes.sent, now);
+            }
+            if (!outcomes.release.isEmpty()) {
+                outboxRepository.release(outcomes.release, now, null);
+            }
+            outcomes.retries.forEach((email, error) -> outboxRepository.reschedule(
+                    email.getId(), now.plus(backoff(email.getAttempts())), error));
+            outcomes.failures.forEach((email, error) -> outboxRepository.markFailed(email.getId(), error));
+        });
+
+        sent.increment(outcomes.sent.size());
+        retried.increment(outcomes.retries.size());
+        failed.increment(outcomes.failures.size());
+        outcomes.failures.forEach((email, error) -> log.error("[SYSTEM][EMAIL_FAILED] {} email {} to {} after {} attempt(s): {}",
+                email.getTemplate(), email.getId(), email.getRecipient(), email.getAttempts(), error));
+        if (!outcomes.sent.isEmpty()) {
+            log.info("Sent {} email(s)", outcomes.sent.size());
+        }
+    }
+
+    /** Doubling from {@code initial-backoff-ms}, capped, with ±10% jitter so retries spread out */
+    private Duration backoff(int attempts) {
+        long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        return Duration.ofMillis((long) (capped * ThreadLocalRandom.current().nextDouble(0.9, 1.1)));
+    }
+
+    /** 5xx means the server will not take this message or recipient, however often it is offered */
+    private static boolean isPermanent(SendFailedException e) {
+        for (Exception cause = e; cause != null;
+             cause = cause instanceof MessagingException m ? m.getNextException() : null) {
+            if (cause instanceof SMTPSendFailedException s && s.getReturnCode() >= 500) {
+                return true;
+            }
+            if (cause instanceof SMTPAddressFailedException a && a.getReturnCode() >= 500) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** What happened to each email of one slice, keyed by row */
+    private final class Outcomes {
+        final List<Long> sent = new ArrayList<>();
+        final List<Long> release = new ArrayList<>();
+        final Map<EmailOutbox, String> retries = new LinkedHashMap<>();
+        final Map<EmailOutbox, String> failures = new LinkedHashMap<>();
+
+        void retry(EmailOutbox email, Exception e) {
+            if (email.getAttempts() >= maxAttempts) {
+                fail(email, e);
+            } else {
+                retries.put(email, describe(e));
+            }
+        }
+
+        void fail(EmailOutbox email, Exception e) {
+            failures.put(email, describe(e));
+        }
+    }
+
+    /** The message plus the server's reply, which JavaMail nests ("Invalid Addresses: 550 …") */
+    private static String describe(Exception e) {
+        String message = String.valueOf(e.getMessage()).strip();
+        if (e instanceof MessagingException m && m.getNextException() != null) {
+            message += ": " + String.valueOf(m.getNextException().getMessage()).strip();
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
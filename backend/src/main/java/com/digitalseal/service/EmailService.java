@@ -1,117 +1,181 @@
 package com.digitalseal.service;
 
+import com.digitalseal.event.EmailQueuedEvent;
+import com.digitalseal.model.entity.EmailOutbox;
+import com.digitalseal.model.entity.EmailTemplate;
+import com.digitalseal.repository.EmailOutboxRepository;
+import com.digitalseal.util.HtmlTemplate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Transactional emails.
+ *
+ * <p>Callers queue an email in the {@code email_outbox} table as part of their own transaction,
+ * so it is sent if and only if the change that triggered it commits, and survives a restart or
+ * an SMTP outage. {@link EmailOutboxSender} delivers it; this class owns the templates and
+ * builds the message when it is sent.
+ */
 @Service
+@Observed(name = "digitalseal.service")
 @Slf4j
-@RequiredArgsConstructor
 public class EmailService {
-    
+
+    private static final TypeReference<Map<String, String>> VARIABLES = new TypeReference<>() {};
+
+    private static final String LAYOUT = """
+            <div style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
+                <div style="text-align: center; padding: 20px 0;">
+                    <h1 style="color: #1a1a2e; margin: 0;">Digital Seal</h1>
+                    <p style="color: #666; font-size: 14px;">Luxury Product Authentication</p>
+                </div>
+                <div style="background: #f8f9fa; border-radius: 10px; padding: 30px; text-align: center;">
+            %s
+                </div>
+                <div style="text-align: center; padding: 20px 0; color: #aaa; font-size: 12px;">
+                    <p>&copy; 2026 Digital Seal. All rights reserved.</p>
+                </div>
+            </div>
+            """;
+
+    private static final String CODE_BLOCK = """
+                    <div style="background: #1a1a2e; color: #fff; font-size: 32px; letter-spacing: 8px;
+                                padding: 15px 30px; border-radius: 8px; display: inline-block; margin: 20px 0;
+                                font-weight: bold;">
+                        {{code}}
+                    </div>
+                    <p style="color: #888; font-size: 13px;">This code expires in <strong>10 minutes</strong>.</p>
+            """;
+
+    private static final Map<EmailTemplate, Template> TEMPLATES = new EnumMap<>(Map.of(
+            EmailTemplate.EMAIL_VERIFICATION, new Template("Digital Seal - Verify Your Email", """
+                    <h2 style="color: #1a1a2e;">Verify Your Email</h2>
+                    <p style="color: #555;">Hi {{name}},</p>
+                    <p style="color: #555;">Use the following 6-digit code to verify your email address:</p>
+            """ + CODE_BLOCK + """
+                    <p style="color: #888; font-size: 13px;">If you didn't create an account, you can safely ignore this email.</p>
+            """),
+            EmailTemplate.PASSWORD_RESET, new Template("Digital Seal - Password Reset", """
+                    <h2 style="color: #1a1a2e;">Reset Your Password</h2>
+                    <p style="color: #555;">Hi {{name}},</p>
+                    <p style="color: #555;">We received a request to reset your password. Use the following code:</p>
+            """ + CODE_BLOCK + """
+                    <p style="color: #888; font-size: 13px;">If you didn't request a password reset, you can safely ignore this email.</p>
+            """)));
+
+    /** Subject plus the layout-wrapped body, parsed once at class load */
+    private record Template(String subject, HtmlTemplate html) {
+        Template(String subject, String content) {
+            this(subject, HtmlTemplate.compile(LAYOUT.formatted(content.stripTrailing())));
+        }
+    }
+
+    private final EmailOutboxRepository outboxRepository;
     private final JavaMailSender mailSender;
-    
-    @Value("${app.mail.from}")
-    private String fromEmail;
-    
-    @Value("${app.mail.from-name}")
-    private String fromName;
-    
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String fromEmail;
+    private final String fromName;
+
+    public EmailService(EmailOutboxRepository outboxRepository,
+                        JavaMailSender mailSender,
+                        ObjectMapper objectMapper,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${app.mail.from}") String fromEmail,
+                        @Value("${app.mail.from-name}") String fromName) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.fromEmail = fromEmail;
+        this.fromName = fromName;
+    }
+
     /**
-     * Send email verification code
+     * Queue the email verification code
      */
-    @Async
+    @Transactional
     public void sendVerificationEmail(String toEmail, String code, String firstName) {
-        String subject = "Digital Seal - Verify Your Email";
-        String content = buildVerificationEmailContent(code, firstName);
-        sendHtmlEmail(toEmail, subject, content);
+        enqueue(EmailTemplate.EMAIL_VERIFICATION, toEmail, Map.of("name", greetingName(firstName), "code", code));
     }
-    
+
     /**
-     * Send password reset code
+     * Queue the password reset code
      */
-    @Async
+    @Transactional
     public void sendPasswordResetEmail(String toEmail, String code, String firstName) {
-        String subject = "Digital Seal - Password Reset";
-        String content = buildPasswordResetEmailContent(code, firstName);
-        sendHtmlEmail(toEmail, subject, content);
+        enqueue(EmailTemplate.PASSWORD_RESET, toEmail, Map.of("name", greetingName(firstName), "code", code));
     }
-    
-    private void sendHtmlEmail(String to, String subject, String htmlContent) {
+
+    private void enqueue(EmailTemplate template, String to, Map<String, String> variables) {
+        String json;
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail, fromName);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
-        } catch (MessagingException | java.io.UnsupportedEncodingException e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
-            throw new RuntimeException("Failed to send email", e);
+            json = objectMapper.writeValueAsString(variables);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise email variables", e);
         }
+        EmailOutbox saved = outboxRepository.save(EmailOutbox.builder()
+                .recipient(to)
+                .template(template)
+                .variables(json)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(new EmailQueuedEvent(saved.getId()));
+        log.debug("Queued {} email {} to {}", template, saved.getId(), to);
     }
-    
-    private String buildVerificationEmailContent(String code, String firstName) {
-        String name = (firstName != null && !firstName.isBlank()) ? firstName : "there";
-        return """
-                <div style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <div style="text-align: center; padding: 20px 0;">
-                        <h1 style="color: #1a1a2e; margin: 0;">Digital Seal</h1>
-                        <p style="color: #666; font-size: 14px;">Luxury Product Authentication</p>
-                    </div>
-                    <div style="background: #f8f9fa; border-radius: 10px; padding: 30px; text-align: center;">
-                        <h2 style="color: #1a1a2e;">Verify Your Email</h2>
-                        <p style="color: #555;">Hi %s,</p>
-                        <p style="color: #555;">Use the following 6-digit code to verify your email address:</p>
-                        <div style="background: #1a1a2e; color: #fff; font-size: 32px; letter-spacing: 8px; 
-                                    padding: 15px 30px; border-radius: 8px; display: inline-block; margin: 20px 0;
-                                    font-weight: bold;">
-                            %s
-                        </div>
-                        <p style="color: #888; font-size: 13px;">This code expires in <strong>10 minutes</strong>.</p>
-                        <p style="color: #888; font-size: 13px;">If you didn't create an account, you can safely ignore this email.</p>
-                    </div>
-                    <div style="text-align: center; padding: 20px 0; color: #aaa; font-size: 12px;">
-                        <p>&copy; 2026 Digital Seal. All rights reserved.</p>
-                    </div>
-                </div>
-                """.formatted(name, code);
+
+    // ── Rendering ─────────────────────────────────────────────────────────────
+
+    /**
+     * Build the message for a queued email.
+     *
+     * @throws MessagingException if the row cannot be rendered — retrying will not help
+     */
+    MimeMessage buildMessage(EmailOutbox email) throws MessagingException {
+        Template template = TEMPLATES.get(email.getTemplate());
+        Map<String, String> variables;
+        try {
+            variables = objectMapper.readValue(email.getVariables(), VARIABLES);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MessagingException("Unreadable template variables", e);
+        }
+        String html;
+        try {
+            html = template.html().render(variables);
+        } catch (IllegalArgumentException e) {
+            throw new MessagingException(e.getMessage(), e);
+        }
+
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        try {
+            helper.setFrom(fromEmail, fromName);
+        } catch (java.io.UnsupportedEncodingException e) {
+            throw new MessagingException("Invalid sender name", e);
+        }
+        helper.setTo(email.getRecipient());
+        helper.setSubject(template.subject());
+        helper.setText(html, true);
+        return message;
     }
-    
-    private String buildPasswordResetEmailContent(String code, String firstName) {
-        String name = (firstName != null && !firstName.isBlank()) ? firstName : "there";
-        return """
-                <div style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <div style="text-align: center; padding: 20px 0;">
-                        <h1 style="color: #1a1a2e; margin: 0;">Digital Seal</h1>
-                        <p style="color: #666; font-size: 14px;">Luxury Product Authentication</p>
-                    </div>
-                    <div style="background: #f8f9fa; border-radius: 10px; padding: 30px; text-align: center;">
-                        <h2 style="color: #1a1a2e;">Reset Your Password</h2>
-                        <p style="color: #555;">Hi %s,</p>
-                        <p style="color: #555;">We received a request to reset your password. Use the following code:</p>
-                        <div style="background: #1a1a2e; color: #fff; font-size: 32px; letter-spacing: 8px; 
-                                    padding: 15px 30px; border-radius: 8px; display: inline-block; margin: 20px 0;
-                                    font-weight: bold;">
-                            %s
-                        </div>
-                        <p style="color: #888; font-size: 13px;">This code expires in <strong>10 minutes</strong>.</p>
-                        <p style="color: #888; font-size: 13px;">If you didn't request a password reset, you can safely ignore this email.</p>
-                    </div>
-                    <div style="text-align: center; padding: 20px 0; color: #aaa; font-size: 12px;">
-                        <p>&copy; 2026 Digital Seal. All rights reserved.</p>
-                    </div>
-                </div>
-                """.formatted(name, code);
+
+    private static String greetingName(String firstName) {
+        return (firstName != null && !firstName.isBlank()) ? firstName : "there";
     }
 }
@@ -0,0 +1,242 @@
+package com.digitalseal.service;
+
+import com.digitalseal.model.entity.ProductItem;
+import com.digitalseal.repository.ProductItemRepository;
+import com.digitalseal.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * In-memory front gate for item serial and claim code lookups.
+ *
+ * <p>Holds one Bloom filter of every item serial and one of every unconsumed claim code,
+ * so probes for random serials (/verify/serial) and brute-forced claim codes (/claim)
+ * are rejected without a database round-trip. A "maybe" answer always falls through
+ * to the normal repository lookup, so correctness never depends on the filter.
+ *
+ * <p>Filters are built when the application is ready and rebuilt on a fixed delay, which
+ * also drops consumed claim codes. New items are added after their transaction commits.
+ * Until the first build completes every lookup answers "maybe".
+ *
+ * <p>A filter may only say "absent" while it is complete, and it is complete only if every item
+ * was created by this node after the last build, or before it. So the gate runs only when this
+ * node is declared the only one creating items ({@code app.lookup-filter.single-node}) and no
+ * read replicas are configured (a deployment with replicas runs several nodes). Otherwise
+ * nothing is built and every lookup answers "maybe".
+ */
+@Service
+@Slf4j
+public class ItemLookupFilterService {
+
+    private final ProductItemRepository productItemRepository;
+    // Not read-only: read-only transactions may be served by a lagging replica, and a filter
+    // built without a just-committed item would reject its serial
+    private final TransactionTemplate primaryTx;
+
+    private final boolean enabled;
+    private final double falsePositiveProbability;
+    private final long minCapacity;
+
+    private final Timer rebuildTimer;
+    private final Counter serialRejections;
+    private final Counter claimCodeRejections;
+
+    private volatile Filters current;
+    // Filters being built — post-commit additions go here too so nothing is lost in the swap
+    private volatile Filters building;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    public ItemLookupFilterService(ProductItemRepository productItemRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.lookup-filter.enabled:true}") boolean enabled,
+                                   @Value("${app.lookup-filter.single-node:false}") boolean singleNode,
+                                   @Value("${app.datasource.replicas.enabled:false}") boolean replicasEnabled,
+                                   @Value("${app.lookup-filter.false-positive-probability:0.001}") double falsePositiveProbability,
+                                   @Value("${app.lookup-filter.min-capacity:100000}") long minCapacity) {
+        this.productItemRepository = productItemRepository;
+        this.primaryTx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled && singleNode && !replicasEnabled;
+        if (enabled && !this.enabled) {
+            log.info("Lookup filters off: other nodes may create items (single-node: {}, replicas: {})",
+                    singleNode, replicasEnabled);
+        }
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.minCapacity = minCapacity;
+
+        this.rebuildTimer = Timer.builder("digitalseal.lookup.filter.rebuild")
+                .description("Time to rebuild the serial and claim code Bloom filters")
+                .register(meterRegistry);
+        this.serialRejections = Counter.builder("digitalseal.lookup.filter.rejections")
+                .tag("filter", "serial")
+                .description("Lookups answered as definite misses without a database query")
+                .register(meterRegistry);
+        this.claimCodeRejections = Counter.builder("digitalseal.lookup.filter.rejections")
+                .tag("filter", "claim_code")
+                .description("Lookups answered as definite misses without a database query")
+                .register(meterRegistry);
+
+        registerGauges(meterRegistry, "serial", f -> f.serials);
+        registerGauges(meterRegistry, "claim_code", f -> f.claimCodes);
+    }
+
+    // ── Lookups ───────────────────────────────────────────────────────────────
+
+    /**
+     * False only if no item with this serial exists.
+     */
+    public boolean mightContainSerial(String serial) {
+        Filters filters = current;
+        if (filters == null || filters.serials.mightContain(serial)) {
+            return true;
+        }
+        serialRejections.increment();
+        return false;
+    }
+
+    /**
+     * False only if no item holds this (unconsumed) claim code.
+     */
+    public boolean mightContainClaimCode(String claimCode) {
+        Filters filters = current;
+        if (filters == null || filters.claimCodes.mightContain(claimCode)) {
+            return true;
+        }
+        claimCodeRejections.increment();
+        return false;
+    }
+
+    // ── Updates ───────────────────────────────────────────────────────────────
+
+    /**
+     * Register newly created items. Applied after the surrounding transaction commits
+     * (immediately when there is none), so a concurrent rebuild cannot miss them.
+     */
+    public void recordItems(Collection<ProductItem> items) {
+        if (!enabled || items.isEmpty()) {
+            return;
+        }
+        List<String[]> entries = items.stream()
+                .map(item -> new String[] { item.getItemSerial(), item.getClaimCode() })
+                .toList();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(entries);
+                }
+            });
+        } else {
+            apply(entries);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Periodic rebuild — drops consumed claim codes.
+     */
+    @Scheduled(initialDelayString = "${app.lookup-filter.rebuild-interval-ms:900000}",
+               fixedDelayString = "${app.lookup-filter.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long capacity = Math.max(minCapacity, productItemRepository.count() * 2);
+            Filters next = new Filters(
+                    BloomFilter.create(capacity, falsePositiveProbability),
+                    BloomFilter.create(capacity, falsePositiveProbability));
+            building = next;
+
+            long start = System.nanoTime();
+            primaryTx.executeWithoutResult(status -> {
+                try (Stream<String> serials = productItemRepository.streamAllItemSerials()) {
+                    serials.forEach(next.serials::put);
+                }
+                try (Stream<String> codes = productItemRepository.streamActiveClaimCodes()) {
+                    codes.forEach(next.claimCodes::put);
+                }
+            });
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+            current = next;
+            log.info("Lookup filters rebuilt in {} ms: {} serials, {} claim codes, {} KiB",
+                    elapsed / 1_000_000, next.serials.insertions(), next.claimCodes.insertions(),
+                    (next.serials.memoryBytes() + next.claimCodes.memoryBytes()) / 1024);
+        } catch (Exception e) {
+            // Keep serving with the previous filters (or none — every lookup then falls through)
+            log.error("Lookup filter rebuild failed: {}", e.getMessage(), e);
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void apply(List<String[]> entries) {
+        // Read `building` before `current`: rebuild publishes `current` before clearing `building`
+        Filters next = building;
+        Filters live = current;
+        for (String[] entry : entries) {
+            put(live, entry);
+            put(next, entry);
+        }
+    }
+
+    private static void put(Filters filters, String[] entry) {
+        if (filters == null) {
+            return;
+        }
+        filters.serials.put(entry[0]);
+        if (entry[1] != null) {
+            filters.claimCodes.put(entry[1]);
+        }
+    }
+
+    private void registerGauges(MeterRegistry registry, String name, Function<Filters, BloomFilter> pick) {
+        gauge(registry, "digitalseal.lookup.filter.entries", name, "Entries inserted since the last rebuild",
+                s -> s.current == null ? 0 : pick.apply(s.current).insertions());
+        gauge(registry, "digitalseal.lookup.filter.memory", name, "Bit array size in bytes",
+                s -> s.current == null ? 0 : pick.apply(s.current).memoryBytes());
+        gauge(registry, "digitalseal.lookup.filter.false.positive.probability", name,
+                "Estimated false-positive probability at the current fill ratio",
+                s -> s.current == null ? 0 : pick.apply(s.current).expectedFalsePositiveProbability());
+    }
+
+    private void gauge(MeterRegistry registry, String metric, String filter, String description,
+                       ToDoubleFunction<ItemLookupFilterService> fn) {
+        Gauge.builder(metric, this, fn)
+                .tag("filter", filter)
+                .description(description)
+                .register(registry);
+    }
+
+    private record Filters(BloomFilter serials, BloomFilter claimCodes) {}
+}
@@ -0,0 +1,212 @@
+package com.digitalseal.service;
+
+import com.digitalseal.dto.response.MarketplaceListingResponse;
+import com.digitalseal.event.BrandChangedEvent;
+import com.digitalseal.event.ProductListingChangedEvent;
+import com.digitalseal.model.entity.ProductCategory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of the hot marketplace listing pages (first few pages of browse,
+ * browse-by-category and browse-by-brand).
+ *
+ * <p>Pages are stored with their JSON pre-rendered ({@link CachedListingPage}). Invalidation is
+ * driven by {@link ProductListingChangedEvent} and {@link BrandChangedEvent} after commit:
+ * <ul>
+ *   <li>membership changes (list / delist / archive / sold out) evict the pages of the product's
+ *       scopes — all listings, its category and its brand — since every later page shifts;</li>
+ *   <li>quantity-only changes patch the product's entry in each cached page that shows it and
+ *       re-render that page's JSON, so the home page stays hot while orders come in;</li>
+ *   <li>brand changes evict everything (brand name / logo appear on every scope).</li>
+ * </ul>
+ * Each scope carries a generation number: a page loaded while an event hit its scope is not
+ * stored, so a slow reader cannot put back a page that was just invalidated. Entries also
+ * expire after a short TTL as a fallback for writes that bypass the events.
+ */
+@Component
+@Slf4j
+public class ListingPageCache {
+
+    /**
+     * Which listing query a page belongs to: all listings, one category or one brand.
+     */
+    public record Scope(ProductCategory category, Long brandId) {
+
+        private static final Scope ALL = new Scope(null, null);
+
+        public static Scope all() {
+            return ALL;
+        }
+
+        public static Scope category(ProductCategory category) {
+            return new Scope(category, null);
+        }
+
+        public static Scope brand(Long brandId) {
+            return new Scope(null, brandId);
+        }
+    }
+
+    private record PageKey(Scope scope, int page, int size) {}
+
+    private final ObjectMapper objectMapper;
+    private final Map<PageKey, CachedListingPage> pages = new ConcurrentHashMap<>();
+    private final Map<Scope, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+    private final int hotPages;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ListingPageCache(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.marketplace-cache.enabled:true}") boolean enabled,
+                            @Value("${app.marketplace-cache.hot-pages:3}") int hotPages,
+                            @Value("${app.marketplace-cache.ttl-ms:60000}") long ttlMillis,
+                            @Value("${app.marketplace-cache.max-entries:500}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.hotPages = hotPages;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+
+        this.hits = Counter.builder("digitalseal.marketplace.cache.requests")
+                .tag("result", "hit")
+                .description("Marketplace listing page lookups")
+                .register(meterRegistry);
+        this.misses = Counter.builder("digitalseal.marketplace.cache.requests")
+                .tag("result", "miss")
+                .description("Marketplace listing page lookups")
+                .register(meterRegistry);
+        Gauge.builder("digitalseal.marketplace.cache.entries", pages, Map::size)
+                .description("Cached marketplace listing pages")
+                .register(meterRegistry);
+    }
+
+    // ── Reads ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Serve a listing page from cache, or load it with {@code loader} and cache it.
+     * Pages beyond the hot range and sorted requests always go to the loader.
+     */
+    public Page<MarketplaceListingResponse> get(Scope scope, Pageable pageable,
+                                                Supplier<Page<MarketplaceListingResponse>> loader) {
+        if (!isCacheable(pageable)) {
+            return loader.get();
+        }
+
+        PageKey key = new PageKey(scope, pageable.getPageNumber(), pageable.getPageSize());
+        long now = System.currentTimeMillis();
+        CachedListingPage cached = pages.get(key);
+        if (cached != null && now - cached.cachedAtMillis() < ttlMillis) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        AtomicLong generation = generation(scope);
+        long seen = generation.get();
+        Page<MarketplaceListingResponse> loaded = loader.get();
+
+        if (pages.size() >= maxEntries && !pages.containsKey(key)) {
+            pages.values().removeIf(page -> now - page.cachedAtMillis() >= ttlMillis);
+            if (pages.size() >= maxEntries) {
+                return loaded;
+            }
+        }
+
+        CachedListingPage page = render(loaded.getContent(), loaded.getPageable(), loaded.getTotalElements(), now);
+        if (page == null) {
+            return loaded;
+        }
+        // Publish only if no event touched this scope while we were loading
+        pages.compute(key, (k, existing) -> generation.get() == seen ? page : existing);
+        return page;
+    }
+
+    /**
+     * Whether {@link #get} caches this page (hot range, default order).
+     */
+    public boolean isCacheable(Pageable pageable) {
+        return enabled && pageable.getPageNumber() < hotPages && !pageable.getSort().isSorted();
+    }
+
+    // ── Invalidation ──────────────────────────────────────────────────────────
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductListingChanged(ProductListingChangedEvent event) {
+        List<Scope> scopes = List.of(Scope.all(), Scope.category(event.category()), Scope.brand(event.brandId()));
+        scopes.forEach(scope -> generation(scope).incrementAndGet());
+
+        if (event.membershipChanged()) {
+            pages.keySet().removeIf(key -> scopes.contains(key.scope()));
+            log.debug("Listing cache: evicted scopes of product {} (membership change)", event.productId());
+            return;
+        }
+
+        // Quantity only — patch the product in every cached page that shows it
+        for (PageKey key : pages.keySet()) {
+            // A null result (render failure) drops the page
+            pages.computeIfPresent(key, (k, page) -> page.containsProduct(event.productId())
+                    ? withQuantity(page, event.productId(), event.availableQuantity())
+                    : page);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBrandChanged(BrandChangedEvent event) {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        pages.clear();
+        log.debug("Listing cache: cleared after change to brand {}", event.brandId());
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private AtomicLong generation(Scope scope) {
+        return generations.computeIfAbsent(scope, s -> new AtomicLong());
+    }
+
+    private CachedListingPage withQuantity(CachedListingPage page, Long productId, Integer availableQuantity) {
+        List<MarketplaceListingResponse> content = new ArrayList<>(page.getContent().size());
+        for (MarketplaceListingResponse listing : page.getContent()) {
+            content.add(listing.getId().equals(productId)
+                    ? listing.toBuilder().availableQuantity(availableQuantity).build()
+                    : listing);
+        }
+        // Keep the original cache time — patching does not extend the TTL
+        return render(content, page.getPageable(), page.getTotalElements(), page.cachedAtMillis());
+    }
+
+    private CachedListingPage render(List<MarketplaceListingResponse> content, Pageable pageable,
+                                     long total, long cachedAtMillis) {
+        try {
+            String json = objectMapper.writeValueAsString(new PageImpl<>(content, pageable, total));
+            return new CachedListingPage(List.copyOf(content), pageable, total, json, cachedAtMillis);
+        } catch (JsonProcessingException e) {
+            log.warn("Listing cache: could not render page, serving uncached: {}", e.getMessage());
+            return null;
+        }
+    }
+}
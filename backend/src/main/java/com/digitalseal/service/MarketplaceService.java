@@ -1,73 +1,93 @@
 package com.digitalseal.service;
 
 import com.digitalseal.dto.response.MarketplaceListingResponse;
-import com.digitalseal.model.entity.Product;
+import com.digitalseal.dto.response.SearchResultPage;
 import com.digitalseal.model.entity.ProductCategory;
 import com.digitalseal.repository.ProductRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
 
 @Service
+@Observed(name = "digitalseal.service")
 @Slf4j
-@RequiredArgsConstructor
 public class MarketplaceService {
     
+    // Listings are read straight into DTOs (ProductRepository.findListings) inside read-only
+    // transactions — Hibernate runs them with FlushMode.MANUAL and keeps no entity snapshots.
+    // Browse pages go through ListingPageCache first; the transaction is only opened on a miss,
+    // so a cache hit never borrows a database connection. Search is served by ProductSearchService
+    // (Lucene); the name-only database query is the fallback while the index is being built.
+    
     private final ProductRepository productRepository;
+    private final ListingPageCache listingPageCache;
+    private final ProductSearchService productSearchService;
+    private final TransactionTemplate readOnlyTx;
+    private final TransactionTemplate primaryTx;
+    
+    public MarketplaceService(ProductRepository productRepository,
+                              ListingPageCache listingPageCache,
+                              ProductSearchService productSearchService,
+                              PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.listingPageCache = listingPageCache;
+        this.productSearchService = productSearchService;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.primaryTx = new TransactionTemplate(transactionManager);
+    }
     
     /**
      * Browse all listed products (paginated)
      */
     public Page<MarketplaceListingResponse> browseListings(Pageable pageable) {
-        return productRepository.findListedProducts(pageable)
-                .map(this::mapToListingResponse);
+        return listingPageCache.get(ListingPageCache.Scope.all(), pageable,
+                () -> load(null, null, pageable));
     }
     
     /**
      * Browse listed products by category (paginated)
      */
     public Page<MarketplaceListingResponse> browseByCategory(ProductCategory category, Pageable pageable) {
-        return productRepository.findListedProductsByCategory(category, pageable)
-                .map(this::mapToListingResponse);
+        return listingPageCache.get(ListingPageCache.Scope.category(category), pageable,
+                () -> load(category, null, pageable));
     }
     
     /**
      * Browse listed products by brand (paginated)
      */
     public Page<MarketplaceListingResponse> browseByBrand(Long brandId, Pageable pageable) {
-        return productRepository.findListedProductsByBrand(brandId, pageable)
-                .map(this::mapToListingResponse);
+        return listingPageCache.get(ListingPageCache.Scope.brand(brandId), pageable,
+                () -> load(null, brandId, pageable));
     }
     
     /**
-     * Search listed products by name (paginated)
+     * Full-text search over listed products with optional category / brand / price band filters
+     * (paginated, with facet counts). While the search index is unavailable this falls back to a
+     * name match in the database, without the price band filter and without facets.
      */
-    public Page<MarketplaceListingResponse> searchListings(String query, Pageable pageable) {
-        return productRepository.searchListedProducts(query, pageable)
-                .map(this::mapToListingResponse);
+    public SearchResultPage searchListings(String query, ProductCategory category, Long brandId,
+                                           String priceBand, Pageable pageable) {
+        SearchResultPage results = productSearchService.search(query, category, brandId, priceBand, pageable);
+        if (results != null) {
+            return results;
+        }
+        String nameQuery = query == null || query.isBlank() ? null : query.trim();
+        Page<MarketplaceListingResponse> page = readOnlyTx.execute(
+                status -> productRepository.findListings(category, brandId, nameQuery, pageable));
+        return new SearchResultPage(page.getContent(), pageable, page.getTotalElements(), Map.of());
     }
     
-    private MarketplaceListingResponse mapToListingResponse(Product product) {
-        return MarketplaceListingResponse.builder()
-                .id(product.getId())
-                .productName(product.getProductName())
-                .description(product.getDescription())
-                .imageUrl(product.getImageUrl())
-                .category(product.getCategory())
-                .price(product.getPrice())
-                .currency(product.getCurrency())
-                .availableQuantity(product.getAvailableQuantity())
-                .totalQuantity(product.getTotalQuantity())
-                .brandId(product.getBrand().getId())
-                .brandName(product.getBrand().getBrandName())
-                .brandLogo(product.getBrand().getLogo())
-                .collectionName(product.getCollection() != null ? product.getCollection().getCollectionName() : null)
-                .status(product.getStatus())
-                .listedAt(product.getListedAt())
-                .listingDeadline(product.getListingDeadline())
-                .brandVerified(product.getBrand().getVerified())
-                .build();
+    private Page<MarketplaceListingResponse> load(ProductCategory category, Long brandId, Pageable pageable) {
+        // Pages that will be cached are read on the primary: a fill from a lagging replica right
+        // after an invalidation would put the old page back for the whole TTL
+        TransactionTemplate tx = listingPageCache.isCacheable(pageable) ? primaryTx : readOnlyTx;
+        return tx.execute(status -> productRepository.findListings(category, brandId, null, pageable));
     }
 }
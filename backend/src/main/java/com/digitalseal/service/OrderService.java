@@ -9,10 +9,13 @@ import com.digitalseal.exception.ResourceNotFoundException;
 import com.digitalseal.exception.UnauthorizedException;
 import com.digitalseal.model.entity.*;
 import com.digitalseal.repository.*;
+import com.digitalseal.event.ProductListingChangedEvent;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +26,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "digitalseal.service")
 @Slf4j
 @RequiredArgsConstructor
 public class OrderService {
@@ -34,12 +38,16 @@ public class OrderService {
     private final OwnershipHistoryRepository ownershipHistoryRepository;
     private final BlockchainService blockchainService;
     private final PlatformLogService platformLogService;
+    private final ProvenanceService provenanceService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CommerceMetrics commerceMetrics;
     
     /**
      * Create a purchase order for a listed product. Reserves the next available item.
      */
     @Transactional
     public OrderResponse createOrder(Long buyerId, Long productId, CreateOrderRequest request) {
+        long start = System.nanoTime();
         User buyer = userRepository.findById(buyerId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
@@ -60,6 +68,7 @@ public class OrderService {
         
         item.setSealStatus(SealStatus.RESERVED);
         productItemRepository.save(item);
+        provenanceService.onItemChanged(item);
         
         // Decrement available quantity
         product.setAvailableQuantity(product.getAvailableQuantity() - 1);
@@ -67,6 +76,9 @@ public class OrderService {
             product.setStatus(ProductStatus.SOLD_OUT);
         }
         productRepository.save(product);
+        eventPublisher.publishEvent(product.getStatus() == ProductStatus.SOLD_OUT
+                ? ProductListingChangedEvent.membership(product)
+                : ProductListingChangedEvent.quantity(product));
         
         // Create the order
         String orderNumber = generateOrderNumber();
@@ -85,6 +97,7 @@ public class OrderService {
                 .build();
         
         Order saved = orderRepository.save(order);
+        commerceMetrics.orderTransition(null, OrderStatus.PENDING, start);
         log.info("Order {} created for product '{}' (item: {}) by user ID: {}",
                 orderNumber, product.getProductName(), item.getItemSerial(), buyerId);
 
@@ -104,6 +117,7 @@ public class OrderService {
      */
     @Transactional
     public OrderResponse confirmPayment(Long buyerId, Long orderId, ConfirmPaymentRequest request) {
+        long start = System.nanoTime();
         Order order = orderRepository.findByIdAndBuyerId(orderId, buyerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
         
@@ -116,6 +130,7 @@ public class OrderService {
         order.setStatus(OrderStatus.PAYMENT_RECEIVED);
         
         Order saved = orderRepository.save(order);
+        commerceMetrics.orderTransition(OrderStatus.PENDING, OrderStatus.PAYMENT_RECEIVED, start);
         log.info("Payment confirmed for order {} (tx: {})", order.getOrderNumber(), request.getPaymentTxHash());
 
         platformLogService.info(LogCategory.ORDER, "PAYMENT_CONFIRMED",
@@ -131,6 +146,7 @@ public class OrderService {
      */
     @Transactional
     public OrderResponse processOrder(Long userId, Long orderId) {
+        long start = System.nanoTime();
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
         
@@ -144,6 +160,7 @@ public class OrderService {
         order.setStatus(OrderStatus.PROCESSING);
         
         Order saved = orderRepository.save(order);
+        commerceMetrics.orderTransition(OrderStatus.PAYMENT_RECEIVED, OrderStatus.PROCESSING, start);
         log.info("Order {} is now being processed", order.getOrderNumber());
 
         platformLogService.info(LogCategory.ORDER, "ORDER_PROCESSING",
@@ -159,6 +176,7 @@ public class OrderService {
      */
     @Transactional
     public OrderResponse shipOrder(Long userId, Long orderId, UpdateShippingRequest request) {
+        long start = System.nanoTime();
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
         
@@ -173,6 +191,7 @@ public class OrderService {
         order.setStatus(OrderStatus.SHIPPED);
         
         Order saved = orderRepository.save(order);
+        commerceMetrics.orderTransition(OrderStatus.PROCESSING, OrderStatus.SHIPPED, start);
         log.info("Order {} shipped with tracking: {}", order.getOrderNumber(), request.getTrackingNumber());
 
         platformLogService.info(LogCategory.ORDER, "ORDER_SHIPPED",
@@ -188,6 +207,7 @@ public class OrderService {
      */
     @Transactional
     public OrderResponse confirmDelivery(Long buyerId, Long orderId) {
+        long start = System.nanoTime();
         Order order = orderRepository.findByIdAndBuyerId(orderId, buyerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
         
@@ -199,6 +219,7 @@ public class OrderService {
         order.setStatus(OrderStatus.DELIVERED);
         
         Order saved = orderRepository.save(order);
+        commerceMetrics.orderTransition(OrderStatus.SHIPPED, OrderStatus.DELIVERED, start);
         log.info("Order {} delivery confirmed by buyer", order.getOrderNumber());
         
         return mapToResponse(saved);
@@ -210,6 +231,7 @@ public class OrderService {
      */
     @Transactional
     public OrderResponse completeOrder(Long userId, Long orderId) {
+        long start = System.nanoTime();
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
         
@@ -220,8 +242,11 @@ public class OrderService {
                     "Order must be SHIPPED or DELIVERED to complete manually. Status: " + order.getStatus());
         }
         
+        OrderStatus previousStatus = order.getStatus();
+        
         // Transfer the seal to buyer
         ProductItem item = order.getProductItem();
+        OwnershipHistory history = null;
         if (item != null) {
             item.setSealStatus(SealStatus.REALIZED);
             item.setCurrentOwnerWallet(order.getBuyerWallet());
@@ -230,7 +255,7 @@ public class OrderService {
             productItemRepository.save(item);
             
             // Record ownership history
-            OwnershipHistory history = OwnershipHistory.builder()
+            history = OwnershipHistory.builder()
                     .productItem(item)
                     .fromWallet(order.getProduct().getBrand().getCompanyWalletAddress())
                     .toWallet(order.getBuyerWallet())
@@ -245,7 +270,14 @@ public class OrderService {
         order.setStatus(OrderStatus.COMPLETED);
         
         // Trigger blockchain transfer (NFT from brand → buyer)
-        if (item != null && item.getTokenId() != null && blockchainService.isAvailable()) {
+        if (item != null && item.getTokenId() != null && !blockchainService.isAvailable()) {
+            log.error("Blockchain node unavailable; transfer skipped for order {}", order.getOrderNumber());
+            platformLogService.error(LogCategory.BLOCKCHAIN, "NFT_TRANSFER_FAILED",
+                    userId, order.getProduct().getBrand().getUser().getEmail(),
+                    "ORDER", order.getId().toString(),
+                    "Order: " + order.getOrderNumber(),
+                    BlockchainService.UNAVAILABLE_ERROR);
+        } else if (item != null && item.getTokenId() != null) {
             try {
                 String txHash = blockchainService.transferToken(
                         item.getTokenId(), order.getBuyerWallet(), "PURCHASE");
@@ -266,7 +298,13 @@ public class OrderService {
             }
         }
 
+        if (item != null) {
+            provenanceService.onTransferRecorded(item, history);
+        }
+
         Order saved = orderRepository.save(order);
+        commerceMetrics.orderTransition(previousStatus, OrderStatus.COMPLETED, start);
+        commerceMetrics.orderClosed(saved);
         log.info("Order {} completed. Seal transferred to buyer wallet: {}",
                 order.getOrderNumber(), order.getBuyerWallet());
 
@@ -288,6 +326,7 @@ public class OrderService {
      */
     @Transactional
     public OrderResponse cancelOrder(Long userId, Long orderId, String reason) {
+        long start = System.nanoTime();
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
         
@@ -306,19 +345,26 @@ public class OrderService {
             throw new InvalidStateException("Brands can only cancel PENDING or PAYMENT_RECEIVED orders. Status: " + order.getStatus());
         }
         
+        OrderStatus previousStatus = order.getStatus();
+        
         // Release the reserved item back
         ProductItem item = order.getProductItem();
         if (item != null && item.getSealStatus() == SealStatus.RESERVED) {
             item.setSealStatus(SealStatus.PRE_MINTED);
             productItemRepository.save(item);
+            provenanceService.onItemChanged(item);
             
             // Re-increment available quantity
             Product product = order.getProduct();
             product.setAvailableQuantity(product.getAvailableQuantity() + 1);
-            if (product.getStatus() == ProductStatus.SOLD_OUT) {
+            boolean backInStock = product.getStatus() == ProductStatus.SOLD_OUT;
+            if (backInStock) {
                 product.setStatus(ProductStatus.LISTED);
             }
             productRepository.save(product);
+            eventPublisher.publishEvent(backInStock
+                    ? ProductListingChangedEvent.membership(product)
+                    : ProductListingChangedEvent.quantity(product));
         }
         
         order.setCancelledAt(LocalDateTime.now());
@@ -326,6 +372,8 @@ public class OrderService {
         order.setStatus(OrderStatus.CANCELLED);
         
         Order saved = orderRepository.save(order);
+        commerceMetrics.orderTransition(previousStatus, OrderStatus.CANCELLED, start);
+        commerceMetrics.orderClosed(saved);
         log.info("Order {} cancelled by user ID: {}. Reason: {}", order.getOrderNumber(), userId, reason);
 
         platformLogService.warn(LogCategory.ORDER, "ORDER_CANCELLED",
@@ -339,6 +387,7 @@ public class OrderService {
     /**
      * Get order by ID (buyer sees their own orders)
      */
+    @Transactional(readOnly = true)
     public OrderResponse getOrder(Long userId, Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
@@ -356,6 +405,7 @@ public class OrderService {
     /**
      * Get all orders for a buyer (paginated)
      */
+    @Transactional(readOnly = true)
     public Page<OrderResponse> getMyOrders(Long buyerId, Pageable pageable) {
         return orderRepository.findByBuyerId(buyerId, pageable)
                 .map(this::mapToResponse);
@@ -364,6 +414,7 @@ public class OrderService {
     /**
      * Get all orders for a product (brand owner only, paginated)
      */
+    @Transactional(readOnly = true)
     public Page<OrderResponse> getOrdersByProduct(Long userId, Long productId, Pageable pageable) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
@@ -5,13 +5,13 @@ import com.digitalseal.model.entity.LogCategory;
 import com.digitalseal.model.entity.LogLevel;
 import com.digitalseal.model.entity.PlatformLog;
 import com.digitalseal.repository.PlatformLogRepository;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -23,7 +23,8 @@ import java.util.Map;
 /**
  * Writes and queries platform activity logs.
  *
- * All write methods are {@code @Async} so they never slow down the calling thread.
+ * Each entry is written to SLF4J on the calling thread and handed to {@link PlatformLogWriter},
+ * which persists it on the logging executor so the caller never waits for the insert.
  * A NEW transaction is used for each save to avoid rolling back log entries when the
  * business transaction fails (we still want to record the failure).
  */
@@ -33,29 +34,33 @@ import java.util.Map;
 public class PlatformLogService {
 
     private final PlatformLogRepository logRepository;
+    private final PlatformLogWriter logWriter;
+    private final RequestLatencyStats requestLatencyStats;
+    private final Tracer tracer;
 
     // ── Core write ────────────────────────────────────────────────────────────
 
     /**
-     * Persists a fully-built log entry.
-     * Runs in its own async thread + independent transaction.
+     * Records a fully-built log entry.
+     * The log line is emitted right away; the DB row is written asynchronously.
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void save(PlatformLog entry) {
-        try {
-            // ── Emit one formatted line to SLF4J (→ console + log file) ──────────
-            String line = buildLogLine(entry);
-            switch (entry.getLevel()) {
-                case ERROR -> log.error(line);
-                case WARN  -> log.warn(line);
-                default    -> log.info(line);
+        // Read on the calling thread; the writer's thread only continues the trace
+        if (entry.getTraceId() == null) {
+            Span span = tracer.currentSpan();
+            if (span != null) {
+                entry.setTraceId(span.context().traceId());
             }
-            // ── Persist to DB for API queries ─────────────────────────────────────
-            logRepository.save(entry);
-        } catch (Exception ex) {
-            log.error("[SYSTEM][LOG_WRITE_FAILED] action={} error={}", entry.getAction(), ex.getMessage());
         }
+        // ── Emit one formatted line to SLF4J (→ console + log file) ──────────
+        String line = buildLogLine(entry);
+        switch (entry.getLevel()) {
+            case ERROR -> log.error(line);
+            case WARN  -> log.warn(line);
+            default    -> log.info(line);
+        }
+        // ── Persist to DB for API queries (logging executor, own transaction) ─
+        logWriter.write(entry);
     }
 
     /**
@@ -185,9 +190,24 @@ public class PlatformLogService {
                 .orElseThrow(() -> new com.digitalseal.exception.ResourceNotFoundException("Log entry not found"));
     }
 
-    /** Returns dashboard-style statistics for a rolling time window */
+    /**
+     * Dashboard statistics: per-action latency percentiles and error rates over the last
+     * 1m / 5m / 1h, from memory ({@link RequestLatencyStats}). Deliberately not transactional,
+     * so it never touches a connection; callers wanting the {@code platform_logs} aggregates
+     * call {@link #getHistory(int)} separately, through the proxy.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("latency", requestLatencyStats.snapshot());
+        return stats;
+    }
+
+    /**
+     * Counts by level and category, top error actions and the latest errors, from the DB.
+     * One read-only transaction, so all the queries see the same replica.
+     */
     @Transactional(readOnly = true)
-    public Map<String, Object> getStats(int hours) {
+    public Map<String, Object> getHistory(int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
         Map<String, Object> stats = new LinkedHashMap<>();
 
@@ -0,0 +1,40 @@
+package com.digitalseal.service;
+
+import com.digitalseal.config.AsyncConfig;
+import com.digitalseal.model.entity.PlatformLog;
+import com.digitalseal.repository.PlatformLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Persists platform log entries on the logging executor.
+ *
+ * <p>A bean of its own so that {@link PlatformLogService} calls it through the proxy: an
+ * {@code @Async} method called on {@code this} runs on the caller's thread, inside the
+ * caller's transaction.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PlatformLogWriter {
+
+    private final PlatformLogRepository logRepository;
+
+    /**
+     * Independent transaction — also when the logging executor is full and the entry is
+     * written on the caller's thread, a failed business transaction keeps its log entries.
+     */
+    @Async(AsyncConfig.LOGGING_EXECUTOR)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void write(PlatformLog entry) {
+        try {
+            logRepository.save(entry);
+        } catch (Exception ex) {
+            log.error("[SYSTEM][LOG_WRITE_FAILED] action={} error={}", entry.getAction(), ex.getMessage());
+        }
+    }
+}
@@ -12,8 +12,11 @@ import com.digitalseal.repository.OrderRepository;
 import com.digitalseal.repository.OwnershipHistoryRepository;
 import com.digitalseal.repository.ProductItemRepository;
 import com.digitalseal.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +26,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "digitalseal.service")
 @Slf4j
 @RequiredArgsConstructor
 public class ProductItemService {
@@ -33,10 +37,14 @@ public class ProductItemService {
     private final BlockchainService blockchainService;
     private final OrderRepository orderRepository;
     private final PlatformLogService platformLogService;
+    private final ProvenanceService provenanceService;
+    private final ItemLookupFilterService itemLookupFilterService;
+    private final CommerceMetrics commerceMetrics;
     
     /**
      * Get all items for a product
      */
+    @Transactional(readOnly = true)
     public List<ProductItemResponse> getItemsByProduct(Long productId) {
         return productItemRepository.findByProductId(productId).stream()
                 .map(this::mapToResponse)
@@ -53,22 +61,41 @@ public class ProductItemService {
      */
     @Transactional
     public ProductItemResponse claimItem(Long userId, ClaimItemRequest request) {
-        User claimant = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        long start = System.nanoTime();
+        String type = "unknown";
+        String outcome = "error";
+        try {
+            if (!itemLookupFilterService.mightContainClaimCode(request.getClaimCode())) {
+                throw new ResourceNotFoundException("Invalid claim code");
+            }
 
-        ProductItem item = productItemRepository.findByClaimCode(request.getClaimCode())
-                .orElseThrow(() -> new ResourceNotFoundException("Invalid claim code"));
+            User claimant = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        if (item.getSealStatus() != SealStatus.PRE_MINTED && item.getSealStatus() != SealStatus.RESERVED) {
-            throw new InvalidStateException("This item cannot be claimed. Status: " + item.getSealStatus());
-        }
+            ProductItem item = productItemRepository.findByClaimCode(request.getClaimCode())
+                    .orElseThrow(() -> new ResourceNotFoundException("Invalid claim code"));
 
-        if (item.getSealStatus() == SealStatus.RESERVED) {
-            // --- Scenario 1: purchased item, QR scan completes the order ---
-            return claimPurchasedItem(userId, claimant, item, request.getWalletAddress());
-        } else {
-            // --- Scenario 2: standalone claim (no prior order) ---
-            return claimStandaloneItem(userId, claimant, item, request.getWalletAddress());
+            if (item.getSealStatus() != SealStatus.PRE_MINTED && item.getSealStatus() != SealStatus.RESERVED) {
+                throw new InvalidStateException("This item cannot be claimed. Status: " + item.getSealStatus());
+            }
+
+            ProductItemResponse response;
+            if (item.getSealStatus() == SealStatus.RESERVED) {
+                // --- Scenario 1: purchased item, QR scan completes the order ---
+                type = "purchased";
+                response = claimPurchasedItem(userId, claimant, item, request.getWalletAddress(), start);
+            } else {
+                // --- Scenario 2: standalone claim (no prior order) ---
+                type = "standalone";
+                response = claimStandaloneItem(userId, claimant, item, request.getWalletAddress());
+            }
+            outcome = "claimed";
+            return response;
+        } catch (ResourceNotFoundException | InvalidStateException | UnauthorizedException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            commerceMetrics.claim(type, outcome, start);
         }
     }
 
@@ -76,7 +103,8 @@ public class ProductItemService {
      * Buyer scans QR on a purchased item (RESERVED).
      * Transfers the NFT and auto-completes the linked order.
      */
-    private ProductItemResponse claimPurchasedItem(Long userId, User claimant, ProductItem item, String providedWallet) {
+    private ProductItemResponse claimPurchasedItem(Long userId, User claimant, ProductItem item, String providedWallet,
+                                                   long start) {
         // Find the linked order (SHIPPED or DELIVERED)
         Order order = orderRepository.findByProductItemIdAndStatusIn(
                         item.getId(), List.of(OrderStatus.SHIPPED, OrderStatus.DELIVERED))
@@ -102,13 +130,18 @@ public class ProductItemService {
         String brandWallet = item.getProduct().getBrand().getCompanyWalletAddress();
         LocalDateTime now = LocalDateTime.now();
 
-        // Update item — use soldAt since this was a purchase, not a freebie
-        item.setSealStatus(SealStatus.REALIZED);
-        item.setCurrentOwner(claimant);
-        item.setCurrentOwnerWallet(walletAddress);
-        item.setSoldAt(now);
-        item.setClaimCode(null); // invalidate so it can't be reused
-        ProductItem saved = productItemRepository.save(item);
+        // Take the item in one conditional UPDATE (soldAt — this was a purchase, not a freebie).
+        // Of several concurrent scans of the same code exactly one matches; the code is consumed.
+        int claimed = productItemRepository.claimReserved(item.getClaimCode(), claimant, walletAddress, now);
+        if (claimed == 0) {
+            throw new InvalidStateException("This item has already been claimed");
+        }
+        // The UPDATE cleared the persistence context — reload what we keep writing to
+        item = reloadItem(item.getId());
+        order = orderRepository.findById(order.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        ProductItem saved = item;
+        OrderStatus previousStatus = order.getStatus();
 
         // Auto-complete the order
         order.setStatus(OrderStatus.COMPLETED);
@@ -128,7 +161,15 @@ public class ProductItemService {
         ownershipHistoryRepository.save(history);
 
         // Blockchain NFT transfer
-        if (item.getTokenId() != null && blockchainService.isAvailable()) {
+        if (item.getTokenId() != null && !blockchainService.isAvailable()) {
+            log.error("Blockchain node unavailable; transfer skipped for item {} (order {})",
+                    item.getItemSerial(), order.getOrderNumber());
+            platformLogService.error(LogCategory.BLOCKCHAIN, "NFT_TRANSFER_FAILED",
+                    userId, claimant.getEmail(),
+                    "PRODUCT_ITEM", item.getId().toString(),
+                    "Item: " + item.getItemSerial() + " | Order: " + order.getOrderNumber(),
+                    BlockchainService.UNAVAILABLE_ERROR);
+        } else if (item.getTokenId() != null) {
             try {
                 String txHash = blockchainService.transferToken(item.getTokenId(), walletAddress, "PURCHASE");
                 if (txHash != null) {
@@ -152,6 +193,8 @@ public class ProductItemService {
             }
         }
 
+        provenanceService.onTransferRecorded(item, history);
+
         log.info("Item {} claimed via QR (purchased order {}). NFT → wallet: {}",
                 item.getItemSerial(), order.getOrderNumber(), walletAddress);
 
@@ -164,6 +207,9 @@ public class ProductItemService {
                 + " | Wallet: " + walletAddress
                 + (item.getTransferTxHash() != null ? " | TxHash: " + item.getTransferTxHash() : ""));
 
+        commerceMetrics.orderTransition(previousStatus, OrderStatus.COMPLETED, start);
+        commerceMetrics.orderClosed(order);
+
         return mapToResponse(saved);
     }
 
@@ -183,12 +229,13 @@ public class ProductItemService {
         String brandWallet = item.getProduct().getBrand().getCompanyWalletAddress();
         LocalDateTime now = LocalDateTime.now();
 
-        item.setSealStatus(SealStatus.REALIZED);
-        item.setCurrentOwner(claimant);
-        item.setCurrentOwnerWallet(walletAddress);
-        item.setClaimedAt(now);
-        item.setClaimCode(null);
-        ProductItem saved = productItemRepository.save(item);
+        // Take the item in one conditional UPDATE — only one concurrent claim can match
+        int claimed = productItemRepository.claimPreMinted(item.getClaimCode(), claimant, walletAddress, now);
+        if (claimed == 0) {
+            throw new InvalidStateException("This item has already been claimed");
+        }
+        item = reloadItem(item.getId());
+        ProductItem saved = item;
 
         OwnershipHistory history = OwnershipHistory.builder()
                 .productItem(item)
@@ -201,7 +248,14 @@ public class ProductItemService {
         ownershipHistoryRepository.save(history);
 
         // Blockchain claim transfer
-        if (item.getTokenId() != null && blockchainService.isAvailable()) {
+        if (item.getTokenId() != null && !blockchainService.isAvailable()) {
+            log.error("Blockchain node unavailable; claim transfer skipped for item {}", item.getItemSerial());
+            platformLogService.error(LogCategory.BLOCKCHAIN, "NFT_CLAIM_FAILED",
+                    userId, claimant.getEmail(),
+                    "PRODUCT_ITEM", item.getId().toString(),
+                    "Item: " + item.getItemSerial(),
+                    BlockchainService.UNAVAILABLE_ERROR);
+        } else if (item.getTokenId() != null) {
             try {
                 String txHash = blockchainService.transferToken(item.getTokenId(), walletAddress, "CLAIM");
                 if (txHash != null) {
@@ -221,6 +275,8 @@ public class ProductItemService {
             }
         }
 
+        provenanceService.onTransferRecorded(item, history);
+
         log.info("Item {} standalone claimed by user ID: {} (wallet: {})",
                 item.getItemSerial(), userId, walletAddress);
 
@@ -239,60 +295,68 @@ public class ProductItemService {
      * Verify a product item's authenticity. Returns full provenance chain.
      */
     public VerificationResponse verifyItem(Long itemId) {
-        ProductItem item = productItemRepository.findById(itemId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product item not found"));
-        
-        List<OwnershipHistory> history = ownershipHistoryRepository
-                .findByProductItemIdOrderByTransferredAtAsc(itemId);
-        
-        boolean isAuthentic = item.getSealStatus() != SealStatus.BURNED 
-                && item.getSealStatus() != SealStatus.REVOKED;
-        
-        return VerificationResponse.builder()
-                .authentic(isAuthentic)
-                .itemSerial(item.getItemSerial())
-                .productName(item.getProduct().getProductName())
-                .brandName(item.getProduct().getBrand().getBrandName())
-                .brandVerified(item.getProduct().getBrand().getVerified())
-                .sealStatus(item.getSealStatus())
-                .tokenId(item.getTokenId())
-                .contractAddress(item.getProduct().getContractAddress())
-                .currentOwnerWallet(item.getCurrentOwnerWallet())
-                .mintTxHash(item.getMintTxHash())
-                .mintedAt(item.getMintedAt())
-                .ownershipHistory(history.stream().map(this::mapHistoryToResponse).collect(Collectors.toList()))
-                .verifiedAt(LocalDateTime.now())
-                .build();
+        return provenanceService.toVerificationResponse(getProvenance(itemId));
     }
     
     /**
      * Verify a product item by its serial number (public)
      */
     public VerificationResponse verifyItemBySerial(String serial) {
-        ProductItem item = productItemRepository.findByItemSerial(serial)
-                .orElseThrow(() -> new ResourceNotFoundException("Item not found with serial: " + serial));
-        return verifyItem(item.getId());
+        return provenanceService.toVerificationResponse(getProvenanceBySerial(serial));
+    }
+    
+    /**
+     * Get the precomputed provenance document for an item, building it on first access.
+     * Not read-only: the build writes, so it must not join a transaction routed to a replica.
+     */
+    public ItemProvenance getProvenance(Long itemId) {
+        return provenanceService.findByItemId(itemId)
+                .orElseGet(() -> buildProvenance(itemId));
+    }
+    
+    /**
+     * Get the precomputed provenance document for an item by serial, building it on first access.
+     */
+    public ItemProvenance getProvenanceBySerial(String serial) {
+        // Random-serial probes stop here without touching the database
+        if (!itemLookupFilterService.mightContainSerial(serial)) {
+            throw new ResourceNotFoundException("Item not found with serial: " + serial);
+        }
+        return provenanceService.findBySerial(serial)
+                .orElseGet(() -> {
+                    ProductItem item = productItemRepository.findByItemSerial(serial)
+                            .orElseThrow(() -> new ResourceNotFoundException("Item not found with serial: " + serial));
+                    return buildProvenance(item.getId());
+                });
     }
     
     /**
      * Get items owned by a specific user
      */
+    @Transactional(readOnly = true)
     public List<ProductItemResponse> getMyItems(Long userId) {
-        return productItemRepository.findByCurrentOwnerId(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return productItemRepository.findItemResponsesByOwnerId(userId);
     }
     
     /**
      * Get ownership history for an item
      */
     public List<OwnershipHistoryResponse> getOwnershipHistory(Long itemId) {
-        productItemRepository.findById(itemId)
+        return provenanceService.toVerificationResponse(getProvenance(itemId)).getOwnershipHistory();
+    }
+    
+    private ProductItem reloadItem(Long itemId) {
+        return productItemRepository.findById(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product item not found"));
-        
-        return ownershipHistoryRepository.findByProductItemIdOrderByTransferredAtAsc(itemId).stream()
-                .map(this::mapHistoryToResponse)
-                .collect(Collectors.toList());
+    }
+    
+    private ItemProvenance buildProvenance(Long itemId) {
+        try {
+            return provenanceService.rebuild(itemId);
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // Written concurrently outside the item lock — build again over it
+            return provenanceService.rebuild(itemId);
+        }
     }
     
     private ProductItemResponse mapToResponse(ProductItem item) {
@@ -314,18 +378,4 @@ public class ProductItemService {
                 .createdAt(item.getCreatedAt())
                 .build();
     }
-    
-    private OwnershipHistoryResponse mapHistoryToResponse(OwnershipHistory history) {
-        return OwnershipHistoryResponse.builder()
-                .id(history.getId())
-                .productItemId(history.getProductItem().getId())
-                .fromWallet(history.getFromWallet())
-                .toWallet(history.getToWallet())
-                .transferType(history.getTransferType())
-                .txHash(history.getTxHash())
-                .blockNumber(history.getBlockNumber())
-                .notes(history.getNotes())
-                .transferredAt(history.getTransferredAt())
-                .build();
-    }
 }
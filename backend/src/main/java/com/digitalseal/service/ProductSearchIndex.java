@@ -0,0 +1,462 @@
+package com.digitalseal.service;
+
+import com.digitalseal.dto.response.FacetCountResponse;
+import com.digitalseal.dto.response.MarketplaceListingResponse;
+import com.digitalseal.dto.response.SearchResultPage;
+import com.digitalseal.model.entity.ProductCategory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.DrillSideways;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSelector;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldCollectorManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IOSupplier;
+import org.springframework.data.domain.Pageable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One generation of the marketplace search index — a Lucene index of LISTED products in a
+ * directory of its own. {@link ProductSearchService} owns the lifecycle (full builds, swaps,
+ * incremental updates); this class only knows documents and queries.
+ *
+ * <p>Each listing is one document: analysed text for name, description, brand and collection
+ * (lower-cased, accent-folded), facet values for category, brand and price band, the listing
+ * date for ordering, and the listing itself as stored JSON so hits are served without touching
+ * the database. Writes are picked up by a reopen thread within {@code maxRefreshLagSeconds}.
+ */
+final class ProductSearchIndex implements Closeable {
+
+    static final String DIM_CATEGORY = "category";
+    static final String DIM_BRAND = "brand";
+    static final String DIM_PRICE_BAND = "priceBand";
+
+    private static final String F_ID = "id";
+    private static final String F_BRAND_ID = "brand_id";
+    private static final String F_NAME = "name";
+    private static final String F_DESCRIPTION = "description";
+    private static final String F_BRAND = "brand_name";
+    private static final String F_COLLECTION = "collection";
+    private static final String F_LISTED_AT = "listed_at";
+    private static final String F_LISTING = "listing";
+
+    // Exact matches are searched in every text field; prefix and typo expansion only in the
+    // short ones — expanding over the description vocabulary costs more than it finds
+    private static final Map<String, Float> EXACT_FIELDS = Map.of(
+            F_NAME, 3f, F_BRAND, 2f, F_COLLECTION, 1.5f, F_DESCRIPTION, 1f);
+    private static final Map<String, Float> EXPANDED_FIELDS = Map.of(
+            F_NAME, 3f, F_BRAND, 2f, F_COLLECTION, 1.5f);
+    private static final float PREFIX_WEIGHT = 0.6f;
+    private static final float FUZZY_WEIGHT = 0.3f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    private static final SortField NEWEST_FIRST = LongField.newSortField(F_LISTED_AT, true, SortedNumericSelector.Type.MIN);
+    private static final Sort BY_LISTED_AT = new Sort(NEWEST_FIRST);
+    private static final Sort BY_RELEVANCE = new Sort(SortField.FIELD_SCORE, NEWEST_FIRST);
+    private static final Set<String> LISTING_ONLY = Set.of(F_LISTING);
+
+    private final Directory directory;
+    private final Analyzer analyzer = new ListingAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+    private final ObjectMapper objectMapper;
+    private final List<BigDecimal> priceBandBounds;
+    private final int maxResultWindow;
+    private final int facetLimit;
+    // Brand facet values are ids; names are kept here for labels (updated on every write)
+    private final Map<String, String> brandLabels = new ConcurrentHashMap<>();
+
+    ProductSearchIndex(Path path, ObjectMapper objectMapper, List<BigDecimal> priceBandBounds,
+                       int maxResultWindow, int facetLimit, double maxRefreshLagSeconds) throws IOException {
+        this.objectMapper = objectMapper;
+        this.priceBandBounds = List.copyOf(priceBandBounds);
+        this.maxResultWindow = maxResultWindow;
+        this.facetLimit = facetLimit;
+
+        this.directory = FSDirectory.open(path);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                .setRAMBufferSizeMB(64)
+                .setCommitOnClose(false); // the index is rebuilt from the database on startup
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, new FacetedSearcherFactory());
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+                maxRefreshLagSeconds, Math.min(0.05, maxRefreshLagSeconds));
+        this.reopenThread.setName("product-search-reopen");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+    }
+
+    // ── Writes ────────────────────────────────────────────────────────────────
+
+    void upsert(MarketplaceListingResponse listing) throws IOException {
+        writer.updateDocument(new Term(F_ID, listing.getId().toString()), toDocument(listing));
+    }
+
+    void delete(Long productId) throws IOException {
+        writer.deleteDocuments(new Term(F_ID, productId.toString()));
+    }
+
+    void deleteBrand(Long brandId) throws IOException {
+        writer.deleteDocuments(new Term(F_BRAND_ID, brandId.toString()));
+    }
+
+    /**
+     * Finish a full build: merge the bulk-loaded segments into one (counting and facet
+     * ordinals are much cheaper over a single segment) and make it searchable.
+     */
+    void finishBuild() throws IOException {
+        writer.forceMerge(1);
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    int numDocs() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // ── Search ────────────────────────────────────────────────────────────────
+
+    /**
+     * Run a search. Every query token must match in at least one text field — exactly, or if
+     * that finds nothing, also as a prefix or within an edit distance that grows with its
+     * length. A blank query matches every listing. Filters are applied as drill-downs, so
+     * each facet dimension is counted as if its own filter were not set.
+     */
+    SearchResultPage search(String text, ProductCategory category, Long brandId, String priceBand,
+                            Pageable pageable) throws IOException {
+        List<String> tokens = analyze(text);
+        int window = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), maxResultWindow);
+
+        FacetedSearcher searcher = (FacetedSearcher) searcherManager.acquire();
+        try {
+            if (searcher.facetState == null || window <= 0) {
+                return new SearchResultPage(List.of(), pageable, 0, Map.of());
+            }
+            // Expansions are only paid for when exact terms match nothing (typos, partial words):
+            // scoring prefix and fuzzy variants of common words is most of a query's cost
+            DrillDownQuery exact = drillDown(textQuery(tokens, false), category, brandId, priceBand);
+            DrillDownQuery query = tokens.isEmpty() || searcher.count(exact) > 0
+                    ? exact
+                    : drillDown(textQuery(tokens, true), category, brandId, priceBand);
+            Sort sort = tokens.isEmpty() ? BY_LISTED_AT : BY_RELEVANCE;
+
+            // Browsing (no text) counts sideways over the whole index — the same for every request
+            // with these filters, so it is kept for the life of this searcher
+            Counts counts = tokens.isEmpty()
+                    ? searcher.browseCounts(category + "|" + brandId + "|" + priceBand, () -> count(searcher, query))
+                    : count(searcher, query);
+
+            // The page only needs the best `window` hits — with no exact count asked for,
+            // scoring can skip blocks of postings that cannot make it into the top
+            ScoreDoc[] hits = searcher.search(query, new TopFieldCollectorManager(sort, window, null, window)).scoreDocs;
+            StoredFields storedFields = searcher.storedFields();
+            List<MarketplaceListingResponse> content = new ArrayList<>(pageable.getPageSize());
+            for (int i = (int) Math.min(pageable.getOffset(), hits.length); i < hits.length; i++) {
+                BytesRef json = storedFields.document(hits[i].doc, LISTING_ONLY).getBinaryValue(F_LISTING);
+                content.add(objectMapper.readValue(json.bytes, json.offset, json.length,
+                        MarketplaceListingResponse.class));
+            }
+
+            return new SearchResultPage(content, pageable, counts.total(), counts.facets());
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Exact total and facet counts. These need every match but no scores, so they are
+     * collected in a separate pass with scoring off.
+     */
+    private Counts count(FacetedSearcher searcher, DrillDownQuery query) throws IOException {
+        DrillSideways.ConcurrentDrillSidewaysResult<FacetsCollector> result =
+                new DrillSideways(searcher, facetsConfig, searcher.facetState)
+                        .search(query, new FacetsCollectorManager());
+        long total = 0;
+        for (FacetsCollector.MatchingDocs segment : result.collectorResult.getMatchingDocs()) {
+            total += segment.totalHits;
+        }
+        Map<String, List<FacetCountResponse>> facets = new LinkedHashMap<>();
+        facets.put(DIM_CATEGORY, facetCounts(result.facets.getTopChildren(facetLimit, DIM_CATEGORY), false));
+        facets.put(DIM_BRAND, facetCounts(result.facets.getTopChildren(facetLimit, DIM_BRAND), true));
+        facets.put(DIM_PRICE_BAND, priceBandCounts(result.facets.getAllChildren(DIM_PRICE_BAND)));
+        return new Counts(total, facets);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private Document toDocument(MarketplaceListingResponse listing) throws IOException {
+        Document doc = new Document();
+        doc.add(new StringField(F_ID, listing.getId().toString(), Field.Store.NO));
+        doc.add(new StringField(F_BRAND_ID, listing.getBrandId().toString(), Field.Store.NO));
+        addText(doc, F_NAME, listing.getProductName());
+        addText(doc, F_DESCRIPTION, listing.getDescription());
+        addText(doc, F_BRAND, listing.getBrandName());
+        addText(doc, F_COLLECTION, listing.getCollectionName());
+        // Points as well as doc values: sorting by listing date can then skip non-competitive docs
+        long listedAt = listing.getListedAt() == null ? 0 : listing.getListedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        doc.add(new LongField(F_LISTED_AT, listedAt, Field.Store.NO));
+
+        if (listing.getCategory() != null) {
+            doc.add(new SortedSetDocValuesFacetField(DIM_CATEGORY, listing.getCategory().name()));
+        }
+        doc.add(new SortedSetDocValuesFacetField(DIM_BRAND, listing.getBrandId().toString()));
+        if (listing.getPrice() != null) {
+            doc.add(new SortedSetDocValuesFacetField(DIM_PRICE_BAND, priceBand(listing.getPrice())));
+        }
+        if (listing.getBrandName() != null) {
+            brandLabels.put(listing.getBrandId().toString(), listing.getBrandName());
+        }
+
+        doc.add(new StoredField(F_LISTING, objectMapper.writeValueAsBytes(listing)));
+        return facetsConfig.build(doc);
+    }
+
+    private static void addText(Document doc, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            doc.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    /**
+     * Label of the price band containing {@code price}, e.g. {@code "10-100"} or {@code "1000+"}.
+     */
+    String priceBand(BigDecimal price) {
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal bound : priceBandBounds) {
+            if (price.compareTo(bound) < 0) {
+                return lower.toPlainString() + "-" + bound.toPlainString();
+            }
+            lower = bound;
+        }
+        return lower.toPlainString() + "+";
+    }
+
+    private DrillDownQuery drillDown(Query base, ProductCategory category, Long brandId, String priceBand) {
+        DrillDownQuery query = new DrillDownQuery(facetsConfig, base);
+        if (category != null) {
+            query.add(DIM_CATEGORY, category.name());
+        }
+        if (brandId != null) {
+            query.add(DIM_BRAND, brandId.toString());
+        }
+        if (priceBand != null) {
+            query.add(DIM_PRICE_BAND, priceBand);
+        }
+        return query;
+    }
+
+    private static Query textQuery(List<String> tokens, boolean expand) {
+        if (tokens.isEmpty()) {
+            return new MatchAllDocsQuery();
+        }
+        BooleanQuery.Builder all = new BooleanQuery.Builder();
+        for (String token : tokens) {
+            all.add(tokenQuery(token, expand), BooleanClause.Occur.MUST);
+        }
+        return all.build();
+    }
+
+    private static Query tokenQuery(String token, boolean expand) {
+        List<Query> alternatives = new ArrayList<>();
+        EXACT_FIELDS.forEach((field, boost) ->
+                alternatives.add(new BoostQuery(new TermQuery(new Term(field, token)), boost)));
+
+        if (expand) {
+            // Typos: none for short tokens (too many false friends), one edit up to 7 chars, then two
+            int maxEdits = token.length() < 4 ? 0 : token.length() < 8 ? 1 : 2;
+            EXPANDED_FIELDS.forEach((field, boost) -> {
+                Term term = new Term(field, token);
+                if (token.length() >= MIN_PREFIX_LENGTH) {
+                    alternatives.add(new BoostQuery(new PrefixQuery(term), boost * PREFIX_WEIGHT));
+                }
+                if (maxEdits > 0) {
+                    alternatives.add(new BoostQuery(new FuzzyQuery(term, maxEdits, 1, 50, true), boost * FUZZY_WEIGHT));
+                }
+            });
+        }
+        // Best field wins, with a small bonus for matching in several
+        return new DisjunctionMaxQuery(alternatives, 0.1f);
+    }
+
+    private List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        try (TokenStream stream = analyzer.tokenStream(F_NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && tokens.size() < MAX_QUERY_TOKENS) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // analysing a String does no real I/O
+        }
+        return tokens;
+    }
+
+    private List<FacetCountResponse> facetCounts(FacetResult result, boolean brand) {
+        if (result == null) {
+            return List.of();
+        }
+        List<FacetCountResponse> counts = new ArrayList<>(result.labelValues.length);
+        for (LabelAndValue lv : result.labelValues) {
+            String label = brand ? brandLabels.getOrDefault(lv.label, lv.label) : lv.label;
+            counts.add(new FacetCountResponse(lv.label, label, lv.value.longValue()));
+        }
+        return counts;
+    }
+
+    /**
+     * Price bands in ascending order rather than by count.
+     */
+    private List<FacetCountResponse> priceBandCounts(FacetResult result) {
+        if (result == null) {
+            return List.of();
+        }
+        Map<String, Long> byBand = new LinkedHashMap<>();
+        for (LabelAndValue lv : result.labelValues) {
+            byBand.put(lv.label, lv.value.longValue());
+        }
+        List<FacetCountResponse> counts = new ArrayList<>();
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal bound : priceBandBounds) {
+            addBand(counts, byBand, priceBand(lower));
+            lower = bound;
+        }
+        addBand(counts, byBand, priceBand(lower));
+        return counts;
+    }
+
+    private static void addBand(List<FacetCountResponse> counts, Map<String, Long> byBand, String band) {
+        Long count = byBand.get(band);
+        if (count != null) {
+            counts.add(new FacetCountResponse(band, band, count));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.rollback(); // nothing to keep — also closes the writer
+        directory.close();
+    }
+
+    /**
+     * Tokenises on word boundaries, then lower-cases and folds accents ("Hermès" → "hermes").
+     */
+    private static final class ListingAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+
+    // Total hits and facet counts of one filter, kept for browse requests
+    private record Counts(long total, Map<String, List<FacetCountResponse>> facets) {}
+
+    /**
+     * Searcher carrying the facet ordinals for its reader, built once per refresh rather than per query.
+     */
+    private static final class FacetedSearcher extends IndexSearcher {
+
+        private static final int MAX_BROWSE_COUNTS = 256;
+
+        private final SortedSetDocValuesReaderState facetState;
+        private final Map<String, Counts> browseCounts = new ConcurrentHashMap<>();
+
+        private FacetedSearcher(IndexReader reader, SortedSetDocValuesReaderState facetState) {
+            super(reader);
+            this.facetState = facetState;
+        }
+
+        Counts browseCounts(String filters, IOSupplier<Counts> counter) throws IOException {
+            Counts counts = browseCounts.get(filters);
+            if (counts == null) {
+                counts = counter.get();
+                if (browseCounts.size() >= MAX_BROWSE_COUNTS) {
+                    browseCounts.clear();
+                }
+                browseCounts.put(filters, counts);
+            }
+            return counts;
+        }
+    }
+
+    private final class FacetedSearcherFactory extends SearcherFactory {
+        @Override
+        public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) throws IOException {
+            // Facet ordinals need at least one document with facets
+            SortedSetDocValuesReaderState state = reader.numDocs() == 0 ? null
+                    : new DefaultSortedSetDocValuesReaderState(reader, facetsConfig);
+            return new FacetedSearcher(reader, state);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.digitalseal.service;
+
+import com.digitalseal.dto.response.MarketplaceListingResponse;
+import com.digitalseal.dto.response.SearchResultPage;
+import com.digitalseal.event.BrandChangedEvent;
+import com.digitalseal.event.ProductListingChangedEvent;
+import com.digitalseal.model.entity.ProductCategory;
+import com.digitalseal.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.util.IOUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Full-text marketplace search backed by an in-process Lucene index ({@link ProductSearchIndex}).
+ *
+ * <p>The index holds every LISTED product. It is built from the database when the application
+ * is ready and rebuilt on a fixed delay into a fresh directory that replaces the live one when
+ * complete. Between builds it follows {@link ProductListingChangedEvent} and
+ * {@link BrandChangedEvent} after commit: the affected listings are re-read and re-indexed (or
+ * removed once no longer LISTED), and show up in results within {@code app.search.max-refresh-lag-ms}.
+ *
+ * <p>{@link #search} returns null until the first build completes; callers fall back to the
+ * database query. Like the lookup filters, the index is local to this node — changes made on
+ * another node arrive with the next rebuild.
+ *
+ * <p>Each instance keeps its generations in a directory of its own under
+ * {@code app.search.index-path} (process id plus a random suffix), so instances sharing the path
+ * on one host never delete each other's live index. The directory is removed on shutdown.
+ */
+@Service
+@Observed(name = "digitalseal.service")
+@Slf4j
+public class ProductSearchService {
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    // Reads run on the primary (not read-only, so never routed to a replica): after-commit
+    // re-reads must see the commit, and a build must not miss listings a replica has yet to apply
+    private final TransactionTemplate primaryTx;
+
+    private final boolean enabled;
+    // This instance's directory under app.search.index-path
+    private final Path indexPath;
+    private final List<BigDecimal> priceBandBounds;
+    private final int maxResultWindow;
+    private final int facetLimit;
+    private final double maxRefreshLagSeconds;
+
+    private final Timer searchTimer;
+    private final Timer rebuildTimer;
+
+    private volatile ProductSearchIndex current;
+    // Products / brands changed while a rebuild streams — re-read once the new index is live
+    private volatile boolean building;
+    private final Set<Long> touchedProducts = ConcurrentHashMap.newKeySet();
+    private final Set<Long> touchedBrands = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    public ProductSearchService(ProductRepository productRepository,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.search.enabled:true}") boolean enabled,
+                                @Value("${app.search.index-path:${java.io.tmpdir}/digitalseal-search}") Path indexPath,
+                                @Value("${app.search.price-bands:1,10,100,1000}") List<BigDecimal> priceBandBounds,
+                                @Value("${app.search.max-result-window:10000}") int maxResultWindow,
+                                @Value("${app.search.facet-limit:20}") int facetLimit,
+                                @Value("${app.search.max-refresh-lag-ms:500}") long maxRefreshLagMillis) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.primaryTx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.indexPath = indexPath.resolve("instance-" + ProcessHandle.current().pid() + "-"
+                + UUID.randomUUID().toString().substring(0, 8));
+        this.priceBandBounds = priceBandBounds.stream().sorted().toList();
+        this.maxResultWindow = maxResultWindow;
+        this.facetLimit = facetLimit;
+        this.maxRefreshLagSeconds = maxRefreshLagMillis / 1000.0;
+
+        this.searchTimer = Timer.builder("digitalseal.search.requests")
+                .description("Marketplace searches served from the index")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("digitalseal.search.rebuild")
+                .description("Time to rebuild the marketplace search index")
+                .register(meterRegistry);
+        Gauge.builder("digitalseal.search.documents", this, ProductSearchService::documentCount)
+                .description("Listings in the marketplace search index")
+                .register(meterRegistry);
+    }
+
+    // ── Search ────────────────────────────────────────────────────────────────
+
+    /**
+     * Search listed products, or null if the index is not available yet.
+     */
+    public SearchResultPage search(String query, ProductCategory category, Long brandId, String priceBand,
+                                   Pageable pageable) {
+        ProductSearchIndex index = current;
+        if (index == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return index.search(query, category, brandId, priceBand, pageable);
+        } catch (IOException | RuntimeException e) {
+            log.error("Marketplace search failed, falling back to the database: {}", e.getMessage(), e);
+            return null;
+        } finally {
+            searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // ── Updates ───────────────────────────────────────────────────────────────
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductListingChanged(ProductListingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (building) {
+            touchedProducts.add(event.productId());
+        }
+        ProductSearchIndex index = current;
+        if (index != null) {
+            reindexProduct(index, event.productId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBrandChanged(BrandChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (building) {
+            touchedBrands.add(event.brandId());
+        }
+        ProductSearchIndex index = current;
+        if (index != null) {
+            reindexBrand(index, event.brandId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Periodic full rebuild — picks up changes made on other nodes and compacts the index.
+     */
+    @Scheduled(initialDelayString = "${app.search.rebuild-interval-ms:3600000}",
+               fixedDelayString = "${app.search.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        Path dir = indexPath.resolve("gen-" + System.currentTimeMillis());
+        ProductSearchIndex next = null;
+        try {
+            Files.createDirectories(dir);
+            next = new ProductSearchIndex(dir, objectMapper, priceBandBounds, maxResultWindow,
+                    facetLimit, maxRefreshLagSeconds);
+            touchedProducts.clear();
+            touchedBrands.clear();
+            building = true;
+
+            long start = System.nanoTime();
+            ProductSearchIndex target = next;
+            primaryTx.executeWithoutResult(status -> {
+                try (Stream<MarketplaceListingResponse> listings = productRepository.streamAllListings()) {
+                    listings.forEach(listing -> {
+                        try {
+                            target.upsert(listing);
+                        } catch (IOException e) {
+                            throw new IllegalStateException("Could not index product " + listing.getId(), e);
+                        }
+                    });
+                }
+            });
+            next.finishBuild();
+
+            ProductSearchIndex previous = current;
+            current = next;
+            building = false;
+            // The stream may have read rows older than events that arrived meanwhile
+            touchedBrands.forEach(brandId -> reindexBrand(target, brandId));
+            touchedProducts.forEach(productId -> reindexProduct(target, productId));
+
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Search index rebuilt in {} ms: {} listings", elapsed / 1_000_000, next.numDocs());
+
+            closeQuietly(previous);
+            deleteOtherGenerations(dir);
+        } catch (Exception e) {
+            // Keep serving from the previous index (or the database if there is none)
+            log.error("Search index rebuild failed: {}", e.getMessage(), e);
+            if (current != next) {
+                closeQuietly(next);
+                deleteQuietly(dir);
+            }
+        } finally {
+            building = false;
+            rebuilding.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        closeQuietly(current);
+        current = null;
+        if (Files.exists(indexPath)) {
+            deleteQuietly(indexPath);
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void reindexProduct(ProductSearchIndex index, Long productId) {
+        try {
+            Optional<MarketplaceListingResponse> listing =
+                    primaryTx.execute(status -> productRepository.findListingById(productId));
+            if (listing.isPresent()) {
+                index.upsert(listing.get());
+            } else {
+                index.delete(productId);
+            }
+        } catch (Exception e) {
+            // The next rebuild repairs the entry
+            log.warn("Search index: could not update product {}: {}", productId, e.getMessage());
+        }
+    }
+
+    private void reindexBrand(ProductSearchIndex index, Long brandId) {
+        try {
+            List<MarketplaceListingResponse> listings =
+                    primaryTx.execute(status -> productRepository.findListingsByBrandId(brandId));
+            index.deleteBrand(brandId);
+            for (MarketplaceListingResponse listing : listings) {
+                index.upsert(listing);
+            }
+        } catch (Exception e) {
+            log.warn("Search index: could not update brand {}: {}", brandId, e.getMessage());
+        }
+    }
+
+    private double documentCount() {
+        ProductSearchIndex index = current;
+        try {
+            return index == null ? 0 : index.numDocs();
+        } catch (Exception e) {
+            return 0; // closed by a concurrent swap
+        }
+    }
+
+    private void deleteOtherGenerations(Path keep) {
+        try (DirectoryStream<Path> generations = Files.newDirectoryStream(indexPath, "gen-*")) {
+            for (Path generation : generations) {
+                if (!generation.equals(keep)) {
+                    deleteQuietly(generation);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Search index: could not clean up {}: {}", indexPath, e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(ProductSearchIndex index) {
+        if (index != null) {
+            IOUtils.closeWhileHandlingException(index);
+        }
+    }
+
+    private static void deleteQuietly(Path dir) {
+        try {
+            IOUtils.rm(dir);
+        } catch (IOException e) {
+            log.warn("Search index: could not delete {}: {}", dir, e.getMessage());
+        }
+    }
+}
@@ -13,10 +13,13 @@ import com.digitalseal.repository.BrandRepository;
 import com.digitalseal.repository.CollectionRepository;
 import com.digitalseal.repository.ProductRepository;
 import com.digitalseal.repository.UserRepository;
+import com.digitalseal.event.ProductListingChangedEvent;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +29,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "digitalseal.service")
 @Slf4j
 @RequiredArgsConstructor
 public class ProductService {
@@ -35,6 +39,8 @@ public class ProductService {
     private final CollectionRepository collectionRepository;
     private final UserRepository userRepository;
     private final BlockchainService blockchainService;
+    private final ItemLookupFilterService itemLookupFilterService;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Register a new product under a brand (status = DRAFT)
@@ -82,42 +88,31 @@ public class ProductService {
     /**
      * Get all products for a brand with optional category and status filters (public)
      */
+    @Transactional(readOnly = true)
     public List<ProductResponse> getProductsByBrand(Long brandId, ProductCategory category, ProductStatus status) {
-        brandRepository.findById(brandId)
-                .orElseThrow(() -> new ResourceNotFoundException("Brand not found"));
-        
-        List<Product> products;
-        
-        if (category != null && status != null) {
-            products = productRepository.findByBrandIdAndCategoryAndStatus(brandId, category, status);
-        } else if (category != null) {
-            products = productRepository.findByBrandIdAndCategory(brandId, category);
-        } else if (status != null) {
-            products = productRepository.findByBrandIdAndStatus(brandId, status);
-        } else {
-            products = productRepository.findByBrandId(brandId);
+        if (!brandRepository.existsById(brandId)) {
+            throw new ResourceNotFoundException("Brand not found");
         }
         
-        return products.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return productRepository.findProductResponsesByBrand(brandId, category, status);
     }
     
     /**
      * Get products in a collection (public)
      */
+    @Transactional(readOnly = true)
     public List<ProductResponse> getProductsByCollection(Long collectionId) {
-        collectionRepository.findById(collectionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Collection not found"));
+        if (!collectionRepository.existsById(collectionId)) {
+            throw new ResourceNotFoundException("Collection not found");
+        }
         
-        return productRepository.findByCollectionId(collectionId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return productRepository.findProductResponsesByCollection(collectionId);
     }
     
     /**
      * Get a single product by ID (public)
      */
+    @Transactional(readOnly = true)
     public ProductResponse getProductById(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
@@ -251,6 +246,7 @@ public class ProductService {
         
         // Save product + items first (off-chain)
         Product saved = productRepository.save(product);
+        itemLookupFilterService.recordItems(saved.getItems());
         
         // Trigger blockchain batch-minting (after items are persisted)
         if (blockchainService.isAvailable()) {
@@ -320,6 +316,7 @@ public class ProductService {
         
         Product saved = productRepository.save(product);
         log.info("Product '{}' (ID: {}) listed on marketplace by user ID: {}", saved.getProductName(), productId, userId);
+        eventPublisher.publishEvent(ProductListingChangedEvent.membership(saved));
         
         return mapToResponse(saved);
     }
@@ -342,6 +339,7 @@ public class ProductService {
         
         Product saved = productRepository.save(product);
         log.info("Product '{}' (ID: {}) delisted by user ID: {}", saved.getProductName(), productId, userId);
+        eventPublisher.publishEvent(ProductListingChangedEvent.membership(saved));
         
         return mapToResponse(saved);
     }
@@ -364,6 +362,7 @@ public class ProductService {
         
         Product saved = productRepository.save(product);
         log.info("Product '{}' (ID: {}) archived by user ID: {}", saved.getProductName(), productId, userId);
+        eventPublisher.publishEvent(ProductListingChangedEvent.membership(saved));
         
         return mapToResponse(saved);
     }
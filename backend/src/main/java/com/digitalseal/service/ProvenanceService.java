@@ -0,0 +1,212 @@
+package com.digitalseal.service;
+
+import com.digitalseal.dto.response.OwnershipHistoryResponse;
+import com.digitalseal.dto.response.VerificationResponse;
+import com.digitalseal.exception.ResourceNotFoundException;
+import com.digitalseal.model.entity.Brand;
+import com.digitalseal.model.entity.ItemProvenance;
+import com.digitalseal.model.entity.OwnershipHistory;
+import com.digitalseal.model.entity.ProductItem;
+import com.digitalseal.model.entity.SealStatus;
+import com.digitalseal.repository.ItemProvenanceRepository;
+import com.digitalseal.repository.OwnershipHistoryRepository;
+import com.digitalseal.repository.ProductItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the precomputed provenance document of each product item.
+ *
+ * <p>Documents are built on the first verification of an item, or by the first write to an item
+ * that has none, and then kept up to date incrementally: seal status changes refresh the header
+ * fields and new ownership history rows are appended. Every write bumps the document's
+ * {@code @Version} (part of the ETag).
+ *
+ * <p>Writes for one item run one at a time: each first locks the item's row, then reads the
+ * document with a locking read, so it always starts from the latest committed document rather
+ * than its transaction's snapshot. Item writes already hold that row lock, so a first-time build
+ * racing a claim waits for it and then sees the claim.
+ *
+ * <p>Brand name and verified flag are not stored in the document; they are read with it and
+ * overlaid ({@link #toVerificationResponse}), and they are part of the ETag.
+ */
+@Service
+@Observed(name = "digitalseal.service")
+@Slf4j
+@RequiredArgsConstructor
+public class ProvenanceService {
+
+    private final ItemProvenanceRepository provenanceRepository;
+    private final ProductItemRepository productItemRepository;
+    private final OwnershipHistoryRepository ownershipHistoryRepository;
+    private final ObjectMapper objectMapper;
+
+    // ── Reads ─────────────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public Optional<ItemProvenance> findByItemId(Long itemId) {
+        return provenanceRepository.findWithBrandByItemId(itemId).map(ProvenanceService::withBrand);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ItemProvenance> findBySerial(String serial) {
+        return provenanceRepository.findWithBrandBySerial(serial).map(ProvenanceService::withBrand);
+    }
+
+    /**
+     * Deserialise a stored document into the public verification response.
+     */
+    public VerificationResponse toVerificationResponse(ItemProvenance provenance) {
+        VerificationResponse response = read(provenance);
+        response.setBrandName(provenance.getBrandName());
+        response.setBrandVerified(provenance.getBrandVerified());
+        response.setVerifiedAt(LocalDateTime.now());
+        return response;
+    }
+
+    // ── Writes ────────────────────────────────────────────────────────────────
+
+    /**
+     * Build the document for an item from scratch (item state + full ownership history),
+     * replacing the stored one if there is one.
+     */
+    @Transactional
+    public ItemProvenance rebuild(Long itemId) {
+        ProductItem item = productItemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product item not found"));
+        ItemProvenance provenance = provenanceRepository.findForUpdate(itemId)
+                .orElseGet(() -> ItemProvenance.builder().productItemId(itemId).build());
+        return build(provenance, item);
+    }
+
+    /**
+     * Seal status or ownership fields of an item changed — refresh the document header.
+     */
+    @Transactional
+    public void onItemChanged(ProductItem item) {
+        productItemRepository.findByIdForUpdate(item.getId());
+        provenanceRepository.findForUpdate(item.getId()).ifPresentOrElse(
+                provenance -> {
+                    VerificationResponse document = buildHeader(item);
+                    document.setOwnershipHistory(read(provenance).getOwnershipHistory());
+                    store(provenance, item, document);
+                },
+                () -> build(ItemProvenance.builder().productItemId(item.getId()).build(), item));
+    }
+
+    /**
+     * A new ownership history row was recorded — append it and refresh the header.
+     */
+    @Transactional
+    public void onTransferRecorded(ProductItem item, OwnershipHistory history) {
+        productItemRepository.findByIdForUpdate(item.getId());
+        provenanceRepository.findForUpdate(item.getId()).ifPresentOrElse(
+                provenance -> {
+                    List<OwnershipHistoryResponse> entries = new ArrayList<>(read(provenance).getOwnershipHistory());
+                    if (entries.stream().noneMatch(entry -> history.getId().equals(entry.getId()))) {
+                        entries.add(mapHistoryToResponse(history));
+                    }
+                    VerificationResponse document = buildHeader(item);
+                    document.setOwnershipHistory(entries);
+                    store(provenance, item, document);
+                },
+                // The new row is part of the full history read back
+                () -> build(ItemProvenance.builder().productItemId(item.getId()).build(), item));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private ItemProvenance build(ItemProvenance provenance, ProductItem item) {
+        List<OwnershipHistoryResponse> history = ownershipHistoryRepository
+                .findByProductItemIdOrderByTransferredAtAsc(item.getId()).stream()
+                .map(ProvenanceService::mapHistoryToResponse)
+                .collect(Collectors.toList());
+
+        VerificationResponse document = buildHeader(item);
+        document.setOwnershipHistory(history);
+
+        log.debug("Provenance document rebuilt for item {} ({} transfers)", item.getItemSerial(), history.size());
+        return store(provenance, item, document);
+    }
+
+    private ItemProvenance store(ItemProvenance provenance, ProductItem item, VerificationResponse document) {
+        provenance.setItemSerial(item.getItemSerial());
+        provenance.setDocument(write(document));
+        provenance.setUpdatedAt(LocalDateTime.now());
+        // Flushed here so the returned document carries its new version
+        ItemProvenance saved = provenanceRepository.saveAndFlush(provenance);
+        Brand brand = item.getProduct().getBrand();
+        saved.setBrandName(brand.getBrandName());
+        saved.setBrandVerified(brand.getVerified());
+        saved.setBrandVersion(brand.getVersion());
+        return saved;
+    }
+
+    private static ItemProvenance withBrand(Tuple row) {
+        ItemProvenance provenance = row.get("provenance", ItemProvenance.class);
+        provenance.setBrandName(row.get("brandName", String.class));
+        provenance.setBrandVerified(row.get("brandVerified", Boolean.class));
+        provenance.setBrandVersion(row.get("brandVersion", Long.class));
+        return provenance;
+    }
+
+    private VerificationResponse buildHeader(ProductItem item) {
+        boolean isAuthentic = item.getSealStatus() != SealStatus.BURNED
+                && item.getSealStatus() != SealStatus.REVOKED;
+
+        return VerificationResponse.builder()
+                .authentic(isAuthentic)
+                .itemSerial(item.getItemSerial())
+                .productName(item.getProduct().getProductName())
+                .sealStatus(item.getSealStatus())
+                .tokenId(item.getTokenId())
+                .contractAddress(item.getProduct().getContractAddress())
+                .currentOwnerWallet(item.getCurrentOwnerWallet())
+                .mintTxHash(item.getMintTxHash())
+                .mintedAt(item.getMintedAt())
+                .build();
+    }
+
+    private VerificationResponse read(ItemProvenance provenance) {
+        try {
+            return objectMapper.readValue(provenance.getDocument(), VerificationResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Corrupt provenance document for item " + provenance.getProductItemId(), e);
+        }
+    }
+
+    private String write(VerificationResponse document) {
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise provenance document", e);
+        }
+    }
+
+    private static OwnershipHistoryResponse mapHistoryToResponse(OwnershipHistory history) {
+        return OwnershipHistoryResponse.builder()
+                .id(history.getId())
+                .productItemId(history.getProductItem().getId())
+                .fromWallet(history.getFromWallet())
+                .toWallet(history.getToWallet())
+                .transferType(history.getTransferType())
+                .txHash(history.getTxHash())
+                .blockNumber(history.getBlockNumber())
+                .notes(history.getNotes())
+                .transferredAt(history.getTransferredAt())
+                .build();
+    }
+}
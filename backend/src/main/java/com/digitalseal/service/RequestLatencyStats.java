@@ -0,0 +1,248 @@
+package com.digitalseal.service;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-action request latency and error counts over rolling 1m / 5m / 1h windows, kept in
+ * memory so the admin dashboard needs no {@code platform_logs} queries.
+ *
+ * <p>{@link #record} is called by {@code PlatformLoggingAspect} on every controller call. It is
+ * wait-free: each action has an HdrHistogram {@link Recorder} and an error counter, and
+ * recording never takes a lock. Every 10 seconds {@link #tick} swaps each recorder's interval
+ * histogram into a ring of 10-second slots; complete minutes are rolled into a ring of minute
+ * slots, and complete five-minute spans into a ring of five-minute slots. A window is the
+ * part of the current span seen so far plus enough complete spans before it:
+ *
+ * <ul>
+ *   <li>1m — the last six 10-second slots</li>
+ *   <li>5m — this minute's 10-second slots plus the minutes before, up to five</li>
+ *   <li>1h — this five-minute span's minutes and 10-second slots plus the spans before, up
+ *       to twelve</li>
+ * </ul>
+ *
+ * So a request shows up within 10 seconds, and the 5m and 1h windows cover between one slot
+ * less than their length and their full length. Histograms are packed (memory grows with the
+ * distinct values seen, not the range) and auto-resizing, at three significant digits, in
+ * microseconds.
+ *
+ * <p>Actions are "METHOD /path" keys with numeric IDs normalised; paths with other per-entity
+ * segments (serials, claim codes) would still be unbounded, so after
+ * {@code app.latency-stats.max-actions} distinct keys new ones are counted under
+ * {@value #OVERFLOW_ACTION}. Actions idle for an hour are dropped. Stats are per node.
+ */
+@Component
+public class RequestLatencyStats {
+
+    static final String OVERFLOW_ACTION = "OTHER";
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long TICK_MILLIS = 10_000;
+    private static final int TICKS_PER_MINUTE = 6;
+    private static final int TICKS_PER_FIVE_MINUTES = 30;
+    private static final int TICKS_PER_HOUR = 360;
+
+    private static final String[] WINDOWS = {"1m", "5m", "1h"};
+
+    private final int maxActions;
+    private final ConcurrentHashMap<String, ActionStats> actions = new ConcurrentHashMap<>();
+
+    /** Guards the rings and the tick count; never taken on the recording path */
+    private final ReentrantLock windowLock = new ReentrantLock();
+    private long ticks;
+
+    public RequestLatencyStats(@Value("${app.latency-stats.max-actions:500}") int maxActions) {
+        this.maxActions = maxActions;
+    }
+
+    // ── Recording ─────────────────────────────────────────────────────────────
+
+    /** Records one request; called on the request thread */
+    public void record(String action, long durationNanos, boolean success) {
+        ActionStats stats = actions.get(action);
+        if (stats == null) {
+            stats = actions.size() < maxActions
+                    ? actions.computeIfAbsent(action, a -> new ActionStats())
+                    : actions.computeIfAbsent(OVERFLOW_ACTION, a -> new ActionStats());
+        }
+        stats.recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(durationNanos)));
+        if (!success) {
+            stats.errors.incrementAndGet();
+        }
+    }
+
+    // ── Windows ───────────────────────────────────────────────────────────────
+
+    @Scheduled(fixedRate = TICK_MILLIS, initialDelay = TICK_MILLIS)
+    public void tick() {
+        windowLock.lock();
+        try {
+            ticks++;
+            boolean minute = ticks % TICKS_PER_MINUTE == 0;
+            boolean fiveMinutes = ticks % TICKS_PER_FIVE_MINUTES == 0;
+            actions.forEach((action, stats) -> {
+                Histogram interval = stats.recorder.getIntervalHistogram();
+                long errors = stats.errors.getAndSet(0);
+                boolean idle = interval.getTotalCount() == 0;
+                stats.tenSeconds.push(idle ? null : new Slot(interval, errors));
+                if (minute) {
+                    stats.minutes.push(stats.tenSeconds.sum());
+                }
+                if (fiveMinutes) {
+                    stats.fiveMinutes.push(stats.minutes.sum());
+                }
+                stats.idleTicks = idle ? stats.idleTicks + 1 : 0;
+                // A request racing the removal is lost — only ever one for an action nobody
+                // had called for an hour
+                if (stats.idleTicks >= TICKS_PER_HOUR && stats.fiveMinutes.isEmpty()) {
+                    actions.remove(action, stats);
+                }
+            });
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    /**
+     * Per-window, per-action latency percentiles (µs) and error rates, plus a total per window.
+     * Actions without requests in a window are left out of it.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> windows = new LinkedHashMap<>();
+        windowLock.lock();
+        try {
+            for (String window : WINDOWS) {
+                Map<String, Object> byAction = new TreeMap<>();
+                Slot total = null;
+                for (Map.Entry<String, ActionStats> e : actions.entrySet()) {
+                    Slot slot = e.getValue().window(window, ticks);
+                    if (slot != null) {
+                        byAction.put(e.getKey(), describe(slot));
+                        total = Slot.merge(total, slot);
+                    }
+                }
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("total", describe(total));
+                summary.put("actions", byAction);
+                windows.put(window, summary);
+            }
+        } finally {
+            windowLock.unlock();
+        }
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("unit", "microseconds");
+        latency.put("trackedActions", actions.size());
+        latency.put("windows", windows);
+        return latency;
+    }
+
+    /** count, errors, errorRate, p50 / p90 / p99 / max; all zero for an empty (null) slot */
+    private static Map<String, Object> describe(Slot slot) {
+        Histogram h = slot == null ? new PackedHistogram(SIGNIFICANT_DIGITS) : slot.latency();
+        long count = h.getTotalCount();
+        long errors = slot == null ? 0 : slot.errors();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("count", count);
+        out.put("errors", errors);
+        out.put("errorRate", count == 0 ? 0.0 : (double) errors / count);
+        out.put("p50", h.getValueAtPercentile(50));
+        out.put("p90", h.getValueAtPercentile(90));
+        out.put("p99", h.getValueAtPercentile(99));
+        out.put("max", h.getMaxValue());
+        return out;
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    /** Latency and error count for one slot; null slots mean no requests */
+    private record Slot(Histogram latency, long errors) {
+
+        static Slot merge(Slot into, Slot other) {
+            if (into == null) {
+                Histogram copy = new PackedHistogram(SIGNIFICANT_DIGITS);
+                copy.add(other.latency);
+                return new Slot(copy, other.errors);
+            }
+            into.latency.add(other.latency);
+            return new Slot(into.latency, into.errors + other.errors);
+        }
+    }
+
+    /** Fixed-size ring of slots, oldest overwritten */
+    private static final class Ring {
+        private final Slot[] slots;
+        private int next;
+
+        Ring(int size) {
+            this.slots = new Slot[size];
+        }
+
+        void push(Slot slot) {
+            slots[next] = slot;
+            next = (next + 1) % slots.length;
+        }
+
+        /** All slots merged into a new one, or null if they are all empty */
+        Slot sum() {
+            return sumLast(slots.length, null);
+        }
+
+        /** The newest {@code count} slots merged into {@code total} (null: into a new slot) */
+        Slot sumLast(int count, Slot total) {
+            for (int i = 1; i <= count; i++) {
+                Slot slot = slots[Math.floorMod(next - i, slots.length)];
+                if (slot != null) {
+                    total = Slot.merge(total, slot);
+                }
+            }
+            return total;
+        }
+
+        boolean isEmpty() {
+            for (Slot slot : slots) {
+                if (slot != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class ActionStats {
+        final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS, true);
+        final AtomicLong errors = new AtomicLong();
+
+        final Ring tenSeconds = new Ring(TICKS_PER_MINUTE);
+        final Ring minutes = new Ring(TICKS_PER_FIVE_MINUTES / TICKS_PER_MINUTE);
+        final Ring fiveMinutes = new Ring(TICKS_PER_HOUR / TICKS_PER_FIVE_MINUTES);
+        int idleTicks;
+
+        /** The window's slots merged, or null if it saw no requests; {@code ticks} so far */
+        Slot window(String window, long ticks) {
+            int partialTicks = (int) (ticks % TICKS_PER_MINUTE);
+            int partialMinutes = (int) (ticks % TICKS_PER_FIVE_MINUTES) / TICKS_PER_MINUTE;
+            return switch (window) {
+                case "1m" -> tenSeconds.sum();
+                case "5m" -> minutes.sumLast(
+                        minutes.slots.length - (partialTicks > 0 ? 1 : 0),
+                        tenSeconds.sumLast(partialTicks, null));
+                default -> fiveMinutes.sumLast(
+                        fiveMinutes.slots.length - (partialTicks > 0 || partialMinutes > 0 ? 1 : 0),
+                        minutes.sumLast(partialMinutes, tenSeconds.sumLast(partialTicks, null)));
+            };
+        }
+    }
+}
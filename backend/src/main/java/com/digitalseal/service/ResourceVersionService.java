@@ -0,0 +1,124 @@
+package com.digitalseal.service;
+
+import com.digitalseal.model.entity.ItemProvenance;
+import com.digitalseal.model.entity.ProductCategory;
+import com.digitalseal.repository.BrandRepository;
+import com.digitalseal.repository.CollectionRepository;
+import com.digitalseal.repository.ItemProvenanceRepository;
+import com.digitalseal.repository.ProductRepository;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * Current versions of the public read resources, for conditional GET
+ * ({@link com.digitalseal.config.ConditionalGet}).
+ *
+ * <p>Each lookup is a single narrow query over what feeds the response — {@code @Version}
+ * columns, member counts, names read from unversioned rows — so a revalidation that ends in
+ * 304 never loads an entity or builds a DTO. The strong ETag is a digest of that row, and the
+ * only validator: {@code updated_at} has one-second precision, so no Last-Modified date is
+ * derived from it.
+ *
+ * <p>An empty result means there is nothing to compare against (unknown id, provenance document
+ * not built yet): the request goes through to the handler, which answers 404 or builds it.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResourceVersionService {
+
+    /**
+     * A resource's entity tag (quoted).
+     */
+    public record ResourceVersion(String eTag) {}
+
+    // Categories are an enum — they change only with a deployment
+    private static final ResourceVersion CATEGORIES = new ResourceVersion(
+            tag("categories", digest(Arrays.toString(ProductCategory.values()))));
+
+    private final BrandRepository brandRepository;
+    private final CollectionRepository collectionRepository;
+    private final ProductRepository productRepository;
+    private final ItemProvenanceRepository itemProvenanceRepository;
+    private final ItemLookupFilterService itemLookupFilterService;
+
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> brand(Long brandId) {
+        return brandRepository.findVersionStamp(brandId).map(stamp -> fromStamp("brand-" + brandId, stamp));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> brandCollections(Long brandId) {
+        return collectionRepository.findBrandCollectionsVersionStamp(brandId)
+                .map(stamp -> fromStamp("brand-collections-" + brandId, stamp));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> collection(Long collectionId) {
+        return collectionRepository.findVersionStamp(collectionId)
+                .map(stamp -> fromStamp("collection-" + collectionId, stamp));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> collectionProducts(Long collectionId) {
+        return productRepository.findCollectionProductsVersionStamp(collectionId)
+                .map(stamp -> fromStamp("collection-products-" + collectionId, stamp));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> product(Long productId) {
+        return productRepository.findVersionStamp(productId).map(stamp -> fromStamp("product-" + productId, stamp));
+    }
+
+    public Optional<ResourceVersion> categories() {
+        return Optional.of(CATEGORIES);
+    }
+
+    /**
+     * Provenance documents keep the ETag they have always had ({@link ItemProvenance#getETag()}).
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> provenanceByItemId(Long itemId) {
+        return itemProvenanceRepository.findVersionStampByItemId(itemId).map(ResourceVersionService::provenance);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> provenanceBySerial(String serial) {
+        if (!itemLookupFilterService.mightContainSerial(serial)) {
+            return Optional.empty();
+        }
+        return itemProvenanceRepository.findVersionStampBySerial(serial).map(ResourceVersionService::provenance);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private static ResourceVersion provenance(Tuple stamp) {
+        return new ResourceVersion(ItemProvenance.eTag(stamp.get("itemId", Long.class),
+                stamp.get("documentVersion", Long.class), stamp.get("brandVersion", Long.class),
+                stamp.get("brandVerified", Boolean.class)));
+    }
+
+    private static ResourceVersion fromStamp(String name, Tuple stamp) {
+        StringJoiner parts = new StringJoiner("|");
+        for (Object value : stamp.toArray()) {
+            parts.add(String.valueOf(value));
+        }
+        return new ResourceVersion(tag(name, digest(parts.toString())));
+    }
+
+    private static String tag(String name, String digest) {
+        return "\"" + name + "-" + digest + "\"";
+    }
+
+    // 64 bits of MD5 — collision resistance between two versions of one resource is all we need
+    private static String digest(String value) {
+        return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+}
@@ -0,0 +1,203 @@
+package com.digitalseal.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Connected, authenticated SMTP transports, kept open between messages.
+ *
+ * <p>{@link JavaMailSender#send} connects, says EHLO, upgrades to TLS and authenticates for
+ * every call. Here a connection is borrowed, used for any number of messages and handed back,
+ * so a burst of emails pays for that handshake once per connection. At most
+ * {@code app.mail.pool.max-connections} are open at a time. A connection is retired after
+ * {@code max-messages-per-connection} messages (servers cap them) or once idle for
+ * {@code max-idle-ms} (servers drop idle clients), and checked with NOOP before reuse.
+ */
+@Component
+@Slf4j
+public class SmtpTransportPool implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final int maxMessagesPerConnection;
+    private final long maxIdleNanos;
+    private final Counter opened;
+
+    // Most recently used first — the warmest connection is reused, the rest age out
+    private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+
+    public SmtpTransportPool(JavaMailSender mailSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.mail.pool.max-connections:2}") int maxConnections,
+                             @Value("${app.mail.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                             @Value("${app.mail.pool.max-idle-ms:30000}") long maxIdleMs) {
+        if (!(mailSender instanceof JavaMailSenderImpl impl)) {
+            throw new IllegalStateException("SMTP pooling needs Spring's JavaMailSenderImpl, got " + mailSender.getClass().getName());
+        }
+        this.mailSender = impl;
+        this.maxConnections = maxConnections;
+        this.permits = new Semaphore(maxConnections);
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdleNanos = maxIdleMs * 1_000_000;
+
+        this.opened = Counter.builder("digitalseal.mail.connections.opened")
+                .description("SMTP connections opened (connect, TLS and login)")
+                .register(meterRegistry);
+        Gauge.builder("digitalseal.mail.connections.idle", idle, Deque::size)
+                .description("Open SMTP connections waiting for the next message")
+                .register(meterRegistry);
+        Gauge.builder("digitalseal.mail.connections.active", permits, p -> maxConnections - p.availablePermits())
+                .description("SMTP connections currently sending")
+                .register(meterRegistry);
+    }
+
+    public int maxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Take a connection, reusing an idle one when it is still good. Blocks while all
+     * {@code max-connections} are in use.
+     *
+     * @throws MessagingException if a new connection cannot be opened or authenticated
+     */
+    public Connection borrow() throws MessagingException {
+        permits.acquireUninterruptibly();
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (pooled.reusable()) {
+                    return new Connection(pooled);
+                }
+                pooled.close();
+            }
+            return new Connection(open());
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** Close connections idle for longer than {@code max-idle-ms} */
+    public void evictIdle() {
+        for (PooledTransport pooled : idle) {
+            if (pooled.idleTooLong() && idle.remove(pooled)) {
+                pooled.close();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.close();
+        }
+    }
+
+    private PooledTransport open() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        // Same credentials handling as JavaMailSenderImpl: blank means the server needs none
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        transport.connect(mailSender.getHost(), mailSender.getPort(),
+                username == null || username.isEmpty() ? null : username,
+                password == null || password.isEmpty() ? null : password);
+        opened.increment();
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return new PooledTransport(transport);
+    }
+
+    // ── Connections ───────────────────────────────────────────────────────────
+
+    /**
+     * A borrowed connection. Close it to hand it back; after a connection-level failure,
+     * call {@link #discard()} first so it is closed instead of reused.
+     */
+    public final class Connection implements AutoCloseable {
+
+        private final PooledTransport pooled;
+        private boolean broken;
+
+        private Connection(PooledTransport pooled) {
+            this.pooled = pooled;
+        }
+
+        /**
+         * Send one message over this connection.
+         *
+         * @throws jakarta.mail.SendFailedException if the server refused this message; the
+         *         connection can still be used
+         * @throws MessagingException if the connection failed
+         */
+        public void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            pooled.messages++;
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        public void discard() {
+            broken = true;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (broken) {
+                    pooled.close();
+                } else {
+                    pooled.lastUsed = System.nanoTime();
+                    idle.offerFirst(pooled);
+                }
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private final class PooledTransport {
+        private final Transport transport;
+        private int messages;
+        private long lastUsed = System.nanoTime();
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        boolean idleTooLong() {
+            return System.nanoTime() - lastUsed > maxIdleNanos;
+        }
+
+        boolean reusable() {
+            // isConnected() sends NOOP, so a connection the server has dropped is caught here
+            return messages < maxMessagesPerConnection && !idleTooLong() && transport.isConnected();
+        }
+
+        void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error closing SMTP connection: {}", e.getMessage());
+            }
+        }
+    }
+}
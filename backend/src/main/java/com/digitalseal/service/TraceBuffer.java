@@ -0,0 +1,138 @@
+package com.digitalseal.service;
+
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The last {@code app.tracing.buffer.max-spans} finished spans of this node, kept in memory so
+ * admins can look at a request's trace without a tracing backend.
+ *
+ * <p>Spring Boot hands every {@link SpanExporter} bean to its batch span processor, so spans
+ * arrive here in batches off the request thread, and only for sampled traces. The oldest spans
+ * are dropped first; a long trace may already have lost its earliest spans when it is read.
+ */
+@Component
+public class TraceBuffer implements SpanExporter {
+
+    private final int maxSpans;
+    private final ArrayDeque<SpanData> spans;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TraceBuffer(@Value("${app.tracing.buffer.max-spans:10000}") int maxSpans) {
+        this.maxSpans = maxSpans;
+        this.spans = new ArrayDeque<>(maxSpans);
+    }
+
+    // ── Export ────────────────────────────────────────────────────────────────
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        lock.lock();
+        try {
+            for (SpanData span : batch) {
+                if (spans.size() == maxSpans) {
+                    spans.pollFirst();
+                }
+                spans.addLast(span);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    /** The buffered spans of one trace, in start order; empty if none are left */
+    public List<Map<String, Object>> findTrace(String traceId) {
+        List<SpanData> trace = new ArrayList<>();
+        lock.lock();
+        try {
+            for (SpanData span : spans) {
+                if (span.getTraceId().equals(traceId)) {
+                    trace.add(span);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        trace.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+        return trace.stream().map(TraceBuffer::describe).toList();
+    }
+
+    /**
+     * The newest {@code limit} traces that still have their root span: trace ID, root span
+     * name, start, duration, status and the number of buffered spans.
+     */
+    public List<Map<String, Object>> recentTraces(int limit) {
+        Map<String, Integer> spanCounts = new TreeMap<>();
+        List<SpanData> roots = new ArrayList<>();
+        lock.lock();
+        try {
+            for (SpanData span : spans) {
+                spanCounts.merge(span.getTraceId(), 1, Integer::sum);
+                if (!SpanId.isValid(span.getParentSpanId()) || span.getParentSpanContext().isRemote()) {
+                    roots.add(span);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        roots.sort(Comparator.comparingLong(SpanData::getStartEpochNanos).reversed());
+        return roots.stream().limit(limit).map(root -> {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("traceId", root.getTraceId());
+            out.put("name", root.getName());
+            out.put("start", Instant.ofEpochSecond(0, root.getStartEpochNanos()));
+            out.put("durationMicros", durationMicros(root));
+            out.put("status", root.getStatus().getStatusCode().name());
+            out.put("spans", spanCounts.get(root.getTraceId()));
+            return out;
+        }).toList();
+    }
+
+    private static Map<String, Object> describe(SpanData span) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("spanId", span.getSpanId());
+        out.put("parentSpanId", SpanId.isValid(span.getParentSpanId()) ? span.getParentSpanId() : null);
+        out.put("name", span.getName());
+        out.put("kind", span.getKind().name());
+        out.put("start", Instant.ofEpochSecond(0, span.getStartEpochNanos()));
+        out.put("durationMicros", durationMicros(span));
+        out.put("status", span.getStatus().getStatusCode().name());
+        Map<String, Object> attributes = new TreeMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        out.put("attributes", attributes);
+        return out;
+    }
+
+    private static long durationMicros(SpanData span) {
+        return TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos());
+    }
+}
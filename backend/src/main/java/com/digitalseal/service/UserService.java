@@ -11,6 +11,7 @@ import com.digitalseal.exception.UserAlreadyExistsException;
 import com.digitalseal.model.entity.User;
 import com.digitalseal.repository.UserRepository;
 import com.digitalseal.util.SignatureVerifier;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,6 +19,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Observed(name = "digitalseal.service")
 @Slf4j
 @RequiredArgsConstructor
 public class UserService {
@@ -4,6 +4,7 @@ import com.digitalseal.model.entity.User;
 import com.digitalseal.model.entity.VerificationCode;
 import com.digitalseal.model.entity.VerificationType;
 import com.digitalseal.repository.VerificationCodeRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,6 +15,7 @@ import java.security.SecureRandom;
 import java.time.LocalDateTime;
 
 @Service
+@Observed(name = "digitalseal.service")
 @Slf4j
 @RequiredArgsConstructor
 public class VerificationService {
@@ -0,0 +1,73 @@
+package com.digitalseal.util;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTML with {@code {{name}}} placeholders, parsed once.
+ *
+ * <p>The text between placeholders is kept as-is, so rendering appends the static parts and
+ * the HTML-escaped values into a builder sized for the result — no scanning or format
+ * parsing per call. Immutable and thread-safe.
+ */
+public final class HtmlTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)}}");
+
+    /** One more than {@link #names}: the text before, between and after the placeholders */
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private HtmlTemplate(String[] literals, String[] names) {
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static HtmlTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(source);
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(source.substring(last, matcher.start()));
+            names.add(matcher.group(1));
+            last = matcher.end();
+        }
+        literals.add(source.substring(last));
+        return new HtmlTemplate(literals.toArray(String[]::new), names.toArray(String[]::new));
+    }
+
+    /**
+     * Fill in every placeholder, HTML-escaping the values.
+     *
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public String render(Map<String, String> values) {
+        String[] escaped = new String[names.length];
+        int length = literalLength;
+        for (int i = 0; i < names.length; i++) {
+            String value = values.get(names[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for template variable '" + names[i] + "'");
+            }
+            escaped[i] = HtmlUtils.htmlEscape(value);
+            length += escaped[i].length();
+        }
+        StringBuilder html = new StringBuilder(length);
+        for (int i = 0; i < names.length; i++) {
+            html.append(literals[i]).append(escaped[i]);
+        }
+        return html.append(literals[names.length]).toString();
+    }
+}
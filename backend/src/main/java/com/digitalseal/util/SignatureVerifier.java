@@ -2,19 +2,37 @@ package com.digitalseal.util;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.web3j.crypto.Keys;
+import org.web3j.crypto.ECDSASignature;
+import org.web3j.crypto.Hash;
 import org.web3j.crypto.Sign;
 import org.web3j.utils.Numeric;
 
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 
+/**
+ * Verifies EIP-191 {@code personal_sign} signatures, as produced by MetaMask and other wallets.
+ *
+ * <p>The recovery id comes straight from {@code v}, so the public key is recovered once, and
+ * the recovered address is compared with the expected one as 20 raw bytes. Accepted forms:
+ * 65-byte {@code r ‖ s ‖ v} with {@code v} of 0/1, 27/28 or EIP-155 ({@code chainId * 2 + 35/36},
+ * also when {@code v} takes more than one byte), and 64-byte EIP-2098 compact signatures,
+ * where the top bit of {@code s} carries the y-parity.
+ */
 @Component
 @Slf4j
 public class SignatureVerifier {
-    
-    private static final String PERSONAL_MESSAGE_PREFIX = "\u0019Ethereum Signed Message:\n";
-    
+
+    private static final byte[] PERSONAL_MESSAGE_PREFIX = "\u0019Ethereum Signed Message:\n".getBytes(StandardCharsets.US_ASCII);
+    private static final BigInteger CURVE_ORDER = Sign.CURVE_PARAMS.getN();
+    private static final BigInteger EIP155_V_MIN = BigInteger.valueOf(35);
+    private static final int ADDRESS_LENGTH = 20;
+
+    /** One entry of {@link #verifyAll} */
+    public record SignedMessage(String address, String message, String signature) {}
+
     /**
      * Verify Ethereum signature from MetaMask
      * @param address The wallet address that signed the message
@@ -24,53 +42,113 @@ public class SignatureVerifier {
      */
     public boolean verifySignature(String address, String message, String signature) {
         try {
-            // Prepare the message hash
-            String prefix = PERSONAL_MESSAGE_PREFIX + message.length();
-            byte[] msgHash = org.web3j.crypto.Hash.sha3((prefix + message).getBytes(StandardCharsets.UTF_8));
-            
-            // Parse signature
-            byte[] signatureBytes = Numeric.hexStringToByteArray(signature);
-            if (signatureBytes.length != 65) {
-                log.error("Invalid signature length: {}", signatureBytes.length);
+            byte[] expected = parseAddress(address);
+            if (expected == null) {
+                log.debug("Signature verification: malformed address {}", address);
                 return false;
             }
-            
-            byte v = signatureBytes[64];
-            if (v < 27) {
-                v += 27;
-            }
-            
-            Sign.SignatureData sd = new Sign.SignatureData(
-                v,
-                Arrays.copyOfRange(signatureBytes, 0, 32),
-                Arrays.copyOfRange(signatureBytes, 32, 64)
-            );
-            
-            // Recover address from signature
-            String recoveredAddress = null;
-            for (int i = 0; i < 4; i++) {
-                try {
-                    recoveredAddress = "0x" + Keys.getAddress(
-                        Sign.signedPrefixedMessageToKey(msgHash, sd)
-                    );
-                    break;
-                } catch (Exception e) {
-                    // Try next recovery id
-                    if (i == 3) {
-                        log.error("Failed to recover address from signature", e);
-                    }
-                }
-            }
-            
-            boolean isValid = recoveredAddress != null && 
-                             recoveredAddress.equalsIgnoreCase(address);
-            
-            log.info("Signature verification: address={}, valid={}", address, isValid);
+            byte[] recovered = recoverAddress(personalMessageHash(message), signature);
+            boolean isValid = recovered != null && Arrays.equals(recovered, 12, 32, expected, 0, ADDRESS_LENGTH);
+            log.debug("Signature verification: address={}, valid={}", address, isValid);
             return isValid;
-            
-        } catch (Exception e) {
-            log.error("Error verifying signature for address: {}", address, e);
+        } catch (RuntimeException e) {
+            log.warn("Error verifying signature for address {}: {}", address, e.getMessage());
             return false;
         }
     }
+
+    /**
+     * Verify many signatures in one call, for bulk wallet operations. The result is in the
+     * order of {@code messages}; a malformed entry is {@code false} and does not stop the rest.
+     * Runs on the calling thread.
+     */
+    public boolean[] verifyAll(List<SignedMessage> messages) {
+        boolean[] valid = new boolean[messages.size()];
+        for (int i = 0; i < valid.length; i++) {
+            SignedMessage m = messages.get(i);
+            valid[i] = verifySignature(m.address(), m.message(), m.signature());
+        }
+        return valid;
+    }
+
+    // ── Recovery ──────────────────────────────────────────────────────────────
+
+    /** keccak256("\x19Ethereum Signed Message:\n" + byte length + message) */
+    static byte[] personalMessageHash(String message) {
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        byte[] length = Integer.toString(body.length).getBytes(StandardCharsets.US_ASCII);
+        byte[] prefixed = new byte[PERSONAL_MESSAGE_PREFIX.length + length.length + body.length];
+        System.arraycopy(PERSONAL_MESSAGE_PREFIX, 0, prefixed, 0, PERSONAL_MESSAGE_PREFIX.length);
+        System.arraycopy(length, 0, prefixed, PERSONAL_MESSAGE_PREFIX.length, length.length);
+        System.arraycopy(body, 0, prefixed, PERSONAL_MESSAGE_PREFIX.length + length.length, body.length);
+        return Hash.sha3(prefixed);
+    }
+
+    /**
+     * keccak256 of the signer's public key — the address is its last 20 bytes — or null if the
+     * signature is malformed or recovers no key.
+     */
+    private static byte[] recoverAddress(byte[] messageHash, String signature) {
+        byte[] sig = Numeric.hexStringToByteArray(signature);
+        if (sig.length < 64 || sig.length > 72) {
+            log.debug("Invalid signature length: {}", sig.length);
+            return null;
+        }
+        byte[] sBytes = Arrays.copyOfRange(sig, 32, 64);
+        int recId;
+        if (sig.length == 64) {
+            // EIP-2098: yParityAndS
+            recId = (sBytes[0] & 0x80) >>> 7;
+            sBytes[0] &= 0x7f;
+        } else {
+            recId = recoveryId(new BigInteger(1, Arrays.copyOfRange(sig, 64, sig.length)));
+        }
+        if (recId < 0) {
+            log.debug("Invalid signature v");
+            return null;
+        }
+
+        BigInteger r = new BigInteger(1, Arrays.copyOfRange(sig, 0, 32));
+        BigInteger s = new BigInteger(1, sBytes);
+        if (r.signum() == 0 || s.signum() == 0 || r.compareTo(CURVE_ORDER) >= 0 || s.compareTo(CURVE_ORDER) >= 0) {
+            return null;
+        }
+        BigInteger publicKey = Sign.recoverFromSignature(recId, new ECDSASignature(r, s), messageHash);
+        return publicKey == null ? null : Hash.sha3(Numeric.toBytesPadded(publicKey, 64));
+    }
+
+    /** 0/1, 27/28 (legacy) or chainId * 2 + 35/36 (EIP-155); -1 for anything else */
+    private static int recoveryId(BigInteger v) {
+        if (v.bitLength() <= 5) {
+            int small = v.intValue();
+            if (small == 0 || small == 1) {
+                return small;
+            }
+            if (small == 27 || small == 28) {
+                return small - 27;
+            }
+            return -1;
+        }
+        if (v.compareTo(EIP155_V_MIN) < 0) {
+            return -1;
+        }
+        return v.subtract(EIP155_V_MIN).testBit(0) ? 1 : 0;
+    }
+
+    /** 20 address bytes from "0x" + 40 hex digits (any case), or null */
+    private static byte[] parseAddress(String address) {
+        if (address == null || address.length() != 42 || !address.startsWith("0x")) {
+            return null;
+        }
+        byte[] bytes = new byte[ADDRESS_LENGTH];
+        for (int i = 0; i < ADDRESS_LENGTH; i++) {
+            int hi = Character.digit(address.charAt(2 + 2 * i), 16);
+            int lo = Character.digit(address.charAt(3 + 2 * i), 16);
+            if (hi < 0 || lo < 0) {
+                return null;
+            }
+            bytes[i] = (byte) (hi << 4 | lo);
+        }
+        return bytes;
+    }
 }
@@ -0,0 +1,25 @@
+-- V12: Create item_provenance table — precomputed verification documents served by /verify
+
+CREATE TABLE IF NOT EXISTS item_provenance (
+    -- One document per product item (same key as product_items.id)
+    product_item_id BIGINT PRIMARY KEY,
+
+    -- Denormalised serial so /verify/serial/{serial} is a single indexed read
+    item_serial VARCHAR(150) NOT NULL,
+
+    -- Incremented on every rebuild; drives the ETag
+    document_version BIGINT NOT NULL DEFAULT 1,
+
+    -- Serialised VerificationResponse (without verifiedAt)
+    document MEDIUMTEXT NOT NULL,
+
+    -- Timestamps
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    -- Foreign Keys
+    CONSTRAINT fk_item_provenance_item FOREIGN KEY (product_item_id) REFERENCES product_items(id) ON DELETE CASCADE,
+
+    -- Unique constraints
+    CONSTRAINT uk_item_provenance_serial UNIQUE (item_serial)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
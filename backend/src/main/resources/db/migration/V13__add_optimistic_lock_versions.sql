@@ -0,0 +1,6 @@
+-- V13: Add optimistic-lock version columns to product_items, products and orders
+-- Incremented by Hibernate (@Version) on every update and by the conditional claim UPDATE
+
+ALTER TABLE product_items ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
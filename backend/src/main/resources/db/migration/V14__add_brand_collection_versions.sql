@@ -0,0 +1,6 @@
+-- V14: Add version columns to brands and collections
+-- Incremented by Hibernate (@Version) on every update; part of the ETags on the public brand / collection reads
+-- (updated_at alone has one-second precision, so two edits within a second would share an ETag)
+
+ALTER TABLE brands ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE collections ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
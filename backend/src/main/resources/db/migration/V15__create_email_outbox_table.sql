@@ -0,0 +1,27 @@
+-- V15: Create email_outbox table — transactional emails are queued here and sent by EmailOutboxSender
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+
+    -- What to send
+    recipient VARCHAR(100) NOT NULL,
+    template VARCHAR(30) NOT NULL COMMENT 'EMAIL_VERIFICATION | PASSWORD_RESET',
+    -- Template variables as a JSON object; cleared once the email is sent
+    variables TEXT NULL,
+
+    -- Delivery state
+    status VARCHAR(10) NOT NULL DEFAULT 'PENDING' COMMENT 'PENDING | SENDING | SENT | FAILED',
+    attempts INT NOT NULL DEFAULT 0,
+    -- PENDING: earliest retry; SENDING: end of the claim, after which another sender may take the row
+    next_attempt_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    last_error VARCHAR(500) NULL,
+
+    -- Timestamps
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP NULL,
+
+    -- Indexes
+    INDEX idx_email_outbox_due (status, next_attempt_at),
+    INDEX idx_email_outbox_created (created_at)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,5 @@
+-- V16: Drop users.wallet_nonce
+-- Wallet sign-in challenges are single-use and held in memory (WalletChallengeStore); the per-user nonce
+-- was readable by anyone who asked and was never checked against the signed message
+
+ALTER TABLE users DROP COLUMN wallet_nonce;
@@ -0,0 +1,7 @@
+-- V17: Trace ID on platform log entries
+-- The W3C trace ID of the request that wrote the entry, so an admin can go from a log entry to its
+-- trace (GET /admin/traces/{traceId}) and back; null for entries written outside any trace
+
+ALTER TABLE platform_logs ADD COLUMN trace_id VARCHAR(32) NULL AFTER duration_ms;
+
+CREATE INDEX idx_platform_logs_trace_id ON platform_logs (trace_id);
@@ -0,0 +1,206 @@
+package com.digitalseal.config;
+
+import com.digitalseal.service.ResourceVersionService;
+import com.digitalseal.service.ResourceVersionService.ResourceVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ConditionalGetSupportTest {
+
+    private static final String ETAG = "\"brand-7-0123456789abcdef\"";
+
+    private final ResourceVersionService resourceVersionService = mock(ResourceVersionService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConditionalGetSupport support = new ConditionalGetSupport(resourceVersionService, meterRegistry, true);
+
+    @Test
+    void matchingIfNoneMatchAnswers304WithoutRunningTheHandler() throws Exception {
+        when(resourceVersionService.brand(7L)).thenReturn(Optional.of(new ResourceVersion(ETAG)));
+        MockHttpServletRequest request = get("7");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = support.preHandle(request, response, handler("brand"));
+
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL))
+                .isEqualTo("max-age=60, public, stale-while-revalidate=300");
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNull();
+        assertThat(count("not_modified")).isOne();
+    }
+
+    @Test
+    void matchingOneOfSeveralTagsAnswers304() throws Exception {
+        when(resourceVersionService.brand(7L)).thenReturn(Optional.of(new ResourceVersion(ETAG)));
+        MockHttpServletRequest request = get("7");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"brand-7-stale\", " + ETAG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(support.preHandle(request, response, handler("brand"))).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void staleIfNoneMatchRunsTheHandler() throws Exception {
+        when(resourceVersionService.brand(7L)).thenReturn(Optional.of(new ResourceVersion(ETAG)));
+        MockHttpServletRequest request = get("7");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"brand-7-stale\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(support.preHandle(request, response, handler("brand"))).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeaderNames()).isEmpty();
+        assertThat(count("modified")).isOne();
+    }
+
+    @Test
+    void ifModifiedSinceIsIgnored() throws Exception {
+        when(resourceVersionService.brand(7L)).thenReturn(Optional.of(new ResourceVersion(ETAG)));
+        MockHttpServletRequest request = get("7");
+        // A date after any edit — a second edit within the same second as the first must still be served
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, Instant.now().plusSeconds(3600).toEpochMilli());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(support.preHandle(request, response, handler("brand"))).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void unknownResourceRunsTheHandler() throws Exception {
+        when(resourceVersionService.brand(7L)).thenReturn(Optional.empty());
+        MockHttpServletRequest request = get("7");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        assertThat(support.preHandle(request, new MockHttpServletResponse(), handler("brand"))).isTrue();
+        assertThat(count("unversioned")).isOne();
+    }
+
+    @Test
+    void unmarkedHandlersAndNonGetRequestsAreLeftAlone() throws Exception {
+        MockHttpServletRequest post = get("7");
+        post.setMethod("POST");
+        post.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        MockHttpServletRequest unmarked = get("7");
+        unmarked.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        assertThat(support.preHandle(post, new MockHttpServletResponse(), handler("brand"))).isTrue();
+        assertThat(support.preHandle(unmarked, new MockHttpServletResponse(), handler("unmarked"))).isTrue();
+        verifyNoInteractions(resourceVersionService);
+    }
+
+    @Test
+    void disabledSupportNeverAnswers304() throws Exception {
+        ConditionalGetSupport disabled = new ConditionalGetSupport(resourceVersionService, meterRegistry, false);
+        MockHttpServletRequest request = get("7");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        assertThat(disabled.preHandle(request, new MockHttpServletResponse(), handler("brand"))).isTrue();
+        assertThat(disabled.supports(returnType("brand"), MappingJackson2HttpMessageConverter.class)).isFalse();
+        verifyNoInteractions(resourceVersionService);
+    }
+
+    @Test
+    void successfulResponsesCarryTheETagResolvedBeforeTheHandler() throws Exception {
+        when(resourceVersionService.brand(7L)).thenReturn(Optional.of(new ResourceVersion(ETAG)));
+        MockHttpServletRequest request = get("7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        support.preHandle(request, response, handler("brand"));
+
+        ServletServerHttpResponse serverResponse = writeBody(request, response, "brand");
+
+        assertThat(serverResponse.getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(serverResponse.getHeaders().getCacheControl())
+                .isEqualTo("max-age=60, public, stale-while-revalidate=300");
+        assertThat(serverResponse.getHeaders().getLastModified()).isEqualTo(-1);
+    }
+
+    @Test
+    void anETagAlreadySetByTheHandlerIsKept() throws Exception {
+        when(resourceVersionService.brand(7L)).thenReturn(Optional.of(new ResourceVersion(ETAG)));
+        MockHttpServletRequest request = get("7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        support.preHandle(request, response, handler("brand"));
+        response.setHeader(HttpHeaders.ETAG, "\"prov-7-1-b0\"");
+
+        writeBody(request, response, "brand").flush();
+
+        assertThat(response.getHeaders(HttpHeaders.ETAG)).containsExactly("\"prov-7-1-b0\"");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).startsWith("max-age=60");
+    }
+
+    @Test
+    void errorResponsesGetNoCachingHeaders() throws Exception {
+        when(resourceVersionService.brand(7L)).thenReturn(Optional.of(new ResourceVersion(ETAG)));
+        MockHttpServletRequest request = get("7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        support.preHandle(request, response, handler("brand"));
+        response.setStatus(404);
+
+        ServletServerHttpResponse serverResponse = writeBody(request, response, "brand");
+
+        assertThat(serverResponse.getHeaders()).isEmpty();
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    static class Handlers {
+
+        @ConditionalGet(value = ConditionalGet.Resource.BRAND, maxAge = 60, staleWhileRevalidate = 300)
+        public String brand() {
+            return "brand";
+        }
+
+        public String unmarked() {
+            return "unmarked";
+        }
+    }
+
+    private static MockHttpServletRequest get(String brandId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/brands/" + brandId);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("brandId", brandId));
+        return request;
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+    }
+
+    private static MethodParameter returnType(String name) throws NoSuchMethodException {
+        return new MethodParameter(Handlers.class.getMethod(name), -1);
+    }
+
+    private ServletServerHttpResponse writeBody(MockHttpServletRequest request, MockHttpServletResponse response,
+                                                String handler) throws Exception {
+        MethodParameter returnType = returnType(handler);
+        assertThat(support.supports(returnType, MappingJackson2HttpMessageConverter.class)).isTrue();
+        ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(response);
+        support.beforeBodyWrite("body", returnType, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), serverResponse);
+        return serverResponse;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("digitalseal.http.conditional.requests").tag("result", result).counter().count();
+    }
+}
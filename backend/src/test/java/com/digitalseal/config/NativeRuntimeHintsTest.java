@@ -0,0 +1,101 @@
+package com.digitalseal.config;
+
+import com.digitalseal.DigitalSealApplication;
+import com.digitalseal.devchain.ChainSimulator;
+import com.digitalseal.devchain.ChainSimulatorSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeHint;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = registered();
+
+    @Test
+    void applicationImportsTheHints() {
+        assertThat(DigitalSealApplication.class.getAnnotation(ImportRuntimeHints.class).value())
+                .contains(NativeRuntimeHints.class);
+    }
+
+    @Test
+    void everyTypeRegisteredByNameExists() {
+        List<String> names = hints.reflection().typeHints().map(TypeHint::getType).map(TypeReference::getName).toList();
+
+        assertThat(names).isNotEmpty();
+        names.forEach(name -> assertThatCode(() -> Class.forName(name, false, getClass().getClassLoader()))
+                .as(name).doesNotThrowAnyException());
+    }
+
+    @Test
+    void web3jTypeReferencesKeepTheirGenericSuperclass() {
+        List<Class<?>> typeReferences = Stream.of(ChainSimulator.class.getNestMembers())
+                .filter(org.web3j.abi.TypeReference.class::isAssignableFrom)
+                .toList();
+
+        assertThat(typeReferences).isNotEmpty();
+        typeReferences.forEach(type ->
+                assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type.getName()))).as(type.getName())
+                        .accepts(hints));
+    }
+
+    @Test
+    void abiResultTypesCanBeConstructedByName() {
+        Stream.of(Address.class, Uint256.class, DynamicArray.class).forEach(type ->
+                assertThat(RuntimeHintsPredicates.reflection().onType(type)
+                        .withMemberCategories(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS))
+                        .as(type.getName())
+                        .accepts(hints));
+    }
+
+    @Test
+    void jsonMappedTypesAreRegisteredForBinding() {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(EthCall.class, "getValue")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(TransactionReceipt.class, "getStatus")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(PageImpl.class, "getContent")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Sort.Order.class)).accepts(hints);
+    }
+
+    @Test
+    void jjwtImplementationAndServicesAreReachable() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder"))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("okhttp3/internal/publicsuffix/publicsuffixes.gz"))
+                .accepts(hints);
+    }
+
+    @Test
+    void binderBoundTypesAndCacheRegionFactoryAreRegistered() {
+        Stream.of(SecondLevelCacheConfig.Region.class, ChainSimulatorSettings.class, WorkloadTaskExecutor.Spec.class)
+                .forEach(type -> assertThat(RuntimeHintsPredicates.reflection().onType(type)).as(type.getName())
+                        .accepts(hints));
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("org.hibernate.cache.jcache.internal.JCacheRegionFactory"))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("reference.conf")).accepts(hints);
+    }
+
+    private static RuntimeHints registered() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, NativeRuntimeHintsTest.class.getClassLoader());
+        return hints;
+    }
+}
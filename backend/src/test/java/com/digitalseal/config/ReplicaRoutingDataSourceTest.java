@@ -0,0 +1,254 @@
+package com.digitalseal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SHOW REPLICA STATUS";
+    private static final long NO_REPROBE = 60_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<ReplicaRoutingDataSource> dataSources = new ArrayList<>();
+
+    private final HikariDataSource primary = pool("primary");
+    private final Connection primaryConnection = mock(Connection.class);
+
+    @AfterEach
+    void cleanUp() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.endAffinity();
+        dataSources.forEach(ReplicaRoutingDataSource::close);
+    }
+
+    @Test
+    void writesGoToThePrimary() throws SQLException {
+        HikariDataSource replica = pool("replica-1");
+        healthy(replica);
+        ReplicaRoutingDataSource dataSource = routing(List.of(replica), null, NO_REPROBE);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(reads("primary") + reads("replica")).isZero();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAHealthyReplica() throws SQLException {
+        HikariDataSource replica = pool("replica-1");
+        Connection replicaConnection = healthy(replica);
+        ReplicaRoutingDataSource dataSource = routing(List.of(replica), null, NO_REPROBE);
+
+        readOnly();
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        assertThat(reads("replica")).isOne();
+        assertThat(gauge("digitalseal.datasource.replica.available", "replica-1")).isOne();
+    }
+
+    @Test
+    void replicaLaggingBeyondTheLimitIsSkipped() throws SQLException {
+        HikariDataSource replica = pool("replica-1");
+        lagging(replica, "Seconds_Behind_Source", 30);
+        ReplicaRoutingDataSource dataSource = routing(List.of(replica), LAG_QUERY, NO_REPROBE);
+
+        readOnly();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(reads("primary")).isOne();
+        assertThat(gauge("digitalseal.datasource.replica.lag", "replica-1")).isEqualTo(30);
+        assertThat(gauge("digitalseal.datasource.replica.available", "replica-1")).isZero();
+    }
+
+    @Test
+    void lagWithinTheLimitIsReadFromEitherColumnName() throws SQLException {
+        HikariDataSource source = pool("replica-1");
+        Connection sourceConnection = lagging(source, "Seconds_Behind_Source", 2);
+        HikariDataSource master = pool("replica-2");
+        Connection masterConnection = lagging(master, "Seconds_Behind_Master", 3);
+        ReplicaRoutingDataSource dataSource = routing(List.of(source, master), LAG_QUERY, NO_REPROBE);
+
+        readOnly();
+
+        assertThat(List.of(dataSource.getConnection(), dataSource.getConnection()))
+                .containsExactlyInAnyOrder(sourceConnection, masterConnection);
+        assertThat(gauge("digitalseal.datasource.replica.lag", "replica-2")).isEqualTo(3);
+    }
+
+    @Test
+    void stoppedReplicationTakesTheReplicaOut() throws SQLException {
+        HikariDataSource replica = pool("replica-1");
+        lagging(replica, "Seconds_Behind_Source", null);
+        ReplicaRoutingDataSource dataSource = routing(List.of(replica), LAG_QUERY, NO_REPROBE);
+
+        readOnly();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(gauge("digitalseal.datasource.replica.lag", "replica-1")).isNaN();
+    }
+
+    @Test
+    void serverThatIsNotReplicatingCountsAsNoLag() throws SQLException {
+        HikariDataSource replica = pool("replica-1");
+        Connection replicaConnection = healthy(replica);
+        ResultSet noRows = mock(ResultSet.class);
+        Statement statement = mock(Statement.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(LAG_QUERY)).thenReturn(noRows);
+        ReplicaRoutingDataSource dataSource = routing(List.of(replica), LAG_QUERY, NO_REPROBE);
+
+        readOnly();
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void failedReplicaConnectionFallsBackToThePrimaryAndTakesTheReplicaOut() throws SQLException {
+        HikariDataSource replica = pool("replica-1");
+        Connection replicaConnection = mock(Connection.class);
+        when(replica.getConnection())
+                .thenReturn(replicaConnection)
+                .thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource dataSource = routing(List.of(replica), null, NO_REPROBE);
+
+        readOnly();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        // One probe, one failed read; the second read did not try the replica again
+        verify(replica, times(2)).getConnection();
+        assertThat(reads("primary")).isEqualTo(2);
+    }
+
+    @Test
+    void probesTakeAFailingReplicaOutAndBringItBack() throws SQLException {
+        HikariDataSource replica = pool("replica-1");
+        Connection replicaConnection = mock(Connection.class);
+        when(replica.getConnection())
+                .thenReturn(replicaConnection)
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(replicaConnection);
+        ReplicaRoutingDataSource dataSource = routing(List.of(replica), null, 1_000);
+
+        readOnly();
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> gauge("digitalseal.datasource.replica.available", "replica-1") == 0);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> gauge("digitalseal.datasource.replica.available", "replica-1") == 1);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void readsAreSpreadAcrossReplicas() throws SQLException {
+        HikariDataSource first = pool("replica-1");
+        Connection firstConnection = healthy(first);
+        HikariDataSource second = pool("replica-2");
+        Connection secondConnection = healthy(second);
+        ReplicaRoutingDataSource dataSource = routing(List.of(first, second), null, NO_REPROBE);
+
+        readOnly();
+        List<Connection> connections = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            connections.add(dataSource.getConnection());
+        }
+
+        assertThat(connections).containsOnly(firstConnection, secondConnection);
+        assertThat(connections).filteredOn(firstConnection::equals).hasSize(2);
+    }
+
+    @Test
+    void affinityKeepsAThreadOnOneReplicaUntilItEnds() throws SQLException {
+        HikariDataSource first = pool("replica-1");
+        Connection firstConnection = healthy(first);
+        HikariDataSource second = pool("replica-2");
+        Connection secondConnection = healthy(second);
+        ReplicaRoutingDataSource dataSource = routing(List.of(first, second), null, NO_REPROBE);
+
+        readOnly();
+        assertThat(ReplicaRoutingDataSource.beginAffinity()).isTrue();
+        assertThat(ReplicaRoutingDataSource.beginAffinity()).isFalse();
+        List<Connection> pinned = IntStream.range(0, 5).mapToObj(i -> connection(dataSource)).toList();
+        ReplicaRoutingDataSource.endAffinity();
+        List<Connection> unpinned = IntStream.range(0, 4).mapToObj(i -> connection(dataSource)).toList();
+
+        assertThat(pinned).containsOnly(pinned.get(0));
+        assertThat(unpinned).contains(firstConnection, secondConnection);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private ReplicaRoutingDataSource routing(List<HikariDataSource> replicas, String lagQuery, long probeIntervalMillis)
+            throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaRoutingDataSource dataSource =
+                new ReplicaRoutingDataSource(primary, replicas, lagQuery, 5, probeIntervalMillis, meterRegistry);
+        dataSources.add(dataSource);
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getPoolName()).thenReturn(name);
+        return pool;
+    }
+
+    private static Connection healthy(HikariDataSource pool) throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(connection);
+        return connection;
+    }
+
+    private static Connection lagging(HikariDataSource pool, String column, Integer seconds) throws SQLException {
+        Connection connection = healthy(pool);
+        Statement statement = mock(Statement.class);
+        ResultSet status = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(LAG_QUERY)).thenReturn(status);
+        when(status.next()).thenReturn(true);
+        when(status.findColumn(anyString())).thenThrow(new SQLException("no such column"));
+        doReturn(7).when(status).findColumn(column);
+        when(status.getObject(7)).thenReturn(seconds);
+        return connection;
+    }
+
+    private static void readOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private static Connection connection(ReplicaRoutingDataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("digitalseal.datasource.reads").tag("target", target).counter().count();
+    }
+
+    private double gauge(String name, String replica) {
+        return meterRegistry.get(name).tag("replica", replica).gauge().value();
+    }
+}
@@ -0,0 +1,97 @@
+package com.digitalseal.controller;
+
+import com.digitalseal.model.entity.OwnershipHistory;
+import com.digitalseal.model.entity.Product;
+import com.digitalseal.model.entity.ProductItem;
+import com.digitalseal.model.entity.ProductStatus;
+import com.digitalseal.model.entity.SealStatus;
+import com.digitalseal.model.entity.User;
+import com.digitalseal.model.entity.UserRole;
+import com.digitalseal.repository.OwnershipHistoryRepository;
+import com.digitalseal.repository.ProductItemRepository;
+import com.digitalseal.support.IntegrationTest;
+import com.digitalseal.support.TestData;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many scans of one QR code at once: the conditional claim UPDATE lets exactly one through.
+ */
+class ClaimControllerConcurrencyTest extends IntegrationTest {
+
+    private static final int CLAIMANTS = 16;
+
+    @Autowired private TestRestTemplate rest;
+    @Autowired private ProductItemRepository productItemRepository;
+    @Autowired private OwnershipHistoryRepository ownershipHistoryRepository;
+    @Autowired private TestData data;
+
+    @Test
+    void exactlyOneOfManyConcurrentClaimsWins() throws Exception {
+        Product product = data.product(data.brand(data.user(UserRole.BRAND)), null, ProductStatus.PREMINTED);
+        String claimCode = TestData.unique("CLAIM");
+        ProductItem item = data.item(product, 1, SealStatus.PRE_MINTED, claimCode);
+        List<User> claimants = new ArrayList<>();
+        for (int i = 0; i < CLAIMANTS; i++) {
+            claimants.add(data.user(UserRole.OWNER));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(CLAIMANTS);
+        List<ResponseEntity<JsonNode>> responses = new ArrayList<>();
+        try {
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<ResponseEntity<JsonNode>>> futures = new ArrayList<>();
+            for (User claimant : claimants) {
+                HttpEntity<Map<String, String>> request =
+                        new HttpEntity<>(Map.of("claimCode", claimCode), data.bearer(claimant));
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    return rest.postForEntity("/claim", request, JsonNode.class);
+                }));
+            }
+            go.countDown();
+            for (Future<ResponseEntity<JsonNode>> future : futures) {
+                responses.add(future.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<ResponseEntity<JsonNode>> won = responses.stream()
+                .filter(response -> response.getStatusCode() == HttpStatus.OK)
+                .toList();
+        assertThat(won).hasSize(1);
+        // Losers that read the item before the winner committed lose at the UPDATE; later ones
+        // find the code already consumed
+        assertThat(responses).filteredOn(response -> response.getStatusCode() != HttpStatus.OK)
+                .hasSize(CLAIMANTS - 1)
+                .allSatisfy(response -> assertThat(response.getBody().path("error").path("message").asText())
+                        .isIn("This item has already been claimed", "Invalid claim code"));
+
+        ProductItem claimed = productItemRepository.findById(item.getId()).orElseThrow();
+        Long winnerId = won.get(0).getBody().path("data").path("currentOwnerId").asLong();
+        assertThat(claimed.getSealStatus()).isEqualTo(SealStatus.REALIZED);
+        assertThat(claimed.getClaimCode()).isNull();
+        assertThat(claimed.getVersion()).isEqualTo(item.getVersion() + 1);
+        assertThat(claimants).extracting(User::getId).contains(winnerId);
+
+        List<OwnershipHistory> history = ownershipHistoryRepository.findByProductItemIdOrderByTransferredAtAsc(item.getId());
+        assertThat(history).hasSize(1);
+        assertThat(history.get(0).getToWallet()).isEqualTo(claimed.getCurrentOwnerWallet());
+    }
+}
@@ -0,0 +1,114 @@
+package com.digitalseal.controller;
+
+import com.digitalseal.model.entity.Brand;
+import com.digitalseal.model.entity.Collection;
+import com.digitalseal.model.entity.Product;
+import com.digitalseal.model.entity.ProductItem;
+import com.digitalseal.model.entity.ProductStatus;
+import com.digitalseal.model.entity.SealStatus;
+import com.digitalseal.model.entity.User;
+import com.digitalseal.model.entity.UserRole;
+import com.digitalseal.repository.ProductItemRepository;
+import com.digitalseal.support.IntegrationTest;
+import com.digitalseal.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL statements per request on the list endpoints, read from the query guard's X-Query-Count
+ * header. Each endpoint is called, the data behind it grown fivefold, and called again: the
+ * count must stay within the endpoint's budget and must not grow with the rows (N+1). Budgets
+ * allow for lookups the second-level cache may or may not answer (brand, user).
+ */
+class QueryBudgetTest extends IntegrationTest {
+
+    @Autowired private TestRestTemplate rest;
+    @Autowired private ProductItemRepository productItemRepository;
+    @Autowired private TestData data;
+
+    private User brandOwner;
+    private User itemOwner;
+    private Brand brand;
+    private Collection collection;
+    private Product itemsProduct;
+
+    @BeforeEach
+    void setUp() {
+        brandOwner = data.user(UserRole.BRAND);
+        itemOwner = data.user(UserRole.OWNER);
+        brand = data.brand(brandOwner);
+        collection = data.collection(brand);
+        itemsProduct = data.product(brand, collection, ProductStatus.LISTED);
+        grow(2);
+    }
+
+    @Test
+    void marketplaceListing() {
+        assertBudget(3, () -> get("/marketplace?size=50", null));
+    }
+
+    @Test
+    void brandProducts() {
+        assertBudget(2, () -> get("/brands/" + brand.getId() + "/products", null));
+    }
+
+    @Test
+    void collectionProducts() {
+        // Includes the conditional GET version lookup before the list
+        assertBudget(3, () -> get("/collections/" + collection.getId() + "/products", null));
+    }
+
+    @Test
+    void productItems() {
+        assertBudget(4, () -> get("/brands/" + brand.getId() + "/products/" + itemsProduct.getId() + "/items",
+                data.bearer(brandOwner)));
+    }
+
+    @Test
+    void myItems() {
+        assertBudget(3, () -> get("/my-items", data.bearer(itemOwner)));
+    }
+
+    private void assertBudget(int budget, Supplier<ResponseEntity<String>> request) {
+        int small = statements(request.get());
+        grow(8);
+        int large = statements(request.get());
+
+        assertThat(small).as("statements with few rows").isLessThanOrEqualTo(budget);
+        assertThat(large).as("statements with 5x the rows").isLessThanOrEqualTo(small);
+    }
+
+    /** More listed products in the collection, items of the items product, and items owned */
+    private void grow(int count) {
+        for (int i = 0; i < count; i++) {
+            data.product(brand, collection, ProductStatus.LISTED);
+            ProductItem item = data.item(itemsProduct, i, SealStatus.REALIZED, null);
+            item.setCurrentOwner(itemOwner);
+            item.setCurrentOwnerWallet(itemOwner.getWalletAddress());
+            productItemRepository.save(item);
+        }
+    }
+
+    private ResponseEntity<String> get(String path, HttpHeaders headers) {
+        ResponseEntity<String> response = rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertThat(response.getStatusCode()).as(path).isEqualTo(HttpStatus.OK);
+        return response;
+    }
+
+    private static int statements(ResponseEntity<String> response) {
+        String count = response.getHeaders().getFirst("X-Query-Count");
+        assertThat(count).as("X-Query-Count header").isNotNull();
+        return Integer.parseInt(count);
+    }
+}
@@ -0,0 +1,159 @@
+package com.digitalseal.security;
+
+import com.digitalseal.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WalletChallengeStoreTest {
+
+    private static final String WALLET = "0x52908400098527886E0F7030069857D2E4169EE7";
+    private static final String OTHER_WALLET = "0x8617E340B3D01FA5F11F306F4090FD50E238070D";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void issuedChallengeIsASignInWithEthereumMessage() {
+        WalletChallengeStore.Challenge challenge = store(300).issue(WALLET);
+
+        assertThat(challenge.nonce()).matches("[0-9a-f]{32}");
+        assertThat(challenge.message())
+                .startsWith("localhost:8081 wants you to sign in with your Ethereum account:\n" + WALLET + "\n")
+                .contains("\nURI: http://localhost:8081\n", "\nChain ID: 80002\n", "\nNonce: " + challenge.nonce() + "\n")
+                .containsPattern("\nExpiration Time: \\S+$");
+    }
+
+    @Test
+    void challengeIsRedeemedOnlyOnce() {
+        WalletChallengeStore store = store(300);
+        WalletChallengeStore.Challenge challenge = store.issue(WALLET);
+
+        assertThat(store.redeem(WALLET, challenge.message())).isTrue();
+        assertThat(store.redeem(WALLET, challenge.message())).isFalse();
+        assertThat(store.size()).isZero();
+        assertThat(counter("digitalseal.wallet.challenges.redeemed")).isOne();
+        assertThat(rejected("unknown_or_expired")).isOne();
+    }
+
+    @Test
+    void concurrentRedeemsOfOneMessageSucceedExactlyOnce() throws Exception {
+        int threads = 32;
+        WalletChallengeStore store = store(300);
+        for (int round = 0; round < 20; round++) {
+            WalletChallengeStore.Challenge challenge = store.issue(WALLET);
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        return store.redeem(WALLET, challenge.message());
+                    }));
+                }
+                start.countDown();
+                int succeeded = 0;
+                for (Future<Boolean> result : results) {
+                    succeeded += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+                }
+                assertThat(succeeded).as("round %d", round).isOne();
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        assertThat(counter("digitalseal.wallet.challenges.redeemed")).isEqualTo(20);
+        assertThat(rejected("unknown_or_expired")).isEqualTo(20 * (threads - 1));
+    }
+
+    @Test
+    void expiredChallengeCannotBeRedeemedAndIsSwept() throws InterruptedException {
+        WalletChallengeStore store = store(1);
+        WalletChallengeStore.Challenge challenge = store.issue(WALLET);
+
+        Thread.sleep(1_100);
+
+        assertThat(store.redeem(WALLET, challenge.message())).isFalse();
+        assertThat(rejected("unknown_or_expired")).isOne();
+        assertThat(store.size()).isOne();
+        store.sweep();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void wrongWalletCannotBurnTheChallenge() {
+        WalletChallengeStore store = store(300);
+        WalletChallengeStore.Challenge challenge = store.issue(WALLET);
+
+        assertThat(store.redeem(OTHER_WALLET, challenge.message())).isFalse();
+        assertThat(rejected("mismatch")).isOne();
+
+        assertThat(store.redeem(WALLET, challenge.message())).isTrue();
+    }
+
+    @Test
+    void alteredMessageCannotBurnTheChallenge() {
+        WalletChallengeStore store = store(300);
+        WalletChallengeStore.Challenge challenge = store.issue(WALLET);
+        String altered = challenge.message().replace("Chain ID: 80002", "Chain ID: 1");
+
+        assertThat(store.redeem(WALLET, altered)).isFalse();
+        assertThat(rejected("mismatch")).isOne();
+
+        assertThat(store.redeem(WALLET, challenge.message())).isTrue();
+    }
+
+    @Test
+    void walletAddressIsComparedIgnoringCase() {
+        WalletChallengeStore store = store(300);
+        WalletChallengeStore.Challenge challenge = store.issue(WALLET);
+
+        assertThat(store.redeem(WALLET.toLowerCase(), challenge.message())).isTrue();
+    }
+
+    @Test
+    void messagesWithoutAKnownNonceAreRejected() {
+        WalletChallengeStore store = store(300);
+        store.issue(WALLET);
+
+        assertThat(store.redeem(WALLET, "Sign in to Digital Seal")).isFalse();
+        assertThat(store.redeem(WALLET, "Nonce: " + "0".repeat(32))).isFalse();
+        assertThat(rejected("unknown_or_expired")).isEqualTo(2);
+        assertThat(store.size()).isOne();
+    }
+
+    @Test
+    void issuingBeyondCapacityIsRefused() {
+        WalletChallengeStore store = new WalletChallengeStore(meterRegistry, 300, 2, 1,
+                "localhost:8081", "http://localhost:8081", 80002);
+        store.issue(WALLET);
+        store.issue(WALLET);
+
+        assertThatThrownBy(() -> store.issue(WALLET)).isInstanceOf(ServiceBusyException.class);
+        assertThat(counter("digitalseal.wallet.challenges.issued")).isEqualTo(2);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private WalletChallengeStore store(long ttlSeconds) {
+        return new WalletChallengeStore(meterRegistry, ttlSeconds, 100_000, 16,
+                "localhost:8081", "http://localhost:8081", 80002);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("digitalseal.wallet.challenges.rejected").tag("reason", reason).counter().count();
+    }
+}
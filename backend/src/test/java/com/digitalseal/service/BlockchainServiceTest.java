@@ -0,0 +1,166 @@
+package com.digitalseal.service;
+
+import com.digitalseal.config.BlockchainHealthIndicator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+import org.web3j.tx.gas.ContractGasProvider;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class BlockchainServiceTest {
+
+    private static final String CONTRACT = "0x5FbDB2315678afecb367f032d93F642f64180aa3";
+    private static final long FAST_PROBE = 10;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Web3j web3j = mock(Web3j.class);
+    private final Request<?, Web3ClientVersion> versionRequest = versionRequest();
+    private final List<BlockchainService> services = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        services.forEach(BlockchainService::shutdown);
+    }
+
+    @Test
+    void withoutAContractBlockchainFeaturesAreOff() {
+        BlockchainService service = service("", FAST_PROBE, 3);
+
+        assertThat(service.getNodeState()).isEqualTo(BlockchainService.NodeState.DISABLED);
+        assertThat(service.isAvailable()).isFalse();
+        assertThat(health(service).getStatus()).isEqualTo(Status.UNKNOWN);
+    }
+
+    @Test
+    void callsAreTriedUntilTheFirstProbeAnswers() throws Exception {
+        CountDownLatch answer = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            answer.await(10, TimeUnit.SECONDS);
+            return clientVersion();
+        }).when(versionRequest).send();
+
+        BlockchainService service = service(CONTRACT, FAST_PROBE, 3);
+
+        assertThat(service.getNodeState()).isEqualTo(BlockchainService.NodeState.NOT_PROBED);
+        assertThat(service.isAvailable()).isTrue();
+        assertThat(health(service).getStatus()).isEqualTo(Status.UNKNOWN);
+
+        answer.countDown();
+        awaitState(service, BlockchainService.NodeState.UP);
+        assertThat(service.isAvailable()).isTrue();
+        assertThat(health(service).getStatus()).isEqualTo(Status.UP);
+        assertThat(meterRegistry.get("digitalseal.blockchain.node.available").gauge().value()).isOne();
+    }
+
+    @Test
+    void aFailedFirstProbeMarksTheNodeUnavailable() throws Exception {
+        doAnswer(invocation -> {
+            throw new ConnectException("Connection refused");
+        }).when(versionRequest).send();
+
+        BlockchainService service = service(CONTRACT, FAST_PROBE, 3);
+
+        awaitState(service, BlockchainService.NodeState.DOWN);
+        assertThat(service.isAvailable()).isFalse();
+        assertThat(service.transferToken(1L, CONTRACT, "CLAIM")).isNull();
+        assertThat(health(service).getStatus()).isEqualTo(Status.DOWN);
+        assertThat(meterRegistry.get("digitalseal.blockchain.node.available").gauge().value()).isZero();
+    }
+
+    @Test
+    void aNodeThatGoesAwayIsMarkedUnavailableAfterTheThresholdAndComesBack() throws Exception {
+        AtomicBoolean answering = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (!answering.get()) {
+                throw new IOException("timeout");
+            }
+            return clientVersion();
+        }).when(versionRequest).send();
+
+        BlockchainService service = service(CONTRACT, FAST_PROBE, 3);
+        awaitState(service, BlockchainService.NodeState.UP);
+
+        answering.set(false);
+        awaitState(service, BlockchainService.NodeState.DOWN);
+        assertThat(service.getConsecutiveProbeFailures()).isGreaterThanOrEqualTo(3);
+        assertThat(health(service).getDetails()).containsKey("consecutiveProbeFailures");
+
+        answering.set(true);
+        awaitState(service, BlockchainService.NodeState.UP);
+        assertThat(service.getConsecutiveProbeFailures()).isZero();
+    }
+
+    @Test
+    void oneFailedProbeDoesNotSwitchFeaturesOff() throws Exception {
+        AtomicInteger probes = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (probes.incrementAndGet() == 2) {
+                throw new IOException("timeout");
+            }
+            return clientVersion();
+        }).when(versionRequest).send();
+
+        BlockchainService service = service(CONTRACT, FAST_PROBE, 3);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> probes.get() > 3);
+        assertThat(service.getNodeState()).isEqualTo(BlockchainService.NodeState.UP);
+        assertThat(service.isAvailable()).isTrue();
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private BlockchainService service(String contractAddress, long probeIntervalMillis, int failureThreshold) {
+        BlockchainService service = new BlockchainService(web3j,
+                Credentials.create("0x0000000000000000000000000000000000000000000000000000000000000001"),
+                mock(ContractGasProvider.class), meterRegistry);
+        ReflectionTestUtils.setField(service, "contractAddress", contractAddress);
+        ReflectionTestUtils.setField(service, "probeIntervalMillis", probeIntervalMillis);
+        ReflectionTestUtils.setField(service, "probeFailureThreshold", failureThreshold);
+        service.init();
+        services.add(service);
+        return service;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Request<?, Web3ClientVersion> versionRequest() {
+        Request<?, Web3ClientVersion> request = mock(Request.class);
+        doReturn(request).when(web3j).web3ClientVersion();
+        return request;
+    }
+
+    private static Web3ClientVersion clientVersion() {
+        Web3ClientVersion version = new Web3ClientVersion();
+        version.setResult("anvil/v0.2.0");
+        return version;
+    }
+
+    private static Health health(BlockchainService service) {
+        return new BlockchainHealthIndicator(service).health();
+    }
+
+    private static void awaitState(BlockchainService service, BlockchainService.NodeState state) {
+        await().atMost(Duration.ofSeconds(10)).until(service::getNodeState, state::equals);
+    }
+}
@@ -0,0 +1,231 @@
+package com.digitalseal.service;
+
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.Hash;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DigitalSealAbiCodecTest {
+
+    private static final String PLATFORM = "0xf39Fd6e51aad88F6F4ce6aB8827279cffFb92266";
+    private static final String BUYER = "0x70997970C51812dc3A010C7d01b50e0d17dc79C8";
+
+    /** 40 bytes: the string spans two words */
+    private static final String LONG_URI = "https://digitalseal.io/metadata/DS-0001-";
+
+    // ── Calls ─────────────────────────────────────────────────────────────────
+
+    @Test
+    void encodeVerifyMatchesFunctionEncoder() {
+        for (long tokenId : new long[] { 0, 1, 255, 1L << 40, Long.MAX_VALUE }) {
+            assertThat(DigitalSealAbiCodec.encodeVerify(tokenId)).as("token %d", tokenId)
+                    .isEqualTo(web3j("verify", new Uint256(tokenId)));
+        }
+    }
+
+    @Test
+    void encodeSecureTransferMatchesFunctionEncoder() {
+        for (long tokenId : new long[] { 0, 42, Long.MAX_VALUE }) {
+            assertThat(DigitalSealAbiCodec.encodeSecureTransfer(PLATFORM, BUYER, tokenId)).as("token %d", tokenId)
+                    .isEqualTo(web3j("secureTransfer", new Address(PLATFORM), new Address(BUYER), new Uint256(tokenId)));
+        }
+        // Without 0x and in upper case, as the codec's javadoc promises
+        assertThat(DigitalSealAbiCodec.encodeSecureTransfer(PLATFORM.substring(2).toUpperCase(), BUYER, 7))
+                .isEqualTo(web3j("secureTransfer", new Address(PLATFORM), new Address(BUYER), new Uint256(7)));
+    }
+
+    @Test
+    void encodeBatchMintMatchesFunctionEncoderForAsciiStrings() {
+        List<List<String>> serialSets = List.of(
+                List.of(),
+                List.of("DS-0001"),
+                List.of("", "DS-0002", ""),
+                IntStream.range(0, 25).mapToObj(i -> "DS-" + i).toList());
+        for (List<String> serials : serialSets) {
+            List<String> uris = serials.stream().map(serial -> serial.isEmpty() ? "" : LONG_URI + serial).toList();
+
+            assertThat(DigitalSealAbiCodec.encodeBatchMint(PLATFORM, serials, uris)).as("%d items", serials.size())
+                    .isEqualTo(web3jBatchMint(PLATFORM, serials, uris));
+        }
+    }
+
+    @Test
+    void encodeBatchMintMatchesFunctionEncoderForStringsAtWordBoundaries() {
+        List<String> serials = List.of("x".repeat(32), "y".repeat(64), "z".repeat(33));
+
+        assertThat(DigitalSealAbiCodec.encodeBatchMint(PLATFORM, serials, serials))
+                .isEqualTo(web3jBatchMint(PLATFORM, serials, serials));
+    }
+
+    /**
+     * web3j 4.10 offsets {@code string[]} elements by {@code String.length()}, so its calldata is
+     * wrong here; the codec follows the spec (UTF-8 byte length), pinned against a hand-built encoding.
+     */
+    @Test
+    void encodeBatchMintOffsetsNonAsciiStringsByTheirUtf8Length() {
+        List<String> serials = List.of("Zürich-001", "署名-" + "é".repeat(20), "ok", "🔏");
+        List<String> uris = List.of(LONG_URI + "ü", "", "ipfs://🔏", "x");
+
+        String encoded = DigitalSealAbiCodec.encodeBatchMint(BUYER, serials, uris);
+
+        String recipients = word(serials.size()) + TypeEncoder.encode(new Address(BUYER)).repeat(serials.size());
+        String serialArray = specStringArray(serials);
+        String uriArray = specStringArray(uris);
+        String expected = selector("batchMintDigitalTwins(address[],string[],string[])")
+                + word(3 * 32)
+                + word(3 * 32 + recipients.length() / 2)
+                + word(3 * 32 + (recipients.length() + serialArray.length()) / 2)
+                + recipients + serialArray + uriArray;
+        assertThat(encoded).isEqualTo(expected);
+        assertThat(encoded).isNotEqualTo(web3jBatchMint(BUYER, serials, uris));
+    }
+
+    @Test
+    void totalSupplyCallIsTheSelectorAlone() {
+        assertThat(DigitalSealAbiCodec.TOTAL_SUPPLY_CALL).isEqualTo(web3j("totalSupply"));
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThatThrownBy(() -> DigitalSealAbiCodec.encodeVerify(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DigitalSealAbiCodec.encodeSecureTransfer("0x", BUYER, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DigitalSealAbiCodec.encodeSecureTransfer(PLATFORM + "00", BUYER, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DigitalSealAbiCodec.encodeSecureTransfer("0x" + "g".repeat(40), BUYER, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ── Results ───────────────────────────────────────────────────────────────
+
+    @Test
+    void decodeVerifyReadsWhatFunctionEncoderWrites() {
+        String response = "0x" + FunctionEncoder.encodeConstructor(List.of(
+                new Bool(true), new Utf8String("DS-0001"), new Address(PLATFORM), new Address(BUYER),
+                new Bool(true), new Bool(false), new Uint256(1_767_225_600L), new Utf8String(LONG_URI + "DS-0001")));
+
+        BlockchainService.VerifyResult result = DigitalSealAbiCodec.decodeVerify(response);
+
+        assertThat(result).isEqualTo(new BlockchainService.VerifyResult(true, "DS-0001",
+                PLATFORM.toLowerCase(), BUYER.toLowerCase(), true, false, 1_767_225_600L, LONG_URI + "DS-0001"));
+    }
+
+    @Test
+    void decodeVerifyReadsEmptyAndNonAsciiStrings() {
+        String response = "0x" + FunctionEncoder.encodeConstructor(List.of(
+                new Bool(false), new Utf8String(""), new Address(BigInteger.ZERO), new Address(BigInteger.ZERO),
+                new Bool(false), new Bool(false), new Uint256(0), new Utf8String("ipfs://署名/🔏")));
+
+        BlockchainService.VerifyResult result = DigitalSealAbiCodec.decodeVerify(response);
+
+        assertThat(result.exists()).isFalse();
+        assertThat(result.serial()).isEmpty();
+        assertThat(result.brand()).isEqualTo("0x" + "0".repeat(40));
+        assertThat(result.metadataURI()).isEqualTo("ipfs://署名/🔏");
+    }
+
+    @Test
+    void decodeVerifyOfAnEmptyResultIsNull() {
+        assertThat(DigitalSealAbiCodec.decodeVerify("0x")).isNull();
+        assertThat(DigitalSealAbiCodec.decodeVerify("")).isNull();
+    }
+
+    @Test
+    void decodeUint256MatchesFunctionReturnDecoder() {
+        List<BigInteger> values = List.of(
+                BigInteger.ZERO,
+                BigInteger.ONE,
+                BigInteger.valueOf(Long.MAX_VALUE),
+                BigInteger.ONE.shiftLeft(63),
+                BigInteger.ONE.shiftLeft(64),
+                new BigInteger("123456789abcdef0123456789abcdef", 16),
+                BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE));
+        for (BigInteger value : values) {
+            String response = "0x" + TypeEncoder.encode(new Uint256(value));
+
+            assertThat(DigitalSealAbiCodec.decodeUint256(response)).as(value.toString(16))
+                    .isEqualTo(value)
+                    .isEqualTo(web3jUint256(response));
+        }
+        // Upper-case digits and prefix, as some nodes answer
+        assertThat(DigitalSealAbiCodec.decodeUint256("0X" + TypeEncoder.encode(new Uint256(BigInteger.TEN.pow(31))).toUpperCase()))
+                .isEqualTo(BigInteger.TEN.pow(31));
+    }
+
+    @Test
+    void malformedResultsAreRejected() {
+        String verify = "0x" + FunctionEncoder.encodeConstructor(List.of(
+                new Bool(true), new Utf8String("DS-0001"), new Address(PLATFORM), new Address(BUYER),
+                new Bool(true), new Bool(false), new Uint256(1), new Utf8String("uri")));
+
+        assertThatThrownBy(() -> DigitalSealAbiCodec.decodeUint256("0x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DigitalSealAbiCodec.decodeUint256(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DigitalSealAbiCodec.decodeUint256("0x" + "zz".repeat(32)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DigitalSealAbiCodec.decodeVerify(verify.substring(0, verify.length() - 64)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DigitalSealAbiCodec.decodeVerify(verify.substring(0, 2 + 8 * 64)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private static String web3j(String name, Type<?>... inputs) {
+        return FunctionEncoder.encode(new Function(name, List.of(inputs), Collections.emptyList()));
+    }
+
+    private static String web3jBatchMint(String recipient, List<String> serials, List<String> uris) {
+        return web3j("batchMintDigitalTwins",
+                new DynamicArray<>(Address.class, Collections.nCopies(serials.size(), new Address(recipient))),
+                new DynamicArray<>(Utf8String.class, serials.stream().map(Utf8String::new).toList()),
+                new DynamicArray<>(Utf8String.class, uris.stream().map(Utf8String::new).toList()));
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static BigInteger web3jUint256(String response) {
+        List<TypeReference<Type>> outputs = List.of((TypeReference) new TypeReference<Uint256>() { });
+        return (BigInteger) FunctionReturnDecoder.decode(response, outputs).get(0).getValue();
+    }
+
+    /** Count, element offsets by UTF-8 byte length, then each element as web3j encodes a lone string */
+    private static String specStringArray(List<String> values) {
+        StringBuilder head = new StringBuilder(word(values.size()));
+        List<String> tails = new ArrayList<>();
+        long offset = values.size() * 32L;
+        for (String value : values) {
+            head.append(word(offset));
+            String tail = TypeEncoder.encode(new Utf8String(value));
+            assertThat(tail.length() / 2 - 32).isEqualTo((value.getBytes(StandardCharsets.UTF_8).length + 31) / 32 * 32);
+            tails.add(tail);
+            offset += tail.length() / 2;
+        }
+        return head + String.join("", tails);
+    }
+
+    private static String word(long value) {
+        return TypeEncoder.encode(new Uint256(value));
+    }
+
+    private static String selector(String signature) {
+        return Hash.sha3String(signature).substring(0, 10);
+    }
+}
@@ -0,0 +1,299 @@
+package com.digitalseal.service;
+
+import com.digitalseal.event.EmailQueuedEvent;
+import com.digitalseal.model.entity.EmailOutbox;
+import com.digitalseal.model.entity.EmailTemplate;
+import com.digitalseal.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxSenderTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final EmailOutboxRepository outboxRepository = mock(EmailOutboxRepository.class);
+    private final EmailService emailService = mock(EmailService.class);
+    private final SmtpTransportPool transportPool = mock(SmtpTransportPool.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Batches each round claims in turn, messages by outbox id, connections in borrow order
+    private final Deque<List<EmailOutbox>> due = new ArrayDeque<>();
+    private final Map<Long, EmailOutbox> outbox = new HashMap<>();
+    private final Map<Long, MimeMessage> messages = new HashMap<>();
+    private final List<SmtpTransportPool.Connection> connections = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws MessagingException {
+        when(outboxRepository.lockDueIds(any(), anyInt())).thenAnswer(invocation -> {
+            List<EmailOutbox> batch = due.poll();
+            return batch == null ? List.of() : batch.stream().map(EmailOutbox::getId).toList();
+        });
+        when(outboxRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<EmailOutbox> found = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(id -> found.add(outbox.get(id)));
+            return found;
+        });
+        when(transportPool.maxConnections()).thenReturn(2);
+        doAnswer(invocation -> {
+            SmtpTransportPool.Connection connection = mock(SmtpTransportPool.Connection.class);
+            connections.add(connection);
+            return connection;
+        }).when(transportPool).borrow();
+        when(emailService.buildMessage(any())).thenAnswer(invocation -> {
+            EmailOutbox email = invocation.getArgument(0);
+            return messages.computeIfAbsent(email.getId(), id -> mock(MimeMessage.class));
+        });
+    }
+
+    @Test
+    void queuedEmailsAreSentAndMarkedSent() throws MessagingException {
+        queue(email(1L, 1), email(2L, 1));
+
+        sender(true).onEmailQueued(new EmailQueuedEvent(1L));
+
+        verify(outboxRepository).claim(eq(List.of(1L, 2L)), any());
+        verify(outboxRepository).markSent(eq(List.of(1L)), any());
+        verify(outboxRepository).markSent(eq(List.of(2L)), any());
+        assertThat(connections).hasSize(2);
+        assertThat(connections).flatExtracting(EmailOutboxSenderTest::sentOver)
+                .containsExactlyInAnyOrder(messages.get(1L), messages.get(2L));
+        assertThat(counter("digitalseal.mail.sent")).isEqualTo(2);
+    }
+
+    @Test
+    void batchIsSplitAcrossPooledConnections() throws MessagingException {
+        queue(email(1L, 1), email(2L, 1), email(3L, 1));
+
+        sender(true).onEmailQueued(new EmailQueuedEvent(1L));
+
+        assertThat(connections).hasSize(2);
+        assertThat(connections).extracting(connection -> sentOver(connection).size()).containsExactlyInAnyOrder(2, 1);
+        verify(connections.get(0)).close();
+        verify(connections.get(1)).close();
+    }
+
+    @Test
+    void transientRefusalIsRescheduledWithBackoff() throws MessagingException {
+        queue(email(1L, 2));
+        refuse(1L, 451);
+
+        LocalDateTime before = LocalDateTime.now();
+        sender(true).onEmailQueued(new EmailQueuedEvent(1L));
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).reschedule(eq(1L), nextAttempt.capture(), error.capture());
+        // Second attempt: twice the initial backoff, ±10% jitter
+        assertThat(nextAttempt.getValue())
+                .isAfterOrEqualTo(before.plus(INITIAL_BACKOFF.multipliedBy(2).multipliedBy(9).dividedBy(10)))
+                .isBefore(LocalDateTime.now().plus(INITIAL_BACKOFF.multipliedBy(2).multipliedBy(11).dividedBy(10)));
+        assertThat(error.getValue()).contains("451");
+        verify(outboxRepository, never()).markFailed(anyLong(), any());
+        assertThat(failures("retry")).isOne();
+    }
+
+    @Test
+    void backoffIsCappedAtMaxBackoff() throws MessagingException {
+        EmailOutboxSender sender = sender(true, 50, 20);
+        queue(email(1L, 15));
+        refuse(1L, 421);
+
+        LocalDateTime before = LocalDateTime.now();
+        sender.onEmailQueued(new EmailQueuedEvent(1L));
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).reschedule(eq(1L), nextAttempt.capture(), any());
+        assertThat(nextAttempt.getValue())
+                .isAfterOrEqualTo(before.plus(MAX_BACKOFF.multipliedBy(9).dividedBy(10)))
+                .isBefore(LocalDateTime.now().plus(MAX_BACKOFF.multipliedBy(11).dividedBy(10)));
+    }
+
+    @Test
+    void permanentRefusalFailsAtOnce() throws MessagingException {
+        queue(email(1L, 1), email(2L, 1), email(3L, 1));
+        refuse(1L, 550);
+
+        sender(true).onEmailQueued(new EmailQueuedEvent(1L));
+
+        verify(outboxRepository).markFailed(eq(1L), any());
+        verify(outboxRepository, never()).reschedule(anyLong(), any(), any());
+        // The connection stays usable for the rest of its slice
+        verify(outboxRepository).markSent(eq(List.of(2L)), any());
+        connections.forEach(connection -> verify(connection, never()).discard());
+        assertThat(failures("failed")).isOne();
+    }
+
+    @Test
+    void transientRefusalFailsOnceAttemptsRunOut() throws MessagingException {
+        queue(email(1L, MAX_ATTEMPTS));
+        refuse(1L, 451);
+
+        sender(true).onEmailQueued(new EmailQueuedEvent(1L));
+
+        verify(outboxRepository).markFailed(eq(1L), any());
+        verify(outboxRepository, never()).reschedule(anyLong(), any(), any());
+    }
+
+    @Test
+    void unrenderableEmailFailsWithoutBeingOffered() throws MessagingException {
+        queue(email(1L, 1));
+        doThrow(new MessagingException("Unreadable template variables")).when(emailService).buildMessage(any());
+
+        sender(true).onEmailQueued(new EmailQueuedEvent(1L));
+
+        verify(outboxRepository).markFailed(1L, "Unreadable template variables");
+        verify(connections.get(0), never()).send(any());
+    }
+
+    @Test
+    void brokenConnectionRetriesTheCurrentEmailAndReleasesTheRest() throws MessagingException {
+        when(transportPool.maxConnections()).thenReturn(1);
+        queue(email(1L, 1), email(2L, 1), email(3L, 1));
+        MimeMessage second = mock(MimeMessage.class);
+        messages.put(2L, second);
+        doAnswer(invocation -> {
+            SmtpTransportPool.Connection connection = mock(SmtpTransportPool.Connection.class);
+            doThrow(new MessagingException("Connection reset")).when(connection).send(second);
+            connections.add(connection);
+            return connection;
+        }).when(transportPool).borrow();
+
+        sender(true).onEmailQueued(new EmailQueuedEvent(1L));
+
+        verify(outboxRepository).markSent(eq(List.of(1L)), any());
+        verify(outboxRepository).reschedule(eq(2L), any(), eq("Connection reset"));
+        verify(outboxRepository).release(eq(List.of(3L)), any(), isNull());
+        verify(connections.get(0)).discard();
+        verify(connections.get(0)).close();
+    }
+
+    @Test
+    void connectFailureBacksOffTheWholeSlice() throws MessagingException {
+        queue(email(1L, 1), email(2L, 1));
+        doThrow(new MessagingException("Authentication failed")).when(transportPool).borrow();
+
+        sender(true).onEmailQueued(new EmailQueuedEvent(1L));
+
+        verify(outboxRepository).reschedule(eq(1L), any(), eq("Authentication failed"));
+        verify(outboxRepository).reschedule(eq(2L), any(), eq("Authentication failed"));
+        verify(outboxRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void fullBatchesAreFollowedByAnotherRound() throws MessagingException {
+        EmailOutboxSender sender = sender(true, 2, 50);
+        queue(email(1L, 1), email(2L, 1));
+        queue(email(3L, 1));
+
+        sender.onEmailQueued(new EmailQueuedEvent(1L));
+
+        verify(outboxRepository, times(2)).lockDueIds(any(), eq(2));
+        verify(outboxRepository).markSent(eq(List.of(3L)), any());
+    }
+
+    @Test
+    void disabledOutboxSendsNothing() {
+        EmailOutboxSender sender = sender(false);
+
+        sender.onEmailQueued(new EmailQueuedEvent(1L));
+        sender.poll();
+
+        verifyNoInteractions(outboxRepository);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /** The next round claims these; once the queued batches run out, rounds find nothing due */
+    private void queue(EmailOutbox... emails) {
+        due.add(List.of(emails));
+        for (EmailOutbox email : emails) {
+            outbox.put(email.getId(), email);
+        }
+    }
+
+    private void refuse(Long id, int replyCode) throws MessagingException {
+        MimeMessage message = mock(MimeMessage.class);
+        messages.put(id, message);
+        SendFailedException refusal = new SendFailedException("Invalid Addresses",
+                new SMTPAddressFailedException(new InternetAddress("buyer@example.com"), "RCPT TO", replyCode,
+                        replyCode + " mailbox unavailable"));
+        doAnswer(invocation -> {
+            SmtpTransportPool.Connection connection = mock(SmtpTransportPool.Connection.class);
+            doThrow(refusal).when(connection).send(message);
+            connections.add(connection);
+            return connection;
+        }).when(transportPool).borrow();
+    }
+
+    private EmailOutboxSender sender(boolean enabled) {
+        return sender(enabled, 50, MAX_ATTEMPTS);
+    }
+
+    private EmailOutboxSender sender(boolean enabled, int batchSize, int maxAttempts) {
+        return new EmailOutboxSender(outboxRepository, emailService, transportPool, Runnable::run,
+                mock(PlatformTransactionManager.class), meterRegistry, enabled, batchSize, 300_000, maxAttempts,
+                INITIAL_BACKOFF.toMillis(), MAX_BACKOFF.toMillis(), 7);
+    }
+
+    /** As claimed: attempts already counts the one about to be made */
+    private static EmailOutbox email(Long id, int attempts) {
+        return EmailOutbox.builder()
+                .id(id)
+                .recipient("buyer" + id + "@example.com")
+                .template(EmailTemplate.EMAIL_VERIFICATION)
+                .variables("{\"name\":\"Ada\",\"code\":\"123456\"}")
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static List<Object> sentOver(SmtpTransportPool.Connection connection) {
+        return mockingDetails(connection).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("send"))
+                .map(invocation -> invocation.getArgument(0))
+                .toList();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private double failures(String outcome) {
+        return meterRegistry.get("digitalseal.mail.failures").tag("outcome", outcome).counter().count();
+    }
+}
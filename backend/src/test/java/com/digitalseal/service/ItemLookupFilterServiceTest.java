@@ -0,0 +1,78 @@
+package com.digitalseal.service;
+
+import com.digitalseal.model.entity.ProductItem;
+import com.digitalseal.repository.ProductItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemLookupFilterServiceTest {
+
+    private ProductItemRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ProductItemRepository.class);
+        when(repository.count()).thenReturn(2L);
+        when(repository.streamAllItemSerials()).thenReturn(Stream.of("SN-1", "SN-2"));
+        when(repository.streamActiveClaimCodes()).thenReturn(Stream.of("CODE-1"));
+    }
+
+    @Test
+    void singleNodeGateRejectsUnknownValuesOnceBuilt() {
+        ItemLookupFilterService service = service(true, false);
+        assertThat(service.mightContainSerial("SN-404")).as("before the first build").isTrue();
+
+        service.rebuild();
+
+        assertThat(service.mightContainSerial("SN-1")).isTrue();
+        assertThat(service.mightContainSerial("SN-404")).isFalse();
+        assertThat(service.mightContainClaimCode("CODE-1")).isTrue();
+        assertThat(service.mightContainClaimCode("CODE-404")).isFalse();
+    }
+
+    @Test
+    void itemsCreatedOnThisNodeAreAddedAfterTheBuild() {
+        ItemLookupFilterService service = service(true, false);
+        service.rebuild();
+
+        service.recordItems(List.of(ProductItem.builder().itemSerial("SN-3").claimCode("CODE-3").build()));
+
+        assertThat(service.mightContainSerial("SN-3")).isTrue();
+        assertThat(service.mightContainClaimCode("CODE-3")).isTrue();
+    }
+
+    @Test
+    void gateIsOffWhenOtherNodesMayCreateItems() {
+        ItemLookupFilterService service = service(false, false);
+        service.rebuild();
+
+        assertThat(service.mightContainSerial("SN-404")).isTrue();
+        assertThat(service.mightContainClaimCode("CODE-404")).isTrue();
+        verify(repository, never()).streamAllItemSerials();
+    }
+
+    @Test
+    void gateIsOffWithReadReplicas() {
+        ItemLookupFilterService service = service(true, true);
+        service.rebuild();
+
+        assertThat(service.mightContainSerial("SN-404")).isTrue();
+        verify(repository, never()).streamAllItemSerials();
+    }
+
+    private ItemLookupFilterService service(boolean singleNode, boolean replicasEnabled) {
+        return new ItemLookupFilterService(repository, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), true, singleNode, replicasEnabled, 0.001, 1000);
+    }
+}
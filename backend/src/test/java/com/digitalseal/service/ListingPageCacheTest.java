@@ -0,0 +1,167 @@
+package com.digitalseal.service;
+
+import com.digitalseal.dto.response.MarketplaceListingResponse;
+import com.digitalseal.event.BrandChangedEvent;
+import com.digitalseal.event.ProductListingChangedEvent;
+import com.digitalseal.model.entity.ProductCategory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListingPageCacheTest {
+
+    private static final long BRAND = 7L;
+    private static final long OTHER_BRAND = 8L;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final ListingPageCache cache = cache(60_000);
+
+    @Test
+    void hotPagesAreLoadedOnce() {
+        CountingLoader loader = new CountingLoader(listing(1L, BRAND, 5));
+
+        Page<MarketplaceListingResponse> first = cache.get(ListingPageCache.Scope.all(), FIRST_PAGE, loader);
+        Page<MarketplaceListingResponse> second = cache.get(ListingPageCache.Scope.all(), FIRST_PAGE, loader);
+
+        assertThat(loader.calls.get()).isOne();
+        assertThat(second).isSameAs(first);
+        assertThat(second.getContent()).extracting(MarketplaceListingResponse::getId).containsExactly(1L);
+    }
+
+    @Test
+    void pagesBeyondTheHotRangeAndSortedPagesAreNotCached() {
+        CountingLoader loader = new CountingLoader(listing(1L, BRAND, 5));
+
+        cache.get(ListingPageCache.Scope.all(), PageRequest.of(3, 20), loader);
+        cache.get(ListingPageCache.Scope.all(), PageRequest.of(3, 20), loader);
+        cache.get(ListingPageCache.Scope.all(), PageRequest.of(0, 20, Sort.by("price")), loader);
+        cache.get(ListingPageCache.Scope.all(), PageRequest.of(0, 20, Sort.by("price")), loader);
+
+        assertThat(loader.calls.get()).isEqualTo(4);
+    }
+
+    @Test
+    void quantityChangePatchesCachedPagesAndTheirJson() throws Exception {
+        CountingLoader loader = new CountingLoader(listing(1L, BRAND, 5), listing(2L, BRAND, 9));
+        cache.get(ListingPageCache.Scope.all(), FIRST_PAGE, loader);
+        cache.get(ListingPageCache.Scope.brand(BRAND), FIRST_PAGE, loader);
+
+        cache.onProductListingChanged(new ProductListingChangedEvent(1L, BRAND, ProductCategory.HANDBAG, false, 4));
+
+        for (ListingPageCache.Scope scope : List.of(ListingPageCache.Scope.all(), ListingPageCache.Scope.brand(BRAND))) {
+            Page<MarketplaceListingResponse> page = cache.get(scope, FIRST_PAGE, loader);
+            assertThat(page.getContent()).extracting(MarketplaceListingResponse::getAvailableQuantity)
+                    .containsExactly(4, 9);
+            assertThat(objectMapper.readTree(objectMapper.writeValueAsString(page))
+                    .path("content").path(0).path("availableQuantity").asInt()).isEqualTo(4);
+        }
+        assertThat(loader.calls.get()).as("patched, not reloaded").isEqualTo(2);
+    }
+
+    @Test
+    void membershipChangeEvictsOnlyTheProductsScopes() {
+        CountingLoader loader = new CountingLoader(listing(1L, BRAND, 5));
+        cache.get(ListingPageCache.Scope.all(), FIRST_PAGE, loader);
+        cache.get(ListingPageCache.Scope.category(ProductCategory.HANDBAG), FIRST_PAGE, loader);
+        cache.get(ListingPageCache.Scope.brand(BRAND), FIRST_PAGE, loader);
+        cache.get(ListingPageCache.Scope.brand(OTHER_BRAND), FIRST_PAGE, loader);
+        cache.get(ListingPageCache.Scope.category(ProductCategory.WATCH), FIRST_PAGE, loader);
+
+        cache.onProductListingChanged(new ProductListingChangedEvent(1L, BRAND, ProductCategory.HANDBAG, true, 0));
+
+        loader.calls.set(0);
+        cache.get(ListingPageCache.Scope.all(), FIRST_PAGE, loader);
+        cache.get(ListingPageCache.Scope.category(ProductCategory.HANDBAG), FIRST_PAGE, loader);
+        cache.get(ListingPageCache.Scope.brand(BRAND), FIRST_PAGE, loader);
+        assertThat(loader.calls.get()).as("evicted scopes reload").isEqualTo(3);
+
+        cache.get(ListingPageCache.Scope.brand(OTHER_BRAND), FIRST_PAGE, loader);
+        cache.get(ListingPageCache.Scope.category(ProductCategory.WATCH), FIRST_PAGE, loader);
+        assertThat(loader.calls.get()).as("other scopes stay cached").isEqualTo(3);
+    }
+
+    @Test
+    void brandChangeClearsEveryScope() {
+        CountingLoader loader = new CountingLoader(listing(1L, BRAND, 5));
+        cache.get(ListingPageCache.Scope.all(), FIRST_PAGE, loader);
+        cache.get(ListingPageCache.Scope.brand(OTHER_BRAND), FIRST_PAGE, loader);
+
+        cache.onBrandChanged(new BrandChangedEvent(BRAND));
+
+        cache.get(ListingPageCache.Scope.all(), FIRST_PAGE, loader);
+        cache.get(ListingPageCache.Scope.brand(OTHER_BRAND), FIRST_PAGE, loader);
+        assertThat(loader.calls.get()).isEqualTo(4);
+    }
+
+    @Test
+    void pageLoadedWhileItsScopeWasInvalidatedIsNotStored() {
+        CountingLoader stale = new CountingLoader(listing(1L, BRAND, 5));
+        Supplier<Page<MarketplaceListingResponse>> racingLoader = () -> {
+            Page<MarketplaceListingResponse> page = stale.get();
+            // A delist commits while this page is being read
+            cache.onProductListingChanged(new ProductListingChangedEvent(1L, BRAND, ProductCategory.HANDBAG, true, 0));
+            return page;
+        };
+        cache.get(ListingPageCache.Scope.all(), FIRST_PAGE, racingLoader);
+
+        CountingLoader fresh = new CountingLoader();
+        assertThat(cache.get(ListingPageCache.Scope.all(), FIRST_PAGE, fresh).getContent()).isEmpty();
+        assertThat(fresh.calls.get()).isOne();
+    }
+
+    @Test
+    void expiredPagesAreReloaded() throws Exception {
+        ListingPageCache shortLived = cache(1);
+        CountingLoader loader = new CountingLoader(listing(1L, BRAND, 5));
+        shortLived.get(ListingPageCache.Scope.all(), FIRST_PAGE, loader);
+
+        Thread.sleep(5);
+        shortLived.get(ListingPageCache.Scope.all(), FIRST_PAGE, loader);
+
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+
+    private ListingPageCache cache(long ttlMillis) {
+        return new ListingPageCache(objectMapper, new SimpleMeterRegistry(), true, 3, ttlMillis, 500);
+    }
+
+    private static MarketplaceListingResponse listing(Long id, Long brandId, int availableQuantity) {
+        return MarketplaceListingResponse.builder()
+                .id(id)
+                .productName("Product " + id)
+                .category(ProductCategory.HANDBAG)
+                .brandId(brandId)
+                .availableQuantity(availableQuantity)
+                .totalQuantity(10)
+                .build();
+    }
+
+    private static final class CountingLoader implements Supplier<Page<MarketplaceListingResponse>> {
+
+        private final List<MarketplaceListingResponse> content;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingLoader(MarketplaceListingResponse... content) {
+            this.content = List.of(content);
+        }
+
+        @Override
+        public Page<MarketplaceListingResponse> get() {
+            calls.incrementAndGet();
+            return new PageImpl<>(content, FIRST_PAGE, content.size());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.digitalseal.service;
+
+import com.digitalseal.dto.response.MarketplaceListingResponse;
+import com.digitalseal.dto.response.SearchResultPage;
+import com.digitalseal.model.entity.ProductCategory;
+import com.digitalseal.model.entity.ProductStatus;
+import com.digitalseal.repository.ProductRepository;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchServiceTest {
+
+    @TempDir
+    Path indexPath;
+
+    private final List<ProductSearchService> services = new ArrayList<>();
+
+    @AfterEach
+    void closeServices() {
+        services.forEach(ProductSearchService::close);
+    }
+
+    @Test
+    void instancesSharingAnIndexPathKeepTheirOwnGenerations() throws IOException {
+        ProductSearchService first = service(listing(1L, "Speedy 30"));
+        ProductSearchService second = service(listing(2L, "Neverfull"));
+
+        first.rebuild();
+        Path firstDir = onlyChild(indexPath);
+        second.rebuild();
+        second.rebuild();
+
+        assertThat(children(indexPath)).hasSize(2);
+        assertThat(children(firstDir)).hasSize(1);
+        assertThat(ids(first.search("speedy", null, null, null, PageRequest.of(0, 20)))).containsExactly(1L);
+        assertThat(ids(second.search("neverfull", null, null, null, PageRequest.of(0, 20)))).containsExactly(2L);
+    }
+
+    @Test
+    void rebuildKeepsOnlyTheLatestGeneration() throws IOException {
+        ProductSearchService service = service(listing(1L, "Speedy 30"));
+
+        service.rebuild();
+        service.rebuild();
+        service.rebuild();
+
+        assertThat(children(onlyChild(indexPath))).hasSize(1);
+        assertThat(ids(service.search("speedy", null, null, null, PageRequest.of(0, 20)))).containsExactly(1L);
+    }
+
+    @Test
+    void closeRemovesOnlyItsOwnDirectory() throws IOException {
+        ProductSearchService first = service(listing(1L, "Speedy 30"));
+        first.rebuild();
+        Path firstDir = onlyChild(indexPath);
+        ProductSearchService second = service(listing(2L, "Neverfull"));
+        second.rebuild();
+
+        first.close();
+
+        assertThat(firstDir).doesNotExist();
+        assertThat(children(indexPath)).hasSize(1);
+        assertThat(first.search("speedy", null, null, null, PageRequest.of(0, 20))).isNull();
+        assertThat(ids(second.search("neverfull", null, null, null, PageRequest.of(0, 20)))).containsExactly(2L);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private ProductSearchService service(MarketplaceListingResponse... listings) {
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.streamAllListings()).thenAnswer(invocation -> Stream.of(listings));
+        ProductSearchService service = new ProductSearchService(repository,
+                JsonMapper.builder().findAndAddModules().build(), mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), true, indexPath,
+                List.of(BigDecimal.ONE, BigDecimal.TEN, new BigDecimal("100"), new BigDecimal("1000")),
+                10_000, 20, 500);
+        services.add(service);
+        return service;
+    }
+
+    private static List<Path> children(Path dir) throws IOException {
+        try (Stream<Path> children = Files.list(dir)) {
+            return children.toList();
+        }
+    }
+
+    private static Path onlyChild(Path dir) throws IOException {
+        List<Path> all = children(dir);
+        assertThat(all).hasSize(1);
+        return all.get(0);
+    }
+
+    private static List<Long> ids(SearchResultPage page) {
+        assertThat(page).isNotNull();
+        return page.getContent().stream().map(MarketplaceListingResponse::getId).toList();
+    }
+
+    private static MarketplaceListingResponse listing(long id, String name) {
+        return MarketplaceListingResponse.builder()
+                .id(id)
+                .productName(name)
+                .description(name + " handbag")
+                .category(ProductCategory.HANDBAG)
+                .price(new BigDecimal("5"))
+                .currency("MATIC")
+                .availableQuantity(3)
+                .totalQuantity(10)
+                .brandId(7L)
+                .brandName("Maison")
+                .brandVerified(true)
+                .status(ProductStatus.LISTED)
+                .listedAt(LocalDateTime.of(2026, 1, 1, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.digitalseal.service;
+
+import com.digitalseal.dto.request.ClaimItemRequest;
+import com.digitalseal.dto.response.VerificationResponse;
+import com.digitalseal.model.entity.Brand;
+import com.digitalseal.model.entity.ItemProvenance;
+import com.digitalseal.model.entity.OwnershipHistory;
+import com.digitalseal.model.entity.Product;
+import com.digitalseal.model.entity.ProductItem;
+import com.digitalseal.model.entity.ProductStatus;
+import com.digitalseal.model.entity.SealStatus;
+import com.digitalseal.model.entity.TransferType;
+import com.digitalseal.model.entity.User;
+import com.digitalseal.model.entity.UserRole;
+import com.digitalseal.repository.BrandRepository;
+import com.digitalseal.repository.OwnershipHistoryRepository;
+import com.digitalseal.repository.ProductItemRepository;
+import com.digitalseal.support.IntegrationTest;
+import com.digitalseal.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProvenanceServiceTest extends IntegrationTest {
+
+    @Autowired private ProvenanceService provenanceService;
+    @Autowired private ProductItemService productItemService;
+    @Autowired private ProductItemRepository productItemRepository;
+    @Autowired private OwnershipHistoryRepository ownershipHistoryRepository;
+    @Autowired private BrandRepository brandRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private TestData data;
+
+    private Brand brand;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        brand = data.brand(data.user(UserRole.BRAND));
+        product = data.product(brand, null, ProductStatus.LISTED);
+    }
+
+    @Test
+    void transferOnItemWithoutDocumentBuildsIt() {
+        ProductItem item = data.item(product, 1, SealStatus.PRE_MINTED, null);
+        String wallet = TestData.wallet();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ProductItem managed = productItemRepository.findById(item.getId()).orElseThrow();
+            managed.setSealStatus(SealStatus.REALIZED);
+            managed.setCurrentOwnerWallet(wallet);
+            OwnershipHistory history = ownershipHistoryRepository.save(OwnershipHistory.builder()
+                    .productItem(managed)
+                    .toWallet(wallet)
+                    .transferType(TransferType.CLAIM)
+                    .transferredAt(LocalDateTime.now())
+                    .build());
+            provenanceService.onTransferRecorded(managed, history);
+        });
+
+        VerificationResponse document = provenanceService.toVerificationResponse(
+                provenanceService.findByItemId(item.getId()).orElseThrow());
+        assertThat(document.getSealStatus()).isEqualTo(SealStatus.REALIZED);
+        assertThat(document.getCurrentOwnerWallet()).isEqualTo(wallet);
+        assertThat(document.getOwnershipHistory()).hasSize(1);
+    }
+
+    @Test
+    void everyWriteBumpsTheDocumentVersion() {
+        ProductItem item = data.item(product, 1, SealStatus.PRE_MINTED, null);
+        ItemProvenance built = provenanceService.rebuild(item.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ProductItem managed = productItemRepository.findById(item.getId()).orElseThrow();
+            managed.setSealStatus(SealStatus.RESERVED);
+            provenanceService.onItemChanged(managed);
+        });
+
+        ItemProvenance changed = provenanceService.findByItemId(item.getId()).orElseThrow();
+        assertThat(changed.getDocumentVersion()).isGreaterThan(built.getDocumentVersion());
+        assertThat(changed.getETag()).isNotEqualTo(built.getETag());
+        assertThat(provenanceService.toVerificationResponse(changed).getSealStatus()).isEqualTo(SealStatus.RESERVED);
+    }
+
+    @Test
+    void brandChangesShowWithoutRewritingTheDocument() {
+        ProductItem item = data.item(product, 1, SealStatus.PRE_MINTED, null);
+        ItemProvenance built = provenanceService.rebuild(item.getId());
+
+        Brand changed = brandRepository.findById(brand.getId()).orElseThrow();
+        changed.setBrandName(TestData.unique("Renamed"));
+        changed.setVerified(true);
+        brandRepository.save(changed);
+
+        ItemProvenance read = provenanceService.findByItemId(item.getId()).orElseThrow();
+        VerificationResponse document = provenanceService.toVerificationResponse(read);
+        assertThat(document.getBrandName()).isEqualTo(changed.getBrandName());
+        assertThat(document.getBrandVerified()).isTrue();
+        assertThat(read.getDocumentVersion()).isEqualTo(built.getDocumentVersion());
+        assertThat(read.getETag()).isNotEqualTo(built.getETag());
+    }
+
+    /**
+     * A first verification building the document while the item is being claimed must end with
+     * the claim in the document, whichever commits first.
+     */
+    @Test
+    void firstVerificationRacingAClaimKeepsTheClaim() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 10; round++) {
+                String claimCode = TestData.unique("CLAIM");
+                ProductItem item = data.item(product, round, SealStatus.PRE_MINTED, claimCode);
+                User claimant = data.user(UserRole.OWNER);
+                ClaimItemRequest request = new ClaimItemRequest();
+                request.setClaimCode(claimCode);
+
+                CountDownLatch go = new CountDownLatch(1);
+                CompletableFuture<?> claim = CompletableFuture.runAsync(() -> {
+                    await(go);
+                    productItemService.claimItem(claimant.getId(), request);
+                }, pool);
+                CompletableFuture<?> verify = CompletableFuture.runAsync(() -> {
+                    await(go);
+                    productItemService.getProvenance(item.getId());
+                }, pool);
+                go.countDown();
+                CompletableFuture.allOf(claim, verify).get();
+
+                VerificationResponse document = provenanceService.toVerificationResponse(
+                        provenanceService.findByItemId(item.getId()).orElseThrow());
+                assertThat(document.getSealStatus()).as("round %d", round).isEqualTo(SealStatus.REALIZED);
+                assertThat(document.getCurrentOwnerWallet()).as("round %d", round)
+                        .isEqualTo(claimant.getWalletAddress());
+                assertThat(document.getOwnershipHistory()).as("round %d", round).hasSize(1);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
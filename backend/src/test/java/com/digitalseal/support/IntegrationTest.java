@@ -0,0 +1,16 @@
+package com.digitalseal.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Base for tests against the full application on H2 ({@code application-test.yml}), served on a
+ * random port. All subclasses share one application context, so they create their own rows
+ * ({@link TestData}) rather than expecting an empty database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import(TestData.class)
+public abstract class IntegrationTest {
+}
@@ -0,0 +1,108 @@
+package com.digitalseal.support;
+
+import com.digitalseal.model.entity.Brand;
+import com.digitalseal.model.entity.Collection;
+import com.digitalseal.model.entity.Product;
+import com.digitalseal.model.entity.ProductCategory;
+import com.digitalseal.model.entity.ProductItem;
+import com.digitalseal.model.entity.ProductStatus;
+import com.digitalseal.model.entity.SealStatus;
+import com.digitalseal.model.entity.User;
+import com.digitalseal.model.entity.UserRole;
+import com.digitalseal.repository.BrandRepository;
+import com.digitalseal.repository.CollectionRepository;
+import com.digitalseal.repository.ProductItemRepository;
+import com.digitalseal.repository.ProductRepository;
+import com.digitalseal.repository.UserRepository;
+import com.digitalseal.security.JwtTokenProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.http.HttpHeaders;
+
+import java.math.BigDecimal;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Rows for integration tests. Every call creates fresh, uniquely named rows, so tests sharing
+ * the application context (and its database) do not see each other's data by name.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class TestData {
+
+    private final UserRepository userRepository;
+    private final BrandRepository brandRepository;
+    private final CollectionRepository collectionRepository;
+    private final ProductRepository productRepository;
+    private final ProductItemRepository productItemRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    public User user(UserRole role) {
+        return userRepository.save(User.builder()
+                .email(unique("user") + "@test.digitalseal")
+                .walletAddress(wallet())
+                .firstName("Test")
+                .lastName("User")
+                .role(role)
+                .emailVerified(true)
+                .build());
+    }
+
+    public Brand brand(User owner) {
+        return brandRepository.save(Brand.builder()
+                .user(owner)
+                .brandName(unique("Brand"))
+                .companyWalletAddress(wallet())
+                .build());
+    }
+
+    public Collection collection(Brand brand) {
+        return collectionRepository.save(Collection.builder()
+                .brand(brand)
+                .collectionName(unique("Collection"))
+                .build());
+    }
+
+    public Product product(Brand brand, Collection collection, ProductStatus status) {
+        return productRepository.save(Product.builder()
+                .brand(brand)
+                .collection(collection)
+                .productName(unique("Product"))
+                .category(ProductCategory.HANDBAG)
+                .sku(unique("SKU"))
+                .price(new BigDecimal("10.00000000"))
+                .totalQuantity(10)
+                .availableQuantity(10)
+                .status(status)
+                .build());
+    }
+
+    public ProductItem item(Product product, int index, SealStatus status, String claimCode) {
+        return productItemRepository.save(ProductItem.builder()
+                .product(product)
+                .itemSerial(unique("SN"))
+                .itemIndex(index)
+                .sealStatus(status)
+                .claimCode(claimCode)
+                .build());
+    }
+
+    /** Authorization header for a user, as issued on login */
+    public HttpHeaders bearer(User user) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtTokenProvider.generateToken(user));
+        return headers;
+    }
+
+    public static String unique(String prefix) {
+        return prefix + "-" + UUID.randomUUID().toString().substring(0, 12);
+    }
+
+    public static String wallet() {
+        byte[] address = new byte[20];
+        ThreadLocalRandom.current().nextBytes(address);
+        return "0x" + HexFormat.of().formatHex(address);
+    }
+}
@@ -0,0 +1,56 @@
+package com.digitalseal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class BloomFilterTest {
+
+    @Test
+    void neverForgetsAnEntry() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.001);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("SN-" + i));
+
+        assertThat(IntStream.range(0, 10_000)).allMatch(i -> filter.mightContain("SN-" + i));
+        assertThat(filter.insertions()).isEqualTo(10_000);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTargetWhenFull() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("SN-" + i));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("absent-" + i))
+                .count();
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveProbability()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    void sizedFromEntriesAndProbability() {
+        // m = -n ln p / (ln 2)^2 ≈ 14.38 bits per entry at 0.1%, k = m/n ln 2 ≈ 10
+        BloomFilter filter = BloomFilter.create(100_000, 0.001);
+
+        assertThat(filter.bitSize()).isBetween(1_437_000L, 1_439_000L);
+        assertThat(filter.hashCount()).isEqualTo(10);
+        assertThat(filter.memoryBytes()).isEqualTo((filter.bitSize() + 63) / 64 * Long.BYTES);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.create(0, 0.001);
+
+        assertThat(filter.mightContain("SN-1")).isFalse();
+        assertThat(filter.expectedFalsePositiveProbability()).isZero();
+    }
+
+    @Test
+    void rejectsProbabilityOutsideUnitInterval() {
+        assertThatIllegalArgumentException().isThrownBy(() -> BloomFilter.create(100, 0));
+        assertThatIllegalArgumentException().isThrownBy(() -> BloomFilter.create(100, 1));
+    }
+}
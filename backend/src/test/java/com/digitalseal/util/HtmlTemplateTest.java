@@ -0,0 +1,44 @@
+package com.digitalseal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HtmlTemplateTest {
+
+    @Test
+    void fillsEveryPlaceholder() {
+        HtmlTemplate template = HtmlTemplate.compile("<p>Hi {{name}},</p><b>{{code}}</b><i>{{name}}</i>");
+
+        assertThat(template.render(Map.of("name", "Ada", "code", "123456")))
+                .isEqualTo("<p>Hi Ada,</p><b>123456</b><i>Ada</i>");
+    }
+
+    @Test
+    void escapesValuesButNotTheTemplate() {
+        HtmlTemplate template = HtmlTemplate.compile("<p title=\"x\">{{name}}</p>");
+
+        assertThat(template.render(Map.of("name", "<script>\"&'")))
+                .isEqualTo("<p title=\"x\">&lt;script&gt;&quot;&amp;&#39;</p>");
+    }
+
+    @Test
+    void textWithoutPlaceholdersIsKeptAsIs() {
+        assertThat(HtmlTemplate.compile("").render(Map.of())).isEmpty();
+        assertThat(HtmlTemplate.compile("{{name}}").render(Map.of("name", "Ada"))).isEqualTo("Ada");
+        assertThat(HtmlTemplate.compile("{ {name} } {{not a name}}").render(Map.of()))
+                .isEqualTo("{ {name} } {{not a name}}");
+    }
+
+    @Test
+    void missingValueIsRejected() {
+        HtmlTemplate template = HtmlTemplate.compile("{{name}} {{code}}");
+
+        assertThatThrownBy(() -> template.render(Map.of("name", "Ada")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'code'");
+    }
+}
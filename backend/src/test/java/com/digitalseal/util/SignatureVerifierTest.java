@@ -0,0 +1,184 @@
+package com.digitalseal.util;
+
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.Sign;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignatureVerifierTest {
+
+    private static final ECKeyPair KEY = ECKeyPair.create(new BigInteger(
+            "4c0883a69102937d6231471b5decb208bf4d25e0ddf5d43a6b2bd2f4a5cb2d17", 16));
+    private static final ECKeyPair OTHER_KEY = ECKeyPair.create(BigInteger.valueOf(0xC0FFEE));
+    private static final String ADDRESS = Keys.toChecksumAddress(Keys.getAddress(KEY));
+    private static final String OTHER_ADDRESS = Keys.toChecksumAddress(Keys.getAddress(OTHER_KEY));
+    private static final BigInteger CURVE_ORDER = Sign.CURVE_PARAMS.getN();
+
+    private final SignatureVerifier verifier = new SignatureVerifier();
+
+    @Test
+    void acceptsLegacyAndRawRecoveryIdsForBothParities() {
+        Set<Integer> parities = new HashSet<>();
+        for (int i = 0; parities.size() < 2 && i < 64; i++) {
+            String message = "Sign in to Digital Seal #" + i;
+            Sign.SignatureData signature = sign(message, KEY);
+            int recId = signature.getV()[0] - 27;
+            parities.add(recId);
+
+            assertThat(verifier.verifySignature(ADDRESS, message, hex(signature, 27 + recId))).as(message).isTrue();
+            assertThat(verifier.verifySignature(ADDRESS, message, hex(signature, recId))).as(message).isTrue();
+            // The other parity recovers a different key
+            assertThat(verifier.verifySignature(ADDRESS, message, hex(signature, 28 - recId))).as(message).isFalse();
+        }
+        assertThat(parities).containsExactlyInAnyOrder(0, 1);
+    }
+
+    @Test
+    void acceptsEip155RecoveryIds() {
+        String message = "Sign in to Digital Seal";
+        Sign.SignatureData signature = sign(message, KEY);
+        int recId = signature.getV()[0] - 27;
+
+        // Chain 1: one byte; Polygon Amoy (80002): three bytes
+        assertThat(verifier.verifySignature(ADDRESS, message, hex(signature, 1 * 2 + 35 + recId))).isTrue();
+        assertThat(verifier.verifySignature(ADDRESS, message, hex(signature, 80002L * 2 + 35 + recId))).isTrue();
+        assertThat(verifier.verifySignature(ADDRESS, message, hex(signature, 80002L * 2 + 36 - recId))).isFalse();
+    }
+
+    @Test
+    void acceptsEip2098CompactSignatures() {
+        Set<Integer> parities = new HashSet<>();
+        for (int i = 0; parities.size() < 2 && i < 64; i++) {
+            String message = "Compact #" + i;
+            Sign.SignatureData signature = sign(message, KEY);
+            int recId = signature.getV()[0] - 27;
+            parities.add(recId);
+            byte[] yParityAndS = signature.getS().clone();
+            yParityAndS[0] |= (byte) (recId << 7);
+
+            String compact = Numeric.toHexString(concat(signature.getR(), yParityAndS));
+
+            assertThat(verifier.verifySignature(ADDRESS, message, compact)).as(message).isTrue();
+        }
+        assertThat(parities).containsExactlyInAnyOrder(0, 1);
+    }
+
+    @Test
+    void addressIsComparedIgnoringCase() {
+        String message = "Sign in to Digital Seal";
+        String signature = hex(sign(message, KEY));
+
+        assertThat(verifier.verifySignature(ADDRESS.toLowerCase(), message, signature)).isTrue();
+        assertThat(verifier.verifySignature("0x" + ADDRESS.substring(2).toUpperCase(), message, signature)).isTrue();
+    }
+
+    @Test
+    void rejectsAnotherWalletOrAnotherMessage() {
+        String message = "Sign in to Digital Seal";
+        String signature = hex(sign(message, KEY));
+
+        assertThat(verifier.verifySignature(OTHER_ADDRESS, message, signature)).isFalse();
+        assertThat(verifier.verifySignature(ADDRESS, message + ".", signature)).isFalse();
+        assertThat(verifier.verifySignature(OTHER_ADDRESS, message, hex(sign(message, OTHER_KEY)))).isTrue();
+    }
+
+    @Test
+    void rejectsOutOfRangeRAndS() {
+        String message = "Sign in to Digital Seal";
+        Sign.SignatureData signature = sign(message, KEY);
+        byte[] zero = new byte[32];
+        byte[] order = Numeric.toBytesPadded(CURVE_ORDER, 32);
+        byte[] beyondOrder = Numeric.toBytesPadded(CURVE_ORDER.add(BigInteger.ONE), 32);
+        byte[] v = signature.getV();
+
+        assertThat(verifier.verifySignature(ADDRESS, message, Numeric.toHexString(concat(zero, signature.getS(), v)))).isFalse();
+        assertThat(verifier.verifySignature(ADDRESS, message, Numeric.toHexString(concat(signature.getR(), zero, v)))).isFalse();
+        assertThat(verifier.verifySignature(ADDRESS, message, Numeric.toHexString(concat(order, signature.getS(), v)))).isFalse();
+        assertThat(verifier.verifySignature(ADDRESS, message, Numeric.toHexString(concat(signature.getR(), order, v)))).isFalse();
+        assertThat(verifier.verifySignature(ADDRESS, message, Numeric.toHexString(concat(beyondOrder, signature.getS(), v)))).isFalse();
+    }
+
+    @Test
+    void rejectsUnsupportedV() {
+        String message = "Sign in to Digital Seal";
+        Sign.SignatureData signature = sign(message, KEY);
+
+        for (long v : new long[] { 2, 26, 29, 30, 34 }) {
+            assertThat(verifier.verifySignature(ADDRESS, message, hex(signature, v))).as("v=%d", v).isFalse();
+        }
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        String message = "Sign in to Digital Seal";
+        String signature = hex(sign(message, KEY));
+
+        assertThat(verifier.verifySignature(ADDRESS, message, "0x")).isFalse();
+        assertThat(verifier.verifySignature(ADDRESS, message, signature.substring(0, 100))).isFalse();
+        assertThat(verifier.verifySignature(ADDRESS, message, signature + "00".repeat(8))).isFalse();
+        assertThat(verifier.verifySignature(ADDRESS, message, "0x" + "zz".repeat(65))).isFalse();
+        assertThat(verifier.verifySignature(ADDRESS, message, signature.substring(0, signature.length() - 1))).isFalse();
+        assertThat(verifier.verifySignature(ADDRESS.substring(0, 41), message, signature)).isFalse();
+        assertThat(verifier.verifySignature("0x" + "g".repeat(40), message, signature)).isFalse();
+        assertThat(verifier.verifySignature(null, message, signature)).isFalse();
+    }
+
+    @Test
+    void verifyAllReportsEachEntryInOrder() {
+        List<SignatureVerifier.SignedMessage> batch = List.of(
+                new SignatureVerifier.SignedMessage(ADDRESS, "first", hex(sign("first", KEY))),
+                new SignatureVerifier.SignedMessage(ADDRESS, "second", "0xnot-a-signature"),
+                new SignatureVerifier.SignedMessage(OTHER_ADDRESS, "third", hex(sign("third", OTHER_KEY))),
+                new SignatureVerifier.SignedMessage(OTHER_ADDRESS, "fourth", hex(sign("fourth", KEY))));
+
+        assertThat(verifier.verifyAll(batch)).containsExactly(true, false, true, false);
+    }
+
+    @Test
+    void personalMessageHashMatchesWeb3j() {
+        for (String message : List.of("", "Sign in", "Zürich ✓ — 署名")) {
+            assertThat(SignatureVerifier.personalMessageHash(message))
+                    .isEqualTo(Sign.getEthereumMessageHash(message.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /** personal_sign, v = 27/28 */
+    private static Sign.SignatureData sign(String message, ECKeyPair key) {
+        return Sign.signPrefixedMessage(message.getBytes(StandardCharsets.UTF_8), key);
+    }
+
+    private static String hex(Sign.SignatureData signature) {
+        return Numeric.toHexString(concat(signature.getR(), signature.getS(), signature.getV()));
+    }
+
+    /** r ‖ s ‖ v, with v in as few bytes as it needs */
+    private static String hex(Sign.SignatureData signature, long v) {
+        byte[] vBytes = Numeric.toBytesPadded(BigInteger.valueOf(v), Math.max(1, (BigInteger.valueOf(v).bitLength() + 7) / 8));
+        return Numeric.toHexString(concat(signature.getR(), signature.getS(), vBytes));
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] joined = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, joined, offset, part.length);
+            offset += part.length;
+        }
+        return joined;
+    }
+}